@@ -0,0 +1,114 @@
+package com.example.stormgate_cart_service.bulkhead;
+
+import com.example.stormgate_cart_service.service.TenantBulkheads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source taking a permit of the current tenant's bulkhead before handing
+ * out a connection, and returning it when the connection is closed. Work
+ * without a current tenant, such as schema migrations, is not budgeted.
+ */
+public class TenantBulkheadDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<TenantBulkheads> bulkheads;
+
+    /**
+     * Creates the data source.
+     *
+     * @param targetDataSource the data source handing out the connections
+     * @param bulkheads provides the bulkheads, resolved on first tenant use
+     */
+    public TenantBulkheadDataSource(final DataSource targetDataSource,
+                                    final ObjectProvider<TenantBulkheads> bulkheads) {
+        super(targetDataSource);
+        this.bulkheads = bulkheads;
+    }
+
+    /**
+     * Gets a connection within the current tenant's budget.
+     *
+     * @return the connection
+     * @throws SQLException if the target data source fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Runnable permit = acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a connection for the given credentials within the current tenant's budget.
+     *
+     * @param username the database user
+     * @param password the user's password
+     * @return the connection
+     * @throws SQLException if the target data source fails
+     */
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final Runnable permit = acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a permit of the current tenant's bulkhead.
+     *
+     * @return releases the permit
+     */
+    private Runnable acquire() {
+        final String tenantId = TenantContext.current();
+        if (tenantId == null) {
+            return TenantBulkheads.NO_PERMIT;
+        }
+        final TenantBulkheads target = bulkheads.getIfAvailable();
+        return target == null ? TenantBulkheads.NO_PERMIT : target.acquire(tenantId);
+    }
+
+    /**
+     * Ties a permit to a connection, so that closing the connection releases it.
+     *
+     * @param connection the connection
+     * @param permit releases the permit
+     * @return the connection releasing the permit on close
+     */
+    private static Connection withPermit(final Connection connection, final Runnable permit) {
+        if (permit == TenantBulkheads.NO_PERMIT) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                            permit.run();
+                        }
+                    }
+                });
+    }
+}
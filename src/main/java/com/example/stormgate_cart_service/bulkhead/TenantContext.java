@@ -0,0 +1,55 @@
+package com.example.stormgate_cart_service.bulkhead;
+
+/**
+ * Tenant on whose behalf the current thread does its work, so that layers
+ * below the service, such as the database connections, can be budgeted per
+ * tenant without passing the tenant through every call.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Gets the tenant of the current thread.
+     *
+     * @return the tenant identifier, or null if the thread works for no tenant
+     */
+    public static String current() {
+        return TENANT.get();
+    }
+
+    /**
+     * Makes the tenant current until the returned scope is closed, which
+     * restores the previous tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the scope to close when the tenant's work is done
+     */
+    public static Scope enter(final String tenantId) {
+        final String previous = TENANT.get();
+        TENANT.set(tenantId);
+        return () -> {
+            if (previous == null) {
+                TENANT.remove();
+            } else {
+                TENANT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Scope of a current tenant.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        /**
+         * Restores the tenant that was current before the scope was entered.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency, following the gradient
+ * approach: the average latency of each window of samples is compared with a
+ * slowly moving long-term average. While latency holds, the limit grows by a
+ * queue allowance of its square root; when latency rises, queueing has begun
+ * and the limit shrinks by the ratio of the two, down to half per window. The
+ * limit only grows while it is actually used, so an idle service does not
+ * drift to the maximum.
+ *
+ * <p>Acquiring and releasing are lock-free; the limit is recomputed by one
+ * caller per window.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_WINDOW_WEIGHT = 0.05;
+    private static final double RECOVERY_RATIO = 2.0;
+    private static final double RECOVERY_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowPeak = new AtomicInteger();
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final ReentrantLock update = new ReentrantLock();
+    private volatile double limit;
+    private double longLatency;
+
+    /**
+     * Creates a limit.
+     *
+     * @param initialLimit the limit before any latency was observed
+     * @param minLimit the lowest the limit may shrink to
+     * @param maxLimit the highest the limit may grow to
+     * @param windowSize number of samples per recomputation
+     * @param smoothing weight of each new estimate, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimit(final int initialLimit,
+                                    final int minLimit,
+                                    final int maxLimit,
+                                    final int windowSize,
+                                    final double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || windowSize < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Invalid adaptive concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a permit if fewer than the given number are in use.
+     *
+     * @param ceiling the number of permits this caller may fill up to, at most the limit
+     * @return true if a permit was taken and must be released
+     */
+    public boolean tryAcquire(final int ceiling) {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= ceiling) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeak.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and records how long it was held.
+     *
+     * @param latencyNanos the time between acquire and release
+     */
+    public void release(final long latencyNanos) {
+        inFlight.decrementAndGet();
+        windowLatency.add(latencyNanos);
+        windowSamples.increment();
+        if (windowSamples.sum() >= windowSize && update.tryLock()) {
+            try {
+                recompute();
+            } finally {
+                update.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return the limit
+     */
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the number of permits in use.
+     *
+     * @return the permits in use
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Derives the next limit from the window just completed.
+     */
+    private void recompute() {
+        final long samples = windowSamples.sumThenReset();
+        final long total = windowLatency.sumThenReset();
+        final int peak = windowPeak.getAndSet(inFlight.get());
+        if (samples == 0) {
+            return;
+        }
+        final double shortLatency = Math.max(1.0, (double) total / samples);
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+        } else {
+            longLatency += (shortLatency - longLatency) * LONG_WINDOW_WEIGHT;
+        }
+        // After a sustained slowdown, let the baseline catch up with the recovered latency
+        if (longLatency / shortLatency > RECOVERY_RATIO) {
+            longLatency *= RECOVERY_DECAY;
+        }
+
+        final double current = limit;
+        final double gradient = Math.clamp(TOLERANCE * longLatency / shortLatency, MIN_GRADIENT, 1.0);
+        double estimate = current * gradient + Math.sqrt(current);
+        if (peak < current / 2) {
+            estimate = Math.min(estimate, current);
+        }
+        limit = Math.clamp(current * (1 - smoothing) + estimate * smoothing, minLimit, maxLimit);
+    }
+}
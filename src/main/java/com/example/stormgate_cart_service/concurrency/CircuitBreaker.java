@@ -0,0 +1,218 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker over a sliding window of call outcomes. While closed, calls
+ * pass and their outcomes are counted; once the failure rate of the window
+ * reaches the threshold the circuit opens and calls are refused. After the
+ * open duration one probe call is let through: its success closes the
+ * circuit, its failure opens it again. A probe that never reports is replaced
+ * after another open duration.
+ *
+ * <p>Times are passed in by the caller as {@link System#nanoTime()} values.
+ */
+public final class CircuitBreaker {
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final boolean[] outcomes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private long probeStartedAt;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param windowSize number of most recent outcomes the failure rate is computed over
+     * @param minimumCalls outcomes needed in the window before the circuit may open
+     * @param failureRateThreshold failure rate opening the circuit, between 0 and 1
+     * @param openNanos time the circuit stays open before a probe is let through
+     */
+    public CircuitBreaker(final int windowSize,
+                          final int minimumCalls,
+                          final double failureRateThreshold,
+                          final long openNanos) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize
+                || failureRateThreshold <= 0 || failureRateThreshold > 1 || openNanos < 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * Checks whether a call may proceed.
+     *
+     * @param nowNanos the current time
+     * @return true if the call may proceed and must report its outcome
+     */
+    public boolean tryAcquire(final long nowNanos) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> {
+                    if (nowNanos - openedAt < openNanos) {
+                        yield false;
+                    }
+                    state = State.HALF_OPEN;
+                    probeStartedAt = nowNanos;
+                    yield true;
+                }
+                case HALF_OPEN -> {
+                    if (nowNanos - probeStartedAt < openNanos) {
+                        yield false;
+                    }
+                    probeStartedAt = nowNanos;
+                    yield true;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports a successful call.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> record(false);
+                case HALF_OPEN -> close();
+                case OPEN -> {
+                    // Late outcome of a call admitted before the circuit opened
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports a failed call.
+     *
+     * @param nowNanos the current time
+     */
+    public void onFailure(final long nowNanos) {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> {
+                    record(true);
+                    if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+                        open(nowNanos);
+                    }
+                }
+                case HALF_OPEN -> open(nowNanos);
+                case OPEN -> {
+                    // Late outcome of a call admitted before the circuit opened
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the time until an open circuit lets a probe through.
+     *
+     * @param nowNanos the current time
+     * @return the remaining open time, or 0 if the circuit is not refusing calls for a while
+     */
+    public long retryAfterNanos(final long nowNanos) {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        lock.lock();
+        try {
+            return state == State.OPEN ? Math.max(0L, openedAt + openNanos - nowNanos) : 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the state of the circuit.
+     *
+     * @return the state
+     */
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Adds an outcome to the window, replacing the oldest once it is full.
+     *
+     * @param failure true for a failed call
+     */
+    private void record(final boolean failure) {
+        if (calls == windowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    /**
+     * Opens the circuit.
+     *
+     * @param nowNanos the current time
+     */
+    private void open(final long nowNanos) {
+        state = State.OPEN;
+        openedAt = nowNanos;
+    }
+
+    /**
+     * Closes the circuit with an empty window.
+     */
+    private void close() {
+        next = 0;
+        calls = 0;
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * States of the circuit.
+     */
+    public enum State {
+
+        /**
+         * Calls pass and their outcomes are counted.
+         */
+        CLOSED,
+
+        /**
+         * Calls are refused.
+         */
+        OPEN,
+
+        /**
+         * One probe call is deciding whether the circuit closes.
+         */
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ * The first caller for a key runs the loader while callers arriving in the
+ * meantime wait for and share its result or failure. Once the call finishes the
+ * key is released, so later callers always trigger a fresh load.
+ * In-flight calls are tracked in lock-striped maps with a bounded number of
+ * entries; when a stripe is full, callers bypass coalescing and load directly.
+ *
+ * @param <K> the key type
+ * @param <V> the result type, shared between callers and therefore treated as immutable
+ */
+public final class SingleFlight<K, V> {
+
+    private final List<Stripe<K, V>> stripes;
+    private final int stripeMask;
+    private final int maxInFlightPerStripe;
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    /**
+     * Creates a single-flight group.
+     *
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param maxInFlight maximum number of keys in flight across all stripes
+     */
+    public SingleFlight(final int stripes, final int maxInFlight) {
+        if (stripes < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("stripes and maxInFlight must be positive");
+        }
+        final int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.stripes.add(new Stripe<>());
+        }
+        this.stripeMask = count - 1;
+        this.maxInFlightPerStripe = Math.max(1, (maxInFlight + count - 1) / count);
+    }
+
+    /**
+     * Runs the loader for the key, or joins a call for the same key already in flight.
+     *
+     * @param key the key identifying identical calls
+     * @param loader the loader producing the result
+     * @return the result of this call or of the call joined
+     */
+    public V execute(final K key, final Supplier<V> loader) {
+        final Stripe<K, V> stripe = stripes.get(spread(key.hashCode()) & stripeMask);
+        final CompletableFuture<V> call;
+        final boolean leader;
+        stripe.lock.lock();
+        try {
+            final CompletableFuture<V> inFlight = stripe.calls.get(key);
+            if (inFlight != null) {
+                call = inFlight;
+                leader = false;
+            } else if (stripe.calls.size() >= maxInFlightPerStripe) {
+                call = null;
+                leader = false;
+            } else {
+                call = new CompletableFuture<>();
+                stripe.calls.put(key, call);
+                leader = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (call == null) {
+            bypassed.increment();
+            return loader.get();
+        }
+        if (!leader) {
+            shared.increment();
+            return await(call);
+        }
+        leaders.increment();
+        final V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            release(stripe, key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        release(stripe, key, call);
+        call.complete(value);
+        return value;
+    }
+
+    /**
+     * Gets the number of calls that ran the loader for waiting callers to share.
+     *
+     * @return number of leading calls
+     */
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    /**
+     * Gets the number of calls answered by joining a call in flight.
+     *
+     * @return number of shared calls
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    /**
+     * Gets the number of calls that bypassed coalescing because their stripe was full.
+     *
+     * @return number of bypassed calls
+     */
+    public long bypassedCount() {
+        return bypassed.sum();
+    }
+
+    /**
+     * Gets the number of keys currently in flight.
+     *
+     * @return number of in-flight keys
+     */
+    public int inFlight() {
+        int total = 0;
+        for (final Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.calls.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Removes a finished call so later callers trigger a fresh load.
+     *
+     * @param stripe the stripe holding the call
+     * @param key the key
+     * @param call the finished call
+     */
+    private void release(final Stripe<K, V> stripe, final K key, final CompletableFuture<V> call) {
+        stripe.lock.lock();
+        try {
+            stripe.calls.remove(key, call);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a call in flight and rethrows its failure unwrapped.
+     *
+     * @param call the call to wait for
+     * @return the result of the call
+     */
+    private V await(final CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Spreads higher hash bits into the lower bits used to select a stripe.
+     *
+     * @param hash the key hash
+     * @return the spread hash
+     */
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * One lock stripe and the calls in flight for its keys.
+     *
+     * @param <K> the key type
+     * @param <V> the result type
+     */
+    private static final class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, CompletableFuture<V>> calls = new HashMap<>();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm. The
+ * bucket keeps only the time at which it would be full again; taking a token
+ * moves that time forward by one emission interval with a single CAS. The rate
+ * and burst are passed on every call, so limits changed at runtime apply to
+ * existing buckets immediately.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public TokenBucket(final long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param permitsPerSecond the refill rate; zero or less admits nothing
+     * @param burst the bucket capacity
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(final double permitsPerSecond, final int burst, final long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            return NANOS_PER_SECOND;
+        }
+        final long interval = Math.max(1L, (long) (NANOS_PER_SECOND / permitsPerSecond));
+        final long tolerance = interval * burst;
+        while (true) {
+            final long current = theoreticalArrival.get();
+            final long next = (current - nowNanos < 0 ? nowNanos : current) + interval;
+            final long ahead = next - nowNanos;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken for a request that was rejected elsewhere.
+     *
+     * @param permitsPerSecond the refill rate the token was taken at
+     */
+    public void refund(final double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        theoreticalArrival.addAndGet(-Math.max(1L, (long) (NANOS_PER_SECOND / permitsPerSecond)));
+    }
+}
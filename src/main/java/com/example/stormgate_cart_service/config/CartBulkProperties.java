@@ -0,0 +1,22 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk cart reads by internal services.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.bulk")
+public class CartBulkProperties {
+
+    /**
+     * Maximum number of carts one request may ask for.
+     */
+    private int maxKeys = 10_000;
+
+    /**
+     * Number of carts loaded per pair of queries and written before the next chunk is read.
+     */
+    private int chunkSize = 500;
+}
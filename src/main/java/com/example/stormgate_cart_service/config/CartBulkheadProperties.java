@@ -0,0 +1,106 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-tenant database bulkheads. Each tenant tier
+ * has a budget of connections, either shared by its tenants or granted to each
+ * of them; a tenant that used up its budget borrows from a shared overflow
+ * budget, then queues for its own. Keep a tier budget plus the overflow below
+ * the connection pool size, so other tenants always find a connection.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.bulkhead")
+public class CartBulkheadProperties {
+
+    /**
+     * Whether database connections are budgeted per tenant.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tier of tenants without an assignment.
+     */
+    private String defaultTier = "standard";
+
+    /**
+     * Connection budgets keyed by tier name.
+     */
+    private Map<String, Tier> tiers = new LinkedHashMap<>(Map.of("standard", new Tier(4, true)));
+
+    /**
+     * Tier assignments keyed by tenant identifier.
+     */
+    private Map<String, String> tenantTiers = new LinkedHashMap<>();
+
+    /**
+     * Connections any tenant may borrow once its own budget is used up.
+     */
+    private int overflowConnections = 4;
+
+    /**
+     * Longest a tenant waits for a connection of its budget before the request is rejected.
+     */
+    private Duration queueTimeout = Duration.ofMillis(500);
+
+    /**
+     * Gets a defensive copy of the tier budgets.
+     *
+     * @return defensive copy of tier budgets
+     */
+    public Map<String, Tier> getTiers() {
+        return new LinkedHashMap<>(tiers);
+    }
+
+    /**
+     * Sets tier budgets with defensive copying.
+     *
+     * @param tiers the tier budgets to set
+     */
+    public void setTiers(final Map<String, Tier> tiers) {
+        this.tiers = tiers == null ? new LinkedHashMap<>() : new LinkedHashMap<>(tiers);
+    }
+
+    /**
+     * Gets a defensive copy of the tenant tier assignments.
+     *
+     * @return defensive copy of tenant tier assignments
+     */
+    public Map<String, String> getTenantTiers() {
+        return new LinkedHashMap<>(tenantTiers);
+    }
+
+    /**
+     * Sets tenant tier assignments with defensive copying.
+     *
+     * @param tenantTiers the tenant tier assignments to set
+     */
+    public void setTenantTiers(final Map<String, String> tenantTiers) {
+        this.tenantTiers = tenantTiers == null ? new LinkedHashMap<>() : new LinkedHashMap<>(tenantTiers);
+    }
+
+    /**
+     * Connection budget of a tenant tier.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Tier {
+
+        /**
+         * Connections the budget holds.
+         */
+        private int maxConnections;
+
+        /**
+         * Whether each tenant of the tier gets its own budget rather than sharing one.
+         */
+        private boolean perTenant = true;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the Hibernate second-level cache.
+ * Each region is sized and expired independently.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.cache")
+public class CartCacheProperties {
+
+    /**
+     * Whether the second-level and query caches are enabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether cache and session statistics are collected and exposed as metrics.
+     */
+    private boolean statistics = true;
+
+    /**
+     * Settings applied to regions that are not configured explicitly.
+     */
+    private Region defaults = new Region();
+
+    /**
+     * Per-region settings keyed by region name.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Gets a defensive copy of the region settings.
+     *
+     * @return defensive copy of region settings
+     */
+    public Map<String, Region> getRegions() {
+        return new LinkedHashMap<>(regions);
+    }
+
+    /**
+     * Sets region settings with defensive copying.
+     *
+     * @param regions the region settings to set
+     */
+    public void setRegions(final Map<String, Region> regions) {
+        this.regions = regions == null ? new LinkedHashMap<>() : new LinkedHashMap<>(regions);
+    }
+
+    /**
+     * Size and expiry settings for a single cache region.
+     */
+    @Data
+    public static class Region {
+
+        /**
+         * Maximum number of entries held by the region.
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * Time after which an entry expires once written. Null disables expiry.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for coalescing concurrent identical cart reads.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.coalescing")
+public class CartCoalescingProperties {
+
+    /**
+     * Whether concurrent identical reads share one load.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of lock stripes guarding the in-flight map.
+     */
+    private int stripes = 64;
+
+    /**
+     * Maximum number of distinct reads in flight before reads bypass coalescing.
+     */
+    private int maxInFlight = 10_000;
+}
@@ -0,0 +1,59 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the degraded mode serving stale carts while
+ * the database is slow or down.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.degraded-mode")
+public class CartDegradedModeProperties {
+
+    /**
+     * Whether cart reads fall back to the last known snapshot.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time a cart load may take before the last known snapshot is served instead.
+     */
+    private Duration latencyBudget = Duration.ofMillis(300);
+
+    /**
+     * Number of most recent loads the failure rate is computed over.
+     */
+    private int windowSize = 20;
+
+    /**
+     * Loads needed in the window before the circuit may open.
+     */
+    private int minimumCalls = 5;
+
+    /**
+     * Share of failed or slow loads opening the circuit, between 0 and 1.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Time the circuit stays open before a load probes the database again.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of last known cart snapshots kept.
+     */
+    private long snapshotMaxSize = 100_000;
+
+    /**
+     * Time after which a snapshot is too old to be served.
+     */
+    private Duration snapshotTtl = Duration.ofHours(1);
+
+    /**
+     * Keeps the snapshots in direct memory instead of on the heap.
+     */
+    private OffHeapProperties snapshotOffHeap = new OffHeapProperties();
+}
@@ -0,0 +1,22 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the append-only cart event log.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.event-log")
+public class CartEventLogProperties {
+
+    /**
+     * Whether cart mutations are appended to the cart_events log.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of events appended to a cart's log between two snapshots.
+     */
+    private int snapshotInterval = 50;
+}
@@ -0,0 +1,28 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the gRPC API used by internal services.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.grpc")
+public class CartGrpcProperties {
+
+    /**
+     * Whether the gRPC server is started.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Port the gRPC server listens on.
+     */
+    private int port = 9090;
+
+    /**
+     * Time granted to calls in flight when the server shuts down.
+     */
+    private Duration shutdownGrace = Duration.ofSeconds(10);
+}
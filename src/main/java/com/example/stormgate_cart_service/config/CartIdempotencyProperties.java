@@ -0,0 +1,61 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for idempotency keys on cart mutations.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.idempotency")
+public class CartIdempotencyProperties {
+
+    /**
+     * Whether mutations sent with an Idempotency-Key header are deduplicated.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time a stored response is replayed for retries of the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of responses kept in memory.
+     */
+    private long maxEntries = 100_000;
+
+    /**
+     * Longest a duplicate waits for the request in flight with the same key
+     * before it is rejected with 409.
+     */
+    private Duration inFlightWait = Duration.ofSeconds(5);
+
+    /**
+     * Maximum length of an idempotency key.
+     */
+    private int maxKeyLength = 255;
+
+    /**
+     * Database store shared by all nodes and surviving restarts.
+     */
+    private Database database = new Database();
+
+    /**
+     * Settings of the database store of idempotency keys.
+     */
+    @Data
+    public static class Database {
+
+        /**
+         * Whether responses are also stored in the cart_idempotency_keys table.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval between purges of expired keys.
+         */
+        private Duration purgeInterval = Duration.ofMinutes(5);
+    }
+}
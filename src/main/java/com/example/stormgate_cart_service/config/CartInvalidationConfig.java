@@ -0,0 +1,34 @@
+package com.example.stormgate_cart_service.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Declares the compacted topic of the cart invalidation bus, created on
+ * startup when it does not exist yet.
+ */
+@Configuration
+@EnableConfigurationProperties(CartInvalidationProperties.class)
+@ConditionalOnProperty(prefix = "cart.invalidation", name = "enabled", havingValue = "true")
+public class CartInvalidationConfig {
+
+    /**
+     * Declares the invalidation topic. Compaction keeps only the latest
+     * message of each user, which holds the cart's latest version.
+     *
+     * @param properties the invalidation properties
+     * @return the topic declaration
+     */
+    @Bean
+    public NewTopic cartInvalidationTopic(final CartInvalidationProperties properties) {
+        return TopicBuilder.name(properties.getTopic())
+                .partitions(properties.getPartitions())
+                .replicas(properties.getReplicas())
+                .compact()
+                .build();
+    }
+}
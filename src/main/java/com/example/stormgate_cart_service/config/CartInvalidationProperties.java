@@ -0,0 +1,50 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the bus invalidating node-local cart caches
+ * when another node changes a cart.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.invalidation")
+public class CartInvalidationProperties {
+
+    /**
+     * Whether committed changes are exchanged with other nodes through Kafka.
+     */
+    private boolean enabled;
+
+    /**
+     * Compacted topic carrying the latest version of each cart.
+     */
+    private String topic = "cart-invalidations";
+
+    /**
+     * Partitions of the topic when this node creates it.
+     */
+    private int partitions = 12;
+
+    /**
+     * Replicas of the topic when this node creates it.
+     */
+    private short replicas = 1;
+
+    /**
+     * Maximum number of carts whose latest seen version is remembered.
+     */
+    private int maxTrackedCarts = 100_000;
+
+    /**
+     * How long the latest seen version of an idle cart is remembered.
+     */
+    private Duration trackedTtl = Duration.ofHours(1);
+
+    /**
+     * Delay after which a remote change evicts the cart a second time, catching
+     * reads that loaded the old cart while the change was in flight; zero disables.
+     */
+    private Duration repeatEvictionAfter = Duration.ofSeconds(1);
+}
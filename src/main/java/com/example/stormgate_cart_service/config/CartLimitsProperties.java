@@ -0,0 +1,99 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties bounding cart size.
+ * Tenants may override any limit; unset values fall back to the defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.limits")
+public class CartLimitsProperties {
+
+    /**
+     * Limits applied to tenants without an override.
+     */
+    private Limits defaults = new Limits(100, 1000, new BigDecimal("100000.00"));
+
+    /**
+     * Number of items per page when a listing does not ask for a page size.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Largest page size a listing may ask for.
+     */
+    private int maxPageSize = 200;
+
+    /**
+     * Per-tenant overrides keyed by tenant identifier.
+     */
+    private Map<String, Limits> tenants = new LinkedHashMap<>();
+
+    /**
+     * Gets a defensive copy of the tenant overrides.
+     *
+     * @return defensive copy of tenant overrides
+     */
+    public Map<String, Limits> getTenants() {
+        return new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Sets tenant overrides with defensive copying.
+     *
+     * @param tenants the tenant overrides to set
+     */
+    public void setTenants(final Map<String, Limits> tenants) {
+        this.tenants = tenants == null ? new LinkedHashMap<>() : new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Resolves the effective limits for a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the tenant overrides merged over the defaults
+     */
+    public Limits forTenant(final String tenantId) {
+        final Limits override = tenants.get(tenantId);
+        if (override == null) {
+            return defaults;
+        }
+        return new Limits(
+                override.getMaxLines() != null ? override.getMaxLines() : defaults.getMaxLines(),
+                override.getMaxLineQuantity() != null
+                        ? override.getMaxLineQuantity() : defaults.getMaxLineQuantity(),
+                override.getMaxTotalAmount() != null
+                        ? override.getMaxTotalAmount() : defaults.getMaxTotalAmount());
+    }
+
+    /**
+     * Size limits for a single cart.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+
+        /**
+         * Maximum number of distinct product lines.
+         */
+        private Integer maxLines;
+
+        /**
+         * Maximum quantity of a single line.
+         */
+        private Integer maxLineQuantity;
+
+        /**
+         * Maximum total value of the cart.
+         */
+        private BigDecimal maxTotalAmount;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for adaptive concurrency limiting of cart requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.load-shedding")
+public class CartLoadSheddingProperties {
+
+    /**
+     * Whether requests beyond the concurrency limit are shed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Concurrency limit before any latency was observed.
+     */
+    private int initialLimit = 50;
+
+    /**
+     * Lowest the limit may shrink to.
+     */
+    private int minLimit = 10;
+
+    /**
+     * Highest the limit may grow to; keep it near the database pool size times a small factor.
+     */
+    private int maxLimit = 400;
+
+    /**
+     * Number of completed requests per limit recomputation.
+     */
+    private int windowSize = 100;
+
+    /**
+     * Weight of each new limit estimate, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Request class kept admitted longest under load.
+     */
+    private Priority priority = Priority.READ;
+
+    /**
+     * Share of the limit only the prioritized class may use.
+     */
+    private double reservedShare = 0.2;
+
+    /**
+     * Request classes that can be prioritized.
+     */
+    public enum Priority {
+
+        /**
+         * Reads and writes share the limit equally.
+         */
+        NONE,
+
+        /**
+         * Reads keep being admitted after writes are shed.
+         */
+        READ,
+
+        /**
+         * Writes keep being admitted after reads are shed.
+         */
+        WRITE
+    }
+}
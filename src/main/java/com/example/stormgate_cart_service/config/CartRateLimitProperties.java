@@ -0,0 +1,104 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-tenant and per-user request rate limits.
+ * Tenants may override any quota; unset values fall back to the defaults.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.rate-limit")
+public class CartRateLimitProperties {
+
+    /**
+     * Whether requests are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Quotas applied to tenants without an override.
+     */
+    private Quota defaults = new Quota(1000.0, 2000, 50.0, 100);
+
+    /**
+     * Time after which the bucket of an idle tenant or user is dropped.
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of tenant and user buckets kept.
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Per-tenant overrides keyed by tenant identifier.
+     */
+    private Map<String, Quota> tenants = new LinkedHashMap<>();
+
+    /**
+     * Gets a defensive copy of the tenant overrides.
+     *
+     * @return defensive copy of tenant overrides
+     */
+    public Map<String, Quota> getTenants() {
+        return new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Sets tenant overrides with defensive copying.
+     *
+     * @param tenants the tenant overrides to set
+     */
+    public void setTenants(final Map<String, Quota> tenants) {
+        this.tenants = tenants == null ? new LinkedHashMap<>() : new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Request quotas of a tenant and of each of its users.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+
+        /**
+         * Requests per second the tenant as a whole may make.
+         */
+        private Double tenantRate;
+
+        /**
+         * Requests the tenant may make at once after being idle.
+         */
+        private Integer tenantBurst;
+
+        /**
+         * Requests per second a single user of the tenant may make.
+         */
+        private Double userRate;
+
+        /**
+         * Requests a single user may make at once after being idle.
+         */
+        private Integer userBurst;
+
+        /**
+         * Fills the unset values of this quota from another one.
+         *
+         * @param fallback the quota supplying unset values
+         * @return the merged quota
+         */
+        public Quota orElse(final Quota fallback) {
+            return new Quota(
+                    tenantRate != null ? tenantRate : fallback.getTenantRate(),
+                    tenantBurst != null ? tenantBurst : fallback.getTenantBurst(),
+                    userRate != null ? userRate : fallback.getUserRate(),
+                    userBurst != null ? userBurst : fallback.getUserBurst());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cache of serialized cart responses.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.response-cache")
+public class CartResponseCacheProperties {
+
+    /**
+     * Whether serialized cart responses are cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached carts on the heap; off-heap, memory is the only bound.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Time after which a cached cart expires, bounding staleness from changes
+     * made by other nodes.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Responses smaller than this many bytes are only stored uncompressed.
+     */
+    private int gzipMinSize = 256;
+
+    /**
+     * Keeps the cached carts in direct memory instead of on the heap.
+     */
+    private OffHeapProperties offHeap = new OffHeapProperties();
+
+    /**
+     * Persists the cache to a local file so a restarted node serves warm.
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * Settings of the local snapshot file of the cache.
+     */
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Whether the cache is saved periodically and on shutdown, and restored on startup.
+         */
+        private boolean enabled;
+
+        /**
+         * Path of the snapshot file.
+         */
+        private String path = "data/cart-response-cache.snapshot";
+
+        /**
+         * Interval between periodic saves.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Snapshots older than this are not restored.
+         */
+        private Duration maxAge = Duration.ofHours(1);
+
+        /**
+         * Size of each memory-mapped region of the file; larger carts are not saved.
+         */
+        private DataSize regionSize = DataSize.ofMegabytes(256);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for how cart lines are stored, per tenant.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.storage")
+public class CartStorageProperties {
+
+    /**
+     * Storage mode of tenants without an override.
+     */
+    private Mode defaultMode = Mode.NORMALIZED;
+
+    /**
+     * Storage mode overrides by tenant identifier.
+     */
+    private Map<String, Mode> tenants = new LinkedHashMap<>();
+
+    /**
+     * Whether document carts also keep their cart_items rows current, for
+     * queries by product.
+     */
+    private boolean projectItems = true;
+
+    /**
+     * Gets the storage mode overrides as a defensive copy.
+     *
+     * @return the overrides by tenant identifier
+     */
+    public Map<String, Mode> getTenants() {
+        return new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Sets the storage mode overrides as a defensive copy.
+     *
+     * @param tenants the overrides by tenant identifier
+     */
+    public void setTenants(final Map<String, Mode> tenants) {
+        this.tenants = tenants == null ? new LinkedHashMap<>() : new LinkedHashMap<>(tenants);
+    }
+
+    /**
+     * Resolves the storage mode of a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the tenant's override, or the default mode
+     */
+    public Mode modeFor(final String tenantId) {
+        return tenants.getOrDefault(tenantId, defaultMode);
+    }
+
+    /**
+     * Ways of storing the lines of a cart.
+     */
+    public enum Mode {
+
+        /**
+         * One cart_items row per line.
+         */
+        NORMALIZED,
+
+        /**
+         * All active lines in one document column of the carts row, read and
+         * written with the cart in a single row operation.
+         */
+        DOCUMENT
+    }
+}
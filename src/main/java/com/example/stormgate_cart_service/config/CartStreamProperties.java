@@ -0,0 +1,38 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Server-Sent Events stream of cart changes.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.stream")
+public class CartStreamProperties {
+
+    /**
+     * Lifetime of a stream connection; clients reconnect once it expires.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval between heartbeats sent on idle connections.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Reconnection delay suggested to clients.
+     */
+    private Duration reconnect = Duration.ofSeconds(3);
+
+    /**
+     * Events buffered per connection before they are collapsed into one resync event.
+     */
+    private int bufferSize = 32;
+
+    /**
+     * Maximum number of open stream connections on this node.
+     */
+    private int maxConnections = 20_000;
+}
@@ -0,0 +1,40 @@
+package com.example.stormgate_cart_service.config;
+
+import com.example.stormgate_cart_service.controller.CartDegradedModeInterceptor;
+import com.example.stormgate_cart_service.controller.CartLoadSheddingInterceptor;
+import com.example.stormgate_cart_service.controller.CartRateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration of the cart API.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartWebMvcConfig implements WebMvcConfigurer {
+
+    private final CartRateLimitInterceptor cartRateLimitInterceptor;
+    private final CartLoadSheddingInterceptor cartLoadSheddingInterceptor;
+    private final CartDegradedModeInterceptor cartDegradedModeInterceptor;
+
+    /**
+     * Rate limits the tenant-facing cart endpoints, then admits them through
+     * the concurrency limit; internal endpoints are exempt. Streams are held
+     * open without using the database, so they do not count against the
+     * concurrency limit. Writes are rejected while the database circuit is open.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(cartRateLimitInterceptor).addPathPatterns("/api/cart", "/api/cart/**");
+        registry.addInterceptor(cartLoadSheddingInterceptor)
+                .addPathPatterns("/api/cart", "/api/cart/**")
+                .excludePathPatterns("/api/cart/stream", "/api/cart/health");
+        registry.addInterceptor(cartDegradedModeInterceptor).addPathPatterns("/api/cart", "/api/cart/**");
+    }
+}
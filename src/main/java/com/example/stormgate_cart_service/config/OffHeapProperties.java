@@ -0,0 +1,28 @@
+package com.example.stormgate_cart_service.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of a cache keeping serialized carts in direct memory outside the
+ * Java heap. Direct memory counts against -XX:MaxDirectMemorySize, which
+ * defaults to the maximum heap size.
+ */
+@Data
+public class OffHeapProperties {
+
+    /**
+     * Whether the cache keeps its carts off-heap; otherwise they stay on the heap.
+     */
+    private boolean enabled;
+
+    /**
+     * Direct memory the cache may hold; the number of carts is bounded by it alone.
+     */
+    private DataSize capacity = DataSize.ofMegabytes(256);
+
+    /**
+     * Size of the pages the memory is allocated in; also the largest cart that can be stored.
+     */
+    private DataSize pageSize = DataSize.ofMegabytes(1);
+}
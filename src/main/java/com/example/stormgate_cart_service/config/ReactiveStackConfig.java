@@ -0,0 +1,33 @@
+package com.example.stormgate_cart_service.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configures the reactive stack, active when the application runs as a
+ * reactive web application (the "reactive" profile).
+ *
+ * <p>With an R2DBC connection factory present no JDBC data source is created,
+ * so the JPA repositories and the blocking services are absent and Flyway
+ * migrates through its own connection. The R2DBC transaction manager is kept
+ * out of the context so it cannot stand in for the JPA one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStackConfig {
+
+    /**
+     * Creates the operator running reactive cart mutations in R2DBC transactions.
+     *
+     * @param connectionFactory the R2DBC connection factory
+     * @return the transactional operator
+     */
+    @Bean
+    public TransactionalOperator cartTransactionalOperator(final ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
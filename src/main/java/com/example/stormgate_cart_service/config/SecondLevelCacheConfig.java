@@ -0,0 +1,126 @@
+package com.example.stormgate_cart_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Configures the Hibernate second-level cache for cart entities.
+ * Regions live in an in-process Caffeine JCache manager owned by this
+ * configuration, so region sizes and expiry come from application properties.
+ */
+@Configuration
+@EnableConfigurationProperties(CartCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Region holding Cart entities.
+     */
+    public static final String CART_REGION = "cart";
+
+    /**
+     * Region holding CartItem entities.
+     */
+    public static final String CART_ITEM_REGION = "cart-item";
+
+    /**
+     * Region holding the Cart.items collection.
+     */
+    public static final String CART_ITEMS_REGION = "cart-items";
+
+    /**
+     * Region resolving (tenantId, userId) natural ids to cart identifiers.
+     */
+    public static final String CART_NATURAL_ID_REGION = "cart-natural-id";
+
+    /**
+     * Hibernate's default query results region.
+     */
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    /**
+     * Hibernate's update timestamps region guarding the query cache.
+     */
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> REGIONS = List.of(
+            CART_REGION, CART_ITEM_REGION, CART_ITEMS_REGION,
+            CART_NATURAL_ID_REGION, QUERY_RESULTS_REGION);
+
+    /**
+     * Creates the JCache manager holding all cart cache regions.
+     *
+     * @param properties the cache properties
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(final CartCacheProperties properties) {
+        final CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        final Map<String, CartCacheProperties.Region> configured = properties.getRegions();
+
+        REGIONS.forEach(name -> cacheManager.createCache(name,
+                toConfiguration(configured.getOrDefault(name, properties.getDefaults()),
+                        properties.isStatistics())));
+
+        // Timestamps must outlive every cached query result they guard
+        final CartCacheProperties.Region timestamps = new CartCacheProperties.Region();
+        timestamps.setTtl(null);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION,
+                toConfiguration(timestamps, properties.isStatistics()));
+        return cacheManager;
+    }
+
+    /**
+     * Wires the cache manager and cache toggles into Hibernate.
+     *
+     * @param properties the cache properties
+     * @param hibernateCacheManager the cache manager holding the regions
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            final CartCacheProperties properties,
+            final CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            final Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            settings.put(AvailableSettings.USE_QUERY_CACHE, properties.isEnabled());
+            settings.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+            settings.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatistics());
+            if (properties.isEnabled()) {
+                settings.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                settings.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            }
+            hibernateProperties.putAll(settings);
+        };
+    }
+
+    /**
+     * Builds the Caffeine configuration for a region.
+     *
+     * @param region the region settings
+     * @param statistics whether statistics are recorded
+     * @return the cache configuration
+     */
+    private static CaffeineConfiguration<Object, Object> toConfiguration(
+            final CartCacheProperties.Region region,
+            final boolean statistics) {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        if (region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        configuration.setStatisticsEnabled(statistics);
+        return configuration;
+    }
+}
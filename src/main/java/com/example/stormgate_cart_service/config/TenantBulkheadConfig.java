@@ -0,0 +1,40 @@
+package com.example.stormgate_cart_service.config;
+
+import com.example.stormgate_cart_service.bulkhead.TenantBulkheadDataSource;
+import com.example.stormgate_cart_service.service.TenantBulkheads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**
+ * Routes every connection of the application's data source through the
+ * tenant bulkheads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TenantBulkheadConfig {
+
+    /**
+     * Wraps the data source so that its connections are budgeted per tenant.
+     * The bulkheads are resolved lazily, as post-processors are created before
+     * ordinary beans.
+     *
+     * @param bulkheads provides the tenant bulkheads
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    static BeanPostProcessor tenantBulkheadDataSourcePostProcessor(final ObjectProvider<TenantBulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TenantBulkheadDataSource)) {
+                    return new TenantBulkheadDataSource(dataSource, bulkheads);
+                }
+                return bean;
+            }
+        };
+    }
+}
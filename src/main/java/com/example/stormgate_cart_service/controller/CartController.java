@@ -1,12 +1,26 @@
 package com.example.stormgate_cart_service.controller;
 
 import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartDeltaResponse;
+import com.example.stormgate_cart_service.dto.CartItemPageResponse;
 import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
 import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.CartDegradedMode;
+import com.example.stormgate_cart_service.service.CartDegradedMode.CartRead;
+import com.example.stormgate_cart_service.service.CartReadCoalescer;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
 import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +30,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST Controller for Cart management operations.
@@ -26,9 +42,24 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/cart")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CartController {
 
+    /**
+     * Request parameter selecting delta responses for item mutations.
+     */
+    private static final String DELTA_VIEW = "view=delta";
+
+    /**
+     * Response header marking a cart served from the last known snapshot.
+     */
+    private static final String STALE_HEADER = "X-Cart-Stale";
+
     private final CartService cartService;
+    private final CartReadCoalescer cartReadCoalescer;
+    private final CartResponseCache cartResponseCache;
+    private final CartDegradedMode cartDegradedMode;
+    private final CartChangeStream cartChangeStream;
 
     /**
      * Health check endpoint to verify service availability.
@@ -42,19 +73,109 @@ public class CartController {
 
     /**
      * Retrieves the shopping cart for a specific tenant and user.
+     * The serialized response is cached per cart version and served gzip-compressed
+     * when the client accepts it. Concurrent identical reads share one load.
+     * While the database is slow or down the last known cart is served instead,
+     * marked with the X-Cart-Stale header and its age in the Age header.
      *
      * @param tenantId the tenant identifier from header
      * @param userId the user identifier from header
-     * @return response entity containing the cart details
+     * @param acceptEncoding the content codings accepted by the client
+     * @return response entity containing the serialized cart details
      */
     @GetMapping
-    public ResponseEntity<CartResponse> getCart(
+    public ResponseEntity<byte[]> getCart(
             @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
-            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
-        final CartResponse cart = cartService.getCart(tenantId, userId);
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        final CartRead read = cartDegradedMode.read(tenantId, userId, () -> cartResponseCache.get(tenantId, userId,
+                () -> cartReadCoalescer.getCart(tenantId, userId, null, ItemSort.CREATED)));
+        final SerializedCart cart = read.cart();
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (read.isStale()) {
+            response.header(STALE_HEADER, "true")
+                    .header(HttpHeaders.AGE, Long.toString(read.age().toSeconds()));
+        }
+        if (cart.gzip() != null && CartResponseCache.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cart.gzip());
+        }
+        return response.body(cart.identity());
+    }
+
+    /**
+     * Retrieves the shopping cart with only the first page of its items, with
+     * a cursor for {@code GET /api/cart/items} when more items follow.
+     * Concurrent identical reads share one load.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param limit page size for the items
+     * @param sort the item ordering
+     * @return response entity containing the cart details
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CartResponse> getCartPage(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @RequestParam(value = "limit") final Integer limit,
+            @RequestParam(value = "sort", defaultValue = "CREATED") final ItemSort sort) {
+        final CartResponse cart = cartReadCoalescer.getCart(tenantId, userId, limit, sort);
         return ResponseEntity.ok(cart);
     }
 
+    /**
+     * Retrieves one page of cart items using cursor pagination.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param cursor the cursor from the previous page, omitted for the first page
+     * @param limit optional page size, clamped to the configured maximum
+     * @param sort the item ordering: CREATED, PRICE or NAME
+     * @return response entity containing the page and the next cursor
+     */
+    @GetMapping("/items")
+    public ResponseEntity<CartItemPageResponse> getCartItems(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @RequestParam(value = "limit", required = false) final Integer limit,
+            @RequestParam(value = "sort", defaultValue = "CREATED") final ItemSort sort) {
+        return ResponseEntity.ok(cartService.getCartItems(tenantId, userId, cursor, limit, sort));
+    }
+
+    /**
+     * Retrieves the cart summary used by storefront header badges.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity containing item count, line count, total and version
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<CartSummaryResponse> getCartSummary(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
+        return ResponseEntity.ok(cartService.getCartSummary(tenantId, userId));
+    }
+
+    /**
+     * Streams changes to the user's cart as Server-Sent Events, so devices of
+     * the same user stay in sync without polling. Each committed change is sent
+     * as a {@code cart-changed} event with the cart id and new version; a
+     * {@code resync} event tells a client that fell behind to refetch the cart.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCartChanges(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
+        return cartChangeStream.subscribe(tenantId, userId);
+    }
+
     /**
      * Adds an item to the shopping cart.
      *
@@ -72,6 +193,24 @@ public class CartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cart);
     }
 
+    /**
+     * Adds an item to the shopping cart, responding with only the affected line
+     * and the new cart aggregates. Selected with {@code ?view=delta}.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param request the add item request containing product details
+     * @return response entity with the cart delta
+     */
+    @PostMapping(value = "/items", params = DELTA_VIEW)
+    public ResponseEntity<CartDeltaResponse> addItemToCartDelta(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @Valid @RequestBody final AddItemRequest request) {
+        final CartDeltaResponse delta = cartService.addItemToCartDelta(tenantId, userId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(delta);
+    }
+
     /**
      * Updates the quantity of an item in the shopping cart.
      *
@@ -91,6 +230,25 @@ public class CartController {
         return ResponseEntity.ok(cart);
     }
 
+    /**
+     * Updates the quantity of an item, responding with only the affected line
+     * and the new cart aggregates. Selected with {@code ?view=delta}.
+     *
+     * @param productId the product identifier to update
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param request the update quantity request
+     * @return response entity with the cart delta
+     */
+    @PutMapping(value = "/items/{productId}", params = DELTA_VIEW)
+    public ResponseEntity<CartDeltaResponse> updateItemQuantityDelta(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @PathVariable final String productId,
+            @Valid @RequestBody final UpdateQuantityRequest request) {
+        return ResponseEntity.ok(cartService.updateItemQuantityDelta(tenantId, userId, productId, request));
+    }
+
     /**
      * Removes an item from the shopping cart.
      *
@@ -108,6 +266,40 @@ public class CartController {
         return ResponseEntity.ok(cart);
     }
 
+    /**
+     * Removes an item from the shopping cart, responding with only the removed
+     * product and the new cart aggregates. Selected with {@code ?view=delta}.
+     *
+     * @param productId the product identifier to remove
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity with the cart delta
+     */
+    @DeleteMapping(value = "/items/{productId}", params = DELTA_VIEW)
+    public ResponseEntity<CartDeltaResponse> removeItemFromCartDelta(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @PathVariable final String productId) {
+        return ResponseEntity.ok(cartService.removeItemFromCartDelta(tenantId, userId, productId));
+    }
+
+    /**
+     * Merges another cart of the tenant, such as a guest cart, into the user's cart.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier owning the target cart from header
+     * @param request the merge request naming the source cart and quantity policy
+     * @return response entity with the merged cart
+     */
+    @PostMapping("/merge")
+    public ResponseEntity<CartResponse> mergeCarts(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @Valid @RequestBody final MergeCartRequest request) {
+        final CartResponse cart = cartService.mergeCarts(tenantId, userId, request);
+        return ResponseEntity.ok(cart);
+    }
+
     /**
      * Clears all items from the shopping cart.
      *
@@ -0,0 +1,43 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.service.CartDegradedMode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects cart writes while the database circuit is open, so they fail fast
+ * with 503 and Retry-After instead of queueing for an unavailable database.
+ * Reads are left to the degraded mode, which answers them from snapshots.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartDegradedModeInterceptor implements HandlerInterceptor {
+
+    private final CartDegradedMode cartDegradedMode;
+
+    /**
+     * Rejects the request if it is a write and the database circuit is open.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param handler the chosen handler
+     * @return true, as rejected requests are signalled by an exception
+     */
+    @Override
+    public boolean preHandle(final HttpServletRequest request,
+                             final HttpServletResponse response,
+                             final Object handler) {
+        final boolean read = HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod());
+        if (!read) {
+            cartDegradedMode.checkWritable();
+        }
+        return true;
+    }
+}
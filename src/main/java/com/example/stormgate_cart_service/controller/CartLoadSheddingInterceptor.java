@@ -0,0 +1,62 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.service.CartLoadShedder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits cart requests through the adaptive concurrency limit and reports
+ * their latency once they complete. GET and HEAD requests count as reads,
+ * everything else as writes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartLoadSheddingInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_AT = CartLoadSheddingInterceptor.class.getName() + ".admittedAt";
+
+    private final CartLoadShedder cartLoadShedder;
+
+    /**
+     * Admits the request or sheds it.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param handler the chosen handler
+     * @return true, as shed requests are signalled by an exception
+     */
+    @Override
+    public boolean preHandle(final HttpServletRequest request,
+                             final HttpServletResponse response,
+                             final Object handler) {
+        final boolean read = HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod());
+        cartLoadShedder.acquire(read).ifPresent(admittedAt -> request.setAttribute(ADMITTED_AT, admittedAt));
+        return true;
+    }
+
+    /**
+     * Releases the request's permit.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param handler the chosen handler
+     * @param ex the exception thrown by the handler, if any
+     */
+    @Override
+    public void afterCompletion(final HttpServletRequest request,
+                                final HttpServletResponse response,
+                                final Object handler,
+                                final Exception ex) {
+        if (request.getAttribute(ADMITTED_AT) instanceof Long admittedAt) {
+            request.removeAttribute(ADMITTED_AT);
+            cartLoadShedder.release(admittedAt);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.config.CartRateLimitProperties.Quota;
+import com.example.stormgate_cart_service.service.CartRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/cartratelimits}) for inspecting and
+ * changing tenant quotas at runtime.
+ */
+@Component
+@Endpoint(id = "cartratelimits")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartRateLimitEndpoint {
+
+    private final CartRateLimiter cartRateLimiter;
+
+    /**
+     * Lists the quotas overridden at runtime.
+     *
+     * @return the runtime overrides keyed by tenant identifier
+     */
+    @ReadOperation
+    public Map<String, Quota> overrides() {
+        return cartRateLimiter.overrides();
+    }
+
+    /**
+     * Gets the quota in effect for a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the effective quota
+     */
+    @ReadOperation
+    public Quota quota(@Selector final String tenantId) {
+        return cartRateLimiter.quota(tenantId);
+    }
+
+    /**
+     * Overrides a tenant's quota; omitted values keep their configured value.
+     *
+     * @param tenantId the tenant identifier
+     * @param tenantRate requests per second for the tenant
+     * @param tenantBurst burst size for the tenant
+     * @param userRate requests per second for each user
+     * @param userBurst burst size for each user
+     * @return the quota now in effect
+     */
+    @WriteOperation
+    public Quota override(@Selector final String tenantId,
+                          @Nullable final Double tenantRate,
+                          @Nullable final Integer tenantBurst,
+                          @Nullable final Double userRate,
+                          @Nullable final Integer userBurst) {
+        return cartRateLimiter.override(tenantId, new Quota(tenantRate, tenantBurst, userRate, userBurst));
+    }
+
+    /**
+     * Removes a tenant's runtime override.
+     *
+     * @param tenantId the tenant identifier
+     */
+    @DeleteOperation
+    public void clearOverride(@Selector final String tenantId) {
+        cartRateLimiter.clearOverride(tenantId);
+    }
+}
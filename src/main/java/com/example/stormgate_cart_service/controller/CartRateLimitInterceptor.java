@@ -0,0 +1,41 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.service.CartRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rate limits cart requests by their X-Tenant-ID and X-User-ID headers before
+ * the controller, and therefore the database, is reached. Requests without a
+ * tenant are left to the controller, which rejects them.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartRateLimitInterceptor implements HandlerInterceptor {
+
+    private final CartRateLimiter cartRateLimiter;
+
+    /**
+     * Takes a token for the request's tenant and user.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param handler the chosen handler
+     * @return true, as rejected requests are signalled by an exception
+     */
+    @Override
+    public boolean preHandle(final HttpServletRequest request,
+                             final HttpServletResponse response,
+                             final Object handler) {
+        final String tenantId = request.getHeader("X-Tenant-ID");
+        if (tenantId != null) {
+            cartRateLimiter.acquire(tenantId, request.getHeader("X-User-ID"));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.dto.BulkCartRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.service.CartBulkReader;
+import com.example.stormgate_cart_service.service.CartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * REST Controller for service-to-service cart operations.
+ * Not tenant-scoped by headers; these endpoints must only be reachable from
+ * inside the platform and are not routed by the public gateway.
+ */
+@RestController
+@RequestMapping("/internal/carts")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class InternalCartController {
+
+    private final CartBulkReader cartBulkReader;
+    private final CartService cartService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Reads many carts in one request. The response is a JSON array of carts
+     * that is streamed as each chunk of carts is loaded, so large batches are
+     * neither buffered in full nor held in one transaction. Carts that do not
+     * exist are left out; each cart carries its tenant, user and cart identifiers.
+     *
+     * @param request the carts to read, by user and/or by cart identifier
+     * @return response entity streaming the carts found
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCarts(@Valid @RequestBody final BulkCartRequest request) {
+        cartBulkReader.validate(request);
+        final StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = jsonMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                cartBulkReader.read(request, carts -> {
+                    for (final CartResponse cart : carts) {
+                        generator.writePOJO(cart);
+                    }
+                    generator.flush();
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Rebuilds a cart from the event log, for audits and for reconciling the
+     * cart rows with the log. Only carts changed while the log was enabled can
+     * be rebuilt.
+     *
+     * @param cartId the cart identifier
+     * @return response entity with the rebuilt cart
+     */
+    @GetMapping("/{cartId}/rebuilt")
+    public ResponseEntity<CartResponse> rebuildCart(@PathVariable final String cartId) {
+        return ResponseEntity.ok(cartService.rebuildCart(cartId));
+    }
+}
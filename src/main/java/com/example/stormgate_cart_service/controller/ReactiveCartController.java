@@ -0,0 +1,139 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.ReactiveCartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking REST Controller for Cart management operations, serving the
+ * same /api/cart contract as {@link CartController} on the reactive stack.
+ * Requests hold no thread while waiting on the database.
+ */
+@RestController
+@RequestMapping("/api/cart")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartController {
+
+    private final ReactiveCartService cartService;
+
+    /**
+     * Health check endpoint to verify service availability.
+     *
+     * @return response entity with success message
+     */
+    @GetMapping("/health")
+    public Mono<ResponseEntity<String>> health() {
+        return Mono.just(ResponseEntity.ok("Cart Service is running"));
+    }
+
+    /**
+     * Retrieves the shopping cart for a specific tenant and user.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity containing cart details
+     */
+    @GetMapping
+    public Mono<ResponseEntity<CartResponse>> getCart(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
+        return cartService.getCart(tenantId, userId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves the cart summary used by storefront header badges.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity containing item count, line count, total and version
+     */
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<CartSummaryResponse>> getCartSummary(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
+        return cartService.getCartSummary(tenantId, userId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Adds an item to the shopping cart.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param request the add item request containing product details
+     * @return response entity with updated cart
+     */
+    @PostMapping("/items")
+    public Mono<ResponseEntity<CartResponse>> addItemToCart(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @Valid @RequestBody final AddItemRequest request) {
+        return cartService.addItemToCart(tenantId, userId, request)
+                .map(cart -> ResponseEntity.status(HttpStatus.CREATED).body(cart));
+    }
+
+    /**
+     * Updates the quantity of an item in the shopping cart.
+     *
+     * @param productId the product identifier to update
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @param request the update quantity request
+     * @return response entity with updated cart
+     */
+    @PutMapping("/items/{productId}")
+    public Mono<ResponseEntity<CartResponse>> updateItemQuantity(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @PathVariable final String productId,
+            @Valid @RequestBody final UpdateQuantityRequest request) {
+        return cartService.updateItemQuantity(tenantId, userId, productId, request).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Removes an item from the shopping cart.
+     *
+     * @param productId the product identifier to remove
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity with updated cart
+     */
+    @DeleteMapping("/items/{productId}")
+    public Mono<ResponseEntity<CartResponse>> removeItemFromCart(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId,
+            @PathVariable final String productId) {
+        return cartService.removeItemFromCart(tenantId, userId, productId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Clears all items from the shopping cart.
+     *
+     * @param tenantId the tenant identifier from header
+     * @param userId the user identifier from header
+     * @return response entity with no content
+     */
+    @DeleteMapping
+    public Mono<ResponseEntity<Void>> clearCart(
+            @RequestHeader(value = "X-Tenant-ID", required = true) final String tenantId,
+            @RequestHeader(value = "X-User-ID", required = true) final String userId) {
+        return cartService.clearCart(tenantId, userId).thenReturn(ResponseEntity.noContent().build());
+    }
+}
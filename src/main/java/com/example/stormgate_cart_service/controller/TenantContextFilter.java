@@ -0,0 +1,45 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.bulkhead.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * Makes the tenant named by the X-Tenant-ID header current while the request
+ * is handled, so its database work is budgeted against the tenant's bulkhead.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TenantContextFilter extends OncePerRequestFilter {
+
+    private static final String TENANT_HEADER = "X-Tenant-ID";
+
+    /**
+     * Handles the request on behalf of its tenant, if it names one.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param filterChain the remaining filters
+     * @throws ServletException if a later filter or the handler fails
+     * @throws IOException if writing the response fails
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String tenantId = request.getHeader(TENANT_HEADER);
+        if (tenantId == null || tenantId.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.stormgate_cart_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO for reading many carts at once, by user and/or by cart identifier.
+ * Carts that do not exist are left out of the response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCartRequest {
+
+    /**
+     * Carts to read by tenant and user.
+     */
+    @Valid
+    @NotNull(message = "users must not be null")
+    @Builder.Default
+    private List<CartUserRef> users = new ArrayList<>();
+
+    /**
+     * Carts to read by cart identifier.
+     */
+    @NotNull(message = "cartIds must not be null")
+    @Builder.Default
+    private List<@NotBlank(message = "cartIds must not contain blank values") String> cartIds = new ArrayList<>();
+}
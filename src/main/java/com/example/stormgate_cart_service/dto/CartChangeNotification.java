@@ -0,0 +1,27 @@
+package com.example.stormgate_cart_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of a cart change pushed to stream subscribers. Clients holding an
+ * older version refetch the cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartChangeNotification {
+
+    /**
+     * Unique identifier of the changed cart.
+     */
+    private String cartId;
+
+    /**
+     * Version of the cart written by the change.
+     */
+    private Long version;
+}
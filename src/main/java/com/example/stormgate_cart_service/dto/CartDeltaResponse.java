@@ -0,0 +1,65 @@
+package com.example.stormgate_cart_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a cart mutation in delta mode.
+ * Carries only the affected line and the new cart aggregates, so clients can
+ * patch their local copy of the cart instead of receiving the full item list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartDeltaResponse {
+
+    /**
+     * Unique identifier of the cart.
+     */
+    private String cartId;
+
+    /**
+     * Product identifier of the affected line.
+     */
+    private String productId;
+
+    /**
+     * The affected line in its new state, or null if it was removed.
+     */
+    private CartItemResponse item;
+
+    /**
+     * Total quantity of all items in the cart after the change.
+     */
+    private Integer itemCount;
+
+    /**
+     * Number of distinct product lines in the cart after the change.
+     */
+    private Integer lineCount;
+
+    /**
+     * Total amount for all items in the cart after the change.
+     */
+    private BigDecimal totalAmount;
+
+    /**
+     * Currency code for the cart.
+     */
+    private String currency;
+
+    /**
+     * Last update timestamp for the cart.
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * Version of the cart written by the change.
+     */
+    private Long version;
+}
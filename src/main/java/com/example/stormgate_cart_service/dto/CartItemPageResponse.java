@@ -0,0 +1,64 @@
+package com.example.stormgate_cart_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Response DTO for one page of cart items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartItemPageResponse {
+
+    /**
+     * Items on this page.
+     */
+    private List<CartItemResponse> items;
+
+    /**
+     * Cursor for the next page, omitted on the last page.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * Gets the items. The list is immutable, so it is returned without copying.
+     *
+     * @return immutable items list
+     */
+    public List<CartItemResponse> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets items as an immutable copy.
+     *
+     * @param items the items to set
+     */
+    public void setItems(final List<CartItemResponse> items) {
+        this.items = items == null ? null : List.copyOf(items);
+    }
+
+    /**
+     * Builder that stores items as an immutable copy.
+     */
+    public static class CartItemPageResponseBuilder {
+
+        /**
+         * Sets items as an immutable copy.
+         *
+         * @param items the items to set
+         * @return this builder
+         */
+        public CartItemPageResponseBuilder items(final List<CartItemResponse> items) {
+            this.items = items == null ? null : List.copyOf(items);
+            return this;
+        }
+    }
+}
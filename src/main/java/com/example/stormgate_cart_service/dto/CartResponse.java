@@ -1,12 +1,12 @@
 package com.example.stormgate_cart_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,6 +39,13 @@ public class CartResponse {
      */
     private List<CartItemResponse> items;
 
+    /**
+     * Cursor for the next page of items when the response carries only the
+     * first page. Omitted when all items are included.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     /**
      * Total number of items in the cart.
      */
@@ -60,20 +67,42 @@ public class CartResponse {
     private LocalDateTime updatedAt;
 
     /**
-     * Gets a defensive copy of the items list.
+     * Version of the cart, incremented by every change.
+     */
+    private Long version;
+
+    /**
+     * Gets the items. The list is immutable, so it is returned without copying.
      *
-     * @return defensive copy of items list
+     * @return immutable items list
      */
     public List<CartItemResponse> getItems() {
-        return items == null ? null : new ArrayList<>(items);
+        return items;
     }
 
     /**
-     * Sets items with defensive copying.
+     * Sets items as an immutable copy.
      *
      * @param items the items to set
      */
     public void setItems(final List<CartItemResponse> items) {
-        this.items = items == null ? null : new ArrayList<>(items);
+        this.items = items == null ? null : List.copyOf(items);
+    }
+
+    /**
+     * Builder that stores items as an immutable copy.
+     */
+    public static class CartResponseBuilder {
+
+        /**
+         * Sets items as an immutable copy.
+         *
+         * @param items the items to set
+         * @return this builder
+         */
+        public CartResponseBuilder items(final List<CartItemResponse> items) {
+            this.items = items == null ? null : List.copyOf(items);
+            return this;
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.stormgate_cart_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the cart summary shown in storefront header badges.
+ * Built from the cart's persisted aggregates without reading its items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartSummaryResponse {
+
+    /**
+     * Total quantity of all items in the cart.
+     */
+    private Integer itemCount;
+
+    /**
+     * Number of distinct product lines in the cart.
+     */
+    private Integer lineCount;
+
+    /**
+     * Total amount for all items in the cart.
+     */
+    private BigDecimal totalAmount;
+
+    /**
+     * Currency code for the cart.
+     */
+    private String currency;
+
+    /**
+     * Version of the cart, incremented on every change.
+     */
+    private Long version;
+}
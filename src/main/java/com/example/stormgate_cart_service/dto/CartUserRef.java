@@ -0,0 +1,29 @@
+package com.example.stormgate_cart_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference to a user's cart by its tenant and user identifiers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartUserRef {
+
+    /**
+     * Tenant identifier.
+     */
+    @NotBlank(message = "tenantId is required")
+    private String tenantId;
+
+    /**
+     * User identifier.
+     */
+    @NotBlank(message = "userId is required")
+    private String userId;
+}
@@ -0,0 +1,24 @@
+package com.example.stormgate_cart_service.dto;
+
+/**
+ * Orderings for paginated cart item listings.
+ * Every ordering is ascending and breaks ties on the item identifier, so
+ * pages stay stable while the cart changes.
+ */
+public enum ItemSort {
+
+    /**
+     * Order in which items were added.
+     */
+    CREATED,
+
+    /**
+     * Unit price, cheapest first.
+     */
+    PRICE,
+
+    /**
+     * Product name, alphabetically.
+     */
+    NAME
+}
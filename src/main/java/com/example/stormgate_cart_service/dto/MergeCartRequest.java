@@ -0,0 +1,30 @@
+package com.example.stormgate_cart_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for merging another cart of the same tenant into the caller's cart,
+ * typically a guest cart merged into the user cart on login.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MergeCartRequest {
+
+    /**
+     * User identifier owning the source cart, which is tombstoned after the merge.
+     */
+    @NotBlank(message = "sourceUserId is required")
+    private String sourceUserId;
+
+    /**
+     * Quantity policy for products present in both carts. Defaults to SUM.
+     */
+    @Builder.Default
+    private MergePolicy policy = MergePolicy.SUM;
+}
@@ -0,0 +1,23 @@
+package com.example.stormgate_cart_service.dto;
+
+/**
+ * Quantity policy applied when both carts of a merge hold the same product.
+ * Products found in only one cart always end up in the target cart.
+ */
+public enum MergePolicy {
+
+    /**
+     * Adds the source quantity to the target quantity.
+     */
+    SUM,
+
+    /**
+     * Keeps the larger of the two quantities.
+     */
+    MAX,
+
+    /**
+     * Keeps the target quantity and discards the source line.
+     */
+    KEEP_TARGET
+}
@@ -9,11 +9,19 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,9 +31,15 @@ import java.util.List;
 /**
  * Cart entity representing a shopping cart for a tenant-user pair.
  * Manages cart state and cart items with soft delete support.
+ * Cached in the second-level cache when it is enabled by configuration,
+ * and resolved by its (tenantId, userId) natural id.
  */
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", uniqueConstraints = @UniqueConstraint(
+        name = "unique_tenant_user", columnNames = {"tenant_id", "user_id"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cart")
+@NaturalIdCache(region = "cart-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,12 +56,14 @@ public class Cart {
     /**
      * Tenant identifier that owns this cart.
      */
+    @NaturalId
     @Column(nullable = false)
     private String tenantId;
 
     /**
      * User identifier who owns this cart.
      */
+    @NaturalId
     @Column(nullable = false)
     private String userId;
 
@@ -55,6 +71,7 @@ public class Cart {
      * List of items in the cart.
      */
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "cart", orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cart-items")
     @Builder.Default
     private List<CartItem> items = new ArrayList<>();
 
@@ -64,6 +81,39 @@ public class Cart {
     @Column(name = "total_amount", precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    /**
+     * Number of active lines, maintained on every change so limits are
+     * enforced without loading the items.
+     */
+    @Column(name = "line_count", nullable = false)
+    @Builder.Default
+    private Integer lineCount = 0;
+
+    /**
+     * Total quantity across active lines, maintained on every change.
+     */
+    @Column(name = "total_quantity", nullable = false)
+    @Builder.Default
+    private Integer totalQuantity = 0;
+
+    /**
+     * Active lines of a cart in the document storage mode, encoded by
+     * CartDocumentCodec. When present it is authoritative and the cart_items
+     * rows are at most a projection of it; null for normalized carts.
+     */
+    @Column(name = "lines_document", columnDefinition = "MEDIUMTEXT")
+    @ToString.Exclude
+    private String linesDocument;
+
+    /**
+     * Optimistic lock version, incremented on every change so concurrent
+     * updates cannot lose changes to the persisted aggregates.
+     */
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Long version = 0L;
+
     /**
      * Currency code for the cart.
      */
@@ -1,12 +1,14 @@
 package com.example.stormgate_cart_service.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -16,15 +18,26 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * CartItem entity representing a product in a shopping cart.
  * Maintains product details, quantity, and pricing information.
+ * Cached in the second-level cache when it is enabled by configuration.
  */
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+        @Index(name = "idx_cart_items_cart_product", columnList = "cart_id, product_id, is_deleted"),
+        @Index(name = "idx_product_id", columnList = "product_id"),
+        @Index(name = "idx_cart_items_page_created", columnList = "cart_id, is_deleted, created_at, item_id"),
+        @Index(name = "idx_cart_items_page_price", columnList = "cart_id, is_deleted, price, item_id"),
+        @Index(name = "idx_cart_items_page_name", columnList = "cart_id, is_deleted, name, item_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cart-item")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,13 @@
+package com.example.stormgate_cart_service.event;
+
+/**
+ * Published by the cart service whenever a mutation changes a user's cart.
+ * Listeners interested in committed state observe it after the transaction commits.
+ *
+ * @param tenantId the tenant identifier
+ * @param userId the user identifier
+ * @param cartId the cart identifier
+ * @param version the cart version written by the mutation
+ */
+public record CartChangedEvent(String tenantId, String userId, String cartId, long version) {
+}
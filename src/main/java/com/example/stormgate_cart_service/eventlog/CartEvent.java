@@ -0,0 +1,32 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One entry of the cart event log.
+ *
+ * @param eventId position in the log, or null before the event is appended
+ * @param cartId the cart identifier
+ * @param tenantId the tenant identifier
+ * @param userId the user identifier
+ * @param type the kind of mutation
+ * @param productId the product of the affected line, or null for whole-cart events
+ * @param name the product name of an added line
+ * @param price the unit price of an added line
+ * @param quantity the added quantity, or the new quantity of a line
+ * @param cartVersion the cart version after the mutation
+ * @param occurredAt when the mutation happened
+ */
+public record CartEvent(Long eventId,
+                        String cartId,
+                        String tenantId,
+                        String userId,
+                        CartEventType type,
+                        String productId,
+                        String name,
+                        BigDecimal price,
+                        Integer quantity,
+                        Long cartVersion,
+                        Instant occurredAt) {
+}
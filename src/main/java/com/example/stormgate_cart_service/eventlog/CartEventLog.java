@@ -0,0 +1,204 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import com.example.stormgate_cart_service.config.CartEventLogProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only log of cart mutations. Each mutation of the cart service appends
+ * one small event in the mutation's transaction, and every snapshot interval the
+ * state folded from the previous snapshot and the events after it is stored
+ * as a new snapshot, so rebuilding a cart reads at most one snapshot interval
+ * of events. The cart rows stay the projection the API reads; the log keeps
+ * the history and can rebuild any cart. Does nothing while disabled.
+ */
+@Component
+@EnableConfigurationProperties(CartEventLogProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartEventLog {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final CartEventLogProperties properties;
+    private final JdbcCartEventRepository repository;
+    private final Counter snapshots;
+
+    /**
+     * Creates the event log and registers its metrics.
+     *
+     * @param properties the event log properties
+     * @param repository the store of events and snapshots
+     * @param meterRegistry the registry receiving the event log metrics
+     */
+    public CartEventLog(final CartEventLogProperties properties,
+                        final JdbcCartEventRepository repository,
+                        final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.snapshots = Counter.builder("cart.event.log.snapshots")
+                .description("Cart snapshots written by the event log")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records that a quantity of a product was added to the cart.
+     *
+     * @param cart the changed cart, flushed to its new version
+     * @param productId the product identifier
+     * @param name the product name
+     * @param price the unit price
+     * @param quantity the added quantity
+     */
+    public void itemAdded(final Cart cart,
+                          final String productId,
+                          final String name,
+                          final BigDecimal price,
+                          final int quantity) {
+        append(cart, CartEventType.ITEM_ADDED, productId, name, price, quantity);
+    }
+
+    /**
+     * Records that the quantity of a line was set.
+     *
+     * @param cart the changed cart, flushed to its new version
+     * @param productId the product identifier
+     * @param quantity the new quantity
+     */
+    public void quantitySet(final Cart cart, final String productId, final int quantity) {
+        append(cart, CartEventType.QUANTITY_SET, productId, null, null, quantity);
+    }
+
+    /**
+     * Records that a line was removed.
+     *
+     * @param cart the changed cart, flushed to its new version
+     * @param productId the product identifier
+     */
+    public void itemRemoved(final Cart cart, final String productId) {
+        append(cart, CartEventType.ITEM_REMOVED, productId, null, null, null);
+    }
+
+    /**
+     * Records that all lines were removed.
+     *
+     * @param cart the changed cart, flushed to its new version
+     */
+    public void cleared(final Cart cart) {
+        append(cart, CartEventType.CART_CLEARED, null, null, null, null);
+    }
+
+    /**
+     * Records that a source cart was merged into a target cart. The source is
+     * recorded as cleared and the target gets a snapshot of its merged lines,
+     * because the set-based merge has no per-line events.
+     *
+     * @param source the merged source cart
+     * @param sourceVersion the source cart version after the merge
+     * @param target the target cart, reloaded after the merge
+     * @param items the active items of the target cart
+     */
+    public void merged(final Cart source, final long sourceVersion, final Cart target, final List<CartItem> items) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        repository.append(event(source, sourceVersion, CartEventType.CART_CLEARED, null, null, null, null));
+        final long eventId = repository.append(
+                event(target, target.getVersion(), CartEventType.CART_MERGED, null, null, null, null));
+        final List<CartState.Line> lines = items.stream()
+                .map(item -> new CartState.Line(item.getProductId(), item.getName(), item.getPrice(),
+                        item.getQuantity()))
+                .toList();
+        saveSnapshot(new CartState(target.getCartId(), target.getTenantId(), target.getUserId(), eventId,
+                target.getVersion(), lines));
+    }
+
+    /**
+     * Rebuilds a cart from its latest snapshot and the events appended after it.
+     *
+     * @param cartId the cart identifier
+     * @return the cart state, or empty if the log has nothing for the cart
+     */
+    public Optional<CartState> rebuild(final String cartId) {
+        CartState state = repository.findLatestSnapshot(cartId).orElse(null);
+        long after = state == null ? 0L : state.eventId();
+        List<CartEvent> events;
+        do {
+            events = repository.findEvents(cartId, after, REBUILD_PAGE_SIZE);
+            for (final CartEvent event : events) {
+                if (state == null) {
+                    state = new CartState(cartId, event.tenantId(), event.userId(), 0L, null, List.of());
+                }
+                state.apply(event);
+            }
+            after = state == null ? after : state.eventId();
+        } while (events.size() == REBUILD_PAGE_SIZE);
+        return Optional.ofNullable(state);
+    }
+
+    /**
+     * Appends an event for a cart and writes a snapshot when the snapshot interval is reached.
+     *
+     * @param cart the changed cart
+     * @param type the kind of mutation
+     * @param productId the product of the affected line
+     * @param name the product name of an added line
+     * @param price the unit price of an added line
+     * @param quantity the added or new quantity
+     */
+    private void append(final Cart cart,
+                        final CartEventType type,
+                        final String productId,
+                        final String name,
+                        final BigDecimal price,
+                        final Integer quantity) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        repository.append(event(cart, cart.getVersion(), type, productId, name, price, quantity));
+        if (repository.countSinceSnapshot(cart.getCartId()) >= properties.getSnapshotInterval()) {
+            rebuild(cart.getCartId()).ifPresent(this::saveSnapshot);
+        }
+    }
+
+    /**
+     * Stores a snapshot.
+     *
+     * @param state the folded state
+     */
+    private void saveSnapshot(final CartState state) {
+        repository.saveSnapshot(state);
+        snapshots.increment();
+    }
+
+    /**
+     * Creates an event of a cart.
+     *
+     * @param cart the changed cart
+     * @param version the cart version after the mutation
+     * @param type the kind of mutation
+     * @param productId the product of the affected line
+     * @param name the product name of an added line
+     * @param price the unit price of an added line
+     * @param quantity the added or new quantity
+     * @return the event, without an identifier
+     */
+    private static CartEvent event(final Cart cart,
+                                   final Long version,
+                                   final CartEventType type,
+                                   final String productId,
+                                   final String name,
+                                   final BigDecimal price,
+                                   final Integer quantity) {
+        return new CartEvent(null, cart.getCartId(), cart.getTenantId(), cart.getUserId(), type, productId, name,
+                price, quantity, version, Instant.now());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.stormgate_cart_service.eventlog;
+
+/**
+ * Kinds of mutations recorded in the cart event log.
+ */
+public enum CartEventType {
+
+    /**
+     * A quantity of a product was added, creating the line if it was not active.
+     */
+    ITEM_ADDED,
+
+    /**
+     * The quantity of a line was set.
+     */
+    QUANTITY_SET,
+
+    /**
+     * A line was removed.
+     */
+    ITEM_REMOVED,
+
+    /**
+     * All lines were removed.
+     */
+    CART_CLEARED,
+
+    /**
+     * Another cart was merged into the cart. The merged lines are not part of
+     * the event, so a snapshot is always written right after it.
+     */
+    CART_MERGED
+}
@@ -0,0 +1,168 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a cart folded from its snapshot and events. Lines keep the order in
+ * which they were first added. Not thread-safe.
+ */
+public final class CartState {
+
+    private final String cartId;
+    private final String tenantId;
+    private final String userId;
+    private final Map<String, Line> lines = new LinkedHashMap<>();
+    private long eventId;
+    private Long version;
+
+    /**
+     * Creates the state of a snapshot, or an empty state before the first event.
+     *
+     * @param cartId the cart identifier
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param eventId the last event folded into the state, 0 for none
+     * @param version the cart version after that event
+     * @param lines the active lines
+     */
+    public CartState(final String cartId,
+                     final String tenantId,
+                     final String userId,
+                     final long eventId,
+                     final Long version,
+                     final List<Line> lines) {
+        this.cartId = cartId;
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.eventId = eventId;
+        this.version = version;
+        lines.forEach(line -> this.lines.put(line.productId(), line));
+    }
+
+    /**
+     * Folds an event into the state, the same way the cart service applies the mutation.
+     *
+     * @param event the next event of the cart
+     * @throws IllegalStateException for a merge, whose lines only a snapshot holds
+     */
+    public void apply(final CartEvent event) {
+        switch (event.type()) {
+            case ITEM_ADDED -> lines.merge(event.productId(),
+                    new Line(event.productId(), event.name(), event.price(), event.quantity()),
+                    (line, added) -> line.withQuantity(line.quantity() + added.quantity()));
+            case QUANTITY_SET -> lines.computeIfPresent(event.productId(),
+                    (productId, line) -> line.withQuantity(event.quantity()));
+            case ITEM_REMOVED -> lines.remove(event.productId());
+            case CART_CLEARED -> lines.clear();
+            case CART_MERGED -> throw new IllegalStateException(
+                    "Cart " + cartId + " has no snapshot after merge event " + event.eventId());
+        }
+        eventId = event.eventId();
+        version = event.cartVersion();
+    }
+
+    /**
+     * Gets the cart identifier.
+     *
+     * @return the cart identifier
+     */
+    public String cartId() {
+        return cartId;
+    }
+
+    /**
+     * Gets the tenant identifier.
+     *
+     * @return the tenant identifier
+     */
+    public String tenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Gets the user identifier.
+     *
+     * @return the user identifier
+     */
+    public String userId() {
+        return userId;
+    }
+
+    /**
+     * Gets the last event folded into the state.
+     *
+     * @return the event identifier, 0 for none
+     */
+    public long eventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the cart version after the last folded event.
+     *
+     * @return the cart version
+     */
+    public Long version() {
+        return version;
+    }
+
+    /**
+     * Gets the active lines in the order they were first added.
+     *
+     * @return an immutable copy of the lines
+     */
+    public List<Line> lines() {
+        return List.copyOf(lines.values());
+    }
+
+    /**
+     * Gets the total quantity of the active lines.
+     *
+     * @return the total quantity
+     */
+    public int totalQuantity() {
+        return lines.values().stream().mapToInt(Line::quantity).sum();
+    }
+
+    /**
+     * Gets the total amount of the active lines.
+     *
+     * @return the total amount
+     */
+    public BigDecimal totalAmount() {
+        return lines.values().stream().map(Line::subtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * An active line of the cart.
+     *
+     * @param productId the product identifier
+     * @param name the product name
+     * @param price the unit price
+     * @param quantity the quantity
+     */
+    public record Line(String productId, String name, BigDecimal price, int quantity) {
+
+        /**
+         * Computes the value of the line.
+         *
+         * @return price multiplied by quantity
+         */
+        public BigDecimal subtotal() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+
+        /**
+         * Copies the line with another quantity.
+         *
+         * @param newQuantity the quantity
+         * @return the changed line
+         */
+        Line withQuantity(final int newQuantity) {
+            return new Line(productId, name, price, newQuantity);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.json.JsonMapper;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Store of the cart event log in the cart_events and cart_snapshots tables.
+ * Runs in the caller's transaction, so events commit with the mutation.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JdbcCartEventRepository {
+
+    private static final String INSERT_EVENT = "INSERT INTO cart_events "
+            + "(cart_id, tenant_id, user_id, event_type, product_id, name, price, quantity, cart_version, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_EVENTS = "SELECT event_id, cart_id, tenant_id, user_id, event_type, "
+            + "product_id, name, price, quantity, cart_version, occurred_at "
+            + "FROM cart_events WHERE cart_id = ? AND event_id > ? ORDER BY event_id LIMIT ?";
+
+    private static final String COUNT_SINCE_SNAPSHOT = "SELECT COUNT(*) FROM cart_events WHERE cart_id = ? "
+            + "AND event_id > COALESCE((SELECT MAX(event_id) FROM cart_snapshots WHERE cart_id = ?), 0)";
+
+    private static final String SELECT_SNAPSHOT = "SELECT cart_id, event_id, tenant_id, user_id, cart_version, state "
+            + "FROM cart_snapshots WHERE cart_id = ? ORDER BY event_id DESC LIMIT 1";
+
+    private static final String INSERT_SNAPSHOT = "INSERT INTO cart_snapshots "
+            + "(cart_id, event_id, tenant_id, user_id, cart_version, state) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    private final RowMapper<CartEvent> eventMapper = (rs, row) -> new CartEvent(
+            rs.getLong("event_id"),
+            rs.getString("cart_id"),
+            rs.getString("tenant_id"),
+            rs.getString("user_id"),
+            CartEventType.valueOf(rs.getString("event_type")),
+            rs.getString("product_id"),
+            rs.getString("name"),
+            rs.getBigDecimal("price"),
+            rs.getObject("quantity", Integer.class),
+            rs.getObject("cart_version", Long.class),
+            rs.getTimestamp("occurred_at").toInstant());
+
+    /**
+     * Appends an event to the log.
+     *
+     * @param event the event, without an identifier
+     * @return the identifier assigned to the event
+     */
+    public long append(final CartEvent event) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(INSERT_EVENT, new String[] {"event_id"});
+            statement.setString(1, event.cartId());
+            statement.setString(2, event.tenantId());
+            statement.setString(3, event.userId());
+            statement.setString(4, event.type().name());
+            statement.setString(5, event.productId());
+            statement.setString(6, event.name());
+            statement.setBigDecimal(7, event.price());
+            statement.setObject(8, event.quantity(), Types.INTEGER);
+            statement.setObject(9, event.cartVersion(), Types.BIGINT);
+            statement.setTimestamp(10, Timestamp.from(event.occurredAt()));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    /**
+     * Reads the events of a cart after a position, oldest first.
+     *
+     * @param cartId the cart identifier
+     * @param afterEventId the position to read after, 0 for the start of the log
+     * @param limit maximum number of events
+     * @return the events
+     */
+    public List<CartEvent> findEvents(final String cartId, final long afterEventId, final int limit) {
+        return jdbcTemplate.query(SELECT_EVENTS, eventMapper, cartId, afterEventId, limit);
+    }
+
+    /**
+     * Counts the events of a cart appended after its latest snapshot.
+     *
+     * @param cartId the cart identifier
+     * @return the number of events not folded into a snapshot
+     */
+    public long countSinceSnapshot(final String cartId) {
+        final Long count = jdbcTemplate.queryForObject(COUNT_SINCE_SNAPSHOT, Long.class, cartId, cartId);
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Finds the latest snapshot of a cart.
+     *
+     * @param cartId the cart identifier
+     * @return the snapshot state, if any
+     */
+    public Optional<CartState> findLatestSnapshot(final String cartId) {
+        return jdbcTemplate.query(SELECT_SNAPSHOT, (rs, row) -> new CartState(
+                        rs.getString("cart_id"),
+                        rs.getString("tenant_id"),
+                        rs.getString("user_id"),
+                        rs.getLong("event_id"),
+                        rs.getObject("cart_version", Long.class),
+                        List.of(jsonMapper.readValue(rs.getString("state"), CartState.Line[].class))),
+                cartId).stream().findFirst();
+    }
+
+    /**
+     * Stores a snapshot of a cart at the state's last event.
+     *
+     * @param state the folded state
+     */
+    public void saveSnapshot(final CartState state) {
+        jdbcTemplate.update(INSERT_SNAPSHOT, state.cartId(), state.eventId(), state.tenantId(), state.userId(),
+                state.version(), jsonMapper.writeValueAsString(state.lines()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import com.example.stormgate_cart_service.config.CartEventLogProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CartEventLog} for the reactive stack.
+ * Appends the same events to the same log within the mutation's R2DBC
+ * transaction and writes snapshots at the same interval, so carts changed
+ * through either stack rebuild alike. Does nothing while disabled.
+ */
+@Component
+@EnableConfigurationProperties(CartEventLogProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartEventLog {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final CartEventLogProperties properties;
+    private final ReactiveCartEventRepository repository;
+    private final Counter snapshots;
+
+    /**
+     * Creates the event log and registers its metrics.
+     *
+     * @param properties the event log properties
+     * @param repository the store of events and snapshots
+     * @param meterRegistry the registry receiving the event log metrics
+     */
+    public ReactiveCartEventLog(final CartEventLogProperties properties,
+                                final ReactiveCartEventRepository repository,
+                                final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.snapshots = Counter.builder("cart.event.log.snapshots")
+                .description("Cart snapshots written by the event log")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records that a quantity of a product was added to the cart.
+     *
+     * @param cart the changed cart, at its new version
+     * @param productId the product identifier
+     * @param name the product name
+     * @param price the unit price
+     * @param quantity the added quantity
+     * @return completion
+     */
+    public Mono<Void> itemAdded(final Cart cart,
+                                final String productId,
+                                final String name,
+                                final BigDecimal price,
+                                final int quantity) {
+        return append(cart, CartEventType.ITEM_ADDED, productId, name, price, quantity);
+    }
+
+    /**
+     * Records that the quantity of a line was set.
+     *
+     * @param cart the changed cart, at its new version
+     * @param productId the product identifier
+     * @param quantity the new quantity
+     * @return completion
+     */
+    public Mono<Void> quantitySet(final Cart cart, final String productId, final int quantity) {
+        return append(cart, CartEventType.QUANTITY_SET, productId, null, null, quantity);
+    }
+
+    /**
+     * Records that a line was removed.
+     *
+     * @param cart the changed cart, at its new version
+     * @param productId the product identifier
+     * @return completion
+     */
+    public Mono<Void> itemRemoved(final Cart cart, final String productId) {
+        return append(cart, CartEventType.ITEM_REMOVED, productId, null, null, null);
+    }
+
+    /**
+     * Records that all lines were removed.
+     *
+     * @param cart the changed cart, at its new version
+     * @return completion
+     */
+    public Mono<Void> cleared(final Cart cart) {
+        return append(cart, CartEventType.CART_CLEARED, null, null, null, null);
+    }
+
+    /**
+     * Rebuilds a cart from its latest snapshot and the events appended after it.
+     *
+     * @param cartId the cart identifier
+     * @return the cart state, or empty if the log has nothing for the cart
+     */
+    public Mono<CartState> rebuild(final String cartId) {
+        return repository.findLatestSnapshot(cartId)
+                .flatMap(snapshot -> fold(cartId, snapshot, snapshot.eventId()))
+                .switchIfEmpty(Mono.defer(() -> fold(cartId, null, 0L)));
+    }
+
+    /**
+     * Folds the events after a position into a state, one page at a time.
+     *
+     * @param cartId the cart identifier
+     * @param state the state folded so far, or null if nothing was folded
+     * @param after the position to read after
+     * @return the folded state, or empty if there is nothing to fold
+     */
+    private Mono<CartState> fold(final String cartId, final CartState state, final long after) {
+        return repository.findEvents(cartId, after, REBUILD_PAGE_SIZE).collectList().flatMap(events -> {
+            CartState folded = state;
+            for (final CartEvent event : events) {
+                if (folded == null) {
+                    folded = new CartState(cartId, event.tenantId(), event.userId(), 0L, null, List.of());
+                }
+                folded.apply(event);
+            }
+            if (events.size() == REBUILD_PAGE_SIZE) {
+                return fold(cartId, folded, folded.eventId());
+            }
+            return Mono.justOrEmpty(folded);
+        });
+    }
+
+    /**
+     * Appends an event for a cart and writes a snapshot when the snapshot interval is reached.
+     *
+     * @param cart the changed cart
+     * @param type the kind of mutation
+     * @param productId the product of the affected line
+     * @param name the product name of an added line
+     * @param price the unit price of an added line
+     * @param quantity the added or new quantity
+     * @return completion
+     */
+    private Mono<Void> append(final Cart cart,
+                              final CartEventType type,
+                              final String productId,
+                              final String name,
+                              final BigDecimal price,
+                              final Integer quantity) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return repository.append(new CartEvent(null, cart.getCartId(), cart.getTenantId(), cart.getUserId(), type,
+                        productId, name, price, quantity, cart.getVersion(), Instant.now()))
+                .then(repository.countSinceSnapshot(cart.getCartId()))
+                .filter(count -> count >= properties.getSnapshotInterval())
+                .flatMap(count -> rebuild(cart.getCartId()))
+                .flatMap(state -> repository.saveSnapshot(state).doOnSuccess(saved -> snapshots.increment()));
+    }
+}
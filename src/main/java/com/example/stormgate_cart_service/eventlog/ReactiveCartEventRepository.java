@@ -0,0 +1,183 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Non-blocking store of the cart event log over R2DBC for the reactive stack.
+ * Reads and writes the same cart_events and cart_snapshots rows as
+ * {@link JdbcCartEventRepository}, in the caller's transaction.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartEventRepository {
+
+    private static final String INSERT_EVENT = "INSERT INTO cart_events "
+            + "(cart_id, tenant_id, user_id, event_type, product_id, name, price, quantity, cart_version, occurred_at) "
+            + "VALUES (:cartId, :tenantId, :userId, :eventType, :productId, :name, :price, :quantity, "
+            + ":cartVersion, :occurredAt)";
+
+    private static final String SELECT_EVENTS = "SELECT event_id, cart_id, tenant_id, user_id, event_type, "
+            + "product_id, name, price, quantity, cart_version, occurred_at "
+            + "FROM cart_events WHERE cart_id = :cartId AND event_id > :afterEventId ORDER BY event_id LIMIT :limit";
+
+    private static final String COUNT_SINCE_SNAPSHOT = "SELECT COUNT(*) AS events FROM cart_events "
+            + "WHERE cart_id = :cartId "
+            + "AND event_id > COALESCE((SELECT MAX(event_id) FROM cart_snapshots WHERE cart_id = :cartId), 0)";
+
+    private static final String SELECT_SNAPSHOT = "SELECT cart_id, event_id, tenant_id, user_id, cart_version, state "
+            + "FROM cart_snapshots WHERE cart_id = :cartId ORDER BY event_id DESC LIMIT 1";
+
+    private static final String INSERT_SNAPSHOT = "INSERT INTO cart_snapshots "
+            + "(cart_id, event_id, tenant_id, user_id, cart_version, state) "
+            + "VALUES (:cartId, :eventId, :tenantId, :userId, :cartVersion, :state)";
+
+    private final DatabaseClient databaseClient;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Creates the repository.
+     *
+     * @param databaseClient the R2DBC client
+     * @param jsonMapper the mapper of snapshot states
+     */
+    public ReactiveCartEventRepository(final DatabaseClient databaseClient, final JsonMapper jsonMapper) {
+        this.databaseClient = databaseClient;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Appends an event to the log.
+     *
+     * @param event the event, without an identifier
+     * @return the identifier assigned to the event
+     */
+    public Mono<Long> append(final CartEvent event) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_EVENT)
+                .filter(statement -> statement.returnGeneratedValues("event_id"))
+                .bind("cartId", event.cartId())
+                .bind("tenantId", event.tenantId())
+                .bind("userId", event.userId())
+                .bind("eventType", event.type().name())
+                .bind("occurredAt", LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()));
+        spec = bindNullable(spec, "productId", event.productId(), String.class);
+        spec = bindNullable(spec, "name", event.name(), String.class);
+        spec = bindNullable(spec, "price", event.price(), BigDecimal.class);
+        spec = bindNullable(spec, "quantity", event.quantity(), Integer.class);
+        spec = bindNullable(spec, "cartVersion", event.cartVersion(), Long.class);
+        return spec.map(row -> row.get("event_id", Long.class)).one();
+    }
+
+    /**
+     * Reads the events of a cart after a position, oldest first.
+     *
+     * @param cartId the cart identifier
+     * @param afterEventId the position to read after, 0 for the start of the log
+     * @param limit maximum number of events
+     * @return the events
+     */
+    public Flux<CartEvent> findEvents(final String cartId, final long afterEventId, final int limit) {
+        return databaseClient.sql(SELECT_EVENTS)
+                .bind("cartId", cartId)
+                .bind("afterEventId", afterEventId)
+                .bind("limit", limit)
+                .map(ReactiveCartEventRepository::toEvent)
+                .all();
+    }
+
+    /**
+     * Counts the events of a cart appended after its latest snapshot.
+     *
+     * @param cartId the cart identifier
+     * @return the number of events not folded into a snapshot
+     */
+    public Mono<Long> countSinceSnapshot(final String cartId) {
+        return databaseClient.sql(COUNT_SINCE_SNAPSHOT)
+                .bind("cartId", cartId)
+                .map(row -> row.get("events", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Finds the latest snapshot of a cart.
+     *
+     * @param cartId the cart identifier
+     * @return the snapshot state, or empty if the cart has none
+     */
+    public Mono<CartState> findLatestSnapshot(final String cartId) {
+        return databaseClient.sql(SELECT_SNAPSHOT)
+                .bind("cartId", cartId)
+                .map(row -> new CartState(
+                        row.get("cart_id", String.class),
+                        row.get("tenant_id", String.class),
+                        row.get("user_id", String.class),
+                        row.get("event_id", Long.class),
+                        row.get("cart_version", Long.class),
+                        List.of(jsonMapper.readValue(row.get("state", String.class), CartState.Line[].class))))
+                .one();
+    }
+
+    /**
+     * Stores a snapshot of a cart at the state's last event.
+     *
+     * @param state the folded state
+     * @return completion
+     */
+    public Mono<Void> saveSnapshot(final CartState state) {
+        return bindNullable(databaseClient.sql(INSERT_SNAPSHOT)
+                        .bind("cartId", state.cartId())
+                        .bind("eventId", state.eventId())
+                        .bind("tenantId", state.tenantId())
+                        .bind("userId", state.userId())
+                        .bind("state", jsonMapper.writeValueAsString(state.lines())),
+                "cartVersion", state.version(), Long.class)
+                .then();
+    }
+
+    /**
+     * Binds a value that may be null.
+     *
+     * @param spec the statement
+     * @param name the parameter name
+     * @param value the value, or null
+     * @param type the parameter type
+     * @return the statement with the parameter bound
+     */
+    private static DatabaseClient.GenericExecuteSpec bindNullable(final DatabaseClient.GenericExecuteSpec spec,
+                                                                  final String name,
+                                                                  final Object value,
+                                                                  final Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    /**
+     * Maps a row to an event.
+     *
+     * @param row the row
+     * @return the event
+     */
+    private static CartEvent toEvent(final Readable row) {
+        return new CartEvent(
+                row.get("event_id", Long.class),
+                row.get("cart_id", String.class),
+                row.get("tenant_id", String.class),
+                row.get("user_id", String.class),
+                CartEventType.valueOf(row.get("event_type", String.class)),
+                row.get("product_id", String.class),
+                row.get("name", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("quantity", Integer.class),
+                row.get("cart_version", Long.class),
+                row.get("occurred_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.stormgate_cart_service.exception;
+
+/**
+ * Exception thrown when the service has no capacity left to accept a request.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    /**
+     * Creates a new CapacityExceededException with the specified message.
+     *
+     * @param message the error message
+     */
+    public CapacityExceededException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.stormgate_cart_service.exception;
+
+/**
+ * Exception thrown when a change would take a cart beyond its tenant's limits.
+ */
+public class CartLimitExceededException extends RuntimeException {
+
+    /**
+     * Creates a new CartLimitExceededException with the specified message.
+     *
+     * @param message the error message
+     */
+    public CartLimitExceededException(final String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.stormgate_cart_service.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +23,7 @@ import java.util.Map;
  */
 @RestControllerAdvice
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     /**
@@ -63,6 +70,186 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles CartLimitExceededException.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(CartLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleCartLimitExceededException(
+            final CartLimitExceededException ex,
+            final WebRequest request) {
+        log.warn("Cart limit exceeded: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_CONTENT.value())
+                .error("Unprocessable Content")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(errorResponse);
+    }
+
+    /**
+     * Handles concurrent modifications of the same cart.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            final OptimisticLockingFailureException ex,
+            final WebRequest request) {
+        log.warn("Concurrent cart modification: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("Cart was modified concurrently, please retry")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles idempotency keys reused for a different request.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(
+            final IdempotencyKeyMismatchException ex,
+            final WebRequest request) {
+        log.warn("Idempotency key mismatch: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_CONTENT.value())
+                .error("Unprocessable Content")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(errorResponse);
+    }
+
+    /**
+     * Handles duplicates of a request that is still being processed.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInUseException(
+            final IdempotencyKeyInUseException ex,
+            final WebRequest request) {
+        log.warn("Idempotency key in use: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles requests refused because the service is out of capacity.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleCapacityExceededException(
+            final CapacityExceededException ex,
+            final WebRequest request) {
+        log.warn("Capacity exceeded: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles requests that cannot be served while the database is unavailable.
+     * The Retry-After header tells the client when the database is probed again.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(ServiceDegradedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceDegradedException(
+            final ServiceDegradedException ex,
+            final WebRequest request) {
+        log.warn("Service degraded: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        final long retryAfterSeconds = Math.max(1L, (ex.getRetryAfter().toMillis() + 999L) / 1000L);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles transactions that could not start. A tenant whose database
+     * bulkhead stayed full is out of capacity; any other cause is unexpected.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(
+            final CannotCreateTransactionException ex,
+            final WebRequest request) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof CapacityExceededException capacity) {
+            return handleCapacityExceededException(capacity, request);
+        }
+        return handleGenericException(ex, request);
+    }
+
+    /**
+     * Handles requests rejected because the tenant or user used up its quota.
+     * The Retry-After header tells the client when to try again.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+            final RateLimitExceededException ex,
+            final WebRequest request) {
+        log.warn("Rate limit exceeded: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        final long retryAfterSeconds = Math.max(1L, (ex.getRetryAfter().toMillis() + 999L) / 1000L);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
     /**
      * Handles validation exceptions from request binding.
      *
@@ -92,6 +279,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles request parameters that cannot be converted, such as an unknown sort.
+     *
+     * @param ex the exception
+     * @param request the web request
+     * @return error response entity
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            final MethodArgumentTypeMismatchException ex,
+            final WebRequest request) {
+        log.error("Invalid parameter: {}", ex.getMessage());
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message("Invalid value for parameter: " + ex.getName())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles IllegalArgumentException.
      *
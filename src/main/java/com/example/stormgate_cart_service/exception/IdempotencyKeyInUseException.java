@@ -0,0 +1,16 @@
+package com.example.stormgate_cart_service.exception;
+
+/**
+ * Exception thrown when a request with the same idempotency key is still in flight.
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+
+    /**
+     * Creates a new IdempotencyKeyInUseException with the specified message.
+     *
+     * @param message the error message
+     */
+    public IdempotencyKeyInUseException(final String message) {
+        super(message);
+    }
+}
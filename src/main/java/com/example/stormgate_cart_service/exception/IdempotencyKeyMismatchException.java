@@ -0,0 +1,16 @@
+package com.example.stormgate_cart_service.exception;
+
+/**
+ * Exception thrown when an idempotency key is reused for a different request.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    /**
+     * Creates a new IdempotencyKeyMismatchException with the specified message.
+     *
+     * @param message the error message
+     */
+    public IdempotencyKeyMismatchException(final String message) {
+        super(message);
+    }
+}
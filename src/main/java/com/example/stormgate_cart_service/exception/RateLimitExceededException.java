@@ -0,0 +1,31 @@
+package com.example.stormgate_cart_service.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a tenant or user has used up its request quota.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new RateLimitExceededException with the specified message.
+     *
+     * @param message the error message
+     * @param retryAfter time until the next request would be admitted
+     */
+    public RateLimitExceededException(final String message, final Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the time until the next request would be admitted.
+     *
+     * @return the retry delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.stormgate_cart_service.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler of the reactive stack, answering with the same
+ * {@link ErrorResponse} bodies and statuses as {@link GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles CartNotFoundException and ItemNotFoundException.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler({CartNotFoundException.class, ItemNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFoundException(
+            final RuntimeException ex,
+            final ServerHttpRequest request) {
+        log.error("Not found: {}", ex.getMessage());
+        return respond(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), null, request);
+    }
+
+    /**
+     * Handles CartLimitExceededException.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(CartLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleCartLimitExceededException(
+            final CartLimitExceededException ex,
+            final ServerHttpRequest request) {
+        log.error("Cart limit exceeded: {}", ex.getMessage());
+        return respond(HttpStatus.UNPROCESSABLE_CONTENT, "Unprocessable Content", ex.getMessage(), null, request);
+    }
+
+    /**
+     * Handles concurrent modification of the same cart.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            final OptimisticLockingFailureException ex,
+            final ServerHttpRequest request) {
+        log.error("Concurrent cart modification: {}", ex.getMessage());
+        return respond(HttpStatus.CONFLICT, "Conflict", "Cart was modified concurrently, please retry",
+                null, request);
+    }
+
+    /**
+     * Handles CapacityExceededException.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleCapacityExceededException(
+            final CapacityExceededException ex,
+            final ServerHttpRequest request) {
+        log.error("Capacity exceeded: {}", ex.getMessage());
+        return respond(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), null, request);
+    }
+
+    /**
+     * Handles validation errors of request bodies.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity with validation errors
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(
+            final WebExchangeBindException ex,
+            final ServerHttpRequest request) {
+        log.error("Validation error: {}", ex.getMessage());
+        final Map<String, String> errors = new HashMap<>();
+        ex.getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return respond(HttpStatus.BAD_REQUEST, "Bad Request", "Validation failed", errors, request);
+    }
+
+    /**
+     * Handles unreadable or unconvertible request input.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(
+            final ServerWebInputException ex,
+            final ServerHttpRequest request) {
+        log.error("Invalid input: {}", ex.getMessage());
+        return respond(HttpStatus.BAD_REQUEST, "Bad Request", ex.getReason(), null, request);
+    }
+
+    /**
+     * Handles IllegalArgumentException.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+            final IllegalArgumentException ex,
+            final ServerHttpRequest request) {
+        log.error("Illegal argument: {}", ex.getMessage());
+        return respond(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), null, request);
+    }
+
+    /**
+     * Handles all other exceptions.
+     *
+     * @param ex the exception
+     * @param request the request
+     * @return error response entity
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            final Exception ex,
+            final ServerHttpRequest request) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "An unexpected error occurred", null, request);
+    }
+
+    /**
+     * Builds an error response.
+     *
+     * @param status the response status
+     * @param error the status reason phrase
+     * @param message the error message
+     * @param validationErrors the field errors, or null
+     * @param request the request
+     * @return error response entity
+     */
+    private static ResponseEntity<ErrorResponse> respond(final HttpStatus status,
+                                                         final String error,
+                                                         final String message,
+                                                         final Map<String, String> validationErrors,
+                                                         final ServerHttpRequest request) {
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .validationErrors(validationErrors)
+                .path(request.getPath().value())
+                .build();
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
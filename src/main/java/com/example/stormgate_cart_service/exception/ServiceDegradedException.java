@@ -0,0 +1,32 @@
+package com.example.stormgate_cart_service.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the database is unavailable and the request cannot be
+ * answered from the last known state.
+ */
+public class ServiceDegradedException extends CapacityExceededException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new ServiceDegradedException with the specified message.
+     *
+     * @param message the error message
+     * @param retryAfter time until the database is probed again
+     */
+    public ServiceDegradedException(final String message, final Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the time until the database is probed again.
+     *
+     * @return the retry delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.config.CartGrpcProperties;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server next to the HTTP server. Calls block on the database,
+ * so each one runs on its own virtual thread. On shutdown, calls in flight get
+ * a grace period before open streams are cancelled.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CartGrpcProperties.class)
+@ConditionalOnProperty(prefix = "cart.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartGrpcServer implements SmartLifecycle {
+
+    private final CartGrpcProperties properties;
+    private final Server server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    /**
+     * Creates the server.
+     *
+     * @param cartGrpcService the cart service endpoint
+     * @param properties the gRPC properties
+     */
+    public CartGrpcServer(final CartGrpcService cartGrpcService, final CartGrpcProperties properties) {
+        this.properties = properties;
+        this.server = NettyServerBuilder.forPort(properties.getPort())
+                .addService(cartGrpcService)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Starts listening for calls.
+     */
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the gRPC server on port " + properties.getPort(), e);
+        }
+        running = true;
+        log.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    /**
+     * Stops accepting calls and waits for the calls in flight.
+     */
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(properties.getShutdownGrace().toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        running = false;
+    }
+
+    /**
+     * Checks whether the server is listening.
+     *
+     * @return true between start and stop
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
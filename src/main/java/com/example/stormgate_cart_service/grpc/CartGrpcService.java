@@ -0,0 +1,250 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.bulkhead.TenantContext;
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import com.example.stormgate_cart_service.exception.CartLimitExceededException;
+import com.example.stormgate_cart_service.exception.CartNotFoundException;
+import com.example.stormgate_cart_service.exception.ItemNotFoundException;
+import com.example.stormgate_cart_service.grpc.v1.CartProtos;
+import com.example.stormgate_cart_service.grpc.v1.CartServiceGrpc;
+import com.example.stormgate_cart_service.service.CartReadCoalescer;
+import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC endpoint of the cart API for internal services. Calls are served by the
+ * same service, read coalescing and change stream as the REST API; service
+ * errors are reported with the gRPC status matching their HTTP status.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartGrpcService extends CartServiceGrpc.CartServiceImplBase {
+
+    private final CartService cartService;
+    private final CartReadCoalescer cartReadCoalescer;
+    private final CartChangeStream cartChangeStream;
+    private final Validator validator;
+
+    /**
+     * Retrieves the user's cart. Concurrent identical reads share one load.
+     *
+     * @param request the tenant and user
+     * @param responseObserver receives the cart
+     */
+    @Override
+    public void getCart(final CartProtos.CartRequest request,
+                        final StreamObserver<CartProtos.Cart> responseObserver) {
+        respond(responseObserver, request.getTenantId(), () -> {
+            requireUser(request.getTenantId(), request.getUserId());
+            return CartProtoMapper.toCart(cartReadCoalescer.getCart(
+                    request.getTenantId(), request.getUserId(), null, ItemSort.CREATED));
+        });
+    }
+
+    /**
+     * Adds an item to the user's cart, creating the cart if needed.
+     *
+     * @param request the item to add
+     * @param responseObserver receives the updated cart
+     */
+    @Override
+    public void addItem(final CartProtos.AddItemRequest request,
+                        final StreamObserver<CartProtos.Cart> responseObserver) {
+        respond(responseObserver, request.getTenantId(), () -> {
+            requireUser(request.getTenantId(), request.getUserId());
+            final AddItemRequest item = validate(CartProtoMapper.toAddItemRequest(request));
+            return CartProtoMapper.toCart(cartService.addItemToCart(
+                    request.getTenantId(), request.getUserId(), item));
+        });
+    }
+
+    /**
+     * Replaces the quantity of an item in the user's cart.
+     *
+     * @param request the item and its new quantity
+     * @param responseObserver receives the updated cart
+     */
+    @Override
+    public void updateQuantity(final CartProtos.UpdateQuantityRequest request,
+                               final StreamObserver<CartProtos.Cart> responseObserver) {
+        respond(responseObserver, request.getTenantId(), () -> {
+            requireUser(request.getTenantId(), request.getUserId());
+            final UpdateQuantityRequest update = validate(UpdateQuantityRequest.builder()
+                    .quantity(request.getQuantity() == 0 ? null : request.getQuantity())
+                    .build());
+            return CartProtoMapper.toCart(cartService.updateItemQuantity(
+                    request.getTenantId(), request.getUserId(), request.getProductId(), update));
+        });
+    }
+
+    /**
+     * Removes an item from the user's cart.
+     *
+     * @param request the item to remove
+     * @param responseObserver receives the updated cart
+     */
+    @Override
+    public void removeItem(final CartProtos.RemoveItemRequest request,
+                           final StreamObserver<CartProtos.Cart> responseObserver) {
+        respond(responseObserver, request.getTenantId(), () -> {
+            requireUser(request.getTenantId(), request.getUserId());
+            return CartProtoMapper.toCart(cartService.removeItemFromCart(
+                    request.getTenantId(), request.getUserId(), request.getProductId()));
+        });
+    }
+
+    /**
+     * Clears the user's cart.
+     *
+     * @param request the tenant and user
+     * @param responseObserver receives an empty response once the cart is cleared
+     */
+    @Override
+    public void clearCart(final CartProtos.CartRequest request,
+                          final StreamObserver<CartProtos.ClearCartResponse> responseObserver) {
+        respond(responseObserver, request.getTenantId(), () -> {
+            requireUser(request.getTenantId(), request.getUserId());
+            cartService.clearCart(request.getTenantId(), request.getUserId());
+            return CartProtos.ClearCartResponse.getDefaultInstance();
+        });
+    }
+
+    /**
+     * Streams committed changes of the user's cart until the client cancels.
+     *
+     * @param request the tenant and user
+     * @param responseObserver receives the changes
+     */
+    @Override
+    public void watchCart(final CartProtos.CartRequest request,
+                          final StreamObserver<CartProtos.CartChange> responseObserver) {
+        final ServerCallStreamObserver<CartProtos.CartChange> observer =
+                (ServerCallStreamObserver<CartProtos.CartChange>) responseObserver;
+        final CartWatch watch = new CartWatch(observer);
+        observer.setOnReadyHandler(watch::drain);
+        try {
+            requireUser(request.getTenantId(), request.getUserId());
+            observer.setOnCancelHandler(cartChangeStream.watch(
+                    request.getTenantId(), request.getUserId(), watch::offer));
+        } catch (RuntimeException e) {
+            observer.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Completes a unary call with the result of the given call, or with the
+     * status of its failure. The call runs on behalf of the request's tenant,
+     * so its database work is budgeted against the tenant's bulkhead.
+     *
+     * @param responseObserver the response stream of the call
+     * @param tenantId the tenant of the request
+     * @param call produces the response
+     * @param <T> the response type
+     */
+    private static <T> void respond(final StreamObserver<T> responseObserver,
+                                    final String tenantId,
+                                    final Supplier<T> call) {
+        final T response;
+        try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Checks that a request names its tenant and user.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @throws IllegalArgumentException if either is blank
+     */
+    private static void requireUser(final String tenantId, final String userId) {
+        if (tenantId.isBlank() || userId.isBlank()) {
+            throw new IllegalArgumentException("tenant_id and user_id are required");
+        }
+    }
+
+    /**
+     * Applies the bean validation constraints of a service request.
+     *
+     * @param request the request
+     * @param <T> the request type
+     * @return the request
+     * @throws ConstraintViolationException if a constraint is violated
+     */
+    private <T> T validate(final T request) {
+        final Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return request;
+    }
+
+    /**
+     * Maps a service error to the gRPC status matching its REST status.
+     *
+     * @param e the error
+     * @return the status reported to the client
+     */
+    private static Status toStatus(final RuntimeException e) {
+        if (e instanceof CannotCreateTransactionException
+                && NestedExceptionUtils.getMostSpecificCause(e) instanceof CapacityExceededException capacity) {
+            return toStatus(capacity);
+        }
+        if (e instanceof CartNotFoundException || e instanceof ItemNotFoundException) {
+            log.error("Not found: {}", e.getMessage());
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof CartLimitExceededException) {
+            log.warn("Cart limit exceeded: {}", e.getMessage());
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            log.warn("Concurrent cart modification: {}", e.getMessage());
+            return Status.ABORTED.withDescription("Cart was modified concurrently, please retry");
+        }
+        if (e instanceof CapacityExceededException) {
+            log.warn("Capacity exceeded: {}", e.getMessage());
+            return Status.UNAVAILABLE.withDescription(e.getMessage());
+        }
+        if (e instanceof ConstraintViolationException violation) {
+            final String description = violation.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            log.error("Validation error: {}", description);
+            return Status.INVALID_ARGUMENT.withDescription(description);
+        }
+        if (e instanceof IllegalArgumentException) {
+            log.error("Illegal argument: {}", e.getMessage());
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        log.error("Unexpected error: {}", e.getMessage(), e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred");
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.grpc.v1.CartProtos;
+import java.math.BigDecimal;
+
+/**
+ * Converts between the protobuf messages of the gRPC API and the DTOs of the
+ * cart service. Unset proto3 fields arrive as empty strings and zeros, which
+ * are mapped to null so the usual request validation reports them.
+ */
+final class CartProtoMapper {
+
+    private CartProtoMapper() {
+    }
+
+    /**
+     * Maps an add item call to the service request.
+     *
+     * @param request the gRPC request
+     * @return the add item request
+     * @throws IllegalArgumentException if the price is not a decimal number
+     */
+    static AddItemRequest toAddItemRequest(final CartProtos.AddItemRequest request) {
+        return AddItemRequest.builder()
+                .productId(request.getProductId())
+                .name(request.getName())
+                .price(toDecimal("price", request.getPrice()))
+                .quantity(request.getQuantity() == 0 ? null : request.getQuantity())
+                .build();
+    }
+
+    /**
+     * Maps a cart response to its protobuf message.
+     *
+     * @param response the cart response
+     * @return the cart message
+     */
+    static CartProtos.Cart toCart(final CartResponse response) {
+        final CartProtos.Cart.Builder cart = CartProtos.Cart.newBuilder()
+                .setCartId(nullToEmpty(response.getCartId()))
+                .setTenantId(nullToEmpty(response.getTenantId()))
+                .setUserId(nullToEmpty(response.getUserId()))
+                .setItemCount(response.getItemCount() == null ? 0 : response.getItemCount())
+                .setTotalAmount(toText(response.getTotalAmount()))
+                .setCurrency(nullToEmpty(response.getCurrency()))
+                .setVersion(response.getVersion() == null ? 0L : response.getVersion());
+        if (response.getUpdatedAt() != null) {
+            cart.setUpdatedAt(response.getUpdatedAt().toString());
+        }
+        if (response.getItems() != null) {
+            for (final CartItemResponse item : response.getItems()) {
+                cart.addItems(CartProtos.CartItem.newBuilder()
+                        .setProductId(nullToEmpty(item.getProductId()))
+                        .setName(nullToEmpty(item.getName()))
+                        .setPrice(toText(item.getPrice()))
+                        .setQuantity(item.getQuantity() == null ? 0 : item.getQuantity())
+                        .setSubtotal(toText(item.getSubtotal())));
+            }
+        }
+        return cart.build();
+    }
+
+    /**
+     * Maps a cart change to its protobuf message.
+     *
+     * @param notification the cart change
+     * @return the change message
+     */
+    static CartProtos.CartChange toChange(final CartChangeNotification notification) {
+        return CartProtos.CartChange.newBuilder()
+                .setCartId(nullToEmpty(notification.getCartId()))
+                .setVersion(notification.getVersion() == null ? 0L : notification.getVersion())
+                .build();
+    }
+
+    /**
+     * Parses a decimal string field.
+     *
+     * @param field the field name, for the error message
+     * @param value the field value
+     * @return the decimal, or null if the field is empty
+     * @throws IllegalArgumentException if the value is not a decimal number
+     */
+    private static BigDecimal toDecimal(final String field, final String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " must be a decimal number");
+        }
+    }
+
+    /**
+     * Formats a decimal without exponent notation.
+     *
+     * @param value the decimal, or null
+     * @return the decimal string, empty for null
+     */
+    private static String toText(final BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    /**
+     * Replaces null, which protobuf setters reject, with an empty string.
+     *
+     * @param value the value, or null
+     * @return the value, empty for null
+     */
+    private static String nullToEmpty(final String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.grpc.v1.CartProtos;
+import io.grpc.stub.ServerCallStreamObserver;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One open WatchCart call. Changes are written while the transport accepts
+ * more messages; otherwise only the latest pending change is kept and sent
+ * once the client catches up, since each change carries the full cart version.
+ */
+final class CartWatch {
+
+    private final ServerCallStreamObserver<CartProtos.CartChange> observer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private CartProtos.CartChange pending;
+
+    /**
+     * Creates a watch writing to the given call.
+     *
+     * @param observer the response stream of the call
+     */
+    CartWatch(final ServerCallStreamObserver<CartProtos.CartChange> observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Sends a change, or keeps it as the pending change if the client is behind.
+     *
+     * @param notification the cart change
+     */
+    void offer(final CartChangeNotification notification) {
+        final CartProtos.CartChange change = CartProtoMapper.toChange(notification);
+        lock.lock();
+        try {
+            if (observer.isCancelled()) {
+                return;
+            }
+            if (observer.isReady()) {
+                observer.onNext(change);
+            } else {
+                pending = change;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the pending change once the transport is ready again.
+     */
+    void drain() {
+        lock.lock();
+        try {
+            if (pending != null && observer.isReady() && !observer.isCancelled()) {
+                observer.onNext(pending);
+                pending = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
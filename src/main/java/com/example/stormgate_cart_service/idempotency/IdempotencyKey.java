@@ -0,0 +1,12 @@
+package com.example.stormgate_cart_service.idempotency;
+
+/**
+ * Idempotency key of a cart mutation, scoped to the cart's user so that keys
+ * generated by different clients cannot collide.
+ *
+ * @param tenantId the tenant identifier
+ * @param userId the user identifier
+ * @param key the client's idempotency key
+ */
+public record IdempotencyKey(String tenantId, String userId, String key) {
+}
@@ -0,0 +1,242 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import com.example.stormgate_cart_service.config.CartIdempotencyProperties;
+import com.example.stormgate_cart_service.idempotency.IdempotencyStore.Claim;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Makes cart mutations sent with an Idempotency-Key header safe to retry. The
+ * first request with a key executes and its response is stored; retries with
+ * the same key and the same method, URI and body get the stored response,
+ * marked with the Idempotent-Replayed header, without executing again. Reusing
+ * a key for a different request is rejected with 422, and a duplicate of a
+ * request still executing waits for it, or gets 409 if it takes too long.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header carrying the client's idempotency key.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Response header marking a replayed response.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CART_PATH = "/api/cart";
+
+    private final IdempotencyStore idempotencyStore;
+    private final CartIdempotencyProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    /**
+     * Creates the filter.
+     *
+     * @param idempotencyStore the store of responses per key
+     * @param properties the idempotency properties
+     * @param exceptionResolver renders rejections like the API's other errors
+     */
+    public IdempotencyKeyFilter(final IdempotencyStore idempotencyStore,
+                                final CartIdempotencyProperties properties,
+                                @Qualifier("handlerExceptionResolver") final HandlerExceptionResolver exceptionResolver) {
+        this.idempotencyStore = idempotencyStore;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    /**
+     * Only cart mutations carrying an idempotency key and naming their user are filtered.
+     *
+     * @param request the current request
+     * @return true if the request passes unfiltered
+     */
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String method = request.getMethod();
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.isEnabled()
+                || HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method)
+                || !(path.equals(CART_PATH) || path.startsWith(CART_PATH + "/"))
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || request.getHeader("X-Tenant-ID") == null
+                || request.getHeader("X-User-ID") == null;
+    }
+
+    /**
+     * Replays the stored response of the key, or executes the request and stores its response.
+     *
+     * @param request the current request
+     * @param response the current response
+     * @param filterChain the remaining filters
+     * @throws ServletException if a later filter or the handler fails
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String value = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (value.isBlank() || value.length() > properties.getMaxKeyLength()) {
+            exceptionResolver.resolveException(request, response, null, new IllegalArgumentException(
+                    "Idempotency-Key must be 1 to " + properties.getMaxKeyLength() + " characters"));
+            return;
+        }
+        final CachedBodyRequest cached = new CachedBodyRequest(request);
+        final IdempotencyKey key = new IdempotencyKey(
+                request.getHeader("X-Tenant-ID"), request.getHeader("X-User-ID"), value);
+        final String fingerprint = fingerprint(cached);
+
+        final Claim claim;
+        try {
+            claim = idempotencyStore.claim(key, fingerprint);
+        } catch (RuntimeException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+        if (claim.isReplay()) {
+            write(claim.replay(), response);
+            return;
+        }
+
+        final ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cached, captured);
+            idempotencyStore.complete(claim, new StoredResponse(fingerprint, captured.getStatus(),
+                    captured.getContentType(), captured.getContentAsByteArray()));
+            completed = true;
+        } finally {
+            if (!completed) {
+                idempotencyStore.abandon(claim);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Hashes what identifies a request: its method, URI with query and body.
+     *
+     * @param request the request with its body read
+     * @return the hex-encoded SHA-256 hash
+     */
+    private static String fingerprint(final CachedBodyRequest request) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Writes a stored response.
+     *
+     * @param stored the stored response
+     * @param response the current response
+     * @throws IOException if writing fails
+     */
+    private static void write(final StoredResponse stored, final HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    /**
+     * Request whose body is read up front for the fingerprint and served again to the handler.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        /**
+         * Reads the body of a request.
+         *
+         * @param request the request
+         * @throws IOException if reading the body fails
+         */
+        CachedBodyRequest(final HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener readListener) {
+                    throw new UnsupportedOperationException("Cached request bodies are read blocking");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final String encoding = getCharacterEncoding();
+            final Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
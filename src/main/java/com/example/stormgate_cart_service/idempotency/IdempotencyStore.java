@@ -0,0 +1,297 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import com.example.stormgate_cart_service.config.CartIdempotencyProperties;
+import com.example.stormgate_cart_service.exception.IdempotencyKeyInUseException;
+import com.example.stormgate_cart_service.exception.IdempotencyKeyMismatchException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Store of the responses of cart mutations sent with an idempotency key.
+ * Responses are kept in a bounded in-memory cache evicted after the TTL and,
+ * when enabled, in the database, so that retries reaching another node or a
+ * restarted one are replayed as well.
+ *
+ * <p>A key is claimed while its request executes. A duplicate arriving in the
+ * meantime waits for the response of the first and replays it; if the first
+ * does not produce a replayable response, one of the waiting duplicates
+ * executes instead. Duplicates are tracked per node.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CartIdempotencyProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyStore {
+
+    private final CartIdempotencyProperties properties;
+    private final JdbcIdempotencyRepository repository;
+    private final Clock clock;
+    private final Cache<IdempotencyKey, StoredResponse> responses;
+    private final ConcurrentHashMap<IdempotencyKey, Execution> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger;
+    private final Counter replays;
+
+    /**
+     * Creates the store, registers its metrics and schedules the purge of the database store.
+     *
+     * @param properties the idempotency properties
+     * @param repository provides the database store, available when it is enabled
+     * @param meterRegistry the registry receiving the store metrics
+     */
+    @Autowired
+    public IdempotencyStore(final CartIdempotencyProperties properties,
+                            final ObjectProvider<JdbcIdempotencyRepository> repository,
+                            final MeterRegistry meterRegistry) {
+        this(properties, repository.getIfAvailable(), meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the store with the given database store and clock.
+     *
+     * @param properties the idempotency properties
+     * @param repository the database store, or null when it is disabled
+     * @param meterRegistry the registry receiving the store metrics
+     * @param clock the clock deciding database expiry
+     */
+    IdempotencyStore(final CartIdempotencyProperties properties,
+                     final JdbcIdempotencyRepository repository,
+                     final MeterRegistry meterRegistry,
+                     final Clock clock) {
+        this.properties = properties;
+        this.repository = repository;
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "cart-idempotency");
+        this.replays = Counter.builder("cart.idempotency.replays")
+                .description("Cart mutations answered with the stored response of their idempotency key")
+                .register(meterRegistry);
+        if (repository == null) {
+            this.purger = null;
+        } else {
+            this.purger = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("cart-idempotency-purge").daemon().factory());
+            final long interval = properties.getDatabase().getPurgeInterval().toMillis();
+            purger.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Claims a key for executing its request, or gets the response to replay.
+     *
+     * @param key the idempotency key
+     * @param fingerprint hash of the request
+     * @return the claim to complete after executing, or the response to replay
+     * @throws IdempotencyKeyMismatchException if the key was used for a different request
+     * @throws IdempotencyKeyInUseException if the request with the key is still executing after the wait
+     */
+    public Claim claim(final IdempotencyKey key, final String fingerprint) {
+        while (true) {
+            final StoredResponse stored = find(key);
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+            final Execution execution = new Execution(fingerprint, new CompletableFuture<>());
+            final Execution running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                // A duplicate may have completed between the lookup and the claim
+                final StoredResponse completed = responses.getIfPresent(key);
+                if (completed != null) {
+                    release(key, execution, completed);
+                    return replay(completed, fingerprint);
+                }
+                return new Claim(key, execution, null);
+            }
+            if (!running.fingerprint().equals(fingerprint)) {
+                throw mismatch();
+            }
+            final StoredResponse response = await(running);
+            if (response != null) {
+                return replay(response, fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Completes an executed request, storing its response if it is replayable,
+     * and hands the response to the duplicates waiting for it.
+     *
+     * @param claim the claim of the key
+     * @param response the response of the request
+     */
+    public void complete(final Claim claim, final StoredResponse response) {
+        final StoredResponse replayable = response.isReplayable() ? response : null;
+        if (replayable != null) {
+            responses.put(claim.key(), replayable);
+            if (repository != null) {
+                final Instant now = clock.instant();
+                try {
+                    repository.save(claim.key(), replayable, now, now.plus(properties.getTtl()));
+                } catch (DataAccessException e) {
+                    log.warn("Could not store idempotency key in the database: {}", e.getMessage());
+                }
+            }
+        }
+        release(claim.key(), claim.execution(), replayable);
+    }
+
+    /**
+     * Gives up a claim whose request failed without a response, so a retry executes it.
+     *
+     * @param claim the claim of the key
+     */
+    public void abandon(final Claim claim) {
+        release(claim.key(), claim.execution(), null);
+    }
+
+    /**
+     * Stops the database purge.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    /**
+     * Looks up the stored response of a key, in memory first.
+     *
+     * @param key the idempotency key
+     * @return the stored response, or null if none is stored
+     */
+    private StoredResponse find(final IdempotencyKey key) {
+        final StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null || repository == null) {
+            return cached;
+        }
+        try {
+            final StoredResponse stored = repository.find(key, clock.instant()).orElse(null);
+            if (stored != null) {
+                responses.put(key, stored);
+            }
+            return stored;
+        } catch (DataAccessException e) {
+            log.warn("Could not read idempotency key from the database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the response of the request executing with the same key.
+     *
+     * @param running the execution in flight
+     * @return its replayable response, or null if it produced none
+     * @throws IdempotencyKeyInUseException if it is still executing after the wait
+     */
+    private StoredResponse await(final Execution running) {
+        try {
+            return running.response().get(properties.getInFlightWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInUseException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds the claim replaying a stored response.
+     *
+     * @param stored the stored response
+     * @param fingerprint hash of the request being answered
+     * @return the replay claim
+     * @throws IdempotencyKeyMismatchException if the response answers a different request
+     */
+    private Claim replay(final StoredResponse stored, final String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw mismatch();
+        }
+        replays.increment();
+        return new Claim(null, null, stored);
+    }
+
+    /**
+     * Ends an execution and wakes the duplicates waiting for it.
+     *
+     * @param key the idempotency key
+     * @param execution the execution
+     * @param response the replayable response, or null if there is none
+     */
+    private void release(final IdempotencyKey key, final Execution execution, final StoredResponse response) {
+        inFlight.remove(key, execution);
+        execution.response().complete(response);
+    }
+
+    /**
+     * Deletes expired keys from the database store.
+     */
+    private void purgeExpired() {
+        try {
+            final int deleted = repository.deleteExpired(clock.instant());
+            if (deleted > 0) {
+                log.debug("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    private static IdempotencyKeyMismatchException mismatch() {
+        return new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+    }
+
+    /**
+     * Outcome of claiming a key: either a response to replay, or the right to
+     * execute the request and complete the claim afterwards.
+     *
+     * @param key the claimed key, or null for a replay
+     * @param execution the claimed execution, or null for a replay
+     * @param replay the response to replay, or null if the request must execute
+     */
+    public record Claim(IdempotencyKey key, Execution execution, StoredResponse replay) {
+
+        /**
+         * Checks whether the stored response is replayed instead of executing the request.
+         *
+         * @return true for a replay
+         */
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+
+    /**
+     * A request executing with a claimed key.
+     *
+     * @param fingerprint hash of the request
+     * @param response completed with the replayable response, or null if there is none
+     */
+    record Execution(String fingerprint, CompletableFuture<StoredResponse> response) {
+    }
+}
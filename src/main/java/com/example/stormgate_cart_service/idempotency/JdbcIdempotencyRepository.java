@@ -0,0 +1,85 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database store of idempotency keys in the cart_idempotency_keys table,
+ * shared by all nodes and kept across restarts.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cart.idempotency.database", name = "enabled", havingValue = "true")
+public class JdbcIdempotencyRepository {
+
+    private static final String SELECT = "SELECT fingerprint, status_code, content_type, body "
+            + "FROM cart_idempotency_keys "
+            + "WHERE tenant_id = ? AND user_id = ? AND idempotency_key = ? AND expires_at > ?";
+
+    private static final String INSERT = "INSERT INTO cart_idempotency_keys "
+            + "(tenant_id, user_id, idempotency_key, fingerprint, status_code, content_type, body, expires_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String REPLACE_EXPIRED = "UPDATE cart_idempotency_keys "
+            + "SET fingerprint = ?, status_code = ?, content_type = ?, body = ?, expires_at = ? "
+            + "WHERE tenant_id = ? AND user_id = ? AND idempotency_key = ? AND expires_at <= ?";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM cart_idempotency_keys WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the unexpired response stored for a key.
+     *
+     * @param key the idempotency key
+     * @param now the current time
+     * @return the stored response, if any
+     */
+    public Optional<StoredResponse> find(final IdempotencyKey key, final Instant now) {
+        final List<StoredResponse> found = jdbcTemplate.query(SELECT,
+                (rs, row) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status_code"),
+                        rs.getString("content_type"), rs.getBytes("body")),
+                key.tenantId(), key.userId(), key.key(), Timestamp.from(now));
+        return found.stream().findFirst();
+    }
+
+    /**
+     * Stores the response of a key, replacing an expired one not yet purged.
+     * An unexpired response stored first by another node is kept.
+     *
+     * @param key the idempotency key
+     * @param response the response
+     * @param now the current time
+     * @param expiresAt when the response stops being replayed
+     */
+    public void save(final IdempotencyKey key,
+                     final StoredResponse response,
+                     final Instant now,
+                     final Instant expiresAt) {
+        try {
+            jdbcTemplate.update(INSERT, key.tenantId(), key.userId(), key.key(), response.fingerprint(),
+                    response.status(), response.contentType(), response.body(), Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(REPLACE_EXPIRED, response.fingerprint(), response.status(), response.contentType(),
+                    response.body(), Timestamp.from(expiresAt), key.tenantId(), key.userId(), key.key(),
+                    Timestamp.from(now));
+        }
+    }
+
+    /**
+     * Deletes expired keys.
+     *
+     * @param now the current time
+     * @return the number of keys deleted
+     */
+    public int deleteExpired(final Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(now));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Response of a completed mutation, replayed for retries of its idempotency key.
+ *
+ * @param fingerprint hash of the request the response answers
+ * @param status the HTTP status code
+ * @param contentType the content type, or null without a body
+ * @param body the response body
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+
+    /**
+     * Checks whether the response is final, so retries must get it rather than
+     * execute the request again. Server errors, conflicts and throttling are
+     * worth retrying.
+     *
+     * @return true if the response is replayed for retries
+     */
+    public boolean isReplayable() {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && status != HttpStatus.CONFLICT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
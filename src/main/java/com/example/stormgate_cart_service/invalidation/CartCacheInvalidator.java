@@ -0,0 +1,186 @@
+package com.example.stormgate_cart_service.invalidation;
+
+import com.example.stormgate_cart_service.config.CartInvalidationProperties;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies cart changes committed on other nodes to this node's caches: the
+ * serialized response cache and the Hibernate second-level cache. The latest
+ * version seen of each cart, local changes included, is remembered, so
+ * duplicate and out-of-order notices of older changes are ignored. The
+ * reactive stack has no second-level cache, so there only the response cache
+ * is invalidated.
+ *
+ * <p>A read that loaded the old cart while a change was in flight can put it
+ * back into the second-level cache right after the eviction, so the cart is
+ * evicted a second time shortly afterwards. Once the version of an idle cart
+ * is forgotten, a late notice costs one extra cache miss, never a stale read.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cart.invalidation", name = "enabled", havingValue = "true")
+public class CartCacheInvalidator {
+
+    private static final String METRIC = "cart.invalidation.remote";
+
+    private final CartRepository cartRepository;
+    private final CartResponseCache cartResponseCache;
+    private final Duration repeatEvictionAfter;
+    private final Cache<CartKey, Long> versions;
+    private final ScheduledExecutorService repeater = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cart-invalidation-repeat").daemon().factory());
+    private final Counter applied;
+    private final Counter ignored;
+
+    /**
+     * Creates the invalidator and registers its metrics.
+     *
+     * @param cartRepository provides the repository evicting carts from the
+     *                       second-level cache, available on the servlet stack
+     * @param cartResponseCache the cache of serialized cart responses
+     * @param properties the invalidation properties
+     * @param meterRegistry the registry receiving the invalidation metrics
+     */
+    @Autowired
+    public CartCacheInvalidator(final ObjectProvider<CartRepository> cartRepository,
+                                final CartResponseCache cartResponseCache,
+                                final CartInvalidationProperties properties,
+                                final MeterRegistry meterRegistry) {
+        this(cartRepository.getIfAvailable(), cartResponseCache, properties, meterRegistry);
+    }
+
+    /**
+     * Creates the invalidator with the given repository and registers its metrics.
+     *
+     * @param cartRepository the repository evicting carts from the second-level
+     *                       cache, or null without one
+     * @param cartResponseCache the cache of serialized cart responses
+     * @param properties the invalidation properties
+     * @param meterRegistry the registry receiving the invalidation metrics
+     */
+    CartCacheInvalidator(final CartRepository cartRepository,
+                         final CartResponseCache cartResponseCache,
+                         final CartInvalidationProperties properties,
+                         final MeterRegistry meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.cartResponseCache = cartResponseCache;
+        this.repeatEvictionAfter = properties.getRepeatEvictionAfter();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedCarts())
+                .expireAfterAccess(properties.getTrackedTtl())
+                .build();
+        this.applied = Counter.builder(METRIC)
+                .tag("outcome", "applied")
+                .description("Cart changes of other nodes applied to the local caches")
+                .register(meterRegistry);
+        this.ignored = Counter.builder(METRIC)
+                .tag("outcome", "ignored")
+                .description("Cart changes of other nodes ignored because a newer version was known")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remembers the version written by a change of this node, whose own
+     * caches are already invalidated by their listeners.
+     *
+     * @param event the cart change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCartChanged(final CartChangedEvent event) {
+        advance(new CartKey(event.tenantId(), event.userId()), event.version());
+    }
+
+    /**
+     * Invalidates the local caches of a cart changed on another node, unless
+     * the same or a newer version of the cart is already known.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param cartId the cart identifier
+     * @param version the cart version written by the change
+     * @return true if the caches were invalidated, false if the change was outdated
+     */
+    public boolean apply(final String tenantId, final String userId, final String cartId, final long version) {
+        if (!advance(new CartKey(tenantId, userId), version)) {
+            ignored.increment();
+            return false;
+        }
+        cartResponseCache.invalidate(tenantId, userId, version);
+        if (cartRepository == null) {
+            applied.increment();
+            return true;
+        }
+        evict(cartId);
+        if (!repeatEvictionAfter.isZero()) {
+            repeater.schedule(() -> evict(cartId), repeatEvictionAfter.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        applied.increment();
+        return true;
+    }
+
+    /**
+     * Stops the thread repeating evictions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        repeater.shutdownNow();
+    }
+
+    /**
+     * Raises the latest known version of a cart.
+     *
+     * @param key the cart's key
+     * @param version the version written by a change
+     * @return true if the version is newer than any known one
+     */
+    private boolean advance(final CartKey key, final long version) {
+        final boolean[] advanced = new boolean[1];
+        versions.asMap().compute(key, (ignoredKey, known) -> {
+            advanced[0] = known == null || version > known;
+            return advanced[0] ? version : known;
+        });
+        return advanced[0];
+    }
+
+    /**
+     * Evicts a cart from the second-level cache. A failure leaves the entries
+     * to expire with their region's TTL.
+     *
+     * @param cartId the cart identifier
+     */
+    private void evict(final String cartId) {
+        try {
+            cartRepository.evictFromCache(cartId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict cart {} from the second-level cache: {}", cartId, e.getMessage());
+        }
+    }
+
+    /**
+     * Identity of a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record CartKey(String tenantId, String userId) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.stormgate_cart_service.invalidation;
+
+import com.example.stormgate_cart_service.config.CartInvalidationProperties;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+import java.util.UUID;
+
+/**
+ * Carries committed cart changes between replicas. Every committed change is
+ * published once to a compacted topic keyed by user, so the topic holds the
+ * latest version of each cart, and every node consumes the topic in its own
+ * consumer group from its end. A change of another node is applied to the
+ * local caches and, unless it is older than a version already seen, delivered
+ * to the local stream subscribers of the cart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cart.invalidation", name = "enabled", havingValue = "true")
+public class CartInvalidationBus {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final JsonMapper jsonMapper;
+    private final CartCacheInvalidator cartCacheInvalidator;
+    private final CartChangeStream cartChangeStream;
+    private final String topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Creates the bus.
+     *
+     * @param kafkaTemplate the template publishing changes
+     * @param jsonMapper the mapper serializing messages
+     * @param cartCacheInvalidator the invalidator of the local caches
+     * @param cartChangeStream the local stream receiving changes of other nodes
+     * @param properties the invalidation properties naming the topic
+     */
+    public CartInvalidationBus(final KafkaTemplate<String, String> kafkaTemplate,
+                               final JsonMapper jsonMapper,
+                               final CartCacheInvalidator cartCacheInvalidator,
+                               final CartChangeStream cartChangeStream,
+                               final CartInvalidationProperties properties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.jsonMapper = jsonMapper;
+        this.cartCacheInvalidator = cartCacheInvalidator;
+        this.cartChangeStream = cartChangeStream;
+        this.topic = properties.getTopic();
+    }
+
+    /**
+     * Publishes a committed change of this node, keyed by user so compaction
+     * keeps the latest version of each cart and its changes stay ordered.
+     *
+     * @param event the cart change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCartChanged(final CartChangedEvent event) {
+        final CartInvalidation message = new CartInvalidation(
+                nodeId, event.tenantId(), event.userId(), event.cartId(), event.version());
+        kafkaTemplate.send(topic, event.tenantId() + ":" + event.userId(), jsonMapper.writeValueAsString(message))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to publish invalidation of cart {}: {}", event.cartId(), error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Applies a change published by another node to the local caches and
+     * notifies the local stream subscribers. Own changes were already applied
+     * and delivered locally, and outdated ones are not delivered again.
+     *
+     * @param payload the serialized invalidation message
+     */
+    @KafkaListener(topics = "${cart.invalidation.topic:cart-invalidations}",
+            groupId = "cart-invalidation-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(final String payload) {
+        final CartInvalidation message = jsonMapper.readValue(payload, CartInvalidation.class);
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        if (cartCacheInvalidator.apply(message.tenantId(), message.userId(), message.cartId(), message.version())) {
+            cartChangeStream.publish(message.tenantId(), message.userId(), CartChangeNotification.builder()
+                    .cartId(message.cartId())
+                    .version(message.version())
+                    .build());
+        }
+    }
+
+    /**
+     * A committed cart change as exchanged between nodes.
+     *
+     * @param nodeId the node that committed the change
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param cartId the cart identifier
+     * @param version the cart version written by the change
+     */
+    record CartInvalidation(String nodeId, String tenantId, String userId, String cartId, long version) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.stormgate_cart_service.json;
+
+import com.example.stormgate_cart_service.service.CartDocument;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written codec of the lines document stored on document carts. Each
+ * line is a positional array, {@code [id, productId, name, price, quantity,
+ * createdAtMillis]}, so a document carries no repeated field names; the
+ * format version leads the document so it can evolve.
+ */
+@Component
+public class CartDocumentCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Creates the codec.
+     *
+     * @param jsonMapper the mapper creating generators and parsers
+     */
+    public CartDocumentCodec(final JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Encodes a document.
+     *
+     * @param document the document
+     * @return the encoded document
+     */
+    public String encode(final CartDocument document) {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonMapper.createGenerator(writer)) {
+            generator.writeStartArray();
+            generator.writeNumber(FORMAT_VERSION);
+            for (final CartDocument.Line line : document.lines()) {
+                generator.writeStartArray();
+                generator.writeString(line.id());
+                generator.writeString(line.productId());
+                generator.writeString(line.name());
+                generator.writeNumber(line.price());
+                generator.writeNumber(line.quantity());
+                generator.writeNumber(line.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Decodes a document.
+     *
+     * @param encoded the encoded document
+     * @return the document
+     * @throws IllegalStateException if the document is malformed or of an unknown format version
+     */
+    public CartDocument decode(final String encoded) {
+        final List<CartDocument.Line> lines = new ArrayList<>();
+        try (JsonParser parser = jsonMapper.createParser(encoded)) {
+            expect(parser, JsonToken.START_ARRAY);
+            expect(parser, JsonToken.VALUE_NUMBER_INT);
+            if (parser.getIntValue() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unknown cart document version: " + parser.getIntValue());
+            }
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                final String id = nextString(parser);
+                final String productId = nextString(parser);
+                final String name = nextString(parser);
+                parser.nextToken();
+                final BigDecimal price = parser.getDecimalValue();
+                expect(parser, JsonToken.VALUE_NUMBER_INT);
+                final int quantity = parser.getIntValue();
+                expect(parser, JsonToken.VALUE_NUMBER_INT);
+                final LocalDateTime createdAt = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(parser.getLongValue()), ZoneOffset.UTC);
+                expect(parser, JsonToken.END_ARRAY);
+                lines.add(new CartDocument.Line(id, productId, name, price, quantity, createdAt));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalStateException("Malformed cart document");
+            }
+        }
+        return new CartDocument(lines);
+    }
+
+    /**
+     * Advances to the next token and checks its type.
+     *
+     * @param parser the parser
+     * @param expected the expected token
+     */
+    private static void expect(final JsonParser parser, final JsonToken expected) {
+        if (parser.nextToken() != expected) {
+            throw new IllegalStateException("Malformed cart document, expected " + expected);
+        }
+    }
+
+    /**
+     * Reads the next token as a string.
+     *
+     * @param parser the parser
+     * @return the string
+     */
+    private static String nextString(final JsonParser parser) {
+        expect(parser, JsonToken.VALUE_STRING);
+        return parser.getString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.stormgate_cart_service.json;
+
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+import java.math.BigDecimal;
+
+/**
+ * Hand-written serializer for {@link CartItemResponse}.
+ * Writes the same bytes as reflective serialization, with pre-encoded field names.
+ */
+@JacksonComponent
+public class CartItemResponseSerializer extends StdSerializer<CartItemResponse> {
+
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString SUBTOTAL = new SerializedString("subtotal");
+
+    /**
+     * Creates the serializer.
+     */
+    public CartItemResponseSerializer() {
+        super(CartItemResponse.class);
+    }
+
+    @Override
+    public void serialize(final CartItemResponse item,
+                          final JsonGenerator generator,
+                          final SerializationContext context) throws JacksonException {
+        write(item, generator);
+    }
+
+    /**
+     * Writes one item as a JSON object.
+     *
+     * @param item the item
+     * @param generator the generator to write to
+     */
+    static void write(final CartItemResponse item, final JsonGenerator generator) {
+        generator.writeStartObject(item);
+        generator.writeName(PRODUCT_ID);
+        generator.writeString(item.getProductId());
+        generator.writeName(NAME);
+        generator.writeString(item.getName());
+        generator.writeName(PRICE);
+        writeNumber(generator, item.getPrice());
+        generator.writeName(QUANTITY);
+        writeNumber(generator, item.getQuantity());
+        generator.writeName(SUBTOTAL);
+        writeNumber(generator, item.getSubtotal());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a decimal, or null.
+     *
+     * @param generator the generator to write to
+     * @param value the value
+     */
+    static void writeNumber(final JsonGenerator generator, final BigDecimal value) {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    /**
+     * Writes an integer, or null.
+     *
+     * @param generator the generator to write to
+     * @param value the value
+     */
+    static void writeNumber(final JsonGenerator generator, final Integer value) {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+}
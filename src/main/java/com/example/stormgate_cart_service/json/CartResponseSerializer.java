@@ -0,0 +1,118 @@
+package com.example.stormgate_cart_service.json;
+
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.ser.std.StdSerializer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hand-written serializer for {@link CartResponse}, the hottest response of the service.
+ * Writes the same bytes as reflective serialization while avoiding its overhead:
+ * field names are pre-encoded, the immutable item list is iterated without
+ * copying and formatted timestamps are cached.
+ */
+@JacksonComponent
+public class CartResponseSerializer extends StdSerializer<CartResponse> {
+
+    private static final SerializableString CART_ID = new SerializedString("cartId");
+    private static final SerializableString TENANT_ID = new SerializedString("tenantId");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializableString ITEM_COUNT = new SerializedString("itemCount");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString CURRENCY = new SerializedString("currency");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final int TIMESTAMP_CACHE_SIZE = 1024;
+
+    private final TimestampCache timestamps = new TimestampCache(TIMESTAMP_CACHE_SIZE);
+
+    /**
+     * Creates the serializer.
+     */
+    public CartResponseSerializer() {
+        super(CartResponse.class);
+    }
+
+    @Override
+    public void serialize(final CartResponse cart,
+                          final JsonGenerator generator,
+                          final SerializationContext context) throws JacksonException {
+        generator.writeStartObject(cart);
+        generator.writeName(CART_ID);
+        generator.writeString(cart.getCartId());
+        generator.writeName(TENANT_ID);
+        generator.writeString(cart.getTenantId());
+        generator.writeName(USER_ID);
+        generator.writeString(cart.getUserId());
+        generator.writeName(ITEMS);
+        writeItems(cart.getItems(), generator);
+        if (cart.getNextCursor() != null) {
+            generator.writeName(NEXT_CURSOR);
+            generator.writeString(cart.getNextCursor());
+        }
+        generator.writeName(ITEM_COUNT);
+        CartItemResponseSerializer.writeNumber(generator, cart.getItemCount());
+        generator.writeName(TOTAL_AMOUNT);
+        CartItemResponseSerializer.writeNumber(generator, cart.getTotalAmount());
+        generator.writeName(CURRENCY);
+        generator.writeString(cart.getCurrency());
+        generator.writeName(UPDATED_AT);
+        writeTimestamp(cart.getUpdatedAt(), generator, context);
+        generator.writeName(VERSION);
+        if (cart.getVersion() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(cart.getVersion().longValue());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the items as a JSON array, or null.
+     *
+     * @param items the items
+     * @param generator the generator to write to
+     */
+    private void writeItems(final List<CartItemResponse> items, final JsonGenerator generator) {
+        if (items == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(items, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CartItemResponseSerializer.write(items.get(i), generator);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the timestamp as an ISO-8601 string, or null. Mappers configured
+     * to write numeric timestamps fall back to the default serializer.
+     *
+     * @param timestamp the timestamp
+     * @param generator the generator to write to
+     * @param context the serialization context
+     */
+    private void writeTimestamp(final LocalDateTime timestamp,
+                                final JsonGenerator generator,
+                                final SerializationContext context) {
+        if (timestamp == null) {
+            generator.writeNull();
+        } else if (context.isEnabled(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            context.writeValue(generator, timestamp);
+        } else {
+            generator.writeString(timestamps.format(timestamp));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.stormgate_cart_service.json;
+
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Direct-mapped cache of ISO-8601 formatted timestamps.
+ * Cart timestamps only change on mutation, so repeated reads of the same cart
+ * reuse the formatted value and its pre-encoded JSON bytes. A colliding
+ * timestamp simply replaces the slot; the cache never grows.
+ */
+final class TimestampCache {
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    /**
+     * Creates a cache.
+     *
+     * @param size number of slots, rounded up to a power of two
+     */
+    TimestampCache(final int size) {
+        final int count = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(count);
+        this.mask = count - 1;
+    }
+
+    /**
+     * Gets the timestamp formatted the way Jackson formats {@link LocalDateTime}.
+     *
+     * @param timestamp the timestamp
+     * @return the formatted timestamp
+     */
+    SerializableString format(final LocalDateTime timestamp) {
+        final int index = timestamp.hashCode() & mask;
+        final Entry cached = slots.get(index);
+        if (cached != null && cached.timestamp().equals(timestamp)) {
+            return cached.formatted();
+        }
+        final SerializedString formatted = new SerializedString(
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp));
+        slots.set(index, new Entry(timestamp, formatted));
+        return formatted;
+    }
+
+    /**
+     * Cached formatting of one timestamp.
+     *
+     * @param timestamp the timestamp
+     * @param formatted its formatted value
+     */
+    private record Entry(LocalDateTime timestamp, SerializedString formatted) {
+    }
+}
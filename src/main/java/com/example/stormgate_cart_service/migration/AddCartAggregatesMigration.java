@@ -0,0 +1,35 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the persisted cart aggregates and the optimistic lock version, then
+ * backfills the aggregates from the active items in throttled batches.
+ * Empty carts already hold the correct defaults and are skipped.
+ */
+@Component
+public class AddCartAggregatesMigration extends OnlineMigration {
+
+    private static final String ACTIVE_ITEMS =
+            " FROM cart_items ci WHERE ci.cart_id = carts.cart_id AND ci.is_deleted = FALSE)";
+
+    /**
+     * Creates the migration.
+     */
+    public AddCartAggregatesMigration() {
+        super("3", "add cart aggregates");
+    }
+
+    @Override
+    protected void migrate(final OnlineSchemaChange schema) throws Exception {
+        schema.addColumn("carts", "line_count", "INT NOT NULL DEFAULT 0");
+        schema.addColumn("carts", "total_quantity", "INT NOT NULL DEFAULT 0");
+        schema.addColumn("carts", "version", "BIGINT NOT NULL DEFAULT 0");
+
+        schema.backfill("carts", "cart_id",
+                "line_count = (SELECT COUNT(*)" + ACTIVE_ITEMS
+                        + ", total_quantity = (SELECT COALESCE(SUM(ci.quantity), 0)" + ACTIVE_ITEMS
+                        + ", total_amount = (SELECT COALESCE(SUM(ci.price * ci.quantity), 0)" + ACTIVE_ITEMS,
+                "EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = carts.cart_id)");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the indexes behind keyset-paginated item listings, one per ordering.
+ * Each leads with the cart and the soft delete flag and ends with the item
+ * identifier, so every page is a single range scan in the requested order.
+ */
+@Component
+public class AddCartItemPageIndexesMigration extends OnlineMigration {
+
+    /**
+     * Creates the migration.
+     */
+    public AddCartItemPageIndexesMigration() {
+        super("4", "add cart item page indexes");
+    }
+
+    @Override
+    protected void migrate(final OnlineSchemaChange schema) throws Exception {
+        schema.createIndex("cart_items", "idx_cart_items_page_created", false,
+                "cart_id", "is_deleted", "created_at", "item_id");
+        schema.createIndex("cart_items", "idx_cart_items_page_price", false,
+                "cart_id", "is_deleted", "price", "item_id");
+        schema.createIndex("cart_items", "idx_cart_items_page_name", false,
+                "cart_id", "is_deleted", "name", "item_id");
+    }
+}
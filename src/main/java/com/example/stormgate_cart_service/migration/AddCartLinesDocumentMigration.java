@@ -0,0 +1,24 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the document column holding the active lines of carts stored in the
+ * document storage mode. The column is nullable and starts empty; carts get
+ * their document on their first change in that mode, so nothing is backfilled.
+ */
+@Component
+public class AddCartLinesDocumentMigration extends OnlineMigration {
+
+    /**
+     * Creates the migration.
+     */
+    public AddCartLinesDocumentMigration() {
+        super("7", "add cart lines document");
+    }
+
+    @Override
+    protected void migrate(final OnlineSchemaChange schema) throws Exception {
+        schema.addColumn("carts", "lines_document", "MEDIUMTEXT NULL");
+    }
+}
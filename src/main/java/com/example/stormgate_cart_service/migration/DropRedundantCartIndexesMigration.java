@@ -0,0 +1,33 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Converges databases created from the legacy schema.sql with the V1 baseline.
+ * Drops indexes made redundant by the unique and composite keys and makes
+ * sure those keys exist, all online and idempotently, so it is a no-op on
+ * databases created by V1.
+ */
+@Component
+public class DropRedundantCartIndexesMigration extends OnlineMigration {
+
+    /**
+     * Creates the migration.
+     */
+    public DropRedundantCartIndexesMigration() {
+        super("2", "drop redundant cart indexes");
+    }
+
+    @Override
+    protected void migrate(final OnlineSchemaChange schema) throws Exception {
+        // Build the replacements first so lookups never lose index coverage
+        schema.createIndex("carts", "unique_tenant_user", true, "tenant_id", "user_id");
+        schema.createIndex("cart_items", "idx_cart_items_cart_product", false,
+                "cart_id", "product_id", "is_deleted");
+
+        schema.dropIndex("carts", "idx_tenant_user");
+        schema.dropIndex("carts", "idx_is_deleted");
+        schema.dropIndex("cart_items", "idx_is_deleted");
+        schema.dropIndex("cart_items", "idx_cart_id");
+    }
+}
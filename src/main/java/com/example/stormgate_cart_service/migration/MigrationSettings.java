@@ -0,0 +1,68 @@
+package com.example.stormgate_cart_service.migration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Throttling and lock settings applied by online migrations.
+ * Read from Flyway placeholders so they can be tuned per environment.
+ *
+ * @param batchSize number of rows touched per batch
+ * @param batchPause pause between batches to leave headroom for live traffic
+ * @param lockTimeout maximum time a migration statement waits for a lock
+ */
+public record MigrationSettings(int batchSize, Duration batchPause, Duration lockTimeout) {
+
+    /**
+     * Placeholder holding the batch size.
+     */
+    public static final String BATCH_SIZE = "online-batch-size";
+
+    /**
+     * Placeholder holding the pause between batches in milliseconds.
+     */
+    public static final String BATCH_PAUSE_MS = "online-batch-pause-ms";
+
+    /**
+     * Placeholder holding the lock timeout in seconds.
+     */
+    public static final String LOCK_TIMEOUT_SECONDS = "online-lock-timeout-seconds";
+
+    /**
+     * Settings used when no placeholders are configured.
+     */
+    public static final MigrationSettings DEFAULTS =
+            new MigrationSettings(1000, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+    /**
+     * Creates settings validating the values.
+     *
+     * @param batchSize number of rows touched per batch
+     * @param batchPause pause between batches
+     * @param lockTimeout maximum lock wait
+     */
+    public MigrationSettings {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (batchPause.isNegative() || lockTimeout.isNegative()) {
+            throw new IllegalArgumentException("durations must not be negative");
+        }
+    }
+
+    /**
+     * Builds settings from Flyway placeholders, falling back to defaults.
+     *
+     * @param placeholders the configured placeholders
+     * @return the migration settings
+     */
+    public static MigrationSettings fromPlaceholders(final Map<String, String> placeholders) {
+        return new MigrationSettings(
+                Integer.parseInt(placeholders.getOrDefault(BATCH_SIZE,
+                        String.valueOf(DEFAULTS.batchSize()))),
+                Duration.ofMillis(Long.parseLong(placeholders.getOrDefault(BATCH_PAUSE_MS,
+                        String.valueOf(DEFAULTS.batchPause().toMillis())))),
+                Duration.ofSeconds(Long.parseLong(placeholders.getOrDefault(LOCK_TIMEOUT_SECONDS,
+                        String.valueOf(DEFAULTS.lockTimeout().toSeconds())))));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Base class for Java migrations that must not block live traffic.
+ * Runs outside a single transaction so batched work commits as it goes,
+ * and guards every statement with the configured lock timeout.
+ * Subclasses are Spring components and are picked up by Flyway automatically.
+ */
+public abstract class OnlineMigration implements JavaMigration {
+
+    private final MigrationVersion version;
+    private final String description;
+
+    /**
+     * Creates an online migration.
+     *
+     * @param version the migration version
+     * @param description the migration description
+     */
+    protected OnlineMigration(final String version, final String description) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    /**
+     * Online migrations commit batch by batch and are never wrapped in one transaction.
+     *
+     * @return false
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(final Context context) throws Exception {
+        final MigrationSettings settings = MigrationSettings.fromPlaceholders(
+                context.getConfiguration().getPlaceholders());
+        final OnlineSchemaChange schema = new OnlineSchemaChange(context.getConnection(), settings);
+        schema.guardLockTimeout();
+        migrate(schema);
+    }
+
+    /**
+     * Applies the migration using online-safe schema operations.
+     *
+     * @param schema the online schema change helper
+     * @throws Exception if the migration fails
+     */
+    protected abstract void migrate(OnlineSchemaChange schema) throws Exception;
+}
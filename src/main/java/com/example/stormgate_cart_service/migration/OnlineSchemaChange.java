@@ -0,0 +1,430 @@
+package com.example.stormgate_cart_service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Online-safe schema operations for migrations on large, live tables.
+ * DDL uses MySQL's in-place and instant algorithms so tables stay readable
+ * and writable, data changes run in small committed batches with a pause in
+ * between, and every operation is idempotent so a failed migration can be
+ * re-run. On H2 the same operations fall back to plain DDL for tests.
+ */
+@Slf4j
+public class OnlineSchemaChange {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * Database flavours with different online DDL syntax.
+     */
+    public enum Dialect {
+        /**
+         * MySQL with InnoDB online DDL.
+         */
+        MYSQL,
+        /**
+         * H2, used for tests.
+         */
+        H2,
+        /**
+         * Any other database, using plain DDL.
+         */
+        OTHER;
+
+        /**
+         * Detects the dialect of a connection.
+         *
+         * @param connection the connection
+         * @return the dialect
+         * @throws SQLException if metadata cannot be read
+         */
+        public static Dialect of(final Connection connection) throws SQLException {
+            final String product = connection.getMetaData().getDatabaseProductName()
+                    .toLowerCase(Locale.ROOT);
+            if (product.contains("mysql")) {
+                return MYSQL;
+            }
+            return product.contains("h2") ? H2 : OTHER;
+        }
+    }
+
+    private final Connection connection;
+    private final MigrationSettings settings;
+    private final Dialect dialect;
+
+    /**
+     * Creates a helper bound to a migration connection.
+     *
+     * @param connection the connection used by the migration
+     * @param settings the throttling and lock settings
+     * @throws SQLException if the dialect cannot be detected
+     */
+    public OnlineSchemaChange(final Connection connection, final MigrationSettings settings)
+            throws SQLException {
+        this.connection = connection;
+        this.settings = settings;
+        this.dialect = Dialect.of(connection);
+    }
+
+    /**
+     * Gets the detected dialect.
+     *
+     * @return the dialect
+     */
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Bounds how long any following statement waits for locks, so a migration
+     * fails fast instead of queueing live traffic behind a blocked DDL.
+     *
+     * @throws SQLException if the timeout cannot be set
+     */
+    public void guardLockTimeout() throws SQLException {
+        final long seconds = Math.max(1, settings.lockTimeout().toSeconds());
+        switch (dialect) {
+            case MYSQL -> {
+                execute("SET SESSION lock_wait_timeout = " + seconds);
+                execute("SET SESSION innodb_lock_wait_timeout = " + seconds);
+            }
+            case H2 -> execute("SET LOCK_TIMEOUT " + settings.lockTimeout().toMillis());
+            default -> log.warn("Lock timeout guard not supported for this database");
+        }
+    }
+
+    /**
+     * Checks whether an index exists on a table.
+     *
+     * @param table the table name
+     * @param index the index name
+     * @return true if the index exists
+     * @throws SQLException if metadata cannot be read
+     */
+    public boolean indexExists(final String table, final String index) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet indexes = metaData.getIndexInfo(
+                connection.getCatalog(), null, identifier(table), false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a column exists on a table.
+     *
+     * @param table the table name
+     * @param column the column name
+     * @return true if the column exists
+     * @throws SQLException if metadata cannot be read
+     */
+    public boolean columnExists(final String table, final String column) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(
+                connection.getCatalog(), null, identifier(table), null)) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a column unless it already exists. On MySQL the column is added
+     * with the instant algorithm, which only changes table metadata.
+     *
+     * @param table the table name
+     * @param column the column name
+     * @param definition the column type and constraints
+     * @throws SQLException if the column cannot be added
+     */
+    public void addColumn(final String table, final String column, final String definition)
+            throws SQLException {
+        if (columnExists(table, column)) {
+            log.info("Column {}.{} already exists, skipping", table, column);
+            return;
+        }
+        final String ddl = "ALTER TABLE " + identifier(table) + " ADD COLUMN "
+                + identifier(column) + " " + definition;
+        execute(dialect == Dialect.MYSQL ? ddl + ", ALGORITHM=INSTANT" : ddl);
+    }
+
+    /**
+     * Creates an index unless it already exists, without blocking writes on MySQL.
+     *
+     * @param table the table name
+     * @param index the index name
+     * @param unique whether the index is unique
+     * @param columns the indexed columns in order
+     * @throws SQLException if the index cannot be created
+     */
+    public void createIndex(final String table, final String index, final boolean unique,
+                            final String... columns) throws SQLException {
+        if (indexExists(table, index)) {
+            log.info("Index {} on {} already exists, skipping", index, table);
+            return;
+        }
+        final String columnList = String.join(", ", identifiers(columns));
+        if (dialect == Dialect.MYSQL) {
+            execute("ALTER TABLE " + identifier(table) + " ADD " + (unique ? "UNIQUE " : "")
+                    + "INDEX " + identifier(index) + " (" + columnList + ")"
+                    + ", ALGORITHM=INPLACE, LOCK=NONE");
+        } else {
+            execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + identifier(index)
+                    + " ON " + identifier(table) + " (" + columnList + ")");
+        }
+    }
+
+    /**
+     * Drops an index if it exists, without blocking writes on MySQL.
+     *
+     * @param table the table name
+     * @param index the index name
+     * @throws SQLException if the index cannot be dropped
+     */
+    public void dropIndex(final String table, final String index) throws SQLException {
+        if (!indexExists(table, index)) {
+            log.info("Index {} on {} does not exist, skipping", index, table);
+            return;
+        }
+        if (dialect == Dialect.MYSQL) {
+            execute("ALTER TABLE " + identifier(table) + " DROP INDEX " + identifier(index)
+                    + ", ALGORITHM=INPLACE, LOCK=NONE");
+        } else {
+            execute("DROP INDEX " + identifier(index));
+        }
+    }
+
+    /**
+     * Adds a nullable shadow column and backfills it from an expression over
+     * existing columns. The application can then dual-write both columns and a
+     * later migration swaps them with {@link #swapShadowColumn}.
+     *
+     * @param table the table name
+     * @param keyColumn the primary key column used to walk the table
+     * @param shadow the shadow column name
+     * @param definition the shadow column type, which must allow nulls
+     * @param sourceExpression SQL expression computing the shadow value
+     * @return number of rows backfilled
+     * @throws SQLException if the column cannot be added or filled
+     * @throws InterruptedException if interrupted while throttling
+     */
+    public long addShadowColumn(final String table, final String keyColumn, final String shadow,
+                                final String definition, final String sourceExpression)
+            throws SQLException, InterruptedException {
+        addColumn(table, shadow, definition);
+        return backfill(table, keyColumn, identifier(shadow) + " = " + sourceExpression,
+                identifier(shadow) + " IS NULL");
+    }
+
+    /**
+     * Swaps a backfilled shadow column into place, keeping the original
+     * column under a retired name until it is dropped in a later release.
+     *
+     * @param table the table name
+     * @param column the column being replaced
+     * @param shadow the shadow column taking its place
+     * @param retired the new name for the original column
+     * @throws SQLException if the columns cannot be renamed
+     */
+    public void swapShadowColumn(final String table, final String column, final String shadow,
+                                 final String retired) throws SQLException {
+        if (!columnExists(table, shadow)) {
+            log.info("Shadow column {}.{} already swapped, skipping", table, shadow);
+            return;
+        }
+        final String alter = "ALTER TABLE " + identifier(table) + " RENAME COLUMN ";
+        if (dialect == Dialect.MYSQL) {
+            execute(alter + identifier(column) + " TO " + identifier(retired)
+                    + ", RENAME COLUMN " + identifier(shadow) + " TO " + identifier(column)
+                    + ", ALGORITHM=INSTANT");
+        } else {
+            execute(alter + identifier(column) + " TO " + identifier(retired));
+            execute(alter + identifier(shadow) + " TO " + identifier(column));
+        }
+    }
+
+    /**
+     * Updates rows in primary-key order, one committed batch at a time, with a
+     * pause between batches. Only rows matching the pending predicate are
+     * updated, so the backfill can be interrupted and resumed safely.
+     *
+     * @param table the table name
+     * @param keyColumn the primary key column used to walk the table
+     * @param assignments the SET clause, e.g. {@code line_count = 0}
+     * @param pendingPredicate condition selecting rows that still need the update
+     * @return number of rows updated
+     * @throws SQLException if a batch fails
+     * @throws InterruptedException if interrupted while throttling
+     */
+    public long backfill(final String table, final String keyColumn, final String assignments,
+                         final String pendingPredicate) throws SQLException, InterruptedException {
+        final String key = identifier(keyColumn);
+        final String update = "UPDATE " + identifier(table) + " SET " + assignments
+                + " WHERE " + key + " >= ? AND " + key + " <= ? AND (" + pendingPredicate + ")";
+        long updated = 0;
+        String lastKey = null;
+        List<String> batch = nextKeys(table, keyColumn, null);
+        while (!batch.isEmpty()) {
+            try (PreparedStatement statement = connection.prepareStatement(update)) {
+                statement.setString(1, batch.get(0));
+                statement.setString(2, batch.get(batch.size() - 1));
+                updated += statement.executeUpdate();
+            }
+            commit();
+            lastKey = batch.get(batch.size() - 1);
+            throttle();
+            batch = nextKeys(table, keyColumn, lastKey);
+        }
+        log.info("Backfilled {} rows in {}", updated, table);
+        return updated;
+    }
+
+    /**
+     * Copies rows into another table in primary-key order, one committed batch
+     * at a time, with a pause between batches. Rows already present in the
+     * target are skipped, so an interrupted copy can be resumed.
+     *
+     * @param source the source table
+     * @param target the target table
+     * @param keyColumn the primary key column shared by both tables
+     * @param columns the columns to copy, including the key column
+     * @return number of rows copied
+     * @throws SQLException if a batch fails
+     * @throws InterruptedException if interrupted while throttling
+     */
+    public long copyRows(final String source, final String target, final String keyColumn,
+                         final String... columns) throws SQLException, InterruptedException {
+        final String key = identifier(keyColumn);
+        final String columnList = String.join(", ", identifiers(columns));
+        final String copy = "INSERT INTO " + identifier(target) + " (" + columnList + ") "
+                + "SELECT " + columnList + " FROM " + identifier(source) + " s"
+                + " WHERE s." + key + " >= ? AND s." + key + " <= ?"
+                + " AND NOT EXISTS (SELECT 1 FROM " + identifier(target) + " t"
+                + " WHERE t." + key + " = s." + key + ")";
+        long copied = 0;
+        List<String> batch = nextKeys(source, keyColumn, null);
+        while (!batch.isEmpty()) {
+            try (PreparedStatement statement = connection.prepareStatement(copy)) {
+                statement.setString(1, batch.get(0));
+                statement.setString(2, batch.get(batch.size() - 1));
+                copied += statement.executeUpdate();
+            }
+            commit();
+            final String lastKey = batch.get(batch.size() - 1);
+            throttle();
+            batch = nextKeys(source, keyColumn, lastKey);
+        }
+        log.info("Copied {} rows from {} to {}", copied, source, target);
+        return copied;
+    }
+
+    /**
+     * Reads the next batch of primary keys after the given key.
+     *
+     * @param table the table name
+     * @param keyColumn the primary key column
+     * @param afterKey the last key of the previous batch, or null to start
+     * @return the keys of the next batch in order
+     * @throws SQLException if the keys cannot be read
+     */
+    private List<String> nextKeys(final String table, final String keyColumn, final String afterKey)
+            throws SQLException {
+        final String key = identifier(keyColumn);
+        final String sql = "SELECT " + key + " FROM " + identifier(table)
+                + (afterKey == null ? "" : " WHERE " + key + " > ?")
+                + " ORDER BY " + key + " LIMIT ?";
+        final List<String> keys = new ArrayList<>(settings.batchSize());
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (afterKey != null) {
+                statement.setString(index++, afterKey);
+            }
+            statement.setInt(index, settings.batchSize());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    keys.add(resultSet.getString(1));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Commits the current batch when the connection is not auto-committing.
+     *
+     * @throws SQLException if the commit fails
+     */
+    private void commit() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    /**
+     * Pauses between batches to leave headroom for live traffic and replication.
+     *
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    private void throttle() throws InterruptedException {
+        if (!settings.batchPause().isZero()) {
+            Thread.sleep(settings.batchPause().toMillis());
+        }
+    }
+
+    /**
+     * Executes a single statement.
+     *
+     * @param sql the statement
+     * @throws SQLException if execution fails
+     */
+    private void execute(final String sql) throws SQLException {
+        log.info("Executing online migration statement: {}", sql);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Validates a table, column or index name before it is placed in SQL.
+     *
+     * @param name the identifier
+     * @return the identifier
+     */
+    private static String identifier(final String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid SQL identifier: " + name);
+        }
+        return name;
+    }
+
+    /**
+     * Validates a list of identifiers.
+     *
+     * @param names the identifiers
+     * @return the identifiers
+     */
+    private static List<String> identifiers(final String... names) {
+        final List<String> validated = new ArrayList<>(names.length);
+        for (final String name : names) {
+            validated.add(identifier(name));
+        }
+        return validated;
+    }
+}
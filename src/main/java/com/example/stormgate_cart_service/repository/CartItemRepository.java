@@ -1,11 +1,15 @@
 package com.example.stormgate_cart_service.repository;
 
 import com.example.stormgate_cart_service.entity.CartItem;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,21 +17,49 @@ import java.util.Optional;
  * Provides database access methods for cart item operations.
  */
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, String> {
+public interface CartItemRepository extends JpaRepository<CartItem, String>, CartItemRepositoryCustom {
 
     /**
-     * Finds a cart item by cart ID and product ID.
+     * Finds the identifier of an active cart item by cart ID and product ID.
+     * Only reads idx_cart_items_cart_product, which also carries the primary key.
      *
      * @param cartId the cart identifier
      * @param productId the product identifier
-     * @return optional containing the cart item if found
+     * @return optional containing the item identifier if found
      */
-    @Query("SELECT ci FROM CartItem ci WHERE ci.cart.cartId = :cartId "
+    @Query("SELECT ci.itemId FROM CartItem ci WHERE ci.cart.cartId = :cartId "
             + "AND ci.productId = :productId AND ci.isDeleted = false")
-    Optional<CartItem> findByCartIdAndProductId(
+    Optional<String> findItemIdByCartIdAndProductId(
             @Param("cartId") String cartId,
             @Param("productId") String productId);
 
+    /**
+     * Finds a cart item by cart ID and product ID.
+     * The identifier is resolved from the index and the item is then loaded
+     * by primary key, which is served from the entity cache when it is enabled.
+     *
+     * @param cartId the cart identifier
+     * @param productId the product identifier
+     * @return optional containing the cart item if found
+     */
+    default Optional<CartItem> findByCartIdAndProductId(final String cartId,
+                                                        final String productId) {
+        return findItemIdByCartIdAndProductId(cartId, productId).flatMap(this::findById);
+    }
+
+    /**
+     * Finds the active items of several carts with a single IN-list query,
+     * ordered by cart and then by creation as in the first page of the
+     * created-at listing. Loaded items are not stored in the second-level cache.
+     *
+     * @param cartIds the cart identifiers
+     * @return the active items of the carts
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.storeMode", value = "BYPASS"))
+    @Query("SELECT ci FROM CartItem ci WHERE ci.cart.cartId IN :cartIds AND ci.isDeleted = false "
+            + "ORDER BY ci.cart.cartId, ci.createdAt, ci.itemId")
+    List<CartItem> findActiveByCartIdIn(@Param("cartIds") Collection<String> cartIds);
+
     /**
      * Soft deletes all items in a cart.
      *
@@ -0,0 +1,25 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.entity.CartItem;
+import java.util.List;
+
+/**
+ * Custom repository fragment for keyset-paginated cart item listings.
+ */
+public interface CartItemRepositoryCustom {
+
+    /**
+     * Finds a page of active items in a cart, ordered by the sort key and then
+     * the item identifier. Pages continue after the given position instead of
+     * using offsets, so each page is a range scan on the matching index.
+     *
+     * @param cartId the cart identifier
+     * @param sort the ordering
+     * @param afterValue sort key of the last item of the previous page, or null for the first page
+     * @param afterItemId identifier of the last item of the previous page, or null for the first page
+     * @param limit maximum number of items to return
+     * @return the items of the page in order
+     */
+    List<CartItem> findPage(String cartId, ItemSort sort, Object afterValue, String afterItemId, int limit);
+}
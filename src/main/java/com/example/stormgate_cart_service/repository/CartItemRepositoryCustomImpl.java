@@ -0,0 +1,58 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.entity.CartItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+/**
+ * Keyset pagination implementation of {@link CartItemRepositoryCustom}.
+ */
+@Transactional(readOnly = true)
+public class CartItemRepositoryCustomImpl implements CartItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CartItem> findPage(final String cartId,
+                                   final ItemSort sort,
+                                   final Object afterValue,
+                                   final String afterItemId,
+                                   final int limit) {
+        final String key = "ci." + property(sort);
+        final StringBuilder jpql = new StringBuilder("SELECT ci FROM CartItem ci "
+                + "WHERE ci.cart.cartId = :cartId AND ci.isDeleted = false");
+        if (afterItemId != null) {
+            jpql.append(" AND (").append(key).append(" > :afterValue OR (")
+                    .append(key).append(" = :afterValue AND ci.itemId > :afterItemId))");
+        }
+        jpql.append(" ORDER BY ").append(key).append(", ci.itemId");
+
+        final TypedQuery<CartItem> query = entityManager.createQuery(jpql.toString(), CartItem.class)
+                .setParameter("cartId", cartId)
+                .setMaxResults(limit);
+        if (afterItemId != null) {
+            query.setParameter("afterValue", afterValue)
+                    .setParameter("afterItemId", afterItemId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Maps an ordering to the entity property it sorts on.
+     *
+     * @param sort the ordering
+     * @return the property name
+     */
+    private static String property(final ItemSort sort) {
+        return switch (sort) {
+            case CREATED -> "createdAt";
+            case PRICE -> "price";
+            case NAME -> "name";
+        };
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.stormgate_cart_service.repository;
 
 import com.example.stormgate_cart_service.entity.Cart;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,31 +16,58 @@ import java.util.Optional;
  * Provides database access methods for cart operations.
  */
 @Repository
-public interface CartRepository extends JpaRepository<Cart, String> {
+public interface CartRepository extends JpaRepository<Cart, String>, CartRepositoryCustom {
 
     /**
-     * Finds an active cart by tenant and user identifiers.
+     * Checks if an active cart exists for the given tenant and user.
      *
      * @param tenantId the tenant identifier
      * @param userId the user identifier
-     * @return optional containing the cart if found
+     * @return true if cart exists, false otherwise
      */
-    @Query("SELECT c FROM Cart c WHERE c.tenantId = :tenantId "
+    @Query("SELECT COUNT(c) > 0 FROM Cart c WHERE c.tenantId = :tenantId "
             + "AND c.userId = :userId AND c.isDeleted = false")
-    Optional<Cart> findByTenantIdAndUserId(
+    boolean existsByTenantIdAndUserId(
             @Param("tenantId") String tenantId,
             @Param("userId") String userId);
 
     /**
-     * Checks if an active cart exists for the given tenant and user.
+     * Gets the version of a user's active cart without loading the cart.
      *
      * @param tenantId the tenant identifier
      * @param userId the user identifier
-     * @return true if cart exists, false otherwise
+     * @return optional containing the version if the cart exists
      */
-    @Query("SELECT COUNT(c) > 0 FROM Cart c WHERE c.tenantId = :tenantId "
+    @Query("SELECT c.version FROM Cart c WHERE c.tenantId = :tenantId "
             + "AND c.userId = :userId AND c.isDeleted = false")
-    boolean existsByTenantIdAndUserId(
+    Optional<Long> findVersionByTenantIdAndUserId(
             @Param("tenantId") String tenantId,
             @Param("userId") String userId);
+
+    /**
+     * Finds the active carts of several users of one tenant with a single
+     * IN-list lookup on the (tenantId, userId) index. Loaded carts are not
+     * stored in the second-level cache, so bulk reads do not evict hot entries.
+     *
+     * @param tenantId the tenant identifier
+     * @param userIds the user identifiers
+     * @return the carts found, in no particular order
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.storeMode", value = "BYPASS"))
+    @Query("SELECT c FROM Cart c WHERE c.tenantId = :tenantId "
+            + "AND c.userId IN :userIds AND c.isDeleted = false")
+    List<Cart> findActiveByTenantIdAndUserIdIn(
+            @Param("tenantId") String tenantId,
+            @Param("userIds") Collection<String> userIds);
+
+    /**
+     * Finds active carts by their identifiers with a single IN-list lookup.
+     * Loaded carts are not stored in the second-level cache.
+     *
+     * @param cartIds the cart identifiers
+     * @return the carts found, in no particular order
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.storeMode", value = "BYPASS"))
+    @Query("SELECT c FROM Cart c WHERE c.cartId IN :cartIds AND c.isDeleted = false")
+    List<Cart> findActiveByCartIdIn(@Param("cartIds") Collection<String> cartIds);
 }
@@ -0,0 +1,56 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.dto.MergePolicy;
+import com.example.stormgate_cart_service.entity.Cart;
+import java.util.Optional;
+
+/**
+ * Custom repository fragment for resolving carts by their natural id
+ * and for set-based operations spanning whole carts.
+ */
+public interface CartRepositoryCustom {
+
+    /**
+     * Finds an active cart by tenant and user identifiers.
+     * Resolved through the (tenantId, userId) natural id, so repeated lookups
+     * are served from the natural-id and entity caches when they are enabled.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return optional containing the cart if found
+     */
+    Optional<Cart> findByTenantIdAndUserId(String tenantId, String userId);
+
+    /**
+     * Finds a cart by tenant and user identifiers, including tombstoned carts.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return optional containing the cart if found
+     */
+    Optional<Cart> findAnyByTenantIdAndUserId(String tenantId, String userId);
+
+    /**
+     * Merges the active lines of the source cart into the target cart and
+     * tombstones the source cart. Runs a fixed number of set-based statements
+     * regardless of how many lines either cart holds, and recomputes the
+     * target totals once. Both carts are row-locked for the duration of the
+     * surrounding transaction, and the persistence context is cleared afterwards.
+     *
+     * @param sourceCartId the cart whose lines are merged and then tombstoned
+     * @param targetCartId the cart receiving the lines
+     * @param policy the quantity policy for products present in both carts
+     * @param maxLineQuantity the quantity at which summed lines are capped
+     * @return false if the source cart was already tombstoned, true otherwise
+     */
+    boolean mergeCarts(String sourceCartId, String targetCartId, MergePolicy policy, int maxLineQuantity);
+
+    /**
+     * Evicts a cart, its item collection and every item row it owns, tombstoned
+     * ones included, from this node's second-level cache. Used when another
+     * node changed the cart, so the next read here reloads it from the database.
+     *
+     * @param cartId the cart identifier
+     */
+    void evictFromCache(String cartId);
+}
@@ -0,0 +1,220 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.dto.MergePolicy;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.CommonQueryContract;
+import org.hibernate.query.MutationQuery;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Natural-id based implementation of {@link CartRepositoryCustom}.
+ */
+@Transactional(readOnly = true)
+public class CartRepositoryCustomImpl implements CartRepositoryCustom {
+
+    /**
+     * Locks both carts in primary-key order so concurrent merges cannot deadlock.
+     */
+    private static final String LOCK_CARTS = "SELECT cart_id FROM carts "
+            + "WHERE cart_id IN (:source, :target) AND is_deleted = FALSE "
+            + "ORDER BY cart_id FOR UPDATE";
+
+    private static final String SELECT_ITEM_IDS_OF_CART = "SELECT item_id FROM cart_items "
+            + "WHERE cart_id = :cart";
+
+    private static final String SELECT_ACTIVE_ITEM_IDS = "SELECT item_id FROM cart_items "
+            + "WHERE cart_id IN (:source, :target) AND is_deleted = FALSE";
+
+    /**
+     * Target lines paired with the source line of the same product. Grouped so
+     * MySQL materializes it instead of reading the table being updated.
+     */
+    private static final String CONFLICTING_LINES = "(SELECT t.item_id AS item_id, "
+            + "MAX(%s) AS quantity FROM cart_items t "
+            + "JOIN cart_items s ON s.product_id = t.product_id "
+            + "WHERE t.cart_id = :target AND t.is_deleted = FALSE "
+            + "AND s.cart_id = :source AND s.is_deleted = FALSE "
+            + "GROUP BY t.item_id) merged";
+
+    private static final String MERGE_CONFLICTING_LINES = "UPDATE cart_items SET "
+            + "quantity = (SELECT merged.quantity FROM " + CONFLICTING_LINES
+            + " WHERE merged.item_id = cart_items.item_id), updated_at = :now "
+            + "WHERE item_id IN (SELECT merged.item_id FROM " + CONFLICTING_LINES + ")";
+
+    private static final String MOVE_NEW_LINES = "UPDATE cart_items SET "
+            + "cart_id = :target, updated_at = :now "
+            + "WHERE cart_id = :source AND is_deleted = FALSE AND product_id NOT IN ("
+            + "SELECT present.product_id FROM (SELECT product_id FROM cart_items "
+            + "WHERE cart_id = :target AND is_deleted = FALSE GROUP BY product_id) present)";
+
+    private static final String TOMBSTONE_SOURCE_LINES = "UPDATE cart_items SET "
+            + "is_deleted = TRUE, updated_at = :now "
+            + "WHERE cart_id = :source AND is_deleted = FALSE";
+
+    private static final String REPRICE_TARGET_LINES = "UPDATE cart_items SET "
+            + "subtotal = price * quantity "
+            + "WHERE cart_id = :target AND is_deleted = FALSE";
+
+    private static final String ACTIVE_ITEMS_OF_CART = " FROM cart_items ci "
+            + "WHERE ci.cart_id = carts.cart_id AND ci.is_deleted = FALSE)";
+
+    private static final String UPDATE_CART_TOTALS = "UPDATE carts SET "
+            + "total_amount = (SELECT COALESCE(SUM(ci.subtotal), 0)" + ACTIVE_ITEMS_OF_CART + ", "
+            + "line_count = (SELECT COUNT(*)" + ACTIVE_ITEMS_OF_CART + ", "
+            + "total_quantity = (SELECT COALESCE(SUM(ci.quantity), 0)" + ACTIVE_ITEMS_OF_CART + ", "
+            + "version = version + 1, "
+            + "is_deleted = CASE WHEN cart_id = :source THEN TRUE ELSE is_deleted END, "
+            + "updated_at = :now "
+            + "WHERE cart_id IN (:source, :target)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Cart> findByTenantIdAndUserId(final String tenantId, final String userId) {
+        return findAnyByTenantIdAndUserId(tenantId, userId)
+                .filter(cart -> !Boolean.TRUE.equals(cart.getIsDeleted()));
+    }
+
+    @Override
+    public Optional<Cart> findAnyByTenantIdAndUserId(final String tenantId, final String userId) {
+        return entityManager.unwrap(Session.class)
+                .byNaturalId(Cart.class)
+                .using("tenantId", tenantId)
+                .using("userId", userId)
+                .loadOptional();
+    }
+
+    @Override
+    @Transactional
+    public boolean mergeCarts(final String sourceCartId,
+                              final String targetCartId,
+                              final MergePolicy policy,
+                              final int maxLineQuantity) {
+        entityManager.flush();
+
+        final List<String> locked = selectIds(LOCK_CARTS, sourceCartId, targetCartId);
+        if (!locked.contains(sourceCartId)) {
+            return false;
+        }
+        final List<String> itemIds = selectIds(SELECT_ACTIVE_ITEM_IDS, sourceCartId, targetCartId);
+
+        final LocalDateTime now = LocalDateTime.now();
+        if (policy != MergePolicy.KEEP_TARGET) {
+            final String merged = policy == MergePolicy.MAX
+                    ? "GREATEST(t.quantity, s.quantity)"
+                    : "LEAST(t.quantity + s.quantity, " + maxLineQuantity + ")";
+            executeUpdate(MERGE_CONFLICTING_LINES.replace("%s", merged), sourceCartId, targetCartId, now);
+        }
+        executeUpdate(MOVE_NEW_LINES, sourceCartId, targetCartId, now);
+        executeUpdate(TOMBSTONE_SOURCE_LINES, sourceCartId, targetCartId, now);
+        executeUpdate(REPRICE_TARGET_LINES, sourceCartId, targetCartId, null);
+        executeUpdate(UPDATE_CART_TOTALS, sourceCartId, targetCartId, now);
+
+        entityManager.clear();
+        evict(List.of(sourceCartId, targetCartId), itemIds);
+        return true;
+    }
+
+    @Override
+    public void evictFromCache(final String cartId) {
+        final List<String> itemIds = entityManager.unwrap(Session.class)
+                .createNativeQuery(SELECT_ITEM_IDS_OF_CART, String.class)
+                .addSynchronizedQuerySpace("")
+                .setParameter("cart", cartId)
+                .getResultList();
+        evict(List.of(cartId), itemIds);
+    }
+
+    /**
+     * Runs a native query of identifiers bound to the merge parameters.
+     *
+     * @param sql the SQL query selecting one identifier column
+     * @param sourceCartId the source cart identifier
+     * @param targetCartId the target cart identifier
+     * @return the selected identifiers
+     */
+    private List<String> selectIds(final String sql, final String sourceCartId, final String targetCartId) {
+        return bindCarts(entityManager.unwrap(Session.class)
+                        .createNativeQuery(sql, String.class)
+                        .addSynchronizedQuerySpace(""),
+                sql, sourceCartId, targetCartId)
+                .getResultList();
+    }
+
+    /**
+     * Executes a merge statement. The statement declares an empty
+     * synchronization space so Hibernate does not invalidate whole cache
+     * regions; the affected entries are evicted precisely afterwards.
+     *
+     * @param sql the SQL statement
+     * @param sourceCartId the source cart identifier
+     * @param targetCartId the target cart identifier
+     * @param now the modification timestamp, or null if the statement has none
+     */
+    private void executeUpdate(final String sql,
+                               final String sourceCartId,
+                               final String targetCartId,
+                               final LocalDateTime now) {
+        final MutationQuery query = bindCarts(entityManager.unwrap(Session.class)
+                        .createNativeMutationQuery(sql)
+                        .setHint(HibernateHints.HINT_NATIVE_SPACES, ""),
+                sql, sourceCartId, targetCartId);
+        if (now != null) {
+            query.setParameter("now", now);
+        }
+        query.executeUpdate();
+    }
+
+    /**
+     * Binds the cart parameters a merge statement refers to.
+     *
+     * @param query the query
+     * @param sql the SQL statement of the query
+     * @param sourceCartId the source cart identifier
+     * @param targetCartId the target cart identifier
+     * @param <Q> the query type
+     * @return the query
+     */
+    private static <Q extends CommonQueryContract> Q bindCarts(final Q query,
+                                                               final String sql,
+                                                               final String sourceCartId,
+                                                               final String targetCartId) {
+        if (sql.contains(":source")) {
+            query.setParameter("source", sourceCartId);
+        }
+        if (sql.contains(":target")) {
+            query.setParameter("target", targetCartId);
+        }
+        return query;
+    }
+
+    /**
+     * Evicts carts, their item collections and their items from the
+     * second-level cache.
+     *
+     * @param cartIds the cart identifiers
+     * @param itemIds the items that belonged to the carts
+     */
+    private void evict(final List<String> cartIds, final List<String> itemIds) {
+        final Cache cache = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getCache();
+        final String itemsRole = Cart.class.getName() + ".items";
+        for (final String cartId : cartIds) {
+            cache.evictEntityData(Cart.class, cartId);
+            cache.evictCollectionData(itemsRole, cartId);
+        }
+        itemIds.forEach(itemId -> cache.evictEntityData(CartItem.class, itemId));
+    }
+}
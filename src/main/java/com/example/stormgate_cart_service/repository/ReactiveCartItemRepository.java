@@ -0,0 +1,197 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking access to cart items over R2DBC for the reactive stack.
+ * Uses the same indexes as {@link CartItemRepository}.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartItemRepository {
+
+    private static final String COLUMNS = "item_id, cart_id, product_id, name, price, quantity, "
+            + "subtotal, is_deleted, created_at, updated_at";
+
+    private static final String SELECT_ACTIVE_BY_CART_AND_PRODUCT = "SELECT " + COLUMNS + " FROM cart_items "
+            + "WHERE cart_id = :cartId AND product_id = :productId AND is_deleted = FALSE";
+
+    private static final String SELECT_BY_CART_AND_PRODUCT = "SELECT " + COLUMNS + " FROM cart_items "
+            + "WHERE cart_id = :cartId AND product_id = :productId ORDER BY is_deleted, created_at LIMIT 1";
+
+    private static final String SELECT_BY_CART = "SELECT " + COLUMNS + " FROM cart_items "
+            + "WHERE cart_id = :cartId ORDER BY is_deleted, created_at, item_id";
+
+    private static final String SELECT_ACTIVE_BY_CART = "SELECT " + COLUMNS + " FROM cart_items "
+            + "WHERE cart_id = :cartId AND is_deleted = FALSE ORDER BY created_at, item_id";
+
+    private static final String INSERT = "INSERT INTO cart_items (" + COLUMNS + ") VALUES (:itemId, :cartId, "
+            + ":productId, :name, :price, :quantity, :subtotal, :isDeleted, :createdAt, :updatedAt)";
+
+    private static final String UPDATE = "UPDATE cart_items SET name = :name, price = :price, "
+            + "quantity = :quantity, subtotal = :subtotal, is_deleted = :isDeleted, updated_at = :updatedAt WHERE item_id = :itemId";
+
+    private static final String SOFT_DELETE_BY_CART = "UPDATE cart_items SET is_deleted = TRUE, "
+            + "updated_at = :updatedAt WHERE cart_id = :cartId AND is_deleted = FALSE";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates the repository.
+     *
+     * @param databaseClient the R2DBC client
+     */
+    public ReactiveCartItemRepository(final DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds the active line of a product in a cart.
+     *
+     * @param cart the cart
+     * @param productId the product identifier
+     * @return the item, or empty if the product is not in the cart
+     */
+    public Mono<CartItem> findByCartAndProductId(final Cart cart, final String productId) {
+        return databaseClient.sql(SELECT_ACTIVE_BY_CART_AND_PRODUCT)
+                .bind("cartId", cart.getCartId())
+                .bind("productId", productId)
+                .map(row -> toItem(row, cart))
+                .one();
+    }
+
+    /**
+     * Finds the row of a product in a cart, preferring the active one over
+     * soft deleted ones.
+     *
+     * @param cart the cart
+     * @param productId the product identifier
+     * @return the item, or empty if the product never was in the cart
+     */
+    public Mono<CartItem> findAnyByCartAndProductId(final Cart cart, final String productId) {
+        return databaseClient.sql(SELECT_BY_CART_AND_PRODUCT)
+                .bind("cartId", cart.getCartId())
+                .bind("productId", productId)
+                .map(row -> toItem(row, cart))
+                .one();
+    }
+
+    /**
+     * Finds all items of a cart, soft deleted ones included, active ones first.
+     *
+     * @param cart the cart
+     * @return the items
+     */
+    public Flux<CartItem> findAllByCart(final Cart cart) {
+        return databaseClient.sql(SELECT_BY_CART)
+                .bind("cartId", cart.getCartId())
+                .map(row -> toItem(row, cart))
+                .all();
+    }
+
+    /**
+     * Finds the active items of a cart in the order they were added.
+     *
+     * @param cart the cart
+     * @return the active items
+     */
+    public Flux<CartItem> findActiveByCart(final Cart cart) {
+        return databaseClient.sql(SELECT_ACTIVE_BY_CART)
+                .bind("cartId", cart.getCartId())
+                .map(row -> toItem(row, cart))
+                .all();
+    }
+
+    /**
+     * Inserts a new item, assigning its identifier and timestamps.
+     *
+     * @param item the item to insert, referencing its cart
+     * @return the inserted item
+     */
+    public Mono<CartItem> insert(final CartItem item) {
+        final LocalDateTime now = LocalDateTime.now();
+        item.setItemId(UUID.randomUUID().toString());
+        item.setCreatedAt(now);
+        item.setUpdatedAt(now);
+        return databaseClient.sql(INSERT)
+                .bind("itemId", item.getItemId())
+                .bind("cartId", item.getCart().getCartId())
+                .bind("productId", item.getProductId())
+                .bind("name", item.getName())
+                .bind("price", item.getPrice())
+                .bind("quantity", item.getQuantity())
+                .bind("subtotal", item.getSubtotal())
+                .bind("isDeleted", item.getIsDeleted())
+                .bind("createdAt", now)
+                .bind("updatedAt", now)
+                .then()
+                .thenReturn(item);
+    }
+
+    /**
+     * Writes an item's name, price, quantity, subtotal and deletion flag.
+     *
+     * @param item the changed item
+     * @return the item
+     */
+    public Mono<CartItem> update(final CartItem item) {
+        final LocalDateTime now = LocalDateTime.now();
+        item.setUpdatedAt(now);
+        return databaseClient.sql(UPDATE)
+                .bind("itemId", item.getItemId())
+                .bind("name", item.getName())
+                .bind("price", item.getPrice())
+                .bind("quantity", item.getQuantity())
+                .bind("subtotal", item.getSubtotal())
+                .bind("isDeleted", item.getIsDeleted())
+                .bind("updatedAt", now)
+                .then()
+                .thenReturn(item);
+    }
+
+    /**
+     * Soft deletes all active items in a cart.
+     *
+     * @param cartId the cart identifier
+     * @return the number of items deleted
+     */
+    public Mono<Long> softDeleteByCartId(final String cartId) {
+        return databaseClient.sql(SOFT_DELETE_BY_CART)
+                .bind("cartId", cartId)
+                .bind("updatedAt", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Maps a row to a detached item of the given cart.
+     *
+     * @param row the row
+     * @param cart the cart the item belongs to
+     * @return the item
+     */
+    private static CartItem toItem(final Readable row, final Cart cart) {
+        return CartItem.builder()
+                .itemId(row.get("item_id", String.class))
+                .cart(cart)
+                .productId(row.get("product_id", String.class))
+                .name(row.get("name", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .quantity(row.get("quantity", Integer.class))
+                .subtotal(row.get("subtotal", BigDecimal.class))
+                .isDeleted(row.get("is_deleted", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.stormgate_cart_service.repository;
+
+import com.example.stormgate_cart_service.entity.Cart;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking access to carts over R2DBC for the reactive stack.
+ * Reads and writes the same rows as {@link CartRepository}, including the
+ * persisted aggregates, the lines document and the optimistic lock version.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartRepository {
+
+    private static final String COLUMNS = "cart_id, tenant_id, user_id, total_amount, line_count, "
+            + "total_quantity, version, currency, is_deleted, lines_document, created_at, updated_at";
+
+    private static final String SELECT_BY_TENANT_AND_USER = "SELECT " + COLUMNS + " FROM carts "
+            + "WHERE tenant_id = :tenantId AND user_id = :userId";
+
+    private static final String INSERT = "INSERT INTO carts (" + COLUMNS + ") VALUES (:cartId, :tenantId, "
+            + ":userId, :totalAmount, :lineCount, :totalQuantity, :version, :currency, :isDeleted, "
+            + ":linesDocument, :createdAt, :updatedAt)";
+
+    /**
+     * Writes the aggregates and the lines document only if nobody changed the
+     * cart since it was read.
+     */
+    private static final String UPDATE = "UPDATE carts SET total_amount = :totalAmount, "
+            + "line_count = :lineCount, total_quantity = :totalQuantity, is_deleted = :isDeleted, "
+            + "lines_document = :linesDocument, updated_at = :updatedAt, version = version + 1 "
+            + "WHERE cart_id = :cartId AND version = :version";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates the repository.
+     *
+     * @param databaseClient the R2DBC client
+     */
+    public ReactiveCartRepository(final DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds an active cart by tenant and user identifiers.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart, or empty if not found
+     */
+    public Mono<Cart> findByTenantIdAndUserId(final String tenantId, final String userId) {
+        return findAnyByTenantIdAndUserId(tenantId, userId)
+                .filter(cart -> !Boolean.TRUE.equals(cart.getIsDeleted()));
+    }
+
+    /**
+     * Finds a cart by tenant and user identifiers, including tombstoned carts.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart, or empty if not found
+     */
+    public Mono<Cart> findAnyByTenantIdAndUserId(final String tenantId, final String userId) {
+        return databaseClient.sql(SELECT_BY_TENANT_AND_USER)
+                .bind("tenantId", tenantId)
+                .bind("userId", userId)
+                .map(ReactiveCartRepository::toCart)
+                .one();
+    }
+
+    /**
+     * Inserts a new cart, assigning its identifier and timestamps.
+     *
+     * @param cart the cart to insert
+     * @return the inserted cart
+     */
+    public Mono<Cart> insert(final Cart cart) {
+        final LocalDateTime now = LocalDateTime.now();
+        cart.setCartId(UUID.randomUUID().toString());
+        cart.setCreatedAt(now);
+        cart.setUpdatedAt(now);
+        return bindLinesDocument(databaseClient.sql(INSERT), cart)
+                .bind("cartId", cart.getCartId())
+                .bind("tenantId", cart.getTenantId())
+                .bind("userId", cart.getUserId())
+                .bind("totalAmount", cart.getTotalAmount())
+                .bind("lineCount", cart.getLineCount())
+                .bind("totalQuantity", cart.getTotalQuantity())
+                .bind("version", cart.getVersion())
+                .bind("currency", cart.getCurrency())
+                .bind("isDeleted", cart.getIsDeleted())
+                .bind("createdAt", now)
+                .bind("updatedAt", now)
+                .then()
+                .thenReturn(cart);
+    }
+
+    /**
+     * Writes a cart's aggregates, deletion flag and lines document and advances its version.
+     *
+     * @param cart the cart as changed since it was read
+     * @return the cart with its new version
+     * @throws OptimisticLockingFailureException if the cart was changed concurrently
+     */
+    public Mono<Cart> update(final Cart cart) {
+        final LocalDateTime now = LocalDateTime.now();
+        return bindLinesDocument(databaseClient.sql(UPDATE), cart)
+                .bind("cartId", cart.getCartId())
+                .bind("totalAmount", cart.getTotalAmount())
+                .bind("lineCount", cart.getLineCount())
+                .bind("totalQuantity", cart.getTotalQuantity())
+                .bind("isDeleted", cart.getIsDeleted())
+                .bind("updatedAt", now)
+                .bind("version", cart.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Cart " + cart.getCartId() + " was modified concurrently"));
+                    }
+                    cart.setVersion(cart.getVersion() + 1);
+                    cart.setUpdatedAt(now);
+                    return Mono.just(cart);
+                });
+    }
+
+    /**
+     * Binds the lines document of a cart, which is null for normalized carts.
+     *
+     * @param spec the statement
+     * @param cart the cart
+     * @return the statement with the lines document bound
+     */
+    private static DatabaseClient.GenericExecuteSpec bindLinesDocument(final DatabaseClient.GenericExecuteSpec spec,
+                                                                       final Cart cart) {
+        return cart.getLinesDocument() == null
+                ? spec.bindNull("linesDocument", String.class)
+                : spec.bind("linesDocument", cart.getLinesDocument());
+    }
+
+    /**
+     * Maps a row to a detached cart.
+     *
+     * @param row the row
+     * @return the cart
+     */
+    private static Cart toCart(final Readable row) {
+        return Cart.builder()
+                .cartId(row.get("cart_id", String.class))
+                .tenantId(row.get("tenant_id", String.class))
+                .userId(row.get("user_id", String.class))
+                .totalAmount(row.get("total_amount", BigDecimal.class))
+                .lineCount(row.get("line_count", Integer.class))
+                .totalQuantity(row.get("total_quantity", Integer.class))
+                .version(row.get("version", Long.class))
+                .currency(row.get("currency", String.class))
+                .isDeleted(row.get("is_deleted", Boolean.class))
+                .linesDocument(row.get("lines_document", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartBulkProperties;
+import com.example.stormgate_cart_service.dto.BulkCartRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartUserRef;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads many carts for internal services in fixed-size chunks. Each chunk is
+ * loaded in its own read-only transaction with one query for the carts and one
+ * for their items, and handed on before the next chunk is read, so memory use
+ * stays bounded by the chunk size however many carts are requested.
+ */
+@Component
+@EnableConfigurationProperties(CartBulkProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartBulkReader {
+
+    private final CartService cartService;
+    private final CartBulkProperties properties;
+
+    /**
+     * Creates the reader.
+     *
+     * @param cartService the service loading each chunk
+     * @param properties the bulk read properties
+     */
+    public CartBulkReader(final CartService cartService, final CartBulkProperties properties) {
+        this.cartService = cartService;
+        this.properties = properties;
+    }
+
+    /**
+     * Checks that a request stays within the configured number of carts.
+     *
+     * @param request the bulk request
+     * @throws IllegalArgumentException if the request asks for too many carts
+     */
+    public void validate(final BulkCartRequest request) {
+        final int requested = request.getUsers().size() + request.getCartIds().size();
+        if (requested > properties.getMaxKeys()) {
+            throw new IllegalArgumentException("A bulk read may request at most "
+                    + properties.getMaxKeys() + " carts, got " + requested);
+        }
+    }
+
+    /**
+     * Reads the requested carts chunk by chunk, carts requested by user first.
+     * Duplicate keys are read once.
+     *
+     * @param request the bulk request
+     * @param sink receives the carts found in each chunk, in the order requested
+     * @throws IllegalArgumentException if the request asks for too many carts
+     */
+    public void read(final BulkCartRequest request, final Consumer<List<CartResponse>> sink) {
+        validate(request);
+        readInChunks(request.getUsers().stream().distinct().toList(), cartService::getCartsByUsers, sink);
+        readInChunks(request.getCartIds().stream().distinct().toList(), cartService::getCartsByIds, sink);
+    }
+
+    /**
+     * Loads keys chunk by chunk and passes on every non-empty result.
+     *
+     * @param keys the distinct keys to read
+     * @param loader loads the carts of one chunk of keys
+     * @param sink receives the carts of each chunk
+     * @param <K> the key type, {@link CartUserRef} or cart identifier
+     */
+    private <K> void readInChunks(final List<K> keys,
+                                  final Function<List<K>, List<CartResponse>> loader,
+                                  final Consumer<List<CartResponse>> sink) {
+        final int chunkSize = Math.max(1, properties.getChunkSize());
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            final List<CartResponse> carts = loader.apply(
+                    keys.subList(from, Math.min(keys.size(), from + chunkSize)));
+            if (!carts.isEmpty()) {
+                sink.accept(carts);
+            }
+        }
+    }
+}
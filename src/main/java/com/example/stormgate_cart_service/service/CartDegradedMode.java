@@ -0,0 +1,343 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.bulkhead.TenantContext;
+import com.example.stormgate_cart_service.concurrency.CircuitBreaker;
+import com.example.stormgate_cart_service.config.CartDegradedModeProperties;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import com.example.stormgate_cart_service.exception.ServiceDegradedException;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps cart reads answering while the database is slow or down. Every cart
+ * served is kept as the user's last known snapshot. A load that exceeds the
+ * latency budget or fails with a database error is answered with that
+ * snapshot, marked stale, while a slow load goes on in the background and
+ * refreshes the snapshot when it completes. Slow and failed loads feed a
+ * circuit breaker; while it is open, reads are served from snapshots without
+ * touching the database and writes are rejected until the next probe.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CartDegradedModeProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartDegradedMode {
+
+    private static final String METRIC = "cart.degraded";
+
+    private final CartResponseCache cartResponseCache;
+    private final CartDegradedModeProperties properties;
+    private final CircuitBreaker breaker;
+    private final Cache<CartKey, Snapshot> snapshots;
+    private final OffHeapCartStore offHeapSnapshots;
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter staleWhileOpen;
+    private final Counter staleAfterTimeout;
+    private final Counter staleAfterFailure;
+    private final Counter writesRejected;
+
+    /**
+     * Creates the degraded mode and registers its metrics.
+     *
+     * @param cartResponseCache the cache answering repeat reads without a load
+     * @param properties the degraded mode properties
+     * @param meterRegistry the registry receiving the degraded mode metrics
+     */
+    public CartDegradedMode(final CartResponseCache cartResponseCache,
+                            final CartDegradedModeProperties properties,
+                            final MeterRegistry meterRegistry) {
+        this.cartResponseCache = cartResponseCache;
+        this.properties = properties;
+        this.breaker = new CircuitBreaker(properties.getWindowSize(), properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(), properties.getOpenDuration().toNanos());
+        if (properties.getSnapshotOffHeap().isEnabled()) {
+            this.snapshots = null;
+            this.offHeapSnapshots = new OffHeapCartStore("cart-snapshot", properties.getSnapshotOffHeap(),
+                    properties.getSnapshotTtl(), meterRegistry);
+        } else {
+            this.snapshots = Caffeine.newBuilder()
+                    .maximumSize(properties.getSnapshotMaxSize())
+                    .expireAfterWrite(properties.getSnapshotTtl())
+                    .build();
+            this.offHeapSnapshots = null;
+        }
+        Gauge.builder(METRIC + ".circuit.state", breaker, circuit -> circuit.state().ordinal())
+                .description("State of the database circuit: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.staleWhileOpen = staleCounter("open", meterRegistry);
+        this.staleAfterTimeout = staleCounter("timeout", meterRegistry);
+        this.staleAfterFailure = staleCounter("failure", meterRegistry);
+        this.writesRejected = Counter.builder(METRIC + ".writes.rejected")
+                .description("Cart writes rejected while the database circuit was open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads a cart, falling back to the last known snapshot when the database
+     * is slow or down.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param load loads the serialized cart, possibly from the response cache
+     * @return the cart, marked stale when it is a snapshot
+     * @throws ServiceDegradedException if the circuit is open and no snapshot is known
+     */
+    public CartRead read(final String tenantId, final String userId, final Supplier<SerializedCart> load) {
+        if (!properties.isEnabled()) {
+            return new CartRead(load.get(), null);
+        }
+        final SerializedCart cached = cartResponseCache.getIfPresent(tenantId, userId);
+        if (cached != null) {
+            return new CartRead(cached, null);
+        }
+        final CartKey key = new CartKey(tenantId, userId);
+        final long started = System.nanoTime();
+        if (!breaker.tryAcquire(started)) {
+            final CartRead stale = stale(key, staleWhileOpen);
+            if (stale == null) {
+                throw unavailable("Cart service is degraded, please retry later");
+            }
+            return stale;
+        }
+
+        final String tenant = TenantContext.current();
+        final CompletableFuture<SerializedCart> call = CompletableFuture.supplyAsync(() -> {
+            try (TenantContext.Scope ignored = TenantContext.enter(tenant)) {
+                return load.get();
+            }
+        }, loader);
+        call.thenAccept(cart -> remember(key, cart));
+        try {
+            final SerializedCart cart = call.get(properties.getLatencyBudget().toNanos(), TimeUnit.NANOSECONDS);
+            breaker.onSuccess();
+            return new CartRead(cart, null);
+        } catch (TimeoutException e) {
+            breaker.onFailure(System.nanoTime());
+            final CartRead stale = stale(key, staleAfterTimeout);
+            return stale != null ? stale : new CartRead(await(call), null);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (!isDatabaseFailure(cause)) {
+                breaker.onSuccess();
+                throw rethrow(cause);
+            }
+            breaker.onFailure(System.nanoTime());
+            final CartRead stale = stale(key, staleAfterFailure);
+            if (stale == null) {
+                throw rethrow(cause);
+            }
+            log.warn("Serving stale cart after database failure: {}", cause.getMessage());
+            return stale;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable("Cart read was interrupted, please retry");
+        }
+    }
+
+    /**
+     * Rejects a write while the database circuit is open.
+     *
+     * @throws ServiceDegradedException if the circuit is open
+     */
+    public void checkWritable() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (breaker.retryAfterNanos(System.nanoTime()) > 0) {
+            writesRejected.increment();
+            throw unavailable("Cart service is degraded and not accepting changes, please retry later");
+        }
+    }
+
+    /**
+     * Gets the state of the database circuit.
+     *
+     * @return the circuit state
+     */
+    public CircuitBreaker.State circuitState() {
+        return breaker.state();
+    }
+
+    /**
+     * Stops the background loads and releases the off-heap snapshots, if any.
+     */
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+        if (offHeapSnapshots != null) {
+            offHeapSnapshots.close();
+        }
+    }
+
+    /**
+     * Looks up the last known snapshot of a cart.
+     *
+     * @param key the cart's key
+     * @param served counts the snapshots served for the same reason
+     * @return the stale read, or null if no snapshot is known
+     */
+    private CartRead stale(final CartKey key, final Counter served) {
+        final Snapshot snapshot = snapshot(key);
+        if (snapshot == null) {
+            return null;
+        }
+        served.increment();
+        return new CartRead(snapshot.cart(), Duration.ofNanos(System.nanoTime() - snapshot.storedAt()));
+    }
+
+    /**
+     * Keeps a loaded cart as the user's snapshot unless a newer one is known.
+     *
+     * @param key the cart's key
+     * @param cart the loaded cart
+     */
+    private void remember(final CartKey key, final SerializedCart cart) {
+        if (offHeapSnapshots != null) {
+            offHeapSnapshots.merge(key.tenantId(), key.userId(), cart);
+            return;
+        }
+        snapshots.asMap().merge(key, new Snapshot(cart, System.nanoTime()),
+                (existing, incoming) -> incoming.cart().version() >= existing.cart().version() ? incoming : existing);
+    }
+
+    /**
+     * Gets the last known snapshot of a cart.
+     *
+     * @param key the cart's key
+     * @return the snapshot, or null if none is known
+     */
+    private Snapshot snapshot(final CartKey key) {
+        if (offHeapSnapshots == null) {
+            return snapshots.getIfPresent(key);
+        }
+        final OffHeapCartStore.Stored stored = offHeapSnapshots.get(key.tenantId(), key.userId());
+        return stored == null ? null : new Snapshot(stored.cart(), stored.storedAt());
+    }
+
+    /**
+     * Registers the counter of snapshots served for one reason.
+     *
+     * @param reason why snapshots are served: open, timeout or failure
+     * @param meterRegistry the registry receiving the counter
+     * @return the counter
+     */
+    private static Counter staleCounter(final String reason, final MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC + ".stale.served")
+                .description("Cart reads answered with the last known snapshot")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for a load that overran its budget with no snapshot to fall back to.
+     *
+     * @param call the load
+     * @return the loaded cart
+     */
+    private static SerializedCart await(final CompletableFuture<SerializedCart> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether a load failed because of the database rather than the
+     * request. A tenant over its connection budget is not a database failure.
+     *
+     * @param error the failure
+     * @return true for a database failure
+     */
+    private static boolean isDatabaseFailure(final Throwable error) {
+        if (NestedExceptionUtils.getMostSpecificCause(error) instanceof CapacityExceededException) {
+            return false;
+        }
+        return error instanceof DataAccessException || error instanceof TransactionException;
+    }
+
+    /**
+     * Creates the exception rejecting a request while the database is unavailable.
+     *
+     * @param message the error message
+     * @return the exception
+     */
+    private ServiceDegradedException unavailable(final String message) {
+        final long retryAfter = Math.max(breaker.retryAfterNanos(System.nanoTime()),
+                properties.getOpenDuration().toNanos() / 10);
+        return new ServiceDegradedException(message, Duration.ofNanos(retryAfter));
+    }
+
+    /**
+     * Rethrows the failure of a load on the calling thread.
+     *
+     * @param error the failure
+     * @return never returns normally
+     */
+    private static RuntimeException rethrow(final Throwable error) {
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        throw new IllegalStateException(error);
+    }
+
+    /**
+     * A cart read, either current or the last known snapshot.
+     *
+     * @param cart the serialized cart
+     * @param age age of the snapshot, or null if the cart is current
+     */
+    public record CartRead(SerializedCart cart, Duration age) {
+
+        /**
+         * Checks whether the cart is a snapshot that may be outdated.
+         *
+         * @return true if the cart is stale
+         */
+        public boolean isStale() {
+            return age != null;
+        }
+    }
+
+    /**
+     * Last known cart with the time it was loaded.
+     *
+     * @param cart the serialized cart
+     * @param storedAt when the cart was loaded, as a {@link System#nanoTime()} value
+     */
+    private record Snapshot(SerializedCart cart, long storedAt) {
+    }
+
+    /**
+     * Key of a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record CartKey(String tenantId, String userId) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active lines of a cart in the document storage mode, keyed by product and
+ * kept in the order they were added. Not thread-safe.
+ */
+public final class CartDocument {
+
+    private final Map<String, Line> lines = new LinkedHashMap<>();
+
+    /**
+     * Creates a document holding the given lines.
+     *
+     * @param lines the active lines
+     */
+    public CartDocument(final List<Line> lines) {
+        lines.forEach(this::put);
+    }
+
+    /**
+     * Creates a document from a cart's item rows.
+     *
+     * @param items the items of the cart; deleted ones are skipped
+     * @return the document
+     */
+    public static CartDocument of(final List<CartItem> items) {
+        return new CartDocument(items.stream()
+                .filter(item -> !item.getIsDeleted())
+                .sorted(Comparator.comparing(CartItem::getCreatedAt,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(item -> new Line(item.getItemId(), item.getProductId(), item.getName(), item.getPrice(),
+                        item.getQuantity(), item.getCreatedAt()))
+                .toList());
+    }
+
+    /**
+     * Gets the line of a product.
+     *
+     * @param productId the product identifier
+     * @return the line, or null if the product is not in the cart
+     */
+    public Line get(final String productId) {
+        return lines.get(productId);
+    }
+
+    /**
+     * Adds or replaces the line of a product.
+     *
+     * @param line the line
+     */
+    public void put(final Line line) {
+        lines.put(line.productId(), line);
+    }
+
+    /**
+     * Removes the line of a product.
+     *
+     * @param productId the product identifier
+     */
+    public void remove(final String productId) {
+        lines.remove(productId);
+    }
+
+    /**
+     * Removes every line.
+     */
+    public void clear() {
+        lines.clear();
+    }
+
+    /**
+     * Gets the lines in the order they were added.
+     *
+     * @return an immutable copy of the lines
+     */
+    public List<Line> lines() {
+        return List.copyOf(lines.values());
+    }
+
+    /**
+     * Reads one page of lines in the order of the item page query: by the
+     * sort value, then by line identifier.
+     *
+     * @param sort the ordering
+     * @param afterValue the sort value of the last line of the previous page, or null for the first page
+     * @param afterId the identifier of the last line of the previous page
+     * @param count maximum number of lines
+     * @return the page of lines
+     */
+    public List<Line> page(final ItemSort sort, final Object afterValue, final String afterId, final int count) {
+        final Comparator<Line> order = (left, right) -> {
+            final int byValue = compare(left.sortValue(sort), right.sortValue(sort));
+            return byValue != 0 ? byValue : left.id().compareTo(right.id());
+        };
+        return lines.values().stream()
+                .filter(line -> afterValue == null || isAfter(line, sort, afterValue, afterId))
+                .sorted(order)
+                .limit(count)
+                .toList();
+    }
+
+    /**
+     * Checks whether a line sorts after a cursor position.
+     *
+     * @param line the line
+     * @param sort the ordering
+     * @param afterValue the sort value of the position
+     * @param afterId the line identifier of the position
+     * @return true if the line comes after the position
+     */
+    private static boolean isAfter(final Line line, final ItemSort sort, final Object afterValue, final String afterId) {
+        final int byValue = compare(line.sortValue(sort), afterValue);
+        return byValue > 0 || byValue == 0 && line.id().compareTo(afterId) > 0;
+    }
+
+    /**
+     * Compares two sort values of the same ordering.
+     *
+     * @param value the first value
+     * @param other the second value
+     * @return the comparison result
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(final Comparable value, final Object other) {
+        return value.compareTo(other);
+    }
+
+    /**
+     * An active line of a document cart.
+     *
+     * @param id the line identifier, which is the item identifier for lines read from rows
+     * @param productId the product identifier
+     * @param name the product name
+     * @param price the unit price
+     * @param quantity the quantity
+     * @param createdAt when the line was added
+     */
+    public record Line(String id,
+                       String productId,
+                       String name,
+                       BigDecimal price,
+                       int quantity,
+                       LocalDateTime createdAt) {
+
+        /**
+         * Computes the value of the line.
+         *
+         * @return price multiplied by quantity
+         */
+        public BigDecimal subtotal() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+
+        /**
+         * Copies the line with another quantity.
+         *
+         * @param newQuantity the quantity
+         * @return the changed line
+         */
+        public Line withQuantity(final int newQuantity) {
+            return new Line(id, productId, name, price, newQuantity, createdAt);
+        }
+
+        /**
+         * Represents the line as a transient item of the cart, for the shared
+         * response mapping and cursors. The item is never persisted.
+         *
+         * @param cart the cart of the line
+         * @return the item
+         */
+        public CartItem toItem(final Cart cart) {
+            return CartItem.builder()
+                    .itemId(id)
+                    .cart(cart)
+                    .productId(productId)
+                    .name(name)
+                    .price(price)
+                    .quantity(quantity)
+                    .subtotal(subtotal())
+                    .isDeleted(false)
+                    .createdAt(createdAt)
+                    .build();
+        }
+
+        /**
+         * Gets the value the line is sorted on.
+         *
+         * @param sort the ordering
+         * @return the sort value
+         */
+        @SuppressWarnings("rawtypes")
+        Comparable sortValue(final ItemSort sort) {
+            return switch (sort) {
+                case CREATED -> createdAt;
+                case PRICE -> price;
+                case NAME -> name;
+            };
+        }
+    }
+}
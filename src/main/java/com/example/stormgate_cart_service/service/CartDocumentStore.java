@@ -0,0 +1,209 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartStorageProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import com.example.stormgate_cart_service.json.CartDocumentCodec;
+import com.example.stormgate_cart_service.repository.CartItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes the lines document of carts in the document storage mode.
+ * A cart's document, once present, is authoritative: reads use it in every
+ * mode, and the cart_items rows are only a projection that is kept current
+ * when item projection is enabled. A cart of a tenant switched back to the
+ * normalized mode gets its rows rewritten from the document on its next
+ * change, after which the document is dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(CartStorageProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartDocumentStore {
+
+    private final CartStorageProperties properties;
+    private final CartDocumentCodec codec;
+    private final CartItemRepository cartItemRepository;
+
+    /**
+     * Checks whether a tenant's carts are changed in the document storage mode.
+     *
+     * @param tenantId the tenant identifier
+     * @return true for the document storage mode
+     */
+    public boolean isDocumentMode(final String tenantId) {
+        return properties.modeFor(tenantId) == CartStorageProperties.Mode.DOCUMENT;
+    }
+
+    /**
+     * Reads a cart's document.
+     *
+     * @param cart the cart
+     * @return the document, or null for a normalized cart
+     */
+    public CartDocument read(final Cart cart) {
+        return cart.getLinesDocument() == null ? null : codec.decode(cart.getLinesDocument());
+    }
+
+    /**
+     * Reads a cart's document for a change, creating it from the cart's item
+     * rows the first time a normalized cart is changed in the document mode.
+     *
+     * @param cart the cart
+     * @return the document
+     */
+    public CartDocument open(final Cart cart) {
+        final CartDocument document = read(cart);
+        if (document != null) {
+            return document;
+        }
+        if (cart.getLineCount() == 0) {
+            return new CartDocument(List.of());
+        }
+        return CartDocument.of(cartItemRepository.findActiveByCartIdIn(List.of(cart.getCartId())));
+    }
+
+    /**
+     * Stores a cart's document after a change of one line, projecting the line
+     * onto its item row when item projection is enabled.
+     *
+     * @param cart the cart
+     * @param document the changed document
+     * @param productId the product whose line changed
+     */
+    public void write(final Cart cart, final CartDocument document, final String productId) {
+        final boolean created = cart.getLinesDocument() == null;
+        cart.setLinesDocument(codec.encode(document));
+        if (!properties.isProjectItems()) {
+            return;
+        }
+        if (created) {
+            // Rows of lines changed before the cart became a document cart may be stale
+            project(cart, document);
+        } else {
+            project(cart, document.get(productId), productId);
+        }
+    }
+
+    /**
+     * Stores a cart's document after a change of many lines, projecting the
+     * whole document onto the item rows when item projection is enabled.
+     *
+     * @param cart the cart
+     * @param document the changed document
+     */
+    public void writeAll(final Cart cart, final CartDocument document) {
+        cart.setLinesDocument(codec.encode(document));
+        if (properties.isProjectItems()) {
+            project(cart, document);
+        }
+    }
+
+    /**
+     * Turns a document cart back into a normalized one before it is changed
+     * in the normalized mode: its item rows are rewritten from the document
+     * and the document is dropped. Does nothing for a normalized cart.
+     *
+     * @param cart the cart
+     */
+    public void release(final Cart cart) {
+        final CartDocument document = read(cart);
+        if (document == null) {
+            return;
+        }
+        project(cart, document);
+        cart.setLinesDocument(null);
+    }
+
+    /**
+     * Makes the cart's current item rows its document, as after a merge,
+     * which combines item rows.
+     *
+     * @param cart the cart
+     */
+    public void capture(final Cart cart) {
+        cart.setLinesDocument(codec.encode(CartDocument.of(cart.getItems())));
+    }
+
+    /**
+     * Makes the item row of one product match its line.
+     *
+     * @param cart the cart
+     * @param line the line, or null if the product was removed
+     * @param productId the product identifier
+     */
+    private void project(final Cart cart, final CartDocument.Line line, final String productId) {
+        final CartItem item = cartItemRepository.findByCartIdAndProductId(cart.getCartId(), productId)
+                .orElse(null);
+        if (item == null) {
+            if (line != null) {
+                cart.getItems().add(newItem(cart, line));
+            }
+            return;
+        }
+        apply(item, line);
+        cartItemRepository.save(item);
+    }
+
+    /**
+     * Makes all item rows of a cart match its document.
+     *
+     * @param cart the cart
+     * @param document the document
+     */
+    private void project(final Cart cart, final CartDocument document) {
+        final Set<String> projected = new HashSet<>();
+        for (final CartItem item : cart.getItems()) {
+            apply(item, document.get(item.getProductId()));
+            projected.add(item.getProductId());
+        }
+        for (final CartDocument.Line line : document.lines()) {
+            if (!projected.contains(line.productId())) {
+                cart.getItems().add(newItem(cart, line));
+            }
+        }
+    }
+
+    /**
+     * Copies a line onto its item row, or soft deletes the row of a removed line.
+     *
+     * @param item the item row
+     * @param line the line, or null if the product was removed
+     */
+    private static void apply(final CartItem item, final CartDocument.Line line) {
+        if (line == null) {
+            item.setIsDeleted(true);
+            return;
+        }
+        item.setIsDeleted(false);
+        item.setName(line.name());
+        item.setPrice(line.price());
+        item.setQuantity(line.quantity());
+        item.setSubtotal(line.subtotal());
+    }
+
+    /**
+     * Creates the item row of a line.
+     *
+     * @param cart the cart
+     * @param line the line
+     * @return the new item, queued on the cart's items
+     */
+    private static CartItem newItem(final Cart cart, final CartDocument.Line line) {
+        return CartItem.builder()
+                .cart(cart)
+                .productId(line.productId())
+                .name(line.name())
+                .price(line.price())
+                .quantity(line.quantity())
+                .subtotal(line.subtotal())
+                .isDeleted(false)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.entity.CartItem;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated item listing: the sort key and identifier of
+ * the last item returned. Encoded as an opaque URL-safe token bound to its ordering.
+ *
+ * @param sort the ordering the cursor belongs to
+ * @param value the sort key of the last item
+ * @param itemId the identifier of the last item
+ */
+record CartItemCursor(ItemSort sort, Object value, String itemId) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Creates the cursor positioned after an item.
+     *
+     * @param sort the ordering
+     * @param item the last item of a page
+     * @return the cursor
+     */
+    static CartItemCursor after(final ItemSort sort, final CartItem item) {
+        final Object value = switch (sort) {
+            case CREATED -> item.getCreatedAt();
+            case PRICE -> item.getPrice();
+            case NAME -> item.getName();
+        };
+        return new CartItemCursor(sort, value, item.getItemId());
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token the token
+     * @param sort the ordering of the request
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed or belongs to another ordering
+     */
+    static CartItemCursor decode(final String token, final ItemSort sort) {
+        final String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (parts.length != 3 || !sort.name().equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor for sort: " + sort);
+        }
+        try {
+            final Object value = switch (sort) {
+                case CREATED -> LocalDateTime.parse(parts[2]);
+                case PRICE -> new BigDecimal(parts[2]);
+                case NAME -> parts[2];
+            };
+            return new CartItemCursor(sort, value, parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encodes the cursor as a token.
+     *
+     * @return the URL-safe token
+     */
+    String encode() {
+        final String raw = sort.name() + SEPARATOR + itemId + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
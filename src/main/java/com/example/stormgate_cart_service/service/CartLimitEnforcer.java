@@ -0,0 +1,104 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartLimitsProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.exception.CartLimitExceededException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+
+/**
+ * Enforces per-tenant cart limits.
+ * Checks run against the cart's persisted aggregates and the single line being
+ * changed, so they never load the cart items.
+ */
+@Component
+@EnableConfigurationProperties(CartLimitsProperties.class)
+@RequiredArgsConstructor
+public class CartLimitEnforcer {
+
+    private final CartLimitsProperties properties;
+
+    /**
+     * Gets the maximum quantity of a single line for a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the maximum line quantity
+     */
+    public int maxLineQuantity(final String tenantId) {
+        return properties.forTenant(tenantId).getMaxLineQuantity();
+    }
+
+    /**
+     * Resolves the page size of an item listing, clamped to the allowed range.
+     *
+     * @param requested the requested page size, or null for the default
+     * @return the page size to use
+     */
+    public int pageSize(final Integer requested) {
+        if (requested == null) {
+            return properties.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(requested, properties.getMaxPageSize()));
+    }
+
+    /**
+     * Checks a change to a cart against the tenant's limits.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart before the change
+     * @param addedLines number of lines the change adds
+     * @param lineQuantity resulting quantity of the changed line
+     * @param addedAmount value the change adds to the cart total
+     * @throws CartLimitExceededException if any limit would be exceeded
+     */
+    public void checkChange(final String tenantId,
+                            final Cart cart,
+                            final int addedLines,
+                            final int lineQuantity,
+                            final BigDecimal addedAmount) {
+        final CartLimitsProperties.Limits limits = properties.forTenant(tenantId);
+        if (addedLines > 0 && cart.getLineCount() + addedLines > limits.getMaxLines()) {
+            throw new CartLimitExceededException(
+                    "Cart cannot hold more than " + limits.getMaxLines() + " lines");
+        }
+        if (lineQuantity > limits.getMaxLineQuantity()) {
+            throw new CartLimitExceededException(
+                    "Cart line quantity cannot exceed " + limits.getMaxLineQuantity());
+        }
+        checkTotalAmount(limits, cart.getTotalAmount().add(addedAmount));
+    }
+
+    /**
+     * Checks a cart's persisted aggregates against the tenant's limits,
+     * used after set-based changes such as merges.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart after the change
+     * @throws CartLimitExceededException if any limit is exceeded
+     */
+    public void checkCart(final String tenantId, final Cart cart) {
+        final CartLimitsProperties.Limits limits = properties.forTenant(tenantId);
+        if (cart.getLineCount() > limits.getMaxLines()) {
+            throw new CartLimitExceededException(
+                    "Cart cannot hold more than " + limits.getMaxLines() + " lines");
+        }
+        checkTotalAmount(limits, cart.getTotalAmount());
+    }
+
+    /**
+     * Checks a cart total against the tenant's limit.
+     *
+     * @param limits the tenant limits
+     * @param totalAmount the resulting cart total
+     * @throws CartLimitExceededException if the total exceeds the limit
+     */
+    private void checkTotalAmount(final CartLimitsProperties.Limits limits,
+                                  final BigDecimal totalAmount) {
+        if (totalAmount.compareTo(limits.getMaxTotalAmount()) > 0) {
+            throw new CartLimitExceededException(
+                    "Cart total cannot exceed " + limits.getMaxTotalAmount());
+        }
+    }
+}
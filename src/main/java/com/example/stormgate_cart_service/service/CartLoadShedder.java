@@ -0,0 +1,112 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.concurrency.AdaptiveConcurrencyLimit;
+import com.example.stormgate_cart_service.config.CartLoadSheddingProperties;
+import com.example.stormgate_cart_service.config.CartLoadSheddingProperties.Priority;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.OptionalLong;
+
+/**
+ * Sheds cart requests beyond an adaptive concurrency limit, so a database
+ * slowdown turns into fast 503s instead of requests queueing for connections.
+ * The limit follows the observed request latency. A share of it is reserved
+ * for the prioritized request class: the other class is shed first.
+ */
+@Component
+@EnableConfigurationProperties(CartLoadSheddingProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartLoadShedder {
+
+    private static final String METRIC = "cart.concurrency";
+
+    private final CartLoadSheddingProperties properties;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter readsShed;
+    private final Counter writesShed;
+
+    /**
+     * Creates the shedder and registers its metrics.
+     *
+     * @param properties the load shedding properties
+     * @param meterRegistry the registry receiving the shedding metrics
+     */
+    public CartLoadShedder(final CartLoadSheddingProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getWindowSize(), properties.getSmoothing());
+        Gauge.builder(METRIC + ".limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Cart requests currently admitted")
+                .register(meterRegistry);
+        this.readsShed = Counter.builder(METRIC + ".shed")
+                .description("Cart requests rejected by the concurrency limit")
+                .tag("class", "read")
+                .register(meterRegistry);
+        this.writesShed = Counter.builder(METRIC + ".shed")
+                .description("Cart requests rejected by the concurrency limit")
+                .tag("class", "write")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request or sheds it.
+     *
+     * @param read true for a read, false for a write
+     * @return the admission time to pass to {@link #release(long)}, or empty if shedding is disabled
+     * @throws CapacityExceededException if the request is shed
+     */
+    public OptionalLong acquire(final boolean read) {
+        if (!properties.isEnabled()) {
+            return OptionalLong.empty();
+        }
+        if (!limit.tryAcquire(ceiling(read))) {
+            (read ? readsShed : writesShed).increment();
+            throw new CapacityExceededException("Service is overloaded, please retry later");
+        }
+        // nanoTime may be negative, so admission is signalled by presence, not by sign
+        return OptionalLong.of(System.nanoTime());
+    }
+
+    /**
+     * Releases an admitted request, feeding its latency into the limit.
+     *
+     * @param admittedAt the admission time returned by {@link #acquire(boolean)}
+     */
+    public void release(final long admittedAt) {
+        limit.release(System.nanoTime() - admittedAt);
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return the limit
+     */
+    public int currentLimit() {
+        return limit.limit();
+    }
+
+    /**
+     * Computes how many requests may be in flight when one of the given class is admitted.
+     *
+     * @param read true for a read, false for a write
+     * @return the number of in-flight requests up to which the request is admitted
+     */
+    private int ceiling(final boolean read) {
+        final int current = limit.limit();
+        final Priority priority = properties.getPriority();
+        final boolean prioritized = priority == Priority.NONE
+                || (priority == Priority.READ) == read;
+        if (prioritized) {
+            return current;
+        }
+        return Math.max(1, (int) (current * (1 - properties.getReservedShare())));
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.concurrency.TokenBucket;
+import com.example.stormgate_cart_service.config.CartRateLimitProperties;
+import com.example.stormgate_cart_service.config.CartRateLimitProperties.Quota;
+import com.example.stormgate_cart_service.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits requests against token buckets per tenant and per user, so one
+ * tenant's burst cannot take the connection pool from the others. A request
+ * takes a token from its user's bucket and from its tenant's bucket; the hot
+ * path is a cache lookup and a CAS per bucket. A user's token is returned when
+ * the tenant's bucket rejects the request, so a throttled tenant does not
+ * drain its users' quotas.
+ *
+ * <p>Quotas come from the configured defaults and tenant overrides, and can be
+ * overridden per tenant at runtime; runtime overrides apply to existing buckets
+ * immediately and are not persisted.
+ */
+@Component
+@EnableConfigurationProperties(CartRateLimitProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartRateLimiter {
+
+    private static final String METRIC = "cart.rate.limit.throttled";
+
+    private final CartRateLimitProperties properties;
+    private final Map<String, Quota> configured;
+    private final ConcurrentHashMap<String, Quota> overrides = new ConcurrentHashMap<>();
+    private final Cache<String, TenantLimit> tenants;
+    private final Cache<UserKey, TokenBucket> users;
+    private final Counter tenantThrottled;
+    private final Counter userThrottled;
+
+    /**
+     * Creates the limiter and registers its metrics.
+     *
+     * @param properties the rate limit properties
+     * @param meterRegistry the registry receiving the limiter metrics
+     */
+    public CartRateLimiter(final CartRateLimitProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.configured = properties.getTenants();
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.tenantThrottled = Counter.builder(METRIC)
+                .description("Requests rejected because a quota was used up")
+                .tag("scope", "tenant")
+                .register(meterRegistry);
+        this.userThrottled = Counter.builder(METRIC)
+                .description("Requests rejected because a quota was used up")
+                .tag("scope", "user")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a request of the user, and of the tenant as a whole.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier, or null for tenant-wide requests
+     * @throws RateLimitExceededException if either quota is used up
+     */
+    public void acquire(final String tenantId, final String userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final TenantLimit tenant = tenants.get(tenantId, id -> new TenantLimit(new TokenBucket(now), resolve(id)));
+        final Quota quota = tenant.quota;
+        TokenBucket user = null;
+        if (userId != null) {
+            user = users.get(new UserKey(tenantId, userId), ignored -> new TokenBucket(now));
+            final long wait = user.tryAcquire(quota.getUserRate(), quota.getUserBurst(), now);
+            if (wait > 0) {
+                userThrottled.increment();
+                throw new RateLimitExceededException(
+                        "Rate limit exceeded for user: " + userId, Duration.ofNanos(wait));
+            }
+        }
+        final long wait = tenant.bucket.tryAcquire(quota.getTenantRate(), quota.getTenantBurst(), now);
+        if (wait > 0) {
+            if (user != null) {
+                user.refund(quota.getUserRate());
+            }
+            tenantThrottled.increment();
+            throw new RateLimitExceededException(
+                    "Rate limit exceeded for tenant: " + tenantId, Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Gets the quota in effect for a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the effective quota
+     */
+    public Quota quota(final String tenantId) {
+        return resolve(tenantId);
+    }
+
+    /**
+     * Gets the quotas set at runtime.
+     *
+     * @return the runtime overrides keyed by tenant identifier
+     */
+    public Map<String, Quota> overrides() {
+        return new TreeMap<>(overrides);
+    }
+
+    /**
+     * Overrides a tenant's quota at runtime; unset values keep their configured value.
+     *
+     * @param tenantId the tenant identifier
+     * @param quota the override
+     * @return the quota now in effect
+     * @throws IllegalArgumentException if a rate is negative or a burst is below one
+     */
+    public Quota override(final String tenantId, final Quota quota) {
+        final Quota merged = quota.orElse(configured(tenantId));
+        if (merged.getTenantRate() < 0 || merged.getUserRate() < 0) {
+            throw new IllegalArgumentException("Rates cannot be negative");
+        }
+        if (merged.getTenantBurst() < 1 || merged.getUserBurst() < 1) {
+            throw new IllegalArgumentException("Bursts must be at least 1");
+        }
+        overrides.put(tenantId, quota);
+        refresh(tenantId);
+        return merged;
+    }
+
+    /**
+     * Removes a tenant's runtime override.
+     *
+     * @param tenantId the tenant identifier
+     */
+    public void clearOverride(final String tenantId) {
+        overrides.remove(tenantId);
+        refresh(tenantId);
+    }
+
+    /**
+     * Applies a changed quota to the tenant's existing bucket.
+     *
+     * @param tenantId the tenant identifier
+     */
+    private void refresh(final String tenantId) {
+        final TenantLimit tenant = tenants.getIfPresent(tenantId);
+        if (tenant != null) {
+            tenant.quota = resolve(tenantId);
+        }
+    }
+
+    /**
+     * Resolves the effective quota: runtime override, then configured override, then defaults.
+     *
+     * @param tenantId the tenant identifier
+     * @return the effective quota
+     */
+    private Quota resolve(final String tenantId) {
+        final Quota override = overrides.get(tenantId);
+        return override == null ? configured(tenantId) : override.orElse(configured(tenantId));
+    }
+
+    /**
+     * Resolves the configured quota of a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the configured override merged over the defaults
+     */
+    private Quota configured(final String tenantId) {
+        final Quota override = configured.get(tenantId);
+        return override == null ? properties.getDefaults() : override.orElse(properties.getDefaults());
+    }
+
+    /**
+     * A tenant's bucket with the quota it is drained against.
+     */
+    private static final class TenantLimit {
+
+        private final TokenBucket bucket;
+        private volatile Quota quota;
+
+        /**
+         * Creates the tenant's limit.
+         *
+         * @param bucket the tenant's bucket
+         * @param quota the tenant's quota
+         */
+        TenantLimit(final TokenBucket bucket, final Quota quota) {
+            this.bucket = bucket;
+            this.quota = quota;
+        }
+    }
+
+    /**
+     * Key of a user's bucket.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record UserKey(String tenantId, String userId) {
+    }
+}
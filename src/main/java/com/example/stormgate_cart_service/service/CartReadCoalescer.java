@@ -0,0 +1,107 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.concurrency.SingleFlight;
+import com.example.stormgate_cart_service.config.CartCoalescingProperties;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent identical cart reads into one load.
+ * Sits in front of {@link CartService} and outside its transactions, so
+ * callers waiting for a shared read do not hold database connections.
+ * The shared {@link CartResponse} must not be modified by callers.
+ */
+@Component
+@EnableConfigurationProperties(CartCoalescingProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartReadCoalescer {
+
+    private static final String METRIC = "cart.read.coalescing";
+
+    private final CartService cartService;
+    private final CartCoalescingProperties properties;
+    private final SingleFlight<CartReadKey, CartResponse> cartReads;
+
+    /**
+     * Creates the coalescer and registers its metrics.
+     *
+     * @param cartService the cart service performing the reads
+     * @param properties the coalescing properties
+     * @param meterRegistry the registry receiving the coalescing metrics
+     */
+    public CartReadCoalescer(final CartService cartService,
+                             final CartCoalescingProperties properties,
+                             final MeterRegistry meterRegistry) {
+        this.cartService = cartService;
+        this.properties = properties;
+        this.cartReads = new SingleFlight<>(properties.getStripes(), properties.getMaxInFlight());
+
+        FunctionCounter.builder(METRIC, cartReads, SingleFlight::leaderCount)
+                .tag("outcome", "loaded")
+                .description("Cart reads that loaded from the database")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC, cartReads, SingleFlight::sharedCount)
+                .tag("outcome", "shared")
+                .description("Cart reads answered by joining a read in flight")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC, cartReads, SingleFlight::bypassedCount)
+                .tag("outcome", "bypassed")
+                .description("Cart reads that skipped coalescing because the in-flight map was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".ratio", cartReads, CartReadCoalescer::coalescingRatio)
+                .description("Share of cart reads answered without their own database load")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".in.flight", cartReads, SingleFlight::inFlight)
+                .description("Cart reads currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieves the cart, sharing the load with identical reads in flight.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param limit the requested page size, or null for all items
+     * @param sort the item ordering
+     * @return the cart response
+     */
+    public CartResponse getCart(final String tenantId,
+                                final String userId,
+                                final Integer limit,
+                                final ItemSort sort) {
+        if (!properties.isEnabled()) {
+            return cartService.getCart(tenantId, userId, limit, sort);
+        }
+        return cartReads.execute(new CartReadKey(tenantId, userId, limit, sort),
+                () -> cartService.getCart(tenantId, userId, limit, sort));
+    }
+
+    /**
+     * Computes the share of reads that were answered without their own load.
+     *
+     * @param singleFlight the single-flight group
+     * @return the coalescing ratio between 0 and 1
+     */
+    private static double coalescingRatio(final SingleFlight<?, ?> singleFlight) {
+        final long shared = singleFlight.sharedCount();
+        final long total = shared + singleFlight.leaderCount() + singleFlight.bypassedCount();
+        return total == 0 ? 0.0 : (double) shared / total;
+    }
+
+    /**
+     * Identity of a cart read; reads with equal keys return equal responses.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param limit the requested page size
+     * @param sort the item ordering
+     */
+    private record CartReadKey(String tenantId, String userId, Integer limit, ItemSort sort) {
+    }
+}
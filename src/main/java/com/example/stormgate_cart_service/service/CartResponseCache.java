@@ -0,0 +1,360 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartResponseCacheProperties;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of fully serialized cart responses, kept uncompressed and gzip-compressed.
+ * Repeat reads of an unchanged cart are answered with the stored bytes, skipping
+ * the database, mapping and serialization.
+ *
+ * <p>Entries carry the cart version they were serialized from. A committed
+ * mutation replaces the entry with a marker holding the new version, so a read
+ * that loaded the cart before the commit cannot store its outdated bytes.
+ *
+ * <p>With the off-heap setting the bytes live in direct memory and only a
+ * small index entry per cart stays on the heap, so a large cache adds little
+ * to garbage collection.
+ *
+ * <p>Carts restored from an earlier run of the node are served on a miss once
+ * their version is confirmed to be current.
+ */
+@Component
+@EnableConfigurationProperties(CartResponseCacheProperties.class)
+public class CartResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final JsonMapper jsonMapper;
+    private final CartResponseCacheProperties properties;
+    private final Cache<CartKey, SerializedCart> carts;
+    private final OffHeapCartStore offHeap;
+    private volatile RestoredCarts restoredCarts;
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param jsonMapper the mapper serializing responses
+     * @param properties the cache properties
+     * @param meterRegistry the registry receiving the cache metrics
+     */
+    public CartResponseCache(final JsonMapper jsonMapper,
+                             final CartResponseCacheProperties properties,
+                             final MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        if (properties.getOffHeap().isEnabled()) {
+            this.carts = null;
+            this.offHeap = new OffHeapCartStore("cart-response", properties.getOffHeap(), properties.getTtl(),
+                    meterRegistry);
+        } else {
+            this.carts = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .build();
+            this.offHeap = null;
+            CaffeineCacheMetrics.monitor(meterRegistry, carts, "cart-response");
+        }
+    }
+
+    /**
+     * Gets the serialized cart, loading and storing it on a miss.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param loader loads the cart response on a miss
+     * @return the serialized cart
+     */
+    public SerializedCart get(final String tenantId,
+                              final String userId,
+                              final Supplier<CartResponse> loader) {
+        if (!properties.isEnabled()) {
+            return new SerializedCart(jsonMapper.writeValueAsBytes(loader.get()), null, 0L);
+        }
+        final CartKey key = new CartKey(tenantId, userId);
+        final SerializedCart cached = lookup(key);
+        if (cached != null && !cached.isInvalidated()) {
+            return cached;
+        }
+        final RestoredCarts restored = restoredCarts;
+        final SerializedCart warm = restored == null ? null : restored.take(tenantId, userId);
+        if (warm != null) {
+            store(key, warm);
+            return warm;
+        }
+        final SerializedCart loaded = serialize(loader.get());
+        store(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Gets the serialized cart if a current one is cached.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the serialized cart, or null on a miss or when the cache is disabled
+     */
+    public SerializedCart getIfPresent(final String tenantId, final String userId) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        final SerializedCart cached = lookup(new CartKey(tenantId, userId));
+        return cached == null || cached.isInvalidated() ? null : cached;
+    }
+
+    /**
+     * Invalidates the cached cart once a mutation has committed.
+     *
+     * @param event the cart change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCartChanged(final CartChangedEvent event) {
+        invalidate(event.tenantId(), event.userId(), event.version());
+    }
+
+    /**
+     * Marks the cached cart as changed to the given version. An entry of the
+     * same or a newer version is kept, so late notices of older changes have
+     * no effect.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param version the cart version written by the change
+     */
+    public void invalidate(final String tenantId, final String userId, final long version) {
+        store(new CartKey(tenantId, userId), new SerializedCart(null, null, version));
+        final RestoredCarts restored = restoredCarts;
+        if (restored != null) {
+            restored.discard(tenantId, userId);
+        }
+    }
+
+    /**
+     * Serves carts restored from an earlier run on misses from now on.
+     *
+     * @param restored the restored carts
+     */
+    public void restoreFrom(final RestoredCarts restored) {
+        this.restoredCarts = restored;
+    }
+
+    /**
+     * Visits every cached cart; invalidation markers are skipped.
+     *
+     * @param action receives each cached cart
+     */
+    public void forEachCached(final Consumer<CachedCart> action) {
+        if (offHeap != null) {
+            offHeap.forEach(action);
+            return;
+        }
+        carts.asMap().forEach((key, cart) -> {
+            if (!cart.isInvalidated()) {
+                action.accept(new CachedCart(key.tenantId(), key.userId(), cart));
+            }
+        });
+    }
+
+    /**
+     * Releases the off-heap store, if any.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (offHeap != null) {
+            offHeap.close();
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header admits gzip.
+     *
+     * @param acceptEncoding the header value, or null if absent
+     * @return true if gzip is acceptable
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+            final String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            final double quality = quality(parts);
+            if (GZIP.equals(name) || "x-gzip".equals(name)) {
+                gzip = quality;
+            } else if ("*".equals(name)) {
+                wildcard = quality;
+            }
+        }
+        final Double quality = gzip != null ? gzip : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * Reads the quality value of one Accept-Encoding entry.
+     *
+     * @param parts the entry split at its parameters
+     * @return the quality, 1 if absent and 0 if malformed
+     */
+    private static double quality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Looks up a cached entry.
+     *
+     * @param key the cart's key
+     * @return the entry, or null on a miss
+     */
+    private SerializedCart lookup(final CartKey key) {
+        if (offHeap == null) {
+            return carts.getIfPresent(key);
+        }
+        final OffHeapCartStore.Stored stored = offHeap.get(key.tenantId(), key.userId());
+        return stored == null ? null : stored.cart();
+    }
+
+    /**
+     * Stores an entry unless one of a newer cart version is cached.
+     *
+     * @param key the cart's key
+     * @param entry the entry being stored
+     */
+    private void store(final CartKey key, final SerializedCart entry) {
+        if (offHeap == null) {
+            carts.asMap().merge(key, entry, CartResponseCache::newer);
+        } else {
+            offHeap.merge(key.tenantId(), key.userId(), entry);
+        }
+    }
+
+    /**
+     * Picks the entry describing the newer cart version; on a tie the incoming one.
+     *
+     * @param existing the cached entry
+     * @param incoming the entry being stored
+     * @return the entry to keep
+     */
+    private static SerializedCart newer(final SerializedCart existing, final SerializedCart incoming) {
+        return incoming.version() >= existing.version() ? incoming : existing;
+    }
+
+    /**
+     * Serializes a cart response, compressing it when it is large enough to benefit.
+     *
+     * @param response the cart response
+     * @return the serialized cart
+     */
+    private SerializedCart serialize(final CartResponse response) {
+        final byte[] identity = jsonMapper.writeValueAsBytes(response);
+        final byte[] gzip = identity.length >= properties.getGzipMinSize() ? gzip(identity) : null;
+        return new SerializedCart(identity, gzip, response.getVersion() == null ? 0L : response.getVersion());
+    }
+
+    /**
+     * Compresses bytes with gzip.
+     *
+     * @param bytes the bytes to compress
+     * @return the compressed bytes
+     */
+    private static byte[] gzip(final byte[] bytes) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * A serialized cart response.
+     *
+     * @param identity the uncompressed JSON, or null for an invalidation marker
+     * @param gzip the gzip-compressed JSON, or null when not worth compressing
+     * @param version the cart version the bytes were serialized from
+     */
+    public record SerializedCart(byte[] identity, byte[] gzip, long version) {
+
+        /**
+         * Checks whether this entry only marks the cart as changed.
+         *
+         * @return true if the entry holds no response
+         */
+        boolean isInvalidated() {
+            return identity == null;
+        }
+    }
+
+    /**
+     * A cached cart with its owner.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param cart the serialized cart
+     */
+    public record CachedCart(String tenantId, String userId, SerializedCart cart) {
+    }
+
+    /**
+     * Carts restored from an earlier run of the node, not yet known to be current.
+     */
+    public interface RestoredCarts {
+
+        /**
+         * Removes a user's restored cart and returns it if its version is current.
+         *
+         * @param tenantId the tenant identifier
+         * @param userId the user identifier
+         * @return the cart, or null if none was restored or it is outdated
+         */
+        SerializedCart take(String tenantId, String userId);
+
+        /**
+         * Drops a user's restored cart after a change.
+         *
+         * @param tenantId the tenant identifier
+         * @param userId the user identifier
+         */
+        void discard(String tenantId, String userId);
+    }
+
+    /**
+     * Cache key of a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record CartKey(String tenantId, String userId) {
+    }
+}
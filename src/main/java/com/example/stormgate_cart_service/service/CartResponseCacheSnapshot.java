@@ -0,0 +1,388 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartResponseCacheProperties;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the serialized response cache to a memory-mapped local file
+ * periodically and on shutdown, and restores it on startup so a restarted node
+ * answers repeat reads without loading every cart from the database.
+ *
+ * <p>Restored carts stay in the mapped file, indexed by user, until first
+ * read. A read then checks the cart's version with a single-column lookup and
+ * serves the restored bytes only if no change was committed while the node
+ * was down; changes seen by this node drop the restored cart.
+ *
+ * <p>The file is written to a temporary file and moved into place, in regions
+ * of a fixed size, each mapped separately. It starts with a header holding a
+ * magic number, the format version, the time it was written and the number of
+ * carts; each cart follows as its tenant and user identifiers, version and
+ * both encodings. A cart does not span regions; the rest of a region is
+ * skipped after an end-of-region marker. Cached carts are written after the
+ * restored ones still pending, so they win if both hold the same user.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cart.response-cache.snapshot", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CartResponseCacheSnapshot implements CartResponseCache.RestoredCarts {
+
+    private static final int MAGIC = 0x53474343;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int COUNT_OFFSET = 16;
+    private static final short END_OF_REGION = -1;
+    private static final String METRIC = "cart.response-cache.snapshot";
+
+    private final CartResponseCache cartResponseCache;
+    private final CartRepository cartRepository;
+    private final Path path;
+    private final Duration maxAge;
+    private final int regionSize;
+    private final ConcurrentHashMap<CartKey, Restored> restored = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cart-cache-snapshot").daemon().factory());
+    private final Counter served;
+    private final Counter outdated;
+    private List<MappedByteBuffer> regions = List.of();
+
+    /**
+     * Creates the snapshot, restores the previous one into the cache and
+     * schedules the periodic saves.
+     *
+     * @param cartResponseCache the cache being saved and restored
+     * @param cartRepository the repository confirming restored versions
+     * @param properties the response cache properties
+     * @param meterRegistry the registry receiving the snapshot metrics
+     */
+    public CartResponseCacheSnapshot(final CartResponseCache cartResponseCache,
+                                     final CartRepository cartRepository,
+                                     final CartResponseCacheProperties properties,
+                                     final MeterRegistry meterRegistry) {
+        this.cartResponseCache = cartResponseCache;
+        this.cartRepository = cartRepository;
+        this.path = Path.of(properties.getSnapshot().getPath());
+        this.maxAge = properties.getSnapshot().getMaxAge();
+        this.regionSize = (int) Math.min(Integer.MAX_VALUE, properties.getSnapshot().getRegionSize().toBytes());
+        this.served = Counter.builder(METRIC + ".restored")
+                .description("Restored carts served after their version was confirmed")
+                .tag("outcome", "served")
+                .register(meterRegistry);
+        this.outdated = Counter.builder(METRIC + ".restored")
+                .description("Restored carts dropped because they changed while the node was down")
+                .tag("outcome", "outdated")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".pending", restored, Map::size)
+                .description("Restored carts not read yet")
+                .register(meterRegistry);
+
+        load();
+        cartResponseCache.restoreFrom(this);
+        final long interval = properties.getSnapshot().getInterval().toMillis();
+        saver.scheduleWithFixedDelay(this::saveQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SerializedCart take(final String tenantId, final String userId) {
+        final CartKey key = new CartKey(tenantId, userId);
+        final Restored candidate = restored.remove(key);
+        if (candidate == null) {
+            return null;
+        }
+        final Long current;
+        try {
+            current = cartRepository.findVersionByTenantIdAndUserId(tenantId, userId).orElse(null);
+        } catch (RuntimeException e) {
+            restored.putIfAbsent(key, candidate);
+            throw e;
+        }
+        if (current == null || current != candidate.version()) {
+            outdated.increment();
+            return null;
+        }
+        served.increment();
+        return candidate.read();
+    }
+
+    @Override
+    public void discard(final String tenantId, final String userId) {
+        restored.remove(new CartKey(tenantId, userId));
+    }
+
+    /**
+     * Gets the number of restored carts not read yet.
+     *
+     * @return the number of pending carts
+     */
+    public int pendingCount() {
+        return restored.size();
+    }
+
+    /**
+     * Stops the periodic saves and saves the cache one last time.
+     */
+    @PreDestroy
+    public void shutdown() {
+        saver.shutdownNow();
+        saveQuietly();
+    }
+
+    /**
+     * Writes the cached carts, and the restored ones not read yet, to the
+     * snapshot file, replacing the previous snapshot.
+     *
+     * @return the number of carts written
+     */
+    public synchronized int save() {
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            final int count;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final RegionWriter writer = new RegionWriter(channel, regionSize);
+                restored.forEach((key, cart) -> writer.write(key.tenantId(), key.userId(), cart.read()));
+                cartResponseCache.forEachCached(cached -> writer.write(cached.tenantId(), cached.userId(),
+                        cached.cart()));
+                count = writer.finish();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Saves the cache, logging a failure instead of throwing.
+     */
+    private void saveQuietly() {
+        try {
+            final int count = save();
+            log.debug("Saved {} carts to {}", count, path);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save the cart cache to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Maps the previous snapshot and indexes its carts. A missing, outdated or
+     * unreadable snapshot leaves the cache cold.
+     */
+    private void load() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final List<MappedByteBuffer> mapped = new ArrayList<>();
+            for (long position = 0; position < size; position += regionSize) {
+                mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, size - position)));
+            }
+            if (mapped.isEmpty() || !readHeader(mapped.getFirst())) {
+                return;
+            }
+            regions = List.copyOf(mapped);
+            final int count = index(mapped.getFirst().getInt(COUNT_OFFSET));
+            log.info("Restored {} carts from {}", count, path);
+        } catch (NoSuchFileException e) {
+            log.debug("No cart cache snapshot at {}", path);
+        } catch (IOException | RuntimeException e) {
+            restored.clear();
+            log.warn("Ignoring unreadable cart cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the header of a snapshot.
+     *
+     * @param first the first region
+     * @return true if the snapshot is of this format and recent enough
+     */
+    private boolean readHeader(final MappedByteBuffer first) {
+        if (first.limit() < HEADER_SIZE || first.getInt(0) != MAGIC || first.getInt(4) != FORMAT) {
+            log.warn("Ignoring cart cache snapshot {} of an unknown format", path);
+            return false;
+        }
+        final long age = System.currentTimeMillis() - first.getLong(8);
+        if (age > maxAge.toMillis()) {
+            log.info("Ignoring cart cache snapshot {} written {} ago", path, Duration.ofMillis(age));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Indexes the carts of the mapped snapshot.
+     *
+     * @param count the number of carts in the snapshot
+     * @return the number of carts indexed
+     */
+    private int index(final int count) {
+        int region = 0;
+        int offset = HEADER_SIZE;
+        for (int read = 0; read < count; read++) {
+            MappedByteBuffer buffer = regions.get(region);
+            if (buffer.getShort(offset) == END_OF_REGION) {
+                buffer = regions.get(++region);
+                offset = 0;
+            }
+            final String tenantId = readString(buffer, offset);
+            offset += Short.BYTES + buffer.getShort(offset);
+            final String userId = readString(buffer, offset);
+            offset += Short.BYTES + buffer.getShort(offset);
+            final long version = buffer.getLong(offset);
+            final int identityLength = buffer.getInt(offset + Long.BYTES);
+            final int gzipLength = buffer.getInt(offset + Long.BYTES + Integer.BYTES);
+            offset += Long.BYTES + 2 * Integer.BYTES;
+            restored.put(new CartKey(tenantId, userId),
+                    new Restored(buffer, offset, identityLength, gzipLength, version));
+            offset += identityLength + Math.max(0, gzipLength);
+        }
+        return restored.size();
+    }
+
+    private static String readString(final MappedByteBuffer buffer, final int offset) {
+        final byte[] bytes = new byte[buffer.getShort(offset)];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes carts into consecutive mapped regions of a file.
+     */
+    private static final class RegionWriter {
+
+        private final FileChannel channel;
+        private final int regionSize;
+        private MappedByteBuffer region;
+        private long regionStart;
+        private int count;
+
+        RegionWriter(final FileChannel channel, final int regionSize) throws IOException {
+            this.channel = channel;
+            this.regionSize = regionSize;
+            this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+            region.putInt(MAGIC).putInt(FORMAT).putLong(System.currentTimeMillis()).putInt(0);
+        }
+
+        /**
+         * Appends a cart, starting a new region when it does not fit in the
+         * current one. Carts larger than a region are skipped.
+         */
+        void write(final String tenantId, final String userId, final SerializedCart cart) {
+            final byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);
+            final byte[] user = userId.getBytes(StandardCharsets.UTF_8);
+            final int gzipLength = cart.gzip() == null ? -1 : cart.gzip().length;
+            final int size = 2 * Short.BYTES + tenant.length + user.length + Long.BYTES + 2 * Integer.BYTES
+                    + cart.identity().length + Math.max(0, gzipLength);
+            if (size + Short.BYTES > regionSize) {
+                return;
+            }
+            if (region.remaining() < size + Short.BYTES) {
+                region.putShort(END_OF_REGION);
+                next();
+            }
+            region.putShort((short) tenant.length).put(tenant)
+                    .putShort((short) user.length).put(user)
+                    .putLong(cart.version())
+                    .putInt(cart.identity().length)
+                    .putInt(gzipLength)
+                    .put(cart.identity());
+            if (cart.gzip() != null) {
+                region.put(cart.gzip());
+            }
+            count++;
+        }
+
+        /**
+         * Records the number of carts in the header and trims the file.
+         *
+         * @return the number of carts written
+         */
+        int finish() throws IOException {
+            final long end = regionStart + region.position();
+            region.force();
+            if (regionStart > 0) {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            }
+            region.putInt(COUNT_OFFSET, count);
+            region.force();
+            channel.truncate(end);
+            return count;
+        }
+
+        private void next() {
+            try {
+                region.force();
+                regionStart += regionSize;
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A restored cart located in the mapped snapshot.
+     *
+     * @param region the region holding the cart
+     * @param offset the position of the uncompressed JSON in the region
+     * @param identityLength length of the uncompressed JSON
+     * @param gzipLength length of the gzip-compressed JSON, or -1 if absent
+     * @param version the cart version when the snapshot was written
+     */
+    private record Restored(MappedByteBuffer region, int offset, int identityLength, int gzipLength, long version) {
+
+        /**
+         * Copies the cart out of the mapped file.
+         *
+         * @return the serialized cart
+         */
+        SerializedCart read() {
+            final byte[] identity = new byte[identityLength];
+            region.get(offset, identity);
+            byte[] gzip = null;
+            if (gzipLength >= 0) {
+                gzip = new byte[gzipLength];
+                region.get(offset + identityLength, gzip);
+            }
+            return new SerializedCart(identity, gzip, version);
+        }
+    }
+
+    /**
+     * Identity of a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record CartKey(String tenantId, String userId) {
+    }
+}
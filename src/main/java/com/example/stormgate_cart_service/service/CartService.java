@@ -1,20 +1,40 @@
 package com.example.stormgate_cart_service.service;
 
 import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartDeltaResponse;
+import com.example.stormgate_cart_service.dto.CartItemPageResponse;
 import com.example.stormgate_cart_service.dto.CartItemResponse;
 import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.CartUserRef;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.dto.MergePolicy;
 import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
 import com.example.stormgate_cart_service.entity.Cart;
 import com.example.stormgate_cart_service.entity.CartItem;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.eventlog.CartEventLog;
+import com.example.stormgate_cart_service.eventlog.CartState;
 import com.example.stormgate_cart_service.exception.CartNotFoundException;
 import com.example.stormgate_cart_service.exception.ItemNotFoundException;
 import com.example.stormgate_cart_service.repository.CartItemRepository;
 import com.example.stormgate_cart_service.repository.CartRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -25,10 +45,17 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CartService {
 
+    private static final String DEFAULT_CURRENCY = "USD";
+
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartLimitEnforcer cartLimitEnforcer;
+    private final CartDocumentStore cartDocumentStore;
+    private final CartEventLog cartEventLog;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves the shopping cart for a specific tenant and user.
@@ -46,6 +73,167 @@ public class CartService {
         return mapToCartResponse(cart);
     }
 
+    /**
+     * Retrieves the shopping cart with only the first page of its items.
+     * Without a page size every item is returned, as by {@link #getCart(String, String)}.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param limit the requested page size, or null for all items
+     * @param sort the item ordering
+     * @return the cart response, with a cursor when more items follow
+     * @throws CartNotFoundException if cart is not found
+     */
+    @Transactional(readOnly = true)
+    public CartResponse getCart(final String tenantId,
+                                final String userId,
+                                final Integer limit,
+                                final ItemSort sort) {
+        if (limit == null) {
+            return getCart(tenantId, userId);
+        }
+        final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseThrow(() -> new CartNotFoundException(
+                        "Cart not found for tenant: " + tenantId + " and user: " + userId));
+
+        final CartItemPageResponse page = loadItemPage(cart, sort, null, limit);
+        final CartResponse response = buildCartResponse(cart, page.getItems(), cart.getTotalQuantity());
+        response.setNextCursor(page.getNextCursor());
+        return response;
+    }
+
+    /**
+     * Retrieves one page of the items in a cart using keyset pagination.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @param sort the item ordering
+     * @return the page of items with the cursor of the next page
+     * @throws CartNotFoundException if cart is not found
+     * @throws IllegalArgumentException if the cursor is invalid for the ordering
+     */
+    @Transactional(readOnly = true)
+    public CartItemPageResponse getCartItems(final String tenantId,
+                                             final String userId,
+                                             final String cursor,
+                                             final Integer limit,
+                                             final ItemSort sort) {
+        final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseThrow(() -> new CartNotFoundException(
+                        "Cart not found for tenant: " + tenantId + " and user: " + userId));
+
+        return loadItemPage(cart, sort, cursor, limit);
+    }
+
+    /**
+     * Retrieves the cart summary for a specific tenant and user.
+     * Answered from the cart row alone, which is served from the natural-id
+     * and entity caches when they are enabled; the items are never read.
+     * A user without a cart gets an empty summary.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart summary response
+     */
+    @Transactional(readOnly = true)
+    public CartSummaryResponse getCartSummary(final String tenantId, final String userId) {
+        return cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .map(cart -> CartSummaryResponse.builder()
+                        .itemCount(cart.getTotalQuantity())
+                        .lineCount(cart.getLineCount())
+                        .totalAmount(cart.getTotalAmount())
+                        .currency(cart.getCurrency())
+                        .version(cart.getVersion())
+                        .build())
+                .orElseGet(() -> CartSummaryResponse.builder()
+                        .itemCount(0)
+                        .lineCount(0)
+                        .totalAmount(BigDecimal.ZERO)
+                        .currency(DEFAULT_CURRENCY)
+                        .version(0L)
+                        .build());
+    }
+
+    /**
+     * Retrieves the carts of several users. The carts of each tenant are read
+     * with one IN-list query and the items of all carts with one more, so the
+     * number of statements does not grow with the number of carts.
+     *
+     * @param users the tenant and user of each cart
+     * @return the carts found, in the order requested; users without a cart are left out
+     */
+    @Transactional(readOnly = true)
+    public List<CartResponse> getCartsByUsers(final List<CartUserRef> users) {
+        final Map<String, List<String>> userIdsByTenant = users.stream()
+                .collect(Collectors.groupingBy(CartUserRef::getTenantId, LinkedHashMap::new,
+                        Collectors.mapping(CartUserRef::getUserId, Collectors.toList())));
+        final Map<CartUserRef, Cart> carts = new HashMap<>();
+        userIdsByTenant.forEach((tenantId, userIds) ->
+                cartRepository.findActiveByTenantIdAndUserIdIn(tenantId, userIds).forEach(cart ->
+                        carts.put(new CartUserRef(cart.getTenantId(), cart.getUserId()), cart)));
+
+        return mapToCartResponses(users.stream()
+                .map(carts::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Retrieves several carts by their identifiers with one query for the carts
+     * and one for their items.
+     *
+     * @param cartIds the cart identifiers
+     * @return the carts found, in the order requested; unknown identifiers are left out
+     */
+    @Transactional(readOnly = true)
+    public List<CartResponse> getCartsByIds(final List<String> cartIds) {
+        if (cartIds.isEmpty()) {
+            return List.of();
+        }
+        final Map<String, Cart> carts = cartRepository.findActiveByCartIdIn(cartIds).stream()
+                .collect(Collectors.toMap(Cart::getCartId, cart -> cart));
+
+        return mapToCartResponses(cartIds.stream()
+                .map(carts::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Rebuilds a cart from the event log instead of the cart rows, from its
+     * latest snapshot and the events appended after it.
+     *
+     * @param cartId the cart identifier
+     * @return the rebuilt cart response, versioned as of its last event
+     * @throws CartNotFoundException if the event log has nothing for the cart
+     */
+    @Transactional(readOnly = true)
+    public CartResponse rebuildCart(final String cartId) {
+        final CartState state = cartEventLog.rebuild(cartId)
+                .orElseThrow(() -> new CartNotFoundException("No cart events for cart: " + cartId));
+
+        return CartResponse.builder()
+                .cartId(state.cartId())
+                .tenantId(state.tenantId())
+                .userId(state.userId())
+                .items(state.lines().stream()
+                        .map(line -> CartItemResponse.builder()
+                                .productId(line.productId())
+                                .name(line.name())
+                                .price(line.price())
+                                .quantity(line.quantity())
+                                .subtotal(line.subtotal())
+                                .build())
+                        .toList())
+                .itemCount(state.totalQuantity())
+                .totalAmount(state.totalAmount())
+                .currency(DEFAULT_CURRENCY)
+                .version(state.version())
+                .build();
+    }
+
     /**
      * Adds an item to the shopping cart.
      * If the product already exists, updates its quantity.
@@ -58,101 +246,313 @@ public class CartService {
     public CartResponse addItemToCart(final String tenantId,
                                      final String userId,
                                      final AddItemRequest request) {
+        return mapToCartResponse(addItem(tenantId, userId, request).cart());
+    }
+
+    /**
+     * Adds an item to the shopping cart and describes only the affected line.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param request the add item request
+     * @return the affected line with the new cart aggregates and version
+     */
+    public CartDeltaResponse addItemToCartDelta(final String tenantId,
+                                                final String userId,
+                                                final AddItemRequest request) {
+        return mapToCartDeltaResponse(addItem(tenantId, userId, request));
+    }
+
+    /**
+     * Updates the quantity of an item in the shopping cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the updated cart response
+     * @throws CartNotFoundException if cart is not found
+     * @throws ItemNotFoundException if item is not found
+     */
+    public CartResponse updateItemQuantity(final String tenantId,
+                                          final String userId,
+                                          final String productId,
+                                          final UpdateQuantityRequest request) {
+        return mapToCartResponse(updateQuantity(tenantId, userId, productId, request).cart());
+    }
+
+    /**
+     * Updates the quantity of an item and describes only the affected line.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the affected line with the new cart aggregates and version
+     * @throws CartNotFoundException if cart is not found
+     * @throws ItemNotFoundException if item is not found
+     */
+    public CartDeltaResponse updateItemQuantityDelta(final String tenantId,
+                                                     final String userId,
+                                                     final String productId,
+                                                     final UpdateQuantityRequest request) {
+        return mapToCartDeltaResponse(updateQuantity(tenantId, userId, productId, request));
+    }
+
+    /**
+     * Removes an item from the cart using soft delete.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @return the updated cart response
+     * @throws CartNotFoundException if cart is not found
+     * @throws ItemNotFoundException if item is not found
+     */
+    public CartResponse removeItemFromCart(final String tenantId,
+                                          final String userId,
+                                          final String productId) {
+        return mapToCartResponse(removeItem(tenantId, userId, productId).cart());
+    }
+
+    /**
+     * Removes an item from the cart and describes only the affected line.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @return the removed line's product with the new cart aggregates and version
+     * @throws CartNotFoundException if cart is not found
+     * @throws ItemNotFoundException if item is not found
+     */
+    public CartDeltaResponse removeItemFromCartDelta(final String tenantId,
+                                                     final String userId,
+                                                     final String productId) {
+        return mapToCartDeltaResponse(removeItem(tenantId, userId, productId));
+    }
+
+    /**
+     * Clears all items from the cart using soft delete.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @throws CartNotFoundException if cart is not found
+     */
+    public void clearCart(final String tenantId, final String userId) {
+        final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseThrow(() -> new CartNotFoundException(
+                        "Cart not found for tenant: " + tenantId
+                                + " and user: " + userId));
+
+        if (cartDocumentStore.isDocumentMode(tenantId)) {
+            final CartDocument document = cartDocumentStore.open(cart);
+            document.clear();
+            cartDocumentStore.writeAll(cart, document);
+        } else {
+            cartDocumentStore.release(cart);
+            cart.getItems().forEach(item -> item.setIsDeleted(true));
+        }
+        cart.setLineCount(0);
+        cart.setTotalQuantity(0);
+        cart.setTotalAmount(BigDecimal.ZERO);
+        cartRepository.save(cart);
+        publishChange(cart);
+        cartEventLog.cleared(cart);
+    }
+
+    /**
+     * Merges another cart of the same tenant into the user's cart, typically a
+     * guest cart on login. Lines are merged in a fixed number of set-based
+     * statements, totals are recomputed once and the source cart is tombstoned.
+     * Merging a source cart that no longer exists, for example on a retried
+     * login, returns the target cart unchanged.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier owning the target cart
+     * @param request the merge request naming the source cart and policy
+     * @return the merged target cart response
+     * @throws IllegalArgumentException if source and target are the same cart
+     * @throws CartNotFoundException if neither cart exists
+     */
+    public CartResponse mergeCarts(final String tenantId,
+                                   final String userId,
+                                   final MergeCartRequest request) {
+        if (userId.equals(request.getSourceUserId())) {
+            throw new IllegalArgumentException("Source and target carts must be different");
+        }
+
+        final Optional<Cart> source = cartRepository.findByTenantIdAndUserId(
+                tenantId, request.getSourceUserId());
+        if (source.isEmpty()) {
+            return getCart(tenantId, userId);
+        }
+
+        final Cart target = cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseGet(() -> createNewCart(tenantId, userId));
+        final String targetCartId = target.getCartId();
+        // The merge statements combine item rows, so document carts are merged as rows
+        cartDocumentStore.release(source.get());
+        cartDocumentStore.release(target);
+        cartRepository.mergeCarts(source.get().getCartId(), targetCartId,
+                Objects.requireNonNullElse(request.getPolicy(), MergePolicy.SUM),
+                cartLimitEnforcer.maxLineQuantity(tenantId));
+
+        final Cart merged = cartRepository.findById(targetCartId)
+                .orElseThrow(() -> new CartNotFoundException(
+                        "Cart not found for tenant: " + tenantId
+                                + " and user: " + userId));
+        // Rolls the merge back if the combined cart is over the limits
+        cartLimitEnforcer.checkCart(tenantId, merged);
+        if (cartDocumentStore.isDocumentMode(tenantId)) {
+            cartDocumentStore.capture(merged);
+            cartRepository.flush();
+        }
+        // The merge statements tombstoned the source cart and bumped its version once
+        final long sourceVersion = source.get().getVersion() + 1;
+        cartEventLog.merged(source.get(), sourceVersion, merged, merged.getItems().stream()
+                .filter(item -> !item.getIsDeleted())
+                .toList());
+        eventPublisher.publishEvent(new CartChangedEvent(tenantId, request.getSourceUserId(),
+                source.get().getCartId(), sourceVersion));
+        eventPublisher.publishEvent(new CartChangedEvent(tenantId, userId, targetCartId, merged.getVersion()));
+        return mapToCartResponse(merged);
+    }
+
+    /**
+     * Adds an item to the cart, or increases the quantity of an existing line.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param request the add item request
+     * @return the cart and the affected item
+     */
+    private LineChange addItem(final String tenantId,
+                             final String userId,
+                             final AddItemRequest request) {
         // Check if cart exists, if not create one
         final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
                 .orElseGet(() -> createNewCart(tenantId, userId));
+        if (cartDocumentStore.isDocumentMode(tenantId)) {
+            return addDocumentItem(tenantId, cart, request);
+        }
+        cartDocumentStore.release(cart);
 
         // Check if product already exists in cart
         final CartItem existingItem = cartItemRepository
                 .findByCartIdAndProductId(cart.getCartId(), request.getProductId())
                 .orElse(null);
 
+        CartItem affectedItem = existingItem;
         if (existingItem != null && !existingItem.getIsDeleted()) {
             // Update quantity if item exists
-            existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
+            final int quantity = existingItem.getQuantity() + request.getQuantity();
+            final BigDecimal addedAmount = lineAmount(existingItem.getPrice(), request.getQuantity());
+            cartLimitEnforcer.checkChange(tenantId, cart, 0, quantity, addedAmount);
+            existingItem.setQuantity(quantity);
+            existingItem.setSubtotal(lineAmount(existingItem.getPrice(), quantity));
             cartItemRepository.save(existingItem);
+            applyDelta(cart, 0, request.getQuantity(), addedAmount);
         } else if (existingItem != null && existingItem.getIsDeleted()) {
             // Restore deleted item and update quantity
+            final BigDecimal addedAmount = lineAmount(request.getPrice(), request.getQuantity());
+            cartLimitEnforcer.checkChange(tenantId, cart, 1, request.getQuantity(), addedAmount);
             existingItem.setIsDeleted(false);
             existingItem.setQuantity(request.getQuantity());
             existingItem.setPrice(request.getPrice());
             existingItem.setName(request.getName());
+            existingItem.setSubtotal(addedAmount);
             cartItemRepository.save(existingItem);
+            applyDelta(cart, 1, request.getQuantity(), addedAmount);
         } else {
             // Create new item
+            final BigDecimal addedAmount = lineAmount(request.getPrice(), request.getQuantity());
+            cartLimitEnforcer.checkChange(tenantId, cart, 1, request.getQuantity(), addedAmount);
             final CartItem newItem = CartItem.builder()
                     .cart(cart)
                     .productId(request.getProductId())
                     .name(request.getName())
                     .price(request.getPrice())
                     .quantity(request.getQuantity())
-                    .subtotal(request.getPrice()
-                            .multiply(new BigDecimal(request.getQuantity())))
+                    .subtotal(addedAmount)
                     .isDeleted(false)
                     .build();
+            // Queued on the lazy inverse collection without loading the other items
             cart.getItems().add(newItem);
+            applyDelta(cart, 1, request.getQuantity(), addedAmount);
+            affectedItem = newItem;
         }
 
-        // Update cart totals
-        updateCartTotals(cart);
         cartRepository.save(cart);
-
-        return mapToCartResponse(cart);
+        publishChange(cart);
+        cartEventLog.itemAdded(cart, request.getProductId(), request.getName(), request.getPrice(),
+                request.getQuantity());
+        return new LineChange(cart, affectedItem);
     }
 
     /**
-     * Updates the quantity of an item in the shopping cart.
+     * Sets the quantity of a line.
      *
      * @param tenantId the tenant identifier
      * @param userId the user identifier
      * @param productId the product identifier
      * @param request the update quantity request
-     * @return the updated cart response
-     * @throws CartNotFoundException if cart is not found
-     * @throws ItemNotFoundException if item is not found
+     * @return the cart and the affected item
      */
-    public CartResponse updateItemQuantity(final String tenantId,
-                                          final String userId,
-                                          final String productId,
-                                          final UpdateQuantityRequest request) {
+    private LineChange updateQuantity(final String tenantId,
+                                    final String userId,
+                                    final String productId,
+                                    final UpdateQuantityRequest request) {
         final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
                 .orElseThrow(() -> new CartNotFoundException(
                         "Cart not found for tenant: " + tenantId
                                 + " and user: " + userId));
 
+        if (cartDocumentStore.isDocumentMode(tenantId)) {
+            return updateDocumentQuantity(tenantId, cart, productId, request);
+        }
+        cartDocumentStore.release(cart);
+
         final CartItem item = cartItemRepository.findByCartIdAndProductId(
                 cart.getCartId(), productId)
                 .orElseThrow(() -> new ItemNotFoundException(
                         "Item not found in cart with productId: " + productId));
 
+        final int addedQuantity = request.getQuantity() - item.getQuantity();
+        final BigDecimal addedAmount = lineAmount(item.getPrice(), addedQuantity);
+        cartLimitEnforcer.checkChange(tenantId, cart, 0, request.getQuantity(), addedAmount);
+
         item.setQuantity(request.getQuantity());
+        item.setSubtotal(lineAmount(item.getPrice(), request.getQuantity()));
         cartItemRepository.save(item);
 
-        // Update cart totals
-        updateCartTotals(cart);
+        applyDelta(cart, 0, addedQuantity, addedAmount);
         cartRepository.save(cart);
-
-        return mapToCartResponse(cart);
+        publishChange(cart);
+        cartEventLog.quantitySet(cart, productId, request.getQuantity());
+        return new LineChange(cart, item);
     }
 
     /**
-     * Removes an item from the cart using soft delete.
+     * Soft deletes a line.
      *
      * @param tenantId the tenant identifier
      * @param userId the user identifier
      * @param productId the product identifier
-     * @return the updated cart response
-     * @throws CartNotFoundException if cart is not found
-     * @throws ItemNotFoundException if item is not found
+     * @return the cart and the removed item
      */
-    public CartResponse removeItemFromCart(final String tenantId,
-                                          final String userId,
-                                          final String productId) {
+    private LineChange removeItem(final String tenantId,
+                                final String userId,
+                                final String productId) {
         final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
                 .orElseThrow(() -> new CartNotFoundException(
                         "Cart not found for tenant: " + tenantId
                                 + " and user: " + userId));
 
+        if (cartDocumentStore.isDocumentMode(tenantId)) {
+            return removeDocumentItem(cart, productId);
+        }
+        cartDocumentStore.release(cart);
+
         final CartItem item = cartItemRepository.findByCartIdAndProductId(
                 cart.getCartId(), productId)
                 .orElseThrow(() -> new ItemNotFoundException(
@@ -161,43 +561,143 @@ public class CartService {
         item.setIsDeleted(true);
         cartItemRepository.save(item);
 
-        // Update cart totals
-        updateCartTotals(cart);
+        applyDelta(cart, -1, -item.getQuantity(), lineAmount(item.getPrice(), item.getQuantity()).negate());
         cartRepository.save(cart);
+        publishChange(cart);
+        cartEventLog.itemRemoved(cart, productId);
+        return new LineChange(cart, item);
+    }
 
-        return mapToCartResponse(cart);
+    /**
+     * Adds an item to a document cart, or increases the quantity of an existing line.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param request the add item request
+     * @return the cart and the affected line as a transient item
+     */
+    private LineChange addDocumentItem(final String tenantId, final Cart cart, final AddItemRequest request) {
+        final CartDocument document = cartDocumentStore.open(cart);
+        final CartDocument.Line existing = document.get(request.getProductId());
+
+        final CartDocument.Line line;
+        if (existing != null) {
+            final int quantity = existing.quantity() + request.getQuantity();
+            final BigDecimal addedAmount = lineAmount(existing.price(), request.getQuantity());
+            cartLimitEnforcer.checkChange(tenantId, cart, 0, quantity, addedAmount);
+            line = existing.withQuantity(quantity);
+            applyDelta(cart, 0, request.getQuantity(), addedAmount);
+        } else {
+            final BigDecimal addedAmount = lineAmount(request.getPrice(), request.getQuantity());
+            cartLimitEnforcer.checkChange(tenantId, cart, 1, request.getQuantity(), addedAmount);
+            line = new CartDocument.Line(UUID.randomUUID().toString(), request.getProductId(), request.getName(),
+                    request.getPrice(), request.getQuantity(), LocalDateTime.now());
+            applyDelta(cart, 1, request.getQuantity(), addedAmount);
+        }
+        document.put(line);
+        cartDocumentStore.write(cart, document, line.productId());
+
+        cartRepository.save(cart);
+        publishChange(cart);
+        cartEventLog.itemAdded(cart, request.getProductId(), request.getName(), request.getPrice(),
+                request.getQuantity());
+        return new LineChange(cart, line.toItem(cart));
     }
 
     /**
-     * Clears all items from the cart using soft delete.
+     * Sets the quantity of a line of a document cart.
      *
      * @param tenantId the tenant identifier
-     * @param userId the user identifier
-     * @throws CartNotFoundException if cart is not found
+     * @param cart the cart
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the cart and the affected line as a transient item
      */
-    public void clearCart(final String tenantId, final String userId) {
-        final Cart cart = cartRepository.findByTenantIdAndUserId(tenantId, userId)
-                .orElseThrow(() -> new CartNotFoundException(
-                        "Cart not found for tenant: " + tenantId
-                                + " and user: " + userId));
+    private LineChange updateDocumentQuantity(final String tenantId,
+                                              final Cart cart,
+                                              final String productId,
+                                              final UpdateQuantityRequest request) {
+        final CartDocument document = cartDocumentStore.open(cart);
+        final CartDocument.Line existing = requireLine(document, productId);
+
+        final int addedQuantity = request.getQuantity() - existing.quantity();
+        final BigDecimal addedAmount = lineAmount(existing.price(), addedQuantity);
+        cartLimitEnforcer.checkChange(tenantId, cart, 0, request.getQuantity(), addedAmount);
+
+        final CartDocument.Line line = existing.withQuantity(request.getQuantity());
+        document.put(line);
+        cartDocumentStore.write(cart, document, productId);
+
+        applyDelta(cart, 0, addedQuantity, addedAmount);
+        cartRepository.save(cart);
+        publishChange(cart);
+        cartEventLog.quantitySet(cart, productId, request.getQuantity());
+        return new LineChange(cart, line.toItem(cart));
+    }
+
+    /**
+     * Removes a line from a document cart.
+     *
+     * @param cart the cart
+     * @param productId the product identifier
+     * @return the cart and the removed line as a transient, deleted item
+     */
+    private LineChange removeDocumentItem(final Cart cart, final String productId) {
+        final CartDocument document = cartDocumentStore.open(cart);
+        final CartDocument.Line line = requireLine(document, productId);
 
-        cart.getItems().forEach(item -> item.setIsDeleted(true));
-        updateCartTotals(cart);
+        document.remove(productId);
+        cartDocumentStore.write(cart, document, productId);
+
+        applyDelta(cart, -1, -line.quantity(), lineAmount(line.price(), line.quantity()).negate());
         cartRepository.save(cart);
+        publishChange(cart);
+        cartEventLog.itemRemoved(cart, productId);
+        final CartItem removed = line.toItem(cart);
+        removed.setIsDeleted(true);
+        return new LineChange(cart, removed);
+    }
+
+    /**
+     * Gets the line of a product from a document.
+     *
+     * @param document the document
+     * @param productId the product identifier
+     * @return the line
+     * @throws ItemNotFoundException if the product is not in the cart
+     */
+    private static CartDocument.Line requireLine(final CartDocument document, final String productId) {
+        final CartDocument.Line line = document.get(productId);
+        if (line == null) {
+            throw new ItemNotFoundException("Item not found in cart with productId: " + productId);
+        }
+        return line;
     }
 
     /**
      * Helper method to create a new cart.
+     * A tombstoned cart of the same user, left behind by a merge, is revived
+     * instead because the (tenantId, userId) pair is unique.
      *
      * @param tenantId the tenant identifier
      * @param userId the user identifier
      * @return the created cart
      */
     private Cart createNewCart(final String tenantId, final String userId) {
+        final Optional<Cart> tombstoned = cartRepository.findAnyByTenantIdAndUserId(tenantId, userId);
+        if (tombstoned.isPresent()) {
+            final Cart cart = tombstoned.get();
+            cart.setIsDeleted(false);
+            cart.setLineCount(0);
+            cart.setTotalQuantity(0);
+            cart.setTotalAmount(BigDecimal.ZERO);
+            return cartRepository.save(cart);
+        }
+
         final Cart cart = Cart.builder()
                 .tenantId(tenantId)
                 .userId(userId)
-                .currency("USD")
+                .currency(DEFAULT_CURRENCY)
                 .totalAmount(BigDecimal.ZERO)
                 .isDeleted(false)
                 .build();
@@ -205,13 +705,40 @@ public class CartService {
     }
 
     /**
-     * Updates cart total amount based on items.
+     * Flushes a changed cart so its version is current and announces the change.
+     * Listeners acting on committed state receive the event after commit.
+     *
+     * @param cart the changed cart
+     */
+    private void publishChange(final Cart cart) {
+        cartRepository.flush();
+        eventPublisher.publishEvent(new CartChangedEvent(
+                cart.getTenantId(), cart.getUserId(), cart.getCartId(), cart.getVersion()));
+    }
+
+    /**
+     * Applies a change to the cart's persisted aggregates without loading its items.
      *
      * @param cart the cart to update
+     * @param lines change in the number of active lines
+     * @param quantity change in the total quantity
+     * @param amount change in the total amount
      */
-    private void updateCartTotals(final Cart cart) {
-        final BigDecimal total = cart.calculateTotal();
-        cart.setTotalAmount(total);
+    private void applyDelta(final Cart cart, final int lines, final int quantity, final BigDecimal amount) {
+        cart.setLineCount(cart.getLineCount() + lines);
+        cart.setTotalQuantity(cart.getTotalQuantity() + quantity);
+        cart.setTotalAmount(cart.getTotalAmount().add(amount));
+    }
+
+    /**
+     * Computes the value of a quantity of a product.
+     *
+     * @param price the unit price
+     * @param quantity the quantity
+     * @return price multiplied by quantity
+     */
+    private static BigDecimal lineAmount(final BigDecimal price, final int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
     }
 
     /**
@@ -221,26 +748,181 @@ public class CartService {
      * @return the cart response
      */
     private CartResponse mapToCartResponse(final Cart cart) {
+        final CartDocument document = cartDocumentStore.read(cart);
+        if (document != null) {
+            return buildCartResponse(cart, mapToCartItemResponses(cart, document), cart.getTotalQuantity());
+        }
         final List<CartItemResponse> items = cart.getItems().stream()
                 .filter(item -> !item.getIsDeleted())
-                .map(item -> CartItemResponse.builder()
-                        .productId(item.getProductId())
-                        .name(item.getName())
-                        .price(item.getPrice())
-                        .quantity(item.getQuantity())
-                        .subtotal(item.getSubtotal())
-                        .build())
+                .map(this::mapToCartItemResponse)
+                .collect(Collectors.toList());
+
+        return buildCartResponse(cart, items);
+    }
+
+    /**
+     * Maps several carts to CartResponse DTOs, reading the items of all of them
+     * with a single query instead of initializing each item collection.
+     *
+     * @param carts the cart entities
+     * @return the cart responses, in the order of the carts
+     */
+    private List<CartResponse> mapToCartResponses(final List<Cart> carts) {
+        if (carts.isEmpty()) {
+            return List.of();
+        }
+        final Map<String, List<CartItemResponse>> itemsByCart = new HashMap<>();
+        final List<String> normalized = new ArrayList<>();
+        for (final Cart cart : carts) {
+            final CartDocument document = cartDocumentStore.read(cart);
+            if (document != null) {
+                itemsByCart.put(cart.getCartId(), mapToCartItemResponses(cart, document));
+            } else {
+                normalized.add(cart.getCartId());
+            }
+        }
+        if (!normalized.isEmpty()) {
+            itemsByCart.putAll(cartItemRepository.findActiveByCartIdIn(normalized).stream()
+                    .collect(Collectors.groupingBy(item -> item.getCart().getCartId(),
+                            Collectors.mapping(this::mapToCartItemResponse, Collectors.toList()))));
+        }
+
+        return carts.stream()
+                .map(cart -> buildCartResponse(cart,
+                        itemsByCart.getOrDefault(cart.getCartId(), List.of()),
+                        cart.getTotalQuantity()))
+                .toList();
+    }
+
+    /**
+     * Loads one page of active items, reading one extra row to detect whether
+     * another page follows.
+     *
+     * @param cart the cart
+     * @param sort the item ordering
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return the page of items
+     */
+    private CartItemPageResponse loadItemPage(final Cart cart,
+                                              final ItemSort sort,
+                                              final String cursor,
+                                              final Integer limit) {
+        final int pageSize = cartLimitEnforcer.pageSize(limit);
+        final CartItemCursor after = cursor == null ? null : CartItemCursor.decode(cursor, sort);
+        final CartDocument document = cartDocumentStore.read(cart);
+        final List<CartItem> rows = document != null
+                ? document.page(sort, after == null ? null : after.value(), after == null ? null : after.itemId(),
+                        pageSize + 1).stream().map(line -> line.toItem(cart)).toList()
+                : cartItemRepository.findPage(cart.getCartId(), sort,
+                        after == null ? null : after.value(),
+                        after == null ? null : after.itemId(),
+                        pageSize + 1);
+
+        final List<CartItem> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        final String nextCursor = rows.size() > pageSize
+                ? CartItemCursor.after(sort, page.get(pageSize - 1)).encode()
+                : null;
+        return CartItemPageResponse.builder()
+                .items(page.stream().map(this::mapToCartItemResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Maps a changed line and its cart's aggregates to a CartDeltaResponse DTO,
+     * without reading the cart's other items.
+     *
+     * @param change the cart and the affected item
+     * @return the delta response
+     */
+    private CartDeltaResponse mapToCartDeltaResponse(final LineChange change) {
+        final Cart cart = change.cart();
+        final CartItem item = change.item();
+        return CartDeltaResponse.builder()
+                .cartId(cart.getCartId())
+                .productId(item.getProductId())
+                .item(Boolean.TRUE.equals(item.getIsDeleted()) ? null : mapToCartItemResponse(item))
+                .itemCount(cart.getTotalQuantity())
+                .lineCount(cart.getLineCount())
+                .totalAmount(cart.getTotalAmount())
+                .currency(cart.getCurrency())
+                .updatedAt(cart.getUpdatedAt())
+                .version(cart.getVersion())
+                .build();
+    }
+
+    /**
+     * Maps CartItem entity to CartItemResponse DTO.
+     *
+     * @param item the cart item entity
+     * @return the cart item response
+     */
+    private CartItemResponse mapToCartItemResponse(final CartItem item) {
+        return CartItemResponse.builder()
+                .productId(item.getProductId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .quantity(item.getQuantity())
+                .subtotal(item.getSubtotal())
+                .build();
+    }
+
+    /**
+     * Maps the lines of a document cart to CartItemResponse DTOs.
+     *
+     * @param cart the cart entity
+     * @param document the cart's document
+     * @return the item responses, in the order the lines were added
+     */
+    private List<CartItemResponse> mapToCartItemResponses(final Cart cart, final CartDocument document) {
+        return document.lines().stream()
+                .map(line -> mapToCartItemResponse(line.toItem(cart)))
                 .collect(Collectors.toList());
+    }
 
+    /**
+     * Builds the CartResponse DTO for a cart and the given items.
+     *
+     * @param cart the cart entity
+     * @param items the item responses to include
+     * @return the cart response
+     */
+    private CartResponse buildCartResponse(final Cart cart, final List<CartItemResponse> items) {
+        return buildCartResponse(cart, items, cart.getItemCount());
+    }
+
+    /**
+     * Builds the CartResponse DTO for a cart, the given items and a known item
+     * count, so the cart's item collection is not read.
+     *
+     * @param cart the cart entity
+     * @param items the item responses to include
+     * @param itemCount the total quantity of the cart's active items
+     * @return the cart response
+     */
+    private CartResponse buildCartResponse(final Cart cart,
+                                           final List<CartItemResponse> items,
+                                           final Integer itemCount) {
         return CartResponse.builder()
                 .cartId(cart.getCartId())
                 .tenantId(cart.getTenantId())
                 .userId(cart.getUserId())
                 .items(items)
-                .itemCount(cart.getItemCount())
+                .itemCount(itemCount)
                 .totalAmount(cart.getTotalAmount())
                 .currency(cart.getCurrency())
                 .updatedAt(cart.getUpdatedAt())
+                .version(cart.getVersion())
                 .build();
     }
+
+    /**
+     * A cart together with the line a mutation changed.
+     *
+     * @param cart the cart
+     * @param item the affected item
+     */
+    private record LineChange(Cart cart, CartItem item) {
+    }
 }
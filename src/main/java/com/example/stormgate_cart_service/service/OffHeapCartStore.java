@@ -0,0 +1,316 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.OffHeapProperties;
+import com.example.stormgate_cart_service.service.CartResponseCache.CachedCart;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Store of serialized carts in direct memory, so a large working set adds no
+ * long-lived objects to the Java heap beyond a compact index entry per cart.
+ * The bytes live in chunks of a {@link SlabAllocator}; when a size class is
+ * full, its least recently read carts are evicted in CLOCK order. Entries
+ * expire after the TTL and are purged in the background.
+ *
+ * <p>Each entry keeps the newest cart version stored for the user, like the
+ * on-heap caches it replaces: a version-only marker takes no direct memory and
+ * makes reads miss until a current cart is stored. Reads copy the bytes onto
+ * the heap, where they die young.
+ */
+final class OffHeapCartStore {
+
+    private static final String METRIC = "cart.off-heap";
+    private static final long NO_CHUNK = -1L;
+
+    private final SlabAllocator allocator;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<CartKey, Entry> index = new ConcurrentHashMap<>();
+    private final StampedLock lock = new StampedLock();
+    private final ScheduledExecutorService purger;
+    private final Counter evictions;
+    private final Counter rejected;
+
+    /**
+     * Creates the store, schedules the purge of expired entries and registers its metrics.
+     *
+     * @param name the store name tagging its metrics
+     * @param properties the off-heap settings
+     * @param ttl time after which an entry expires
+     * @param meterRegistry the registry receiving the store metrics
+     */
+    OffHeapCartStore(final String name,
+                     final OffHeapProperties properties,
+                     final Duration ttl,
+                     final MeterRegistry meterRegistry) {
+        this.allocator = new SlabAllocator(properties.getCapacity().toBytes(),
+                (int) properties.getPageSize().toBytes());
+        this.ttlNanos = ttl.toNanos();
+        this.evictions = Counter.builder(METRIC + ".evictions")
+                .description("Carts evicted from off-heap memory to make room")
+                .tag("store", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC + ".rejected")
+                .description("Carts too large for off-heap memory, kept as misses")
+                .tag("store", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".entries", index, ConcurrentHashMap::size)
+                .description("Carts indexed by the off-heap store")
+                .tag("store", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".memory.used", this, OffHeapCartStore::usedBytes)
+                .description("Direct memory held in pages by the off-heap store")
+                .tag("store", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        this.purger = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cart-off-heap-purge-" + name).daemon().factory());
+        final long interval = Math.clamp(ttl.toMillis() / 10, 1_000L, 60_000L);
+        purger.scheduleAtFixedRate(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the stored cart, possibly a version-only marker, or null on a miss
+     */
+    Stored get(final String tenantId, final String userId) {
+        return read(new CartKey(tenantId, userId), true);
+    }
+
+    /**
+     * Reads a cart out of direct memory.
+     *
+     * @param key the cart's key
+     * @param touch whether the read spares the cart from the next eviction sweep
+     * @return the stored cart, possibly a version-only marker, or null on a miss
+     */
+    private Stored read(final CartKey key, final boolean touch) {
+        final long stamp = lock.readLock();
+        try {
+            final Entry entry = index.get(key);
+            if (entry == null || System.nanoTime() - entry.storedAt() > ttlNanos) {
+                return null;
+            }
+            if (entry.handle() == NO_CHUNK) {
+                return new Stored(new SerializedCart(null, null, entry.version()), entry.storedAt());
+            }
+            if (touch) {
+                allocator.touch(entry.handle());
+            }
+            final byte[] identity = allocator.read(entry.handle(), 0, entry.identityLength());
+            final byte[] gzip = entry.gzipLength() < 0
+                    ? null
+                    : allocator.read(entry.handle(), entry.identityLength(), entry.gzipLength());
+            return new Stored(new SerializedCart(identity, gzip, entry.version()), entry.storedAt());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Stores a user's cart unless a newer version is already stored; on a tie
+     * the incoming cart wins.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param cart the cart, or a version-only marker
+     */
+    void merge(final String tenantId, final String userId, final SerializedCart cart) {
+        final CartKey key = new CartKey(tenantId, userId);
+        final long now = System.nanoTime();
+        final long stamp = lock.writeLock();
+        try {
+            final Entry existing = index.get(key);
+            if (existing != null && existing.version() > cart.version() && now - existing.storedAt() <= ttlNanos) {
+                return;
+            }
+            remove(key);
+            if (cart.isInvalidated()) {
+                index.put(key, Entry.marker(cart.version(), now));
+                return;
+            }
+            final int gzipLength = cart.gzip() == null ? -1 : cart.gzip().length;
+            final int size = cart.identity().length + Math.max(0, gzipLength);
+            final long handle = allocate(size, key);
+            if (handle == NO_CHUNK) {
+                rejected.increment();
+                index.put(key, Entry.marker(cart.version(), now));
+                return;
+            }
+            allocator.write(handle, cart.identity(), cart.gzip());
+            index.put(key, new Entry(handle, cart.identity().length, gzipLength, cart.version(), now));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Visits every current cart without counting the visits as reads;
+     * markers and expired entries are skipped.
+     *
+     * @param action receives each cart, copied onto the heap
+     */
+    void forEach(final Consumer<CachedCart> action) {
+        index.forEach((key, entry) -> {
+            if (entry.handle() != NO_CHUNK) {
+                final Stored stored = read(key, false);
+                if (stored != null && !stored.cart().isInvalidated()) {
+                    action.accept(new CachedCart(key.tenantId(), key.userId(), stored.cart()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the number of indexed carts, markers included.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Gets the direct memory held in pages.
+     *
+     * @return the used bytes
+     */
+    double usedBytes() {
+        final long stamp = lock.readLock();
+        try {
+            return allocator.allocatedBytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Stops the purge. The direct memory is released once the store is unreachable.
+     */
+    void close() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * Allocates a chunk, evicting carts of the same size class or taking over
+     * a page of another class when memory is exhausted.
+     *
+     * @param size the number of bytes needed
+     * @param key the cart owning the chunk
+     * @return the chunk handle, or -1 if the size exceeds a page or no memory can be freed
+     */
+    private long allocate(final int size, final CartKey key) {
+        if (size > allocator.maxChunkSize()) {
+            return NO_CHUNK;
+        }
+        long handle = allocator.allocate(size, key);
+        while (handle == NO_CHUNK) {
+            final Object victim = allocator.victim(size);
+            if (victim != null) {
+                remove((CartKey) victim);
+                evictions.increment();
+            } else if (!reassignPage(size)) {
+                return NO_CHUNK;
+            }
+            handle = allocator.allocate(size, key);
+        }
+        return handle;
+    }
+
+    /**
+     * Frees the last page of the class holding the most pages, evicting its carts.
+     *
+     * @param size the number of bytes needed
+     * @return false if no other class holds a page
+     */
+    private boolean reassignPage(final int size) {
+        final int donor = allocator.donorFor(size);
+        if (donor < 0) {
+            return false;
+        }
+        for (final Object owner : allocator.ownersOfLastPage(donor)) {
+            remove((CartKey) owner);
+            evictions.increment();
+        }
+        allocator.releaseLastPage(donor);
+        return true;
+    }
+
+    /**
+     * Removes an entry and frees its chunk. Called with the write lock held.
+     *
+     * @param key the cart's key
+     */
+    private void remove(final CartKey key) {
+        final Entry entry = index.remove(key);
+        if (entry != null && entry.handle() != NO_CHUNK) {
+            allocator.free(entry.handle());
+        }
+    }
+
+    /**
+     * Removes expired entries.
+     */
+    private void purgeExpired() {
+        final long now = System.nanoTime();
+        index.forEach((key, entry) -> {
+            if (now - entry.storedAt() > ttlNanos) {
+                final long stamp = lock.writeLock();
+                try {
+                    final Entry current = index.get(key);
+                    if (current != null && now - current.storedAt() > ttlNanos) {
+                        remove(key);
+                    }
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+        });
+    }
+
+    /**
+     * A stored cart with the time it was stored.
+     *
+     * @param cart the serialized cart, or a version-only marker
+     * @param storedAt the {@link System#nanoTime()} at which it was stored
+     */
+    record Stored(SerializedCart cart, long storedAt) {
+    }
+
+    /**
+     * Index entry locating a cart's bytes in direct memory.
+     *
+     * @param handle the chunk handle, or -1 for a version-only marker
+     * @param identityLength length of the uncompressed JSON
+     * @param gzipLength length of the gzip-compressed JSON, or -1 if absent
+     * @param version the cart version
+     * @param storedAt the {@link System#nanoTime()} at which it was stored
+     */
+    private record Entry(long handle, int identityLength, int gzipLength, long version, long storedAt) {
+
+        static Entry marker(final long version, final long storedAt) {
+            return new Entry(NO_CHUNK, -1, -1, version, storedAt);
+        }
+    }
+
+    /**
+     * Cache key of a user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record CartKey(String tenantId, String userId) {
+    }
+}
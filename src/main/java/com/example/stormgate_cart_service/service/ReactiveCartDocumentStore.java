@@ -0,0 +1,203 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartStorageProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import com.example.stormgate_cart_service.json.CartDocumentCodec;
+import com.example.stormgate_cart_service.repository.ReactiveCartItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link CartDocumentStore} for the reactive
+ * stack. Follows the same rules on the same columns: a cart's document, once
+ * present, is authoritative, the cart_items rows are kept current from it when
+ * item projection is enabled, and a cart of a tenant in the normalized mode
+ * gets its rows rewritten from the document on its next change.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(CartStorageProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartDocumentStore {
+
+    private final CartStorageProperties properties;
+    private final CartDocumentCodec codec;
+    private final ReactiveCartItemRepository cartItemRepository;
+
+    /**
+     * Checks whether a tenant's carts are changed in the document storage mode.
+     *
+     * @param tenantId the tenant identifier
+     * @return true for the document storage mode
+     */
+    public boolean isDocumentMode(final String tenantId) {
+        return properties.modeFor(tenantId) == CartStorageProperties.Mode.DOCUMENT;
+    }
+
+    /**
+     * Reads a cart's document.
+     *
+     * @param cart the cart
+     * @return the document, or null for a normalized cart
+     */
+    public CartDocument read(final Cart cart) {
+        return cart.getLinesDocument() == null ? null : codec.decode(cart.getLinesDocument());
+    }
+
+    /**
+     * Reads a cart's document for a change, creating it from the cart's item
+     * rows the first time a normalized cart is changed in the document mode.
+     *
+     * @param cart the cart
+     * @return the document
+     */
+    public Mono<CartDocument> open(final Cart cart) {
+        final CartDocument document = read(cart);
+        if (document != null) {
+            return Mono.just(document);
+        }
+        if (cart.getLineCount() == 0) {
+            return Mono.just(new CartDocument(List.of()));
+        }
+        return cartItemRepository.findActiveByCart(cart).collectList().map(CartDocument::of);
+    }
+
+    /**
+     * Stores a cart's document on the cart after a change of one line,
+     * projecting the line onto its item row when item projection is enabled.
+     * The cart row itself is written by the caller.
+     *
+     * @param cart the cart
+     * @param document the changed document
+     * @param productId the product whose line changed
+     * @return completion of the projection
+     */
+    public Mono<Void> write(final Cart cart, final CartDocument document, final String productId) {
+        final boolean created = cart.getLinesDocument() == null;
+        cart.setLinesDocument(codec.encode(document));
+        if (!properties.isProjectItems()) {
+            return Mono.empty();
+        }
+        if (created) {
+            // Rows of lines changed before the cart became a document cart may be stale
+            return project(cart, document);
+        }
+        return project(cart, document.get(productId), productId);
+    }
+
+    /**
+     * Stores a cart's document on the cart after a change of many lines,
+     * projecting the whole document onto the item rows when item projection
+     * is enabled.
+     *
+     * @param cart the cart
+     * @param document the changed document
+     * @return completion of the projection
+     */
+    public Mono<Void> writeAll(final Cart cart, final CartDocument document) {
+        cart.setLinesDocument(codec.encode(document));
+        return properties.isProjectItems() ? project(cart, document) : Mono.empty();
+    }
+
+    /**
+     * Turns a document cart back into a normalized one before it is changed
+     * in the normalized mode: its item rows are rewritten from the document
+     * and the document is dropped. Does nothing for a normalized cart.
+     *
+     * @param cart the cart
+     * @return completion of the rewrite
+     */
+    public Mono<Void> release(final Cart cart) {
+        final CartDocument document = read(cart);
+        if (document == null) {
+            return Mono.empty();
+        }
+        return project(cart, document).doOnSuccess(done -> cart.setLinesDocument(null));
+    }
+
+    /**
+     * Makes the item row of one product match its line.
+     *
+     * @param cart the cart
+     * @param line the line, or null if the product was removed
+     * @param productId the product identifier
+     * @return completion
+     */
+    private Mono<Void> project(final Cart cart, final CartDocument.Line line, final String productId) {
+        return cartItemRepository.findAnyByCartAndProductId(cart, productId)
+                .flatMap(item -> {
+                    apply(item, line);
+                    return cartItemRepository.update(item);
+                })
+                .switchIfEmpty(Mono.defer(() -> line == null
+                        ? Mono.empty()
+                        : cartItemRepository.insert(newItem(cart, line))))
+                .then();
+    }
+
+    /**
+     * Makes all item rows of a cart match its document. Of several rows of
+     * one product, the first is kept and the others stay deleted.
+     *
+     * @param cart the cart
+     * @param document the document
+     * @return completion
+     */
+    private Mono<Void> project(final Cart cart, final CartDocument document) {
+        final Set<String> projected = new HashSet<>();
+        return cartItemRepository.findAllByCart(cart)
+                .concatMap(item -> {
+                    apply(item, projected.add(item.getProductId()) ? document.get(item.getProductId()) : null);
+                    return cartItemRepository.update(item);
+                })
+                .thenMany(Flux.defer(() -> Flux.fromIterable(document.lines())
+                        .filter(line -> !projected.contains(line.productId()))
+                        .concatMap(line -> cartItemRepository.insert(newItem(cart, line)))))
+                .then();
+    }
+
+    /**
+     * Copies a line onto its item row, or soft deletes the row of a removed line.
+     *
+     * @param item the item row
+     * @param line the line, or null if the product was removed
+     */
+    private static void apply(final CartItem item, final CartDocument.Line line) {
+        if (line == null) {
+            item.setIsDeleted(true);
+            return;
+        }
+        item.setIsDeleted(false);
+        item.setName(line.name());
+        item.setPrice(line.price());
+        item.setQuantity(line.quantity());
+        item.setSubtotal(line.subtotal());
+    }
+
+    /**
+     * Creates the item row of a line.
+     *
+     * @param cart the cart
+     * @param line the line
+     * @return the new item
+     */
+    private static CartItem newItem(final Cart cart, final CartDocument.Line line) {
+        return CartItem.builder()
+                .cart(cart)
+                .productId(line.productId())
+                .name(line.name())
+                .price(line.price())
+                .quantity(line.quantity())
+                .subtotal(line.subtotal())
+                .isDeleted(false)
+                .build();
+    }
+}
@@ -0,0 +1,535 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.entity.CartItem;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.eventlog.ReactiveCartEventLog;
+import com.example.stormgate_cart_service.exception.CartNotFoundException;
+import com.example.stormgate_cart_service.exception.ItemNotFoundException;
+import com.example.stormgate_cart_service.repository.ReactiveCartItemRepository;
+import com.example.stormgate_cart_service.repository.ReactiveCartRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link CartService} for the reactive stack.
+ * Applies the same rules to the same rows: persisted aggregates are updated
+ * without loading the other lines, carts of document tenants keep their lines
+ * in the same lines document, tenant limits are enforced before writing and
+ * every mutation advances the cart version and is appended to the cart event
+ * log. Mutations run in an R2DBC transaction and announce the change once it
+ * has committed.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCartService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final ReactiveCartRepository cartRepository;
+    private final ReactiveCartItemRepository cartItemRepository;
+    private final ReactiveCartDocumentStore cartDocumentStore;
+    private final CartLimitEnforcer cartLimitEnforcer;
+    private final ReactiveCartEventLog cartEventLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Creates the service.
+     *
+     * @param cartRepository the cart repository
+     * @param cartItemRepository the cart item repository
+     * @param cartDocumentStore the store of the lines documents of document carts
+     * @param cartLimitEnforcer the tenant limit rules
+     * @param cartEventLog the log the mutations are appended to
+     * @param eventPublisher the publisher announcing committed changes
+     * @param transactionalOperator the operator running mutations in R2DBC transactions
+     */
+    public ReactiveCartService(final ReactiveCartRepository cartRepository,
+                               final ReactiveCartItemRepository cartItemRepository,
+                               final ReactiveCartDocumentStore cartDocumentStore,
+                               final CartLimitEnforcer cartLimitEnforcer,
+                               final ReactiveCartEventLog cartEventLog,
+                               final ApplicationEventPublisher eventPublisher,
+                               final TransactionalOperator transactionalOperator) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.cartDocumentStore = cartDocumentStore;
+        this.cartLimitEnforcer = cartLimitEnforcer;
+        this.cartEventLog = cartEventLog;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Retrieves the shopping cart for a specific tenant and user.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart response, or a {@link CartNotFoundException} error
+     */
+    public Mono<CartResponse> getCart(final String tenantId, final String userId) {
+        return findCart(tenantId, userId).flatMap(this::mapToCartResponse);
+    }
+
+    /**
+     * Retrieves the cart summary from the cart row alone. A user without a
+     * cart gets an empty summary.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart summary response
+     */
+    public Mono<CartSummaryResponse> getCartSummary(final String tenantId, final String userId) {
+        return cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .map(cart -> CartSummaryResponse.builder()
+                        .itemCount(cart.getTotalQuantity())
+                        .lineCount(cart.getLineCount())
+                        .totalAmount(cart.getTotalAmount())
+                        .currency(cart.getCurrency())
+                        .version(cart.getVersion())
+                        .build())
+                .defaultIfEmpty(CartSummaryResponse.builder()
+                        .itemCount(0)
+                        .lineCount(0)
+                        .totalAmount(BigDecimal.ZERO)
+                        .currency(DEFAULT_CURRENCY)
+                        .version(0L)
+                        .build());
+    }
+
+    /**
+     * Adds an item to the shopping cart, creating the cart if needed.
+     * If the product already exists, increases its quantity.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param request the add item request
+     * @return the updated cart response
+     */
+    public Mono<CartResponse> addItemToCart(final String tenantId,
+                                            final String userId,
+                                            final AddItemRequest request) {
+        return mutate(cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .switchIfEmpty(Mono.defer(() -> createNewCart(tenantId, userId)))
+                .flatMap(cart -> cartDocumentStore.isDocumentMode(tenantId)
+                        ? addDocumentItem(tenantId, cart, request)
+                        : cartDocumentStore.release(cart).then(Mono.defer(() -> cartItemRepository
+                                .findByCartAndProductId(cart, request.getProductId())
+                                .flatMap(existing -> increaseQuantity(tenantId, cart, existing, request.getQuantity()))
+                                .switchIfEmpty(Mono.defer(() -> addLine(tenantId, cart, request))))))
+                .flatMap(cart -> cartEventLog.itemAdded(cart, request.getProductId(), request.getName(),
+                        request.getPrice(), request.getQuantity()).thenReturn(cart)));
+    }
+
+    /**
+     * Updates the quantity of an item in the shopping cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the updated cart response
+     */
+    public Mono<CartResponse> updateItemQuantity(final String tenantId,
+                                                 final String userId,
+                                                 final String productId,
+                                                 final UpdateQuantityRequest request) {
+        return mutate(findCart(tenantId, userId)
+                .flatMap(cart -> cartDocumentStore.isDocumentMode(tenantId)
+                        ? updateDocumentQuantity(tenantId, cart, productId, request)
+                        : cartDocumentStore.release(cart).then(Mono.defer(() -> setQuantity(tenantId, cart, productId,
+                                request))))
+                .flatMap(cart -> cartEventLog.quantitySet(cart, productId, request.getQuantity()).thenReturn(cart)));
+    }
+
+    /**
+     * Removes an item from the shopping cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param productId the product identifier
+     * @return the updated cart response
+     */
+    public Mono<CartResponse> removeItemFromCart(final String tenantId,
+                                                 final String userId,
+                                                 final String productId) {
+        return mutate(findCart(tenantId, userId)
+                .flatMap(cart -> cartDocumentStore.isDocumentMode(tenantId)
+                        ? removeDocumentItem(cart, productId)
+                        : cartDocumentStore.release(cart).then(Mono.defer(() -> findItem(cart, productId)
+                                .flatMap(item -> {
+                                    item.setIsDeleted(true);
+                                    applyDelta(cart, -1, -item.getQuantity(),
+                                            lineAmount(item.getPrice(), item.getQuantity()).negate());
+                                    return cartItemRepository.update(item).then(cartRepository.update(cart));
+                                }))))
+                .flatMap(cart -> cartEventLog.itemRemoved(cart, productId).thenReturn(cart)));
+    }
+
+    /**
+     * Clears all items from the shopping cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return completion, or a {@link CartNotFoundException} error
+     */
+    public Mono<Void> clearCart(final String tenantId, final String userId) {
+        return findCart(tenantId, userId)
+                .flatMap(cart -> {
+                    final Mono<?> clearLines = cartDocumentStore.isDocumentMode(tenantId)
+                            ? cartDocumentStore.open(cart).flatMap(document -> {
+                                document.clear();
+                                return cartDocumentStore.writeAll(cart, document);
+                            })
+                            : cartDocumentStore.release(cart)
+                                    .then(Mono.defer(() -> cartItemRepository.softDeleteByCartId(cart.getCartId())));
+                    return clearLines.then(Mono.defer(() -> {
+                        cart.setLineCount(0);
+                        cart.setTotalQuantity(0);
+                        cart.setTotalAmount(BigDecimal.ZERO);
+                        return cartRepository.update(cart);
+                    }));
+                })
+                .flatMap(cart -> cartEventLog.cleared(cart).thenReturn(cart))
+                .as(transactionalOperator::transactional)
+                .doOnNext(this::publishChange)
+                .then();
+    }
+
+    /**
+     * Runs a cart mutation in a transaction, reads the resulting cart within
+     * it and announces the change after commit.
+     *
+     * @param mutation the mutation, emitting the changed cart
+     * @return the cart response as committed
+     */
+    private Mono<CartResponse> mutate(final Mono<Cart> mutation) {
+        return mutation
+                .flatMap(cart -> mapToCartResponse(cart).map(response -> new Mutation(cart, response)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(committed -> publishChange(committed.cart()))
+                .map(Mutation::response);
+    }
+
+    /**
+     * Increases the quantity of an existing line.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param item the existing line
+     * @param quantity the quantity to add
+     * @return the changed cart
+     */
+    private Mono<Cart> increaseQuantity(final String tenantId,
+                                        final Cart cart,
+                                        final CartItem item,
+                                        final int quantity) {
+        final int newQuantity = item.getQuantity() + quantity;
+        final BigDecimal addedAmount = lineAmount(item.getPrice(), quantity);
+        cartLimitEnforcer.checkChange(tenantId, cart, 0, newQuantity, addedAmount);
+        item.setQuantity(newQuantity);
+        item.setSubtotal(lineAmount(item.getPrice(), newQuantity));
+        applyDelta(cart, 0, quantity, addedAmount);
+        return cartItemRepository.update(item).then(cartRepository.update(cart));
+    }
+
+    /**
+     * Adds a new line to a cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param request the add item request
+     * @return the changed cart
+     */
+    private Mono<Cart> addLine(final String tenantId, final Cart cart, final AddItemRequest request) {
+        final BigDecimal addedAmount = lineAmount(request.getPrice(), request.getQuantity());
+        cartLimitEnforcer.checkChange(tenantId, cart, 1, request.getQuantity(), addedAmount);
+        applyDelta(cart, 1, request.getQuantity(), addedAmount);
+        return cartItemRepository.insert(CartItem.builder()
+                        .cart(cart)
+                        .productId(request.getProductId())
+                        .name(request.getName())
+                        .price(request.getPrice())
+                        .quantity(request.getQuantity())
+                        .subtotal(addedAmount)
+                        .isDeleted(false)
+                        .build())
+                .then(cartRepository.update(cart));
+    }
+
+    /**
+     * Sets the quantity of a line of a normalized cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the changed cart
+     */
+    private Mono<Cart> setQuantity(final String tenantId,
+                                   final Cart cart,
+                                   final String productId,
+                                   final UpdateQuantityRequest request) {
+        return findItem(cart, productId).flatMap(item -> {
+            final int addedQuantity = request.getQuantity() - item.getQuantity();
+            final BigDecimal addedAmount = lineAmount(item.getPrice(), addedQuantity);
+            cartLimitEnforcer.checkChange(tenantId, cart, 0, request.getQuantity(), addedAmount);
+            item.setQuantity(request.getQuantity());
+            item.setSubtotal(lineAmount(item.getPrice(), request.getQuantity()));
+            applyDelta(cart, 0, addedQuantity, addedAmount);
+            return cartItemRepository.update(item).then(cartRepository.update(cart));
+        });
+    }
+
+    /**
+     * Adds an item to a document cart, or increases the quantity of an existing line.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param request the add item request
+     * @return the changed cart
+     */
+    private Mono<Cart> addDocumentItem(final String tenantId, final Cart cart, final AddItemRequest request) {
+        return cartDocumentStore.open(cart).flatMap(document -> {
+            final CartDocument.Line existing = document.get(request.getProductId());
+            final CartDocument.Line line;
+            if (existing != null) {
+                final int quantity = existing.quantity() + request.getQuantity();
+                final BigDecimal addedAmount = lineAmount(existing.price(), request.getQuantity());
+                cartLimitEnforcer.checkChange(tenantId, cart, 0, quantity, addedAmount);
+                line = existing.withQuantity(quantity);
+                applyDelta(cart, 0, request.getQuantity(), addedAmount);
+            } else {
+                final BigDecimal addedAmount = lineAmount(request.getPrice(), request.getQuantity());
+                cartLimitEnforcer.checkChange(tenantId, cart, 1, request.getQuantity(), addedAmount);
+                line = new CartDocument.Line(UUID.randomUUID().toString(), request.getProductId(),
+                        request.getName(), request.getPrice(), request.getQuantity(), LocalDateTime.now());
+                applyDelta(cart, 1, request.getQuantity(), addedAmount);
+            }
+            document.put(line);
+            return cartDocumentStore.write(cart, document, line.productId()).then(cartRepository.update(cart));
+        });
+    }
+
+    /**
+     * Sets the quantity of a line of a document cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param cart the cart
+     * @param productId the product identifier
+     * @param request the update quantity request
+     * @return the changed cart
+     */
+    private Mono<Cart> updateDocumentQuantity(final String tenantId,
+                                              final Cart cart,
+                                              final String productId,
+                                              final UpdateQuantityRequest request) {
+        return cartDocumentStore.open(cart).flatMap(document -> {
+            final CartDocument.Line existing = requireLine(document, productId);
+            final int addedQuantity = request.getQuantity() - existing.quantity();
+            final BigDecimal addedAmount = lineAmount(existing.price(), addedQuantity);
+            cartLimitEnforcer.checkChange(tenantId, cart, 0, request.getQuantity(), addedAmount);
+            document.put(existing.withQuantity(request.getQuantity()));
+            applyDelta(cart, 0, addedQuantity, addedAmount);
+            return cartDocumentStore.write(cart, document, productId).then(cartRepository.update(cart));
+        });
+    }
+
+    /**
+     * Removes a line from a document cart.
+     *
+     * @param cart the cart
+     * @param productId the product identifier
+     * @return the changed cart
+     */
+    private Mono<Cart> removeDocumentItem(final Cart cart, final String productId) {
+        return cartDocumentStore.open(cart).flatMap(document -> {
+            final CartDocument.Line line = requireLine(document, productId);
+            document.remove(productId);
+            applyDelta(cart, -1, -line.quantity(), lineAmount(line.price(), line.quantity()).negate());
+            return cartDocumentStore.write(cart, document, productId).then(cartRepository.update(cart));
+        });
+    }
+
+    /**
+     * Gets the line of a product from a document.
+     *
+     * @param document the document
+     * @param productId the product identifier
+     * @return the line
+     * @throws ItemNotFoundException if the product is not in the cart
+     */
+    private static CartDocument.Line requireLine(final CartDocument document, final String productId) {
+        final CartDocument.Line line = document.get(productId);
+        if (line == null) {
+            throw new ItemNotFoundException("Item not found in cart with productId: " + productId);
+        }
+        return line;
+    }
+
+    /**
+     * Creates a new cart, reviving a tombstoned cart of the same user instead
+     * because the (tenantId, userId) pair is unique.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the created cart
+     */
+    private Mono<Cart> createNewCart(final String tenantId, final String userId) {
+        return cartRepository.findAnyByTenantIdAndUserId(tenantId, userId)
+                .flatMap(tombstoned -> {
+                    tombstoned.setIsDeleted(false);
+                    tombstoned.setLineCount(0);
+                    tombstoned.setTotalQuantity(0);
+                    tombstoned.setTotalAmount(BigDecimal.ZERO);
+                    return cartRepository.update(tombstoned);
+                })
+                .switchIfEmpty(Mono.defer(() -> cartRepository.insert(Cart.builder()
+                        .tenantId(tenantId)
+                        .userId(userId)
+                        .currency(DEFAULT_CURRENCY)
+                        .totalAmount(BigDecimal.ZERO)
+                        .isDeleted(false)
+                        .build())));
+    }
+
+    /**
+     * Finds an active cart or signals that it does not exist.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the cart, or a {@link CartNotFoundException} error
+     */
+    private Mono<Cart> findCart(final String tenantId, final String userId) {
+        return cartRepository.findByTenantIdAndUserId(tenantId, userId)
+                .switchIfEmpty(Mono.error(() -> new CartNotFoundException(
+                        "Cart not found for tenant: " + tenantId + " and user: " + userId)));
+    }
+
+    /**
+     * Finds an active line or signals that it does not exist.
+     *
+     * @param cart the cart
+     * @param productId the product identifier
+     * @return the item, or an {@link ItemNotFoundException} error
+     */
+    private Mono<CartItem> findItem(final Cart cart, final String productId) {
+        return cartItemRepository.findByCartAndProductId(cart, productId)
+                .switchIfEmpty(Mono.error(() -> new ItemNotFoundException(
+                        "Item not found in cart with productId: " + productId)));
+    }
+
+    /**
+     * Announces a committed change to a cart.
+     *
+     * @param cart the changed cart
+     */
+    private void publishChange(final Cart cart) {
+        eventPublisher.publishEvent(new CartChangedEvent(
+                cart.getTenantId(), cart.getUserId(), cart.getCartId(), cart.getVersion()));
+    }
+
+    /**
+     * Applies a change to the cart's persisted aggregates without loading its items.
+     *
+     * @param cart the cart to update
+     * @param lines change in the number of active lines
+     * @param quantity change in the total quantity
+     * @param amount change in the total amount
+     */
+    private static void applyDelta(final Cart cart, final int lines, final int quantity, final BigDecimal amount) {
+        cart.setLineCount(cart.getLineCount() + lines);
+        cart.setTotalQuantity(cart.getTotalQuantity() + quantity);
+        cart.setTotalAmount(cart.getTotalAmount().add(amount));
+    }
+
+    /**
+     * Computes the value of a quantity of a product.
+     *
+     * @param price the unit price
+     * @param quantity the quantity
+     * @return price multiplied by quantity
+     */
+    private static BigDecimal lineAmount(final BigDecimal price, final int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    /**
+     * Maps a cart and its active lines, read from its document or its item
+     * rows, to a CartResponse DTO.
+     *
+     * @param cart the cart
+     * @return the cart response
+     */
+    private Mono<CartResponse> mapToCartResponse(final Cart cart) {
+        final CartDocument document = cartDocumentStore.read(cart);
+        if (document != null) {
+            return Mono.just(buildCartResponse(cart, document.lines().stream()
+                    .map(line -> mapToCartItemResponse(line.toItem(cart)))
+                    .toList()));
+        }
+        return cartItemRepository.findActiveByCart(cart)
+                .map(ReactiveCartService::mapToCartItemResponse)
+                .collectList()
+                .map(items -> buildCartResponse(cart, items));
+    }
+
+    /**
+     * Maps CartItem entity to CartItemResponse DTO.
+     *
+     * @param item the cart item
+     * @return the cart item response
+     */
+    private static CartItemResponse mapToCartItemResponse(final CartItem item) {
+        return CartItemResponse.builder()
+                .productId(item.getProductId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .quantity(item.getQuantity())
+                .subtotal(item.getSubtotal())
+                .build();
+    }
+
+    /**
+     * Builds the CartResponse DTO for a cart and its items.
+     *
+     * @param cart the cart
+     * @param items the item responses
+     * @return the cart response
+     */
+    private static CartResponse buildCartResponse(final Cart cart, final List<CartItemResponse> items) {
+        return CartResponse.builder()
+                .cartId(cart.getCartId())
+                .tenantId(cart.getTenantId())
+                .userId(cart.getUserId())
+                .items(items)
+                .itemCount(cart.getTotalQuantity())
+                .totalAmount(cart.getTotalAmount())
+                .currency(cart.getCurrency())
+                .updatedAt(cart.getUpdatedAt())
+                .version(cart.getVersion())
+                .build();
+    }
+
+    /**
+     * A changed cart together with its response as read inside the transaction.
+     *
+     * @param cart the changed cart
+     * @param response the cart response
+     */
+    private record Mutation(Cart cart, CartResponse response) {
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.stormgate_cart_service.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Allocator of fixed-size chunks in direct memory pages. Chunk sizes form
+ * classes growing by a constant factor; a class is given whole pages on
+ * demand until the capacity is reached, and each allocation takes the
+ * smallest class that fits. Chunks remember their owner and a reference bit,
+ * so a full class names victims in CLOCK order, and a class without pages can
+ * take over the last page of the class holding the most. New chunks start
+ * unreferenced, so a burst of carts read only once cannot push out the ones
+ * read repeatedly.
+ *
+ * <p>Not thread-safe; callers serialize allocation and freeing. Reading and
+ * writing chunk contents and setting reference bits may run concurrently with
+ * each other.
+ */
+final class SlabAllocator {
+
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final double GROWTH_FACTOR = 1.25;
+    private static final int ALIGNMENT = 8;
+    private static final long NO_CHUNK = -1L;
+
+    private final int pageSize;
+    private final ByteBuffer[] pages;
+    private final int[] freePages;
+    private int freePageCount;
+    private int allocatedPages;
+    private final SlabClass[] classes;
+
+    /**
+     * Creates an allocator. Pages are allocated lazily.
+     *
+     * @param capacity maximum number of bytes held in pages
+     * @param pageSize bytes per page, which is also the largest chunk
+     */
+    SlabAllocator(final long capacity, final int pageSize) {
+        if (pageSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Page size must be at least " + MIN_CHUNK_SIZE + " bytes");
+        }
+        this.pageSize = pageSize;
+        this.pages = new ByteBuffer[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, capacity / pageSize))];
+        this.freePages = new int[pages.length];
+        final List<SlabClass> sizes = new ArrayList<>();
+        int size = MIN_CHUNK_SIZE;
+        while (size < pageSize) {
+            sizes.add(new SlabClass(size, pageSize / size));
+            size = Math.min(pageSize, align((int) (size * GROWTH_FACTOR)));
+        }
+        sizes.add(new SlabClass(pageSize, 1));
+        this.classes = sizes.toArray(SlabClass[]::new);
+    }
+
+    /**
+     * Gets the largest size that can be allocated.
+     *
+     * @return the page size
+     */
+    int maxChunkSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the number of bytes of direct memory allocated for pages, which
+     * stay allocated once taken.
+     *
+     * @return the allocated bytes
+     */
+    long allocatedBytes() {
+        return (long) allocatedPages * pageSize;
+    }
+
+    /**
+     * Allocates a chunk, taking a new page for its class if none is free.
+     *
+     * @param size the number of bytes needed
+     * @param owner the owner named when the chunk is chosen as a victim
+     * @return the chunk handle, or -1 if the class is full and no page is left
+     */
+    long allocate(final int size, final Object owner) {
+        final int index = classFor(size);
+        if (index < 0) {
+            return NO_CHUNK;
+        }
+        final SlabClass slabClass = classes[index];
+        int slot = slabClass.free.nextSetBit(0);
+        if (slot < 0) {
+            final int page = takePage();
+            if (page < 0) {
+                return NO_CHUNK;
+            }
+            slabClass.addPage(page);
+            slot = slabClass.free.nextSetBit(0);
+        }
+        slabClass.free.clear(slot);
+        slabClass.owners[slot] = owner;
+        slabClass.referenced[slot] = 0;
+        return handle(index, slot);
+    }
+
+    /**
+     * Returns a chunk to its class.
+     *
+     * @param handle the chunk handle
+     */
+    void free(final long handle) {
+        final SlabClass slabClass = classes[classIndex(handle)];
+        final int slot = slot(handle);
+        slabClass.owners[slot] = null;
+        slabClass.free.set(slot);
+    }
+
+    /**
+     * Sets the reference bit of a chunk, sparing it from the next CLOCK sweep.
+     *
+     * @param handle the chunk handle
+     */
+    void touch(final long handle) {
+        final byte[] referenced = classes[classIndex(handle)].referenced;
+        final int slot = slot(handle);
+        if (slot < referenced.length) {
+            referenced[slot] = 1;
+        }
+    }
+
+    /**
+     * Names the owner of the chunk to evict from the class that would hold
+     * the given size, clearing reference bits on the way.
+     *
+     * @param size the number of bytes needed
+     * @return the owner of the victim, or null if the class holds no chunks
+     */
+    Object victim(final int size) {
+        final int index = classFor(size);
+        if (index < 0) {
+            return null;
+        }
+        final SlabClass slabClass = classes[index];
+        final int slots = slabClass.slotCount();
+        for (int step = 0; step < 2 * slots; step++) {
+            final int slot = slabClass.hand;
+            slabClass.hand = (slot + 1) % slots;
+            final Object owner = slabClass.owners[slot];
+            if (owner == null) {
+                continue;
+            }
+            if (slabClass.referenced[slot] != 0) {
+                slabClass.referenced[slot] = 0;
+                continue;
+            }
+            return owner;
+        }
+        return null;
+    }
+
+    /**
+     * Picks the class giving up a page to the class that would hold the
+     * given size: the one holding the most pages.
+     *
+     * @param size the number of bytes needed
+     * @return the donor class, or -1 if no other class holds a page
+     */
+    int donorFor(final int size) {
+        final int target = classFor(size);
+        int donor = -1;
+        for (int index = 0; index < classes.length; index++) {
+            if (index != target && classes[index].pageCount > 0
+                    && (donor < 0 || classes[index].pageCount > classes[donor].pageCount)) {
+                donor = index;
+            }
+        }
+        return donor;
+    }
+
+    /**
+     * Lists the owners of the chunks in the last page of a class. They must
+     * be freed before the page is moved.
+     *
+     * @param donor the donor class
+     * @return the owners of the allocated chunks in the page
+     */
+    List<Object> ownersOfLastPage(final int donor) {
+        final SlabClass slabClass = classes[donor];
+        final List<Object> owners = new ArrayList<>();
+        for (int slot = slabClass.slotCount() - slabClass.perPage; slot < slabClass.slotCount(); slot++) {
+            if (slabClass.owners[slot] != null) {
+                owners.add(slabClass.owners[slot]);
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Moves the last page of a class, whose chunks are all free, back to the
+     * pool of free pages.
+     *
+     * @param donor the donor class
+     */
+    void releaseLastPage(final int donor) {
+        freePages[freePageCount++] = classes[donor].removeLastPage();
+    }
+
+    /**
+     * Writes bytes into a chunk, one array after the other.
+     *
+     * @param handle the chunk handle
+     * @param first the bytes written first
+     * @param second the bytes written after them, or null
+     */
+    void write(final long handle, final byte[] first, final byte[] second) {
+        final ByteBuffer page = page(handle);
+        final int offset = offset(handle);
+        page.put(offset, first);
+        if (second != null) {
+            page.put(offset + first.length, second);
+        }
+    }
+
+    /**
+     * Reads bytes out of a chunk.
+     *
+     * @param handle the chunk handle
+     * @param from the position within the chunk
+     * @param length the number of bytes
+     * @return the bytes
+     */
+    byte[] read(final long handle, final int from, final int length) {
+        final byte[] bytes = new byte[length];
+        page(handle).get(offset(handle) + from, bytes);
+        return bytes;
+    }
+
+    /**
+     * Finds the smallest class whose chunks fit a size.
+     *
+     * @param size the number of bytes needed
+     * @return the class index, or -1 if the size exceeds a page
+     */
+    private int classFor(final int size) {
+        for (int index = 0; index < classes.length; index++) {
+            if (classes[index].chunkSize >= size) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes a free page, allocating a new one while the capacity allows.
+     *
+     * @return the page index, or -1 if none is left
+     */
+    private int takePage() {
+        if (freePageCount > 0) {
+            return freePages[--freePageCount];
+        }
+        if (allocatedPages == pages.length) {
+            return -1;
+        }
+        pages[allocatedPages] = ByteBuffer.allocateDirect(pageSize);
+        return allocatedPages++;
+    }
+
+    private ByteBuffer page(final long handle) {
+        final SlabClass slabClass = classes[classIndex(handle)];
+        return pages[slabClass.pageIds[slot(handle) / slabClass.perPage]];
+    }
+
+    private int offset(final long handle) {
+        final SlabClass slabClass = classes[classIndex(handle)];
+        return slot(handle) % slabClass.perPage * slabClass.chunkSize;
+    }
+
+    private static long handle(final int classIndex, final int slot) {
+        return (long) classIndex << 32 | slot;
+    }
+
+    private static int classIndex(final long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int slot(final long handle) {
+        return (int) handle;
+    }
+
+    private static int align(final int size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Chunks of one size, numbered across the pages given to the class.
+     */
+    private static final class SlabClass {
+
+        private final int chunkSize;
+        private final int perPage;
+        private final BitSet free = new BitSet();
+        private int[] pageIds = new int[0];
+        private int pageCount;
+        private Object[] owners = new Object[0];
+        private byte[] referenced = new byte[0];
+        private int hand;
+
+        SlabClass(final int chunkSize, final int perPage) {
+            this.chunkSize = chunkSize;
+            this.perPage = perPage;
+        }
+
+        int slotCount() {
+            return pageCount * perPage;
+        }
+
+        void addPage(final int page) {
+            if (pageCount == pageIds.length) {
+                pageIds = Arrays.copyOf(pageIds, Math.max(4, pageCount * 2));
+            }
+            pageIds[pageCount++] = page;
+            owners = Arrays.copyOf(owners, slotCount());
+            referenced = Arrays.copyOf(referenced, slotCount());
+            free.set(slotCount() - perPage, slotCount());
+        }
+
+        int removeLastPage() {
+            final int page = pageIds[--pageCount];
+            free.clear(slotCount(), slotCount() + perPage);
+            owners = Arrays.copyOf(owners, slotCount());
+            referenced = Arrays.copyOf(referenced, slotCount());
+            hand = 0;
+            return page;
+        }
+    }
+}
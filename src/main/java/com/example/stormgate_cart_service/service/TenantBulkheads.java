@@ -0,0 +1,318 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartBulkheadProperties;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Budgets database connections per tenant tier, so a tenant running expensive
+ * operations cannot take the connections other tenants need. A tenant first
+ * takes a permit of its own budget, then borrows one of the shared overflow
+ * budget, and otherwise waits up to the queue timeout for its own budget
+ * before the request is rejected. A tenant's own budget is kept while any of
+ * its requests holds or waits for a permit, and dropped once none does, so a
+ * dropped budget never had a permit out.
+ */
+@Component
+@EnableConfigurationProperties(CartBulkheadProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TenantBulkheads {
+
+    /**
+     * Permit of work that is not budgeted; releasing it does nothing.
+     */
+    public static final Runnable NO_PERMIT = () -> { };
+
+    private static final String METRIC = "cart.bulkhead";
+
+    private final CartBulkheadProperties properties;
+    private final Map<String, Tier> tiers = new LinkedHashMap<>();
+    private final Tier defaultTier;
+    private final Map<String, String> tenantTiers;
+    private final ConcurrentHashMap<String, TenantBudget> tenantBudgets = new ConcurrentHashMap<>();
+    private final Semaphore overflow;
+    private final AtomicInteger overflowInUse = new AtomicInteger();
+
+    /**
+     * Creates the bulkheads and registers their metrics.
+     *
+     * @param properties the bulkhead properties
+     * @param meterRegistry the registry receiving the saturation metrics
+     * @throws IllegalArgumentException if a tier is missing or has no connections
+     */
+    public TenantBulkheads(final CartBulkheadProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getTiers().forEach((name, tier) -> {
+            if (tier.getMaxConnections() < 1) {
+                throw new IllegalArgumentException("Bulkhead tier " + name + " needs at least one connection");
+            }
+            tiers.put(name, new Tier(name, tier.getMaxConnections(), tier.isPerTenant(), meterRegistry));
+        });
+        this.defaultTier = requireTier(properties.getDefaultTier());
+        this.tenantTiers = properties.getTenantTiers();
+        tenantTiers.values().forEach(this::requireTier);
+        this.overflow = new Semaphore(Math.max(0, properties.getOverflowConnections()));
+        Gauge.builder(METRIC + ".overflow.in.use", overflowInUse, AtomicInteger::get)
+                .description("Overflow connections borrowed by tenants over their budget")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".overflow.saturation", this, TenantBulkheads::overflowSaturation)
+                .description("Share of the overflow connections in use")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a connection permit for the tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return releases the permit; calling it again has no effect
+     * @throws CapacityExceededException if the tenant's budget stays used up for the queue timeout
+     */
+    public Runnable acquire(final String tenantId) {
+        if (!properties.isEnabled()) {
+            return NO_PERMIT;
+        }
+        final Tier tier = tierOf(tenantId);
+        if (!tier.perTenant) {
+            return acquire(tenantId, tier, tier.shared);
+        }
+        final Semaphore budget = tenantBudgets.compute(tenantId, (ignored, held) -> {
+            final TenantBudget joined = held == null ? new TenantBudget(tier.newBudget()) : held;
+            joined.holders++;
+            return joined;
+        }).permits;
+        final Runnable leave = () -> tenantBudgets.computeIfPresent(tenantId,
+                (ignored, held) -> --held.holders == 0 ? null : held);
+        final Runnable release;
+        try {
+            release = acquire(tenantId, tier, budget);
+        } catch (CapacityExceededException e) {
+            leave.run();
+            throw e;
+        }
+        return once(() -> {
+            release.run();
+            leave.run();
+        });
+    }
+
+    /**
+     * Takes a permit of a budget, borrowing from the overflow or waiting for
+     * the budget when it is used up.
+     *
+     * @param tenantId the tenant identifier
+     * @param tier the tenant's tier
+     * @param budget the budget the tenant draws from
+     * @return releases the permit; calling it again has no effect
+     * @throws CapacityExceededException if the budget stays used up for the queue timeout
+     */
+    private Runnable acquire(final String tenantId, final Tier tier, final Semaphore budget) {
+        if (budget.tryAcquire()) {
+            return tier.lease(budget);
+        }
+        if (overflow.tryAcquire()) {
+            overflowInUse.incrementAndGet();
+            return once(() -> {
+                overflowInUse.decrementAndGet();
+                overflow.release();
+            });
+        }
+        final long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = budget.tryAcquire(properties.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        tier.queued.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            tier.rejected.increment();
+            throw new CapacityExceededException("Too many concurrent database operations for tenant "
+                    + tenantId + ", please retry later");
+        }
+        return tier.lease(budget);
+    }
+
+    /**
+     * Gets the tier of a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the name of the tenant's tier
+     */
+    public String tierName(final String tenantId) {
+        return tierOf(tenantId).name;
+    }
+
+    /**
+     * Gets the connections a tier's tenants currently hold within their budgets.
+     *
+     * @param tierName the tier name
+     * @return the connections in use, or 0 for an unknown tier
+     */
+    public int inUse(final String tierName) {
+        final Tier tier = tiers.get(tierName);
+        return tier == null ? 0 : tier.inUse.get();
+    }
+
+    /**
+     * Gets the overflow connections currently borrowed.
+     *
+     * @return the borrowed overflow connections
+     */
+    public int overflowInUse() {
+        return overflowInUse.get();
+    }
+
+    /**
+     * Looks up the tier of a tenant.
+     *
+     * @param tenantId the tenant identifier
+     * @return the assigned tier, or the default tier
+     */
+    private Tier tierOf(final String tenantId) {
+        final String name = tenantTiers.get(tenantId);
+        return name == null ? defaultTier : tiers.get(name);
+    }
+
+    /**
+     * Looks up a configured tier.
+     *
+     * @param name the tier name
+     * @return the tier
+     * @throws IllegalArgumentException if no such tier is configured
+     */
+    private Tier requireTier(final String name) {
+        final Tier tier = tiers.get(name);
+        if (tier == null) {
+            throw new IllegalArgumentException("Unknown bulkhead tier: " + name);
+        }
+        return tier;
+    }
+
+    /**
+     * Computes the share of the overflow connections in use.
+     *
+     * @return the share between 0 and 1
+     */
+    private double overflowSaturation() {
+        final int capacity = properties.getOverflowConnections();
+        return capacity <= 0 ? 1.0 : (double) overflowInUse.get() / capacity;
+    }
+
+    /**
+     * Wraps a release so that it runs at most once.
+     *
+     * @param release the release
+     * @return the release running once
+     */
+    private static Runnable once(final Runnable release) {
+        final AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        };
+    }
+
+    /**
+     * Budget of one tenant with the number of its requests holding or waiting
+     * for a permit. The count only changes within the map's compute calls.
+     */
+    private static final class TenantBudget {
+
+        private final Semaphore permits;
+        private int holders;
+
+        /**
+         * Creates the tenant's budget.
+         *
+         * @param permits the tenant's permits
+         */
+        TenantBudget(final Semaphore permits) {
+            this.permits = permits;
+        }
+    }
+
+    /**
+     * Connection budget of a tenant tier with its metrics.
+     */
+    private static final class Tier {
+
+        private final String name;
+        private final int maxConnections;
+        private final boolean perTenant;
+        private final Semaphore shared;
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final Counter rejected;
+        private final Timer queued;
+
+        /**
+         * Creates the tier and registers its metrics.
+         *
+         * @param name the tier name
+         * @param maxConnections connections of each budget
+         * @param perTenant whether each tenant has its own budget
+         * @param meterRegistry the registry receiving the metrics
+         */
+        Tier(final String name, final int maxConnections, final boolean perTenant, final MeterRegistry meterRegistry) {
+            this.name = name;
+            this.maxConnections = maxConnections;
+            this.perTenant = perTenant;
+            this.shared = perTenant ? null : newBudget();
+            Gauge.builder(METRIC + ".in.use", inUse, AtomicInteger::get)
+                    .description("Connections held by the tier's tenants within their budgets")
+                    .tag("tier", name)
+                    .register(meterRegistry);
+            if (!perTenant) {
+                Gauge.builder(METRIC + ".saturation", inUse, used -> (double) used.get() / maxConnections)
+                        .description("Share of the tier's shared budget in use")
+                        .tag("tier", name)
+                        .register(meterRegistry);
+            }
+            this.rejected = Counter.builder(METRIC + ".rejected")
+                    .description("Requests rejected because the tenant's budget stayed used up")
+                    .tag("tier", name)
+                    .register(meterRegistry);
+            this.queued = Timer.builder(METRIC + ".queued")
+                    .description("Time tenants over their budget waited for a connection")
+                    .tag("tier", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Creates an empty budget of the tier's size.
+         *
+         * @return the budget
+         */
+        Semaphore newBudget() {
+            return new Semaphore(maxConnections);
+        }
+
+        /**
+         * Accounts a permit taken from one of the tier's budgets.
+         *
+         * @param budget the budget the permit was taken from
+         * @return releases the permit back into that budget
+         */
+        Runnable lease(final Semaphore budget) {
+            inUse.incrementAndGet();
+            return once(() -> {
+                inUse.decrementAndGet();
+                budget.release();
+            });
+        }
+    }
+}
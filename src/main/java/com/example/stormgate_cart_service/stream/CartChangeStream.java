@@ -0,0 +1,249 @@
+package com.example.stormgate_cart_service.stream;
+
+import com.example.stormgate_cart_service.config.CartStreamProperties;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fans committed cart changes out to the Server-Sent Events connections of the
+ * cart's user. Connections are asynchronous requests, so idle ones hold no
+ * thread; writes run on virtual threads only while events are pending, and
+ * each connection buffers a bounded number of events. A heartbeat keeps idle
+ * connections open through proxies. Other transports, such as gRPC streams,
+ * register watchers that receive the same changes and count towards the same
+ * connection limit.
+ */
+@Component
+@EnableConfigurationProperties(CartStreamProperties.class)
+public class CartChangeStream {
+
+    private static final String CHANGE_EVENT = "cart-changed";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final JsonMapper jsonMapper;
+    private final CartStreamProperties properties;
+    private final ConcurrentHashMap<StreamKey, Set<StreamSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<StreamKey, Set<Consumer<CartChangeNotification>>> watchers =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writer = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cart-stream-heartbeat").daemon().factory());
+    private final Set<DataWithMediaType> heartbeatEvent = SseEmitter.event().comment("heartbeat").build();
+    private final Set<DataWithMediaType> resyncEvent;
+    private final Counter overflows;
+
+    /**
+     * Creates the stream, schedules the heartbeat and registers its metrics.
+     *
+     * @param jsonMapper the mapper serializing event payloads
+     * @param properties the stream properties
+     * @param meterRegistry the registry receiving the stream metrics
+     */
+    public CartChangeStream(final JsonMapper jsonMapper,
+                            final CartStreamProperties properties,
+                            final MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.resyncEvent = SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON).build();
+        this.overflows = Counter.builder("cart.stream.overflows")
+                .description("Stream buffers collapsed into a resync event because the client fell behind")
+                .register(meterRegistry);
+        Gauge.builder("cart.stream.connections", connections, AtomicInteger::get)
+                .description("Open cart stream connections")
+                .register(meterRegistry);
+
+        final long interval = properties.getHeartbeat().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of changes to the user's cart.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @return the emitter of the new connection
+     * @throws CapacityExceededException if this node has no connections left
+     */
+    public SseEmitter subscribe(final String tenantId, final String userId) {
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new CapacityExceededException("Too many open cart streams, please retry later");
+        }
+        final StreamKey key = new StreamKey(tenantId, userId);
+        final SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        final StreamSubscription subscription = new StreamSubscription(emitter, properties.getBufferSize(),
+                writer, resyncEvent, closed -> remove(key, closed));
+
+        emitter.onCompletion(subscription::release);
+        emitter.onTimeout(subscription::release);
+        emitter.onError(error -> subscription.release());
+        // Added within compute so a concurrent close cannot drop the set while the subscription joins it
+        subscriptions.compute(key, (ignored, targets) -> {
+            final Set<StreamSubscription> joined = targets == null ? ConcurrentHashMap.newKeySet() : targets;
+            joined.add(subscription);
+            return joined;
+        });
+        subscription.offer(SseEmitter.event()
+                .comment("connected")
+                .reconnectTime(properties.getReconnect().toMillis())
+                .build());
+        return emitter;
+    }
+
+    /**
+     * Registers a watcher of changes to the user's cart. The watcher is called
+     * on the publishing thread and must not block.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param watcher receives each change
+     * @return a handle that unregisters the watcher; calling it again has no effect
+     * @throws CapacityExceededException if this node has no connections left
+     */
+    public Runnable watch(final String tenantId,
+                          final String userId,
+                          final Consumer<CartChangeNotification> watcher) {
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new CapacityExceededException("Too many open cart streams, please retry later");
+        }
+        final StreamKey key = new StreamKey(tenantId, userId);
+        watchers.compute(key, (ignored, targets) -> {
+            final Set<Consumer<CartChangeNotification>> joined =
+                    targets == null ? ConcurrentHashMap.newKeySet() : targets;
+            joined.add(watcher);
+            return joined;
+        });
+        return () -> watchers.computeIfPresent(key, (ignored, targets) -> {
+            if (targets.remove(watcher)) {
+                connections.decrementAndGet();
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    /**
+     * Pushes a cart change to the user's connections and watchers on this node.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     * @param notification the change
+     */
+    public void publish(final String tenantId, final String userId, final CartChangeNotification notification) {
+        final StreamKey key = new StreamKey(tenantId, userId);
+        final Set<Consumer<CartChangeNotification>> listeners = watchers.get(key);
+        if (listeners != null) {
+            listeners.forEach(watcher -> watcher.accept(notification));
+        }
+        final Set<StreamSubscription> targets = subscriptions.get(key);
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        final SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name(CHANGE_EVENT)
+                .data(jsonMapper.writeValueAsString(notification), MediaType.APPLICATION_JSON);
+        if (notification.getVersion() != null) {
+            builder.id(notification.getVersion().toString());
+        }
+        // Serialized once and shared by every connection of the user
+        final Set<DataWithMediaType> event = builder.build();
+        for (final StreamSubscription subscription : targets) {
+            if (!subscription.offer(event)) {
+                overflows.increment();
+            }
+        }
+    }
+
+    /**
+     * Pushes a committed change of this node to the user's connections.
+     *
+     * @param event the cart change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCartChanged(final CartChangedEvent event) {
+        publish(event.tenantId(), event.userId(), CartChangeNotification.builder()
+                .cartId(event.cartId())
+                .version(event.version())
+                .build());
+    }
+
+    /**
+     * Gets the number of open connections on this node.
+     *
+     * @return the number of open connections
+     */
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Closes every connection and stops the writer and heartbeat threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscriptions.values().stream()
+                .flatMap(Set::stream)
+                .toList()
+                .forEach(StreamSubscription::close);
+        writer.shutdown();
+    }
+
+    /**
+     * Sends a heartbeat on every connection with nothing pending.
+     */
+    private void sendHeartbeats() {
+        for (final Set<StreamSubscription> targets : subscriptions.values()) {
+            for (final StreamSubscription subscription : List.copyOf(targets)) {
+                subscription.offerIfIdle(heartbeatEvent);
+            }
+        }
+    }
+
+    /**
+     * Forgets a closed subscription.
+     *
+     * @param key the user's key
+     * @param subscription the closed subscription
+     */
+    private void remove(final StreamKey key, final StreamSubscription subscription) {
+        subscriptions.computeIfPresent(key, (ignored, targets) -> {
+            if (targets.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    /**
+     * Identity of a user's stream.
+     *
+     * @param tenantId the tenant identifier
+     * @param userId the user identifier
+     */
+    private record StreamKey(String tenantId, String userId) {
+    }
+}
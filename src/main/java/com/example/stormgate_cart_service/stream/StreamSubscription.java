@@ -0,0 +1,154 @@
+package com.example.stormgate_cart_service.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * One open stream connection with its bounded buffer of pending events.
+ * Events are written by a drain task that only runs while events are pending,
+ * so idle connections hold no thread. When a slow client lets the buffer fill
+ * up, the pending events are replaced by a single resync event.
+ */
+final class StreamSubscription {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor writer;
+    private final Set<DataWithMediaType> resync;
+    private final Consumer<StreamSubscription> onClose;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Set<DataWithMediaType>> pending = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param emitter the emitter of the connection
+     * @param capacity maximum number of pending events
+     * @param writer executor running the drain tasks
+     * @param resync the event replacing an overflowing buffer
+     * @param onClose called once with this subscription when it closes
+     */
+    StreamSubscription(final SseEmitter emitter,
+                       final int capacity,
+                       final Executor writer,
+                       final Set<DataWithMediaType> resync,
+                       final Consumer<StreamSubscription> onClose) {
+        this.emitter = emitter;
+        this.capacity = Math.max(1, capacity);
+        this.writer = writer;
+        this.resync = resync;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * @param event the serialized event
+     * @return false if the buffer overflowed and was collapsed into a resync event
+     */
+    boolean offer(final Set<DataWithMediaType> event) {
+        final boolean overflowed;
+        final boolean startDrain;
+        lock.lock();
+        try {
+            if (closed) {
+                return true;
+            }
+            overflowed = pending.size() >= capacity;
+            if (overflowed) {
+                pending.clear();
+                pending.add(resync);
+            } else {
+                pending.add(event);
+            }
+            startDrain = !draining;
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+        if (startDrain) {
+            writer.execute(this::drain);
+        }
+        return !overflowed;
+    }
+
+    /**
+     * Queues an event only if nothing is pending, as for heartbeats.
+     *
+     * @param event the serialized event
+     */
+    void offerIfIdle(final Set<DataWithMediaType> event) {
+        lock.lock();
+        try {
+            if (!pending.isEmpty() || draining) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        offer(event);
+    }
+
+    /**
+     * Closes the subscription and completes the connection.
+     */
+    void close() {
+        if (release()) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Closes the subscription after the connection itself completed.
+     *
+     * @return true if this call closed the subscription
+     */
+    boolean release() {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        onClose.accept(this);
+        return true;
+    }
+
+    /**
+     * Writes pending events until the buffer is empty. A failed write means
+     * the client went away, which closes the subscription.
+     */
+    private void drain() {
+        while (true) {
+            final Set<DataWithMediaType> event;
+            lock.lock();
+            try {
+                event = pending.poll();
+                if (event == null || closed) {
+                    draining = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            }
+        }
+    }
+}
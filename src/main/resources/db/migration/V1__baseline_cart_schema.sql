@@ -1,9 +1,6 @@
--- Database creation script for Cart Service
-
--- Create database
-CREATE DATABASE IF NOT EXISTS stormgate_cart_db DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
-
-USE stormgate_cart_db;
+-- Baseline cart schema.
+-- Databases created earlier by schema.sql or ddl-auto are baselined at this
+-- version instead of running it, and V2 converges their indexes online.
 
 -- Create carts table
 CREATE TABLE IF NOT EXISTS carts (
@@ -15,9 +12,9 @@ CREATE TABLE IF NOT EXISTS carts (
     is_deleted BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    UNIQUE KEY unique_tenant_user (tenant_id, user_id),
-    INDEX idx_tenant_user (tenant_id, user_id),
-    INDEX idx_is_deleted (is_deleted)
+    -- Natural id of the cart. As a secondary index it also carries cart_id,
+    -- so tenant/user resolution to the primary key is an index-only read.
+    UNIQUE KEY unique_tenant_user (tenant_id, user_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Create cart_items table
@@ -32,11 +29,9 @@ CREATE TABLE IF NOT EXISTS cart_items (
     is_deleted BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    INDEX idx_cart_id (cart_id),
+    -- Serves item lookups by (cart, product) as index-only reads of item_id and
+    -- its cart_id prefix serves the cart's item collection and the foreign key.
+    INDEX idx_cart_items_cart_product (cart_id, product_id, is_deleted),
     INDEX idx_product_id (product_id),
-    INDEX idx_is_deleted (is_deleted),
     FOREIGN KEY (cart_id) REFERENCES carts(cart_id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
-
--- Create multi-tenant index for efficient querying
-CREATE INDEX idx_cart_items_cart_product ON cart_items(cart_id, product_id, is_deleted);
@@ -0,0 +1,17 @@
+-- Responses of cart mutations sent with an Idempotency-Key header, kept so
+-- that a retried request is answered with the stored response instead of
+-- being executed again. Only written when the database store is enabled.
+CREATE TABLE IF NOT EXISTS cart_idempotency_keys (
+    tenant_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    status_code INT NOT NULL,
+    content_type VARCHAR(255),
+    body BLOB,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (tenant_id, user_id, idempotency_key),
+    -- Serves the purge of expired keys as a range scan.
+    INDEX idx_cart_idempotency_keys_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,31 @@
+-- Append-only log of cart mutations and periodic snapshots of the state it
+-- folds to. A cart is rebuilt from its latest snapshot plus the events
+-- appended after it. Only written when the event log is enabled.
+CREATE TABLE IF NOT EXISTS cart_events (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cart_id VARCHAR(36) NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    product_id VARCHAR(255),
+    name VARCHAR(500),
+    price DECIMAL(10, 2),
+    quantity INT,
+    cart_version BIGINT,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    -- Serves the tail of a cart's log after its latest snapshot as a range scan.
+    INDEX idx_cart_events_cart (cart_id, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS cart_snapshots (
+    cart_id VARCHAR(36) NOT NULL,
+    -- Last event folded into the snapshot.
+    event_id BIGINT NOT NULL,
+    tenant_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    cart_version BIGINT,
+    -- Active lines as a JSON array.
+    state TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (cart_id, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,5 @@
+-- A stored response is a serialized cart, and the response of a large cart
+-- exceeds the 64 KB a BLOB holds, so storing it failed and a retry ran the
+-- mutation again. MEDIUMBLOB holds up to 16 MB. Rows only live for the
+-- idempotency TTL, so the table stays small and the rebuild is brief.
+ALTER TABLE cart_idempotency_keys MODIFY body MEDIUMBLOB;
@@ -0,0 +1,107 @@
+package com.example.stormgate_cart_service.benchmark;
+
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.json.CartItemResponseSerializer;
+import com.example.stormgate_cart_service.json.CartResponseSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Benchmark comparing reflective Jackson serialization of {@link CartResponse}
+ * with the hand-written serializers. Reports ns/op and allocated bytes/op for
+ * carts of several sizes after checking both paths produce identical bytes.
+ *
+ * <p>Not part of the regular test run. Execute with
+ * {@code mvn test -Dtest=CartResponseSerializationBenchmark} and compare the
+ * printed results.
+ */
+@DisplayName("CartResponse Serialization Benchmark")
+class CartResponseSerializationBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    private static final int[] CART_SIZES = {1, 10, 50};
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Compare ns/op and bytes/op of reflective and hand-written serialization")
+    void compareSerializers() {
+        final JsonMapper reflective = JsonMapper.builder().build();
+        final JsonMapper handWritten = JsonMapper.builder()
+                .addModule(new SimpleModule()
+                        .addSerializer(new CartResponseSerializer())
+                        .addSerializer(new CartItemResponseSerializer()))
+                .build();
+
+        System.out.printf("%-12s %6s %12s %12s%n", "serializer", "items", "ns/op", "bytes/op");
+        for (final int size : CART_SIZES) {
+            final CartResponse cart = cart(size);
+            assertArrayEquals(reflective.writeValueAsBytes(cart), handWritten.writeValueAsBytes(cart));
+
+            print("reflective", size, run(reflective, cart));
+            print("hand-written", size, run(handWritten, cart));
+        }
+    }
+
+    private static void print(final String name, final int size, final Result result) {
+        System.out.printf("%-12s %6d %12.0f %12.0f%n", name, size, result.nanosPerOp(), result.bytesPerOp());
+    }
+
+    private static Result run(final JsonMapper mapper, final CartResponse cart) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += mapper.writeValueAsBytes(cart).length;
+        }
+        final long thread = Thread.currentThread().threadId();
+        final long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(cart).length;
+        }
+        final long nanos = System.nanoTime() - start;
+        final long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+        if (sink == 0) {
+            throw new IllegalStateException("nothing serialized");
+        }
+        return new Result((double) nanos / ITERATIONS, (double) allocated / ITERATIONS);
+    }
+
+    private static CartResponse cart(final int size) {
+        final List<CartItemResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(CartItemResponse.builder()
+                    .productId("product-" + i)
+                    .name("Product " + i)
+                    .price(new BigDecimal("19.99"))
+                    .quantity(i + 1)
+                    .subtotal(new BigDecimal("19.99").multiply(BigDecimal.valueOf(i + 1)))
+                    .build());
+        }
+        return CartResponse.builder()
+                .cartId("7f1c9a52-3d4e-4b8a-9c0d-1e2f3a4b5c6d")
+                .tenantId("tenant-1")
+                .userId("user-1")
+                .items(items)
+                .itemCount(size)
+                .totalAmount(new BigDecimal("999.99"))
+                .currency("USD")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 10, 0, 5, 123_000_000))
+                .version(42L)
+                .build();
+    }
+
+    private record Result(double nanosPerOp, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.stormgate_cart_service.benchmark;
+
+import com.example.stormgate_cart_service.StormgateCartServiceApplication;
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.service.ReactiveCartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing GET /api/cart throughput of the blocking Spring MVC and
+ * JPA stack with the reactive WebFlux and R2DBC stack. Each stack is booted on
+ * a random port with the response cache disabled, so every read reaches the
+ * database, and is driven over HTTP by concurrent clients.
+ *
+ * <p>Not part of the regular test run. Execute with
+ * {@code mvn test -Dtest=CartStackThroughputBenchmark} and compare the printed
+ * results. Both stacks run on H2 in the same JVM as the clients, so treat the
+ * numbers as relative.
+ */
+@DisplayName("Cart Stack Throughput Benchmark")
+class CartStackThroughputBenchmark {
+
+    private static final int USERS = 200;
+    private static final int ITEMS_PER_CART = 5;
+    private static final int CONCURRENCY = 64;
+    private static final int REQUESTS = 10_000;
+    private static final String TENANT = "bench-tenant";
+    private static final String CREDENTIALS = "Basic " + Base64.getEncoder()
+            .encodeToString("bench:bench".getBytes(StandardCharsets.UTF_8));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    @DisplayName("Compare cart read throughput of the blocking and reactive stacks")
+    void compareStacks() throws Exception {
+        final Result servlet = run(new String[] {"test"},
+                "spring.datasource.url=jdbc:h2:mem:benchservlet;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        final Result reactive = run(new String[] {"test", "reactive"},
+                "spring.flyway.url=jdbc:h2:mem:benchreactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.flyway.user=sa",
+                "spring.flyway.password=",
+                "spring.r2dbc.url=r2dbc:h2:mem:///benchreactive"
+                        + "?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=");
+
+        System.out.printf("%-10s %14s %12s %12s%n", "stack", "requests/sec", "p50 (ms)", "p99 (ms)");
+        print("servlet", servlet);
+        print("reactive", reactive);
+    }
+
+    /**
+     * Boots one stack, seeds the carts and measures the reads.
+     *
+     * @param profiles the active profiles
+     * @param properties the stack specific properties
+     * @return the measured result
+     */
+    private Result run(final String[] profiles, final String... properties) throws Exception {
+        final List<String> all = new ArrayList<>(List.of(properties));
+        all.addAll(List.of(
+                "server.port=0",
+                "cart.response-cache.enabled=false",
+                "spring.security.user.name=bench",
+                "spring.security.user.password={noop}bench",
+                "logging.level.com.example=WARN"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StormgateCartServiceApplication.class)
+                .profiles(profiles)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new))) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context);
+            final String base = "http://localhost:" + port + "/api/cart";
+
+            // Warm up the JIT and connection pools before measuring
+            measure(base, REQUESTS / 4);
+            return measure(base, REQUESTS);
+        }
+    }
+
+    /**
+     * Creates a cart with items for every benchmark user through the running
+     * stack's service, bypassing the CSRF protection of the default security setup.
+     *
+     * @param context the application context of the stack
+     */
+    private static void seed(final ConfigurableApplicationContext context) {
+        final CartService blocking = context.getBeanProvider(CartService.class).getIfAvailable();
+        final ReactiveCartService reactive = context.getBeanProvider(ReactiveCartService.class).getIfAvailable();
+        for (int user = 0; user < USERS; user++) {
+            for (int item = 0; item < ITEMS_PER_CART; item++) {
+                final AddItemRequest request = AddItemRequest.builder()
+                        .productId("product-" + item)
+                        .name("Product " + item)
+                        .price(new BigDecimal("9.99"))
+                        .quantity(1)
+                        .build();
+                if (blocking != null) {
+                    blocking.addItemToCart(TENANT, "user-" + user, request);
+                } else {
+                    reactive.addItemToCart(TENANT, "user-" + user, request).block();
+                }
+            }
+        }
+    }
+
+    /**
+     * Issues reads of random carts from concurrent clients.
+     *
+     * @param base the cart endpoint
+     * @param requests the total number of reads
+     * @return the measured result
+     */
+    private Result measure(final String base, final int requests) throws Exception {
+        final int perClient = requests / CONCURRENCY;
+        final List<Future<long[]>> clients = new ArrayList<>();
+        final long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                final int offset = c;
+                clients.add(executor.submit(() -> {
+                    final long[] latencies = new long[perClient];
+                    for (int i = 0; i < perClient; i++) {
+                        final long began = System.nanoTime();
+                        final HttpResponse<byte[]> response = client.send(
+                                request(base, (offset + i * CONCURRENCY) % USERS).GET().build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        latencies[i] = System.nanoTime() - began;
+                        assertEquals(200, response.statusCode());
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        final long[] latencies = new long[perClient * CONCURRENCY];
+        int index = 0;
+        for (final Future<long[]> future : clients) {
+            for (final long latency : future.get()) {
+                latencies[index++] = latency;
+            }
+        }
+        Arrays.sort(latencies);
+        return new Result(
+                latencies.length * 1_000_000_000.0 / elapsed,
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0);
+    }
+
+    /**
+     * Starts a request carrying a benchmark user's identity.
+     *
+     * @param uri the request URI
+     * @param user the user number
+     * @return the request builder
+     */
+    private static HttpRequest.Builder request(final String uri, final int user) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", CREDENTIALS)
+                .header("X-Tenant-ID", TENANT)
+                .header("X-User-ID", "user-" + user);
+    }
+
+    private static void print(final String name, final Result result) {
+        System.out.printf("%-10s %14.0f %12.2f %12.2f%n", name, result.throughput(), result.p50(), result.p99());
+    }
+
+    private record Result(double throughput, double p50, double p99) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.stormgate_cart_service.benchmark;
+
+import com.example.stormgate_cart_service.StormgateCartServiceApplication;
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.CartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing the normalized cart storage with the document storage
+ * mode for small and large carts. Measures full cart reads and single-line
+ * quantity updates through the cart service, with the second-level and
+ * response caches disabled so every operation reaches the database. Document
+ * carts run without item projection, so each of their operations touches the
+ * carts row only.
+ *
+ * <p>Not part of the regular test run. Execute with
+ * {@code mvn test -Dtest=CartStorageModeBenchmark} and compare the printed
+ * results. H2 only approximates InnoDB, so treat the numbers as relative.
+ */
+@DisplayName("Cart Storage Mode Benchmark")
+class CartStorageModeBenchmark {
+
+    private static final String NORMALIZED_TENANT = "bench-normalized";
+    private static final String DOCUMENT_TENANT = "bench-document";
+    private static final int CARTS = 50;
+    private static final int SMALL_CART = 5;
+    private static final int LARGE_CART = 200;
+    private static final int OPERATIONS = 5_000;
+
+    @Test
+    @DisplayName("Compare cart reads and writes of the normalized and document storage modes")
+    void compareStorageModes() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StormgateCartServiceApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchstorage;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--cart.cache.enabled=false",
+                        "--cart.response-cache.enabled=false",
+                        "--cart.limits.defaults.max-lines=" + LARGE_CART,
+                        "--cart.storage.tenants." + DOCUMENT_TENANT + "=DOCUMENT",
+                        "--cart.storage.project-items=false",
+                        "--logging.level.com.example=WARN")) {
+            final CartService cartService = context.getBean(CartService.class);
+
+            System.out.printf("%-11s %6s %14s %14s %14s %14s%n",
+                    "mode", "lines", "read p50 (us)", "read p99 (us)", "write p50 (us)", "write p99 (us)");
+            for (final int lines : new int[] {SMALL_CART, LARGE_CART}) {
+                // Warm up the JIT on both modes before measuring either
+                run(cartService, NORMALIZED_TENANT, "warmup-" + lines, lines, OPERATIONS / 5);
+                run(cartService, DOCUMENT_TENANT, "warmup-" + lines, lines, OPERATIONS / 5);
+
+                print("normalized", lines, run(cartService, NORMALIZED_TENANT, "cart-" + lines, lines, OPERATIONS));
+                print("document", lines, run(cartService, DOCUMENT_TENANT, "cart-" + lines, lines, OPERATIONS));
+            }
+        }
+    }
+
+    /**
+     * Seeds carts of one size for a tenant and measures reads and updates of them.
+     *
+     * @param cartService the cart service
+     * @param tenantId the tenant, which selects the storage mode
+     * @param prefix the prefix of the user identifiers
+     * @param lines the number of lines per cart
+     * @param operations the number of reads and of writes
+     * @return the measured result
+     */
+    private static Result run(final CartService cartService,
+                              final String tenantId,
+                              final String prefix,
+                              final int lines,
+                              final int operations) {
+        for (int cart = 0; cart < CARTS; cart++) {
+            for (int line = 0; line < lines; line++) {
+                cartService.addItemToCart(tenantId, prefix + "-" + cart, AddItemRequest.builder()
+                        .productId("product-" + line)
+                        .name("Product " + line)
+                        .price(new BigDecimal("9.99"))
+                        .quantity(1)
+                        .build());
+            }
+        }
+
+        final long[] reads = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            final long began = System.nanoTime();
+            final int items = cartService.getCart(tenantId, prefix + "-" + (i % CARTS)).getItems().size();
+            reads[i] = System.nanoTime() - began;
+            assertEquals(lines, items);
+        }
+        final long[] writes = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            final UpdateQuantityRequest request = UpdateQuantityRequest.builder().quantity(1 + i % 5).build();
+            final long began = System.nanoTime();
+            cartService.updateItemQuantity(tenantId, prefix + "-" + (i % CARTS), "product-" + (i % lines), request);
+            writes[i] = System.nanoTime() - began;
+        }
+        Arrays.sort(reads);
+        Arrays.sort(writes);
+        return new Result(percentile(reads, 0.5), percentile(reads, 0.99),
+                percentile(writes, 0.5), percentile(writes, 0.99));
+    }
+
+    private static double percentile(final long[] sorted, final double percentile) {
+        return sorted[(int) (sorted.length * percentile)] / 1_000.0;
+    }
+
+    private static void print(final String mode, final int lines, final Result result) {
+        System.out.printf("%-11s %6d %14.1f %14.1f %14.1f %14.1f%n", mode, lines,
+                result.readP50(), result.readP99(), result.writeP50(), result.writeP99());
+    }
+
+    private record Result(double readP50, double readP99, double writeP50, double writeP99) {
+    }
+}
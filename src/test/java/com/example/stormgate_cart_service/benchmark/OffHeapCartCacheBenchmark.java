@@ -0,0 +1,139 @@
+package com.example.stormgate_cart_service.benchmark;
+
+import com.example.stormgate_cart_service.config.CartResponseCacheProperties;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark comparing the serialized response cache on the heap with the
+ * off-heap store as the number of cached carts grows. Reports the heap
+ * retained after a full collection and the garbage collection time spent
+ * during a mixed phase of reads and invalidations.
+ *
+ * <p>Not part of the regular test run. Execute with
+ * {@code mvn test -Dtest=OffHeapCartCacheBenchmark} and compare the printed
+ * results; give the forked JVM enough heap and direct memory for the largest
+ * size.
+ */
+@DisplayName("Off-Heap Cart Cache Benchmark")
+class OffHeapCartCacheBenchmark {
+
+    private static final int[] CART_COUNTS = {25_000, 50_000, 100_000};
+    private static final int ITEMS_PER_CART = 8;
+    private static final int OPERATIONS = 1_000_000;
+    private static final int WRITE_EVERY = 20;
+    private static final String TENANT = "bench-tenant";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("Compare retained heap and GC time of on-heap and off-heap caches")
+    void compareCaches() {
+        System.out.printf("%-9s %8s %14s %12s %10s%n", "cache", "carts", "retained (MB)", "gc (ms)", "gc count");
+        for (final int carts : CART_COUNTS) {
+            print("on-heap", carts, run(false, carts));
+            print("off-heap", carts, run(true, carts));
+        }
+    }
+
+    /**
+     * Fills one cache and drives reads and invalidations against it.
+     *
+     * @param offHeap whether the cache keeps its carts off-heap
+     * @param carts the number of cached carts
+     * @return the measured result
+     */
+    private Result run(final boolean offHeap, final int carts) {
+        final CartResponseCacheProperties properties = new CartResponseCacheProperties();
+        properties.setMaxSize(carts);
+        properties.getOffHeap().setEnabled(offHeap);
+        properties.getOffHeap().setCapacity(DataSize.ofMegabytes(1024));
+        final CartResponseCache cache = new CartResponseCache(jsonMapper, properties, new SimpleMeterRegistry());
+        try {
+            final long[] versions = new long[carts];
+            for (int user = 0; user < carts; user++) {
+                final int current = user;
+                cache.get(TENANT, "user-" + user, () -> cart(current, 0L));
+            }
+            final double retained = retainedHeapMegabytes();
+
+            final long gcTimeBefore = gcTime();
+            final long gcCountBefore = gcCount();
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int op = 0; op < OPERATIONS; op++) {
+                final int user = random.nextInt(carts);
+                if (op % WRITE_EVERY == 0) {
+                    cache.onCartChanged(new CartChangedEvent(TENANT, "user-" + user, "cart-" + user, ++versions[user]));
+                }
+                final long version = versions[user];
+                cache.get(TENANT, "user-" + user, () -> cart(user, version));
+            }
+            return new Result(retained, gcTime() - gcTimeBefore, gcCount() - gcCountBefore);
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    private CartResponse cart(final int user, final long version) {
+        final List<CartItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_CART; i++) {
+            items.add(CartItemResponse.builder()
+                    .productId("product-" + i)
+                    .name("Product number " + i + " with a descriptive name")
+                    .price(new BigDecimal("19.99"))
+                    .quantity(i + 1)
+                    .subtotal(new BigDecimal("19.99").multiply(BigDecimal.valueOf(i + 1)))
+                    .build());
+        }
+        return CartResponse.builder()
+                .cartId("cart-" + user)
+                .tenantId(TENANT)
+                .userId("user-" + user)
+                .items(items)
+                .itemCount(items.size())
+                .totalAmount(new BigDecimal("719.64"))
+                .currency("USD")
+                .updatedAt(LocalDateTime.now())
+                .version(version)
+                .build();
+    }
+
+    private static double retainedHeapMegabytes() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static void print(final String name, final int carts, final Result result) {
+        System.out.printf("%-9s %8d %14.1f %12d %10d%n",
+                name, carts, result.retainedMegabytes(), result.gcMillis(), result.gcCount());
+    }
+
+    private record Result(double retainedMegabytes, long gcMillis, long gcCount) {
+    }
+}
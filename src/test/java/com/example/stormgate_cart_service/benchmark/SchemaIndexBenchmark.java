@@ -0,0 +1,170 @@
+package com.example.stormgate_cart_service.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing the legacy cart schema indexes with the reworked ones.
+ * Measures insert rate and the latency of the two lookups getCart and the item
+ * operations depend on: cart id by (tenant, user) and item id by (cart, product).
+ *
+ * <p>Not part of the regular test run. Execute with
+ * {@code mvn test -Dtest=SchemaIndexBenchmark} and compare the printed results.
+ * H2 only approximates InnoDB, so treat the numbers as relative.
+ */
+@DisplayName("Schema Index Benchmark")
+class SchemaIndexBenchmark {
+
+    private static final int CARTS = 5_000;
+    private static final int ITEMS_PER_CART = 10;
+    private static final int LOOKUPS = 50_000;
+
+    private static final String CARTS_COLUMNS = "cart_id VARCHAR(36) PRIMARY KEY, "
+            + "tenant_id VARCHAR(255) NOT NULL, user_id VARCHAR(255) NOT NULL, "
+            + "total_amount DECIMAL(10, 2) DEFAULT 0.00, currency VARCHAR(10) DEFAULT 'USD', "
+            + "is_deleted BOOLEAN DEFAULT FALSE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+            + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP";
+
+    private static final String ITEMS_COLUMNS = "item_id VARCHAR(36) PRIMARY KEY, "
+            + "cart_id VARCHAR(36) NOT NULL, product_id VARCHAR(255) NOT NULL, "
+            + "name VARCHAR(500) NOT NULL, price DECIMAL(10, 2) NOT NULL, quantity INT NOT NULL, "
+            + "subtotal DECIMAL(10, 2) NOT NULL, is_deleted BOOLEAN DEFAULT FALSE, "
+            + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+            + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP";
+
+    private static final List<String> LEGACY_SCHEMA = List.of(
+            "CREATE TABLE carts (" + CARTS_COLUMNS + ", "
+                    + "CONSTRAINT unique_tenant_user UNIQUE (tenant_id, user_id))",
+            "CREATE INDEX idx_tenant_user ON carts(tenant_id, user_id)",
+            "CREATE INDEX idx_carts_is_deleted ON carts(is_deleted)",
+            "CREATE TABLE cart_items (" + ITEMS_COLUMNS + ", "
+                    + "FOREIGN KEY (cart_id) REFERENCES carts(cart_id) ON DELETE CASCADE)",
+            "CREATE INDEX idx_cart_id ON cart_items(cart_id)",
+            "CREATE INDEX idx_product_id ON cart_items(product_id)",
+            "CREATE INDEX idx_items_is_deleted ON cart_items(is_deleted)",
+            "CREATE INDEX idx_cart_items_cart_product ON cart_items(cart_id, product_id, is_deleted)");
+
+    private static final List<String> REWORKED_SCHEMA = List.of(
+            "CREATE TABLE carts (" + CARTS_COLUMNS + ", "
+                    + "CONSTRAINT unique_tenant_user UNIQUE (tenant_id, user_id))",
+            "CREATE TABLE cart_items (" + ITEMS_COLUMNS + ", "
+                    + "FOREIGN KEY (cart_id) REFERENCES carts(cart_id) ON DELETE CASCADE)",
+            "CREATE INDEX idx_cart_items_cart_product ON cart_items(cart_id, product_id, is_deleted)",
+            "CREATE INDEX idx_product_id ON cart_items(product_id)");
+
+    @Test
+    @DisplayName("Compare insert rate and lookup latency of legacy and reworked indexes")
+    void compareSchemas() throws SQLException {
+        // Warm up the JIT on a throwaway run of each schema
+        run("warmup_legacy", LEGACY_SCHEMA);
+        run("warmup_reworked", REWORKED_SCHEMA);
+
+        final Result legacy = run("legacy", LEGACY_SCHEMA);
+        final Result reworked = run("reworked", REWORKED_SCHEMA);
+
+        System.out.printf("%-10s %14s %18s %18s%n",
+                "schema", "inserts/sec", "cart lookup (us)", "item lookup (us)");
+        print("legacy", legacy);
+        print("reworked", reworked);
+    }
+
+    private static void print(final String name, final Result result) {
+        System.out.printf("%-10s %14.0f %18.2f %18.2f%n",
+                name, result.insertsPerSecond(), result.cartLookupMicros(), result.itemLookupMicros());
+    }
+
+    private static Result run(final String database, final List<String> schema) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=0", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                for (final String ddl : schema) {
+                    statement.execute(ddl);
+                }
+            }
+            connection.setAutoCommit(false);
+
+            final String[] cartIds = new String[CARTS];
+            final long insertStart = System.nanoTime();
+            try (PreparedStatement cartInsert = connection.prepareStatement(
+                    "INSERT INTO carts (cart_id, tenant_id, user_id) VALUES (?, ?, ?)");
+                 PreparedStatement itemInsert = connection.prepareStatement(
+                         "INSERT INTO cart_items (item_id, cart_id, product_id, name, price, "
+                                 + "quantity, subtotal) VALUES (?, ?, ?, ?, 9.99, 1, 9.99)")) {
+                for (int c = 0; c < CARTS; c++) {
+                    cartIds[c] = UUID.randomUUID().toString();
+                    cartInsert.setString(1, cartIds[c]);
+                    cartInsert.setString(2, "tenant-" + (c % 10));
+                    cartInsert.setString(3, "user-" + c);
+                    cartInsert.executeUpdate();
+                    for (int i = 0; i < ITEMS_PER_CART; i++) {
+                        itemInsert.setString(1, UUID.randomUUID().toString());
+                        itemInsert.setString(2, cartIds[c]);
+                        itemInsert.setString(3, "product-" + i);
+                        itemInsert.setString(4, "Product " + i);
+                        itemInsert.addBatch();
+                    }
+                    itemInsert.executeBatch();
+                    connection.commit();
+                }
+            }
+            final long insertNanos = System.nanoTime() - insertStart;
+            final int rows = CARTS * (ITEMS_PER_CART + 1);
+
+            final Random random = new Random(42);
+            long found = 0;
+            final long cartStart = System.nanoTime();
+            try (PreparedStatement lookup = connection.prepareStatement(
+                    "SELECT cart_id FROM carts WHERE tenant_id = ? AND user_id = ?")) {
+                for (int n = 0; n < LOOKUPS; n++) {
+                    final int c = random.nextInt(CARTS);
+                    lookup.setString(1, "tenant-" + (c % 10));
+                    lookup.setString(2, "user-" + c);
+                    found += count(lookup);
+                }
+            }
+            final long cartNanos = System.nanoTime() - cartStart;
+
+            final long itemStart = System.nanoTime();
+            try (PreparedStatement lookup = connection.prepareStatement(
+                    "SELECT item_id FROM cart_items WHERE cart_id = ? AND product_id = ? "
+                            + "AND is_deleted = FALSE")) {
+                for (int n = 0; n < LOOKUPS; n++) {
+                    lookup.setString(1, cartIds[random.nextInt(CARTS)]);
+                    lookup.setString(2, "product-" + random.nextInt(ITEMS_PER_CART));
+                    found += count(lookup);
+                }
+            }
+            final long itemNanos = System.nanoTime() - itemStart;
+
+            assertEquals(2L * LOOKUPS, found);
+            return new Result(
+                    rows / (insertNanos / 1_000_000_000.0),
+                    cartNanos / 1_000.0 / LOOKUPS,
+                    itemNanos / 1_000.0 / LOOKUPS);
+        }
+    }
+
+    private static int count(final PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private record Result(double insertsPerSecond, double cartLookupMicros, double itemLookupMicros) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.stormgate_cart_service.bulkhead;
+
+import com.example.stormgate_cart_service.controller.TenantContextFilter;
+import com.example.stormgate_cart_service.service.TenantBulkheads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the tenant bulkheads around the database connections.
+ */
+@SpringBootTest(properties = {
+        "cart.bulkhead.tiers.small.max-connections=1",
+        "cart.bulkhead.tenant-tiers.bulkhead-small=small",
+        "cart.bulkhead.overflow-connections=0",
+        "cart.bulkhead.queue-timeout=50ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Tenant Bulkhead Integration Tests")
+class TenantBulkheadIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TenantBulkheads tenantBulkheads;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean(TenantContextFilter.class))
+                .build();
+    }
+
+    @Test
+    @DisplayName("A tenant with its budget in use should get 503 while other tenants are served")
+    void testTenantIsolation() throws Exception {
+        try (TenantContext.Scope ignored = TenantContext.enter("bulkhead-small");
+             Connection held = dataSource.getConnection()) {
+            assertEquals(1, tenantBulkheads.inUse("small"));
+
+            mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", "bulkhead-small")
+                            .header("X-User-ID", "user-1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status").value(503));
+            mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", "bulkhead-other")
+                            .header("X-User-ID", "user-1"))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(0, tenantBulkheads.inUse("small"));
+        assertEquals(0, tenantBulkheads.inUse("standard"));
+        mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", "bulkhead-small")
+                        .header("X-User-ID", "user-1"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for AdaptiveConcurrencyLimit.
+ */
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Permits should be granted up to the ceiling and returned on release")
+    void testAcquireUpToCeiling() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 100, 0.2);
+
+        assertTrue(limit.tryAcquire(limit.limit()));
+        assertTrue(limit.tryAcquire(limit.limit()));
+        assertFalse(limit.tryAcquire(limit.limit()));
+        limit.release(MILLI);
+
+        assertEquals(1, limit.inFlight());
+        assertTrue(limit.tryAcquire(limit.limit()));
+    }
+
+    @Test
+    @DisplayName("The limit should grow while it is used at steady latency")
+    void testGrowsAtSteadyLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 10, 1.0);
+
+        for (int window = 0; window < 5; window++) {
+            saturate(limit, MILLI);
+        }
+
+        assertTrue(limit.limit() > 10, "limit was " + limit.limit());
+    }
+
+    @Test
+    @DisplayName("The limit should shrink when latency rises above the baseline")
+    void testShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 1, 100, 10, 1.0);
+        saturate(limit, MILLI);
+        int before = limit.limit();
+
+        saturate(limit, 20 * MILLI);
+        saturate(limit, 20 * MILLI);
+
+        assertTrue(limit.limit() < before, before + " -> " + limit.limit());
+    }
+
+    @Test
+    @DisplayName("The limit should not grow while most of it is unused")
+    void testDoesNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100, 10, 1.0);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(limit.limit());
+            limit.release(MILLI);
+        }
+
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    @DisplayName("The limit should stay within its bounds")
+    void testBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(500, 8, 12, 10, 1.0);
+        assertEquals(12, limit.limit());
+
+        saturate(limit, MILLI);
+        for (int window = 0; window < 3; window++) {
+            saturate(limit, 1_000 * MILLI);
+        }
+
+        assertEquals(8, limit.limit());
+    }
+
+    @Test
+    @DisplayName("A sustained new latency should become the baseline again")
+    void testAdaptsToSustainedLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 40, 10, 1.0);
+        saturate(limit, MILLI);
+        saturate(limit, 10 * MILLI);
+        int shed = limit.limit();
+
+        for (int window = 0; window < 60; window++) {
+            saturate(limit, 10 * MILLI);
+        }
+
+        assertTrue(limit.limit() > shed, shed + " -> " + limit.limit());
+    }
+
+    @Test
+    @DisplayName("Invalid settings should be rejected")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 0, 10, 10, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 5, 4, 10, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 1, 10, 10, 0.0));
+    }
+
+    /**
+     * Fills the limit, then releases every permit with the given latency,
+     * completing at least one window.
+     */
+    private static void saturate(final AdaptiveConcurrencyLimit limit, final long latency) {
+        int permits = Math.max(limit.limit(), 10);
+        for (int i = 0; i < permits; i++) {
+            limit.tryAcquire(Integer.MAX_VALUE);
+        }
+        for (int i = 0; i < permits; i++) {
+            limit.release(latency);
+        }
+    }
+}
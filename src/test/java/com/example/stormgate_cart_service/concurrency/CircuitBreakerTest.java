@@ -0,0 +1,118 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import com.example.stormgate_cart_service.concurrency.CircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CircuitBreaker.
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final long OPEN = 1_000L;
+
+    @Test
+    @DisplayName("The circuit should open once the failure rate reaches the threshold")
+    void testOpensAtThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, OPEN);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0L);
+        assertEquals(State.CLOSED, breaker.state());
+
+        breaker.onFailure(10L);
+
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(20L));
+        assertEquals(990L, breaker.retryAfterNanos(20L));
+    }
+
+    @Test
+    @DisplayName("Failures before the minimum number of calls should not open the circuit")
+    void testMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 5, 0.5, OPEN);
+
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0L);
+        }
+
+        assertEquals(State.CLOSED, breaker.state());
+        breaker.onFailure(0L);
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    @DisplayName("Old outcomes should slide out of the window")
+    void testSlidingWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, OPEN);
+
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0L);
+
+        assertEquals(State.CLOSED, breaker.state());
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    @DisplayName("After the open duration one probe should pass and its success should close the circuit")
+    void testProbeCloses() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 1.0, OPEN);
+        breaker.onFailure(0L);
+
+        assertTrue(breaker.tryAcquire(OPEN));
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(OPEN + 1));
+        assertEquals(0L, breaker.retryAfterNanos(OPEN + 1));
+
+        breaker.onSuccess();
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire(OPEN + 2));
+    }
+
+    @Test
+    @DisplayName("A failed probe should open the circuit again")
+    void testProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 1.0, OPEN);
+        breaker.onFailure(0L);
+        breaker.tryAcquire(OPEN);
+
+        breaker.onFailure(OPEN + 5);
+
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(2 * OPEN));
+        assertTrue(breaker.tryAcquire(2 * OPEN + 5));
+    }
+
+    @Test
+    @DisplayName("A probe that never reports should be replaced after another open duration")
+    void testLostProbe() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 1.0, OPEN);
+        breaker.onFailure(0L);
+        breaker.tryAcquire(OPEN);
+
+        assertFalse(breaker.tryAcquire(2 * OPEN - 1));
+        assertTrue(breaker.tryAcquire(2 * OPEN));
+    }
+
+    @Test
+    @DisplayName("Invalid settings should be rejected")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, 1, 0.5, OPEN));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(4, 5, 0.5, OPEN));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(4, 2, 0.0, OPEN));
+    }
+}
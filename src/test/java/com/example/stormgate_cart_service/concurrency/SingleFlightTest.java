@@ -0,0 +1,134 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for SingleFlight.
+ */
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent calls for the same key should share one load")
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>(4, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("cart", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return result;
+            })));
+        }
+        waitFor(() -> singleFlight.leaderCount() + singleFlight.sharedCount() == CALLERS);
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.leaderCount());
+        assertEquals(CALLERS - 1, singleFlight.sharedCount());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Sequential calls should each load")
+    void testSequentialCallsLoadAgain() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(4, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("cart", loads::incrementAndGet);
+        singleFlight.execute("cart", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, singleFlight.sharedCount());
+    }
+
+    @Test
+    @DisplayName("Failures should propagate to every waiting caller")
+    void testFailurePropagates() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>(1, 100);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("cart", () -> {
+            await(release);
+            throw new IllegalStateException("boom");
+        }));
+        waitFor(() -> singleFlight.inFlight() == 1);
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("cart", Object::new));
+        waitFor(() -> singleFlight.sharedCount() == 1);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(leaderFailure.getCause() instanceof IllegalStateException);
+        assertTrue(followerFailure.getCause() instanceof IllegalStateException);
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Calls should bypass coalescing when the in-flight map is full")
+    void testBoundedInFlightBypasses() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> blocked = executor.submit(() -> singleFlight.execute("a", () -> {
+            await(release);
+            return "a";
+        }));
+        waitFor(() -> singleFlight.inFlight() == 1);
+
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+        assertEquals(1, singleFlight.bypassedCount());
+
+        release.countDown();
+        assertEquals("a", blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.stormgate_cart_service.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for TokenBucket.
+ */
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("A full bucket should admit its burst and report the wait for the next token")
+    void testBurstThenWait() {
+        TokenBucket bucket = new TokenBucket(0L);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, bucket.tryAcquire(10.0, 3, 0L));
+        }
+
+        assertEquals(SECOND / 10, bucket.tryAcquire(10.0, 3, 0L));
+    }
+
+    @Test
+    @DisplayName("Tokens should refill at the rate up to the burst")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(0L);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(10.0, 3, 0L);
+        }
+
+        assertEquals(0L, bucket.tryAcquire(10.0, 3, SECOND / 10));
+        assertEquals(SECOND / 10, bucket.tryAcquire(10.0, 3, SECOND / 10));
+
+        long later = 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, bucket.tryAcquire(10.0, 3, later));
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire(10.0, 3, later));
+    }
+
+    @Test
+    @DisplayName("A refunded token should be available again")
+    void testRefund() {
+        TokenBucket bucket = new TokenBucket(0L);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(10.0, 3, 0L);
+        }
+
+        bucket.refund(10.0);
+
+        assertEquals(0L, bucket.tryAcquire(10.0, 3, 0L));
+        assertEquals(SECOND / 10, bucket.tryAcquire(10.0, 3, 0L));
+    }
+
+    @Test
+    @DisplayName("A zero rate should admit nothing")
+    void testZeroRate() {
+        TokenBucket bucket = new TokenBucket(0L);
+
+        assertEquals(SECOND, bucket.tryAcquire(0.0, 10, 0L));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers should never take more than the burst")
+    void testConcurrentAcquire() throws Exception {
+        TokenBucket bucket = new TokenBucket(0L);
+        AtomicInteger admitted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire(1.0, 100, 0L) == 0L) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, admitted.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.stormgate_cart_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for SecondLevelCacheConfig.
+ */
+@DisplayName("SecondLevelCacheConfig Tests")
+class SecondLevelCacheConfigTest {
+
+    private final SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+    private CartCacheProperties properties;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        CartCacheProperties.Region cartRegion = new CartCacheProperties.Region();
+        cartRegion.setMaxSize(42);
+        cartRegion.setTtl(Duration.ofMinutes(5));
+
+        properties = new CartCacheProperties();
+        properties.setRegions(Map.of(SecondLevelCacheConfig.CART_REGION, cartRegion));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Cache manager should create every cart region")
+    void testCacheManagerCreatesRegions() {
+        cacheManager = config.hibernateCacheManager(properties);
+
+        assertNotNull(cacheManager.getCache(SecondLevelCacheConfig.CART_REGION));
+        assertNotNull(cacheManager.getCache(SecondLevelCacheConfig.CART_ITEM_REGION));
+        assertNotNull(cacheManager.getCache(SecondLevelCacheConfig.CART_ITEMS_REGION));
+        assertNotNull(cacheManager.getCache(SecondLevelCacheConfig.CART_NATURAL_ID_REGION));
+        assertNotNull(cacheManager.getCache("default-query-results-region"));
+        assertNotNull(cacheManager.getCache("default-update-timestamps-region"));
+    }
+
+    @Test
+    @DisplayName("Configured region should use its own size and expiry")
+    @SuppressWarnings("unchecked")
+    void testRegionSettingsApplied() {
+        cacheManager = config.hibernateCacheManager(properties);
+
+        Cache<Object, Object> cart = cacheManager.getCache(SecondLevelCacheConfig.CART_REGION);
+        CaffeineConfiguration<Object, Object> cartConfig =
+                cart.getConfiguration(CaffeineConfiguration.class);
+        assertEquals(42, cartConfig.getMaximumSize().getAsLong());
+        assertEquals(Duration.ofMinutes(5).toNanos(), cartConfig.getExpireAfterWrite().getAsLong());
+
+        Cache<Object, Object> item = cacheManager.getCache(SecondLevelCacheConfig.CART_ITEM_REGION);
+        CaffeineConfiguration<Object, Object> itemConfig =
+                item.getConfiguration(CaffeineConfiguration.class);
+        assertEquals(properties.getDefaults().getMaxSize(), itemConfig.getMaximumSize().getAsLong());
+    }
+
+    @Test
+    @DisplayName("Customizer should enable caches and register the cache manager")
+    void testCustomizerEnabled() {
+        cacheManager = config.hibernateCacheManager(properties);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        config.secondLevelCacheCustomizer(properties, cacheManager).customize(hibernateProperties);
+
+        assertEquals(true, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(true, hibernateProperties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertSame(cacheManager, hibernateProperties.get(ConfigSettings.CACHE_MANAGER));
+    }
+
+    @Test
+    @DisplayName("Customizer should disable caches when turned off by configuration")
+    void testCustomizerDisabled() {
+        properties.setEnabled(false);
+        cacheManager = config.hibernateCacheManager(properties);
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        config.secondLevelCacheCustomizer(properties, cacheManager).customize(hibernateProperties);
+
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertFalse(hibernateProperties.containsKey(ConfigSettings.CACHE_MANAGER));
+        assertTrue(hibernateProperties.containsKey(AvailableSettings.GENERATE_STATISTICS));
+    }
+}
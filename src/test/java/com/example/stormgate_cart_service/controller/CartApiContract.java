@@ -0,0 +1,199 @@
+package com.example.stormgate_cart_service.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * HTTP contract of /api/cart shared by the blocking and the reactive stack.
+ * Each stack runs these tests through its own fully configured request
+ * handling; security filters are not part of the contract.
+ */
+abstract class CartApiContract {
+
+    private static final String USER_ID = "user-1";
+
+    private WebTestClient client;
+    private String tenantId;
+
+    /**
+     * Creates the client bound to the stack under test.
+     *
+     * @return the client
+     */
+    protected abstract WebTestClient createClient();
+
+    @BeforeEach
+    void setUpContract() {
+        client = createClient();
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Adding items should create the cart and sum repeated products")
+    void testAddItems() {
+        addItem("p1", 2).expectStatus().isCreated();
+
+        addItem("p1", 3).expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.tenantId").isEqualTo(tenantId)
+                .jsonPath("$.userId").isEqualTo(USER_ID)
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].quantity").isEqualTo(5)
+                .jsonPath("$.itemCount").isEqualTo(5)
+                .jsonPath("$.totalAmount").isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Reading the cart should return its active items")
+    void testGetCart() {
+        addItem("p1", 1);
+        addItem("p2", 2);
+
+        request(client.get().uri("/api/cart")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.itemCount").isEqualTo(3)
+                .jsonPath("$.version").isNumber();
+    }
+
+    @Test
+    @DisplayName("Reading a missing cart should answer 404 with an error body")
+    void testGetMissingCart() {
+        request(client.get().uri("/api/cart")).exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.error").isEqualTo("Not Found")
+                .jsonPath("$.path").isEqualTo("/api/cart");
+    }
+
+    @Test
+    @DisplayName("Updating and removing items should maintain the summary")
+    void testUpdateAndRemove() {
+        addItem("p1", 1);
+        addItem("p2", 2);
+
+        request(client.put().uri("/api/cart/items/p1"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("quantity", 4))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemCount").isEqualTo(6);
+
+        request(client.delete().uri("/api/cart/items/p2")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.itemCount").isEqualTo(4);
+
+        request(client.get().uri("/api/cart/summary")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemCount").isEqualTo(4)
+                .jsonPath("$.lineCount").isEqualTo(1)
+                .jsonPath("$.totalAmount").isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("Changing a missing item should answer 404")
+    void testMissingItem() {
+        addItem("p1", 1);
+
+        request(client.delete().uri("/api/cart/items/unknown")).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Clearing the cart should answer 204 and empty it")
+    void testClearCart() {
+        addItem("p1", 1);
+
+        request(client.delete().uri("/api/cart")).exchange()
+                .expectStatus().isNoContent();
+
+        request(client.get().uri("/api/cart")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(0)
+                .jsonPath("$.itemCount").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Invalid requests should answer 400 with the field errors")
+    void testValidation() {
+        request(client.post().uri("/api/cart/items"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productId", "p1", "quantity", 0))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.validationErrors.quantity").exists();
+    }
+
+    @Test
+    @DisplayName("Changes beyond the tenant limits should answer 422")
+    void testLimitExceeded() {
+        request(client.post().uri("/api/cart/items"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productId", "p1", "name", "Product p1", "price", 5_000.00, "quantity", 100))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT);
+    }
+
+    /**
+     * Gets the tenant of the current test.
+     *
+     * @return the tenant identifier
+     */
+    protected String tenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Gets the user of the contract's requests.
+     *
+     * @return the user identifier
+     */
+    protected String userId() {
+        return USER_ID;
+    }
+
+    /**
+     * Adds an item priced 10.00 to the user's cart.
+     *
+     * @param productId the product identifier
+     * @param quantity the quantity
+     * @return the response
+     */
+    protected WebTestClient.ResponseSpec addItem(final String productId, final int quantity) {
+        return request(client.post().uri("/api/cart/items"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "productId", productId,
+                        "name", "Product " + productId,
+                        "price", 10.00,
+                        "quantity", quantity))
+                .exchange();
+    }
+
+    /**
+     * Adds the tenant and user headers to a request.
+     *
+     * @param spec the request
+     * @param <S> the request type
+     * @return the request
+     */
+    protected <S extends WebTestClient.RequestHeadersSpec<?>> S request(final S spec) {
+        spec.header("X-Tenant-ID", tenantId).header("X-User-ID", USER_ID);
+        return spec;
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.stormgate_cart_service.controller;
 
 import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartDeltaResponse;
+import com.example.stormgate_cart_service.dto.CartItemPageResponse;
 import com.example.stormgate_cart_service.dto.CartItemResponse;
 import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
 import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.CartDegradedMode;
+import com.example.stormgate_cart_service.service.CartDegradedMode.CartRead;
+import com.example.stormgate_cart_service.service.CartReadCoalescer;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
 import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,14 +23,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +54,18 @@ class CartControllerTest {
     @Mock
     private CartService cartService;
 
+    @Mock
+    private CartReadCoalescer cartReadCoalescer;
+
+    @Mock
+    private CartResponseCache cartResponseCache;
+
+    @Mock
+    private CartDegradedMode cartDegradedMode;
+
+    @Mock
+    private CartChangeStream cartChangeStream;
+
     @InjectMocks
     private CartController cartController;
 
@@ -81,15 +113,64 @@ class CartControllerTest {
     @Test
     @DisplayName("Get cart should return cart details")
     void testGetCart() {
-        when(cartService.getCart(TENANT_ID, USER_ID)).thenReturn(cartResponse);
+        SerializedCart serialized = new SerializedCart(new byte[] {'{', '}'}, new byte[] {1, 2}, 1L);
+        when(cartReadCoalescer.getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED)).thenReturn(cartResponse);
+        when(cartResponseCache.get(eq(TENANT_ID), eq(USER_ID), any())).thenAnswer(invocation -> {
+            Supplier<CartResponse> loader = invocation.getArgument(2);
+            assertEquals(cartResponse, loader.get());
+            return serialized;
+        });
+        passThroughDegradedMode();
 
-        ResponseEntity<CartResponse> response = cartController.getCart(TENANT_ID, USER_ID);
+        ResponseEntity<byte[]> response = cartController.getCart(TENANT_ID, USER_ID, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(serialized.identity(), response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeaders().getFirst("X-Cart-Stale"));
+        verify(cartReadCoalescer).getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED);
+    }
+
+    @Test
+    @DisplayName("Get cart should serve gzip bytes when the client accepts gzip")
+    void testGetCartGzip() {
+        SerializedCart serialized = new SerializedCart(new byte[] {'{', '}'}, new byte[] {1, 2}, 1L);
+        when(cartResponseCache.get(eq(TENANT_ID), eq(USER_ID), any())).thenReturn(serialized);
+        passThroughDegradedMode();
+
+        ResponseEntity<byte[]> response = cartController.getCart(TENANT_ID, USER_ID, "br, gzip;q=0.8");
+
+        assertArrayEquals(serialized.gzip(), response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    @DisplayName("Get cart should mark a snapshot served in degraded mode as stale")
+    void testGetCartStale() {
+        SerializedCart serialized = new SerializedCart(new byte[] {'{', '}'}, null, 1L);
+        when(cartDegradedMode.read(eq(TENANT_ID), eq(USER_ID), any()))
+                .thenReturn(new CartRead(serialized, Duration.ofSeconds(42)));
+
+        ResponseEntity<byte[]> response = cartController.getCart(TENANT_ID, USER_ID, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(serialized.identity(), response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("X-Cart-Stale"));
+        assertEquals("42", response.getHeaders().getFirst(HttpHeaders.AGE));
+    }
+
+    @Test
+    @DisplayName("Get cart page should return the first page of items")
+    void testGetCartPage() {
+        when(cartReadCoalescer.getCart(TENANT_ID, USER_ID, 10, ItemSort.NAME)).thenReturn(cartResponse);
+
+        ResponseEntity<CartResponse> response = cartController.getCartPage(TENANT_ID, USER_ID, 10, ItemSort.NAME);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(TENANT_ID, response.getBody().getTenantId());
-        verify(cartService).getCart(TENANT_ID, USER_ID);
     }
 
     @Test
@@ -147,4 +228,97 @@ class CartControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(cartService).clearCart(TENANT_ID, USER_ID);
     }
+
+    @Test
+    @DisplayName("Merge carts should return 200 OK with merged cart")
+    void testMergeCarts() {
+        MergeCartRequest request = MergeCartRequest.builder().sourceUserId("guest-1").build();
+        when(cartService.mergeCarts(TENANT_ID, USER_ID, request)).thenReturn(cartResponse);
+
+        ResponseEntity<CartResponse> response = cartController.mergeCarts(TENANT_ID, USER_ID, request);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(cartService).mergeCarts(TENANT_ID, USER_ID, request);
+    }
+
+    @Test
+    @DisplayName("Get cart summary should return 200 OK with aggregates")
+    void testGetCartSummary() {
+        CartSummaryResponse summary = CartSummaryResponse.builder()
+                .itemCount(2)
+                .lineCount(1)
+                .totalAmount(new BigDecimal("199.98"))
+                .currency("USD")
+                .version(3L)
+                .build();
+        when(cartService.getCartSummary(TENANT_ID, USER_ID)).thenReturn(summary);
+
+        ResponseEntity<CartSummaryResponse> response = cartController.getCartSummary(TENANT_ID, USER_ID);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Get cart items should return the requested page")
+    void testGetCartItems() {
+        CartItemPageResponse page = CartItemPageResponse.builder()
+                .items(cartResponse.getItems())
+                .nextCursor("next")
+                .build();
+        when(cartService.getCartItems(TENANT_ID, USER_ID, "cursor", 10, ItemSort.PRICE)).thenReturn(page);
+
+        ResponseEntity<CartItemPageResponse> response = cartController.getCartItems(
+                TENANT_ID, USER_ID, "cursor", 10, ItemSort.PRICE);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getBody().getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Delta mutations should return the cart delta")
+    void testDeltaMutations() {
+        CartDeltaResponse delta = CartDeltaResponse.builder()
+                .cartId("cart-123")
+                .productId(PRODUCT_ID)
+                .itemCount(2)
+                .version(4L)
+                .build();
+        when(cartService.addItemToCartDelta(TENANT_ID, USER_ID, addItemRequest)).thenReturn(delta);
+        when(cartService.updateItemQuantityDelta(TENANT_ID, USER_ID, PRODUCT_ID, updateQuantityRequest))
+                .thenReturn(delta);
+        when(cartService.removeItemFromCartDelta(TENANT_ID, USER_ID, PRODUCT_ID)).thenReturn(delta);
+
+        ResponseEntity<CartDeltaResponse> added = cartController.addItemToCartDelta(
+                TENANT_ID, USER_ID, addItemRequest);
+        ResponseEntity<CartDeltaResponse> updated = cartController.updateItemQuantityDelta(
+                TENANT_ID, USER_ID, PRODUCT_ID, updateQuantityRequest);
+        ResponseEntity<CartDeltaResponse> removed = cartController.removeItemFromCartDelta(
+                TENANT_ID, USER_ID, PRODUCT_ID);
+
+        assertEquals(HttpStatus.CREATED, added.getStatusCode());
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals(HttpStatus.OK, removed.getStatusCode());
+        assertEquals(delta, removed.getBody());
+    }
+
+    @Test
+    @DisplayName("Stream cart changes should subscribe the user")
+    void testStreamCartChanges() {
+        SseEmitter emitter = new SseEmitter();
+        when(cartChangeStream.subscribe(TENANT_ID, USER_ID)).thenReturn(emitter);
+
+        assertEquals(emitter, cartController.streamCartChanges(TENANT_ID, USER_ID));
+    }
+
+    /**
+     * Lets the degraded mode pass reads straight through to the response cache.
+     */
+    private void passThroughDegradedMode() {
+        when(cartDegradedMode.read(eq(TENANT_ID), eq(USER_ID), any())).thenAnswer(invocation -> {
+            Supplier<SerializedCart> load = invocation.getArgument(2);
+            return new CartRead(load.get(), null);
+        });
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import com.example.stormgate_cart_service.service.CartLoadShedder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartLoadSheddingInterceptor.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartLoadSheddingInterceptor Tests")
+class CartLoadSheddingInterceptorTest {
+
+    @Mock
+    private CartLoadShedder cartLoadShedder;
+
+    @InjectMocks
+    private CartLoadSheddingInterceptor interceptor;
+
+    @Test
+    @DisplayName("Admitted requests should be released once with their admission time, even a negative one")
+    void testAdmitAndRelease() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(cartLoadShedder.acquire(true)).thenReturn(OptionalLong.of(-42L));
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(cartLoadShedder, times(1)).release(-42L);
+    }
+
+    @Test
+    @DisplayName("Requests should not be released while shedding is disabled")
+    void testDisabled() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(cartLoadShedder.acquire(true)).thenReturn(OptionalLong.empty());
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        verify(cartLoadShedder, never()).release(anyLong());
+    }
+
+    @Test
+    @DisplayName("Mutations should be admitted as writes and shed requests never released")
+    void testShedWrite() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cart/items");
+        when(cartLoadShedder.acquire(false)).thenThrow(new CapacityExceededException("overloaded"));
+
+        assertThrows(CapacityExceededException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+
+        verify(cartLoadShedder, never()).release(anyLong());
+    }
+}
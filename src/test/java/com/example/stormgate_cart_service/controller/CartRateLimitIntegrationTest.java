@@ -0,0 +1,62 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.config.CartRateLimitProperties.Quota;
+import com.example.stormgate_cart_service.service.CartRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for rate limiting of the cart API.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Rate Limit Integration Tests")
+class CartRateLimitIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CartRateLimiter cartRateLimiter;
+
+    private MockMvc mockMvc;
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        tenantId = "tenant-" + UUID.randomUUID();
+        cartRateLimiter.override(tenantId, new Quota(null, null, 0.01, 2));
+    }
+
+    @Test
+    @DisplayName("Requests over the user quota should get 429 with Retry-After before reaching the service")
+    void testThrottledRequest() throws Exception {
+        mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", tenantId).header("X-User-ID", "user-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", tenantId).header("X-User-ID", "user-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", tenantId).header("X-User-ID", "user-1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/api/cart/summary"));
+        mockMvc.perform(get("/api/cart/summary").header("X-Tenant-ID", tenantId).header("X-User-ID", "user-2"))
+                .andExpect(status().isOk());
+    }
+}
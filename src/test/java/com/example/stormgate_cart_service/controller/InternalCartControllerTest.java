@@ -0,0 +1,77 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.dto.BulkCartRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.service.CartBulkReader;
+import com.example.stormgate_cart_service.service.CartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for InternalCartController.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InternalCartController Tests")
+class InternalCartControllerTest {
+
+    @Mock
+    private CartBulkReader cartBulkReader;
+
+    @Mock
+    private CartService cartService;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("Bulk read should stream every chunk into one JSON array")
+    @SuppressWarnings("unchecked")
+    void testStreamsChunksAsArray() throws Exception {
+        BulkCartRequest request = new BulkCartRequest();
+        doAnswer(invocation -> {
+            Consumer<List<CartResponse>> sink = invocation.getArgument(1);
+            sink.accept(List.of(CartResponse.builder().cartId("c1").build(),
+                    CartResponse.builder().cartId("c2").build()));
+            sink.accept(List.of(CartResponse.builder().cartId("c3").build()));
+            return null;
+        }).when(cartBulkReader).read(any(BulkCartRequest.class), any(Consumer.class));
+        InternalCartController controller = new InternalCartController(cartBulkReader, cartService, jsonMapper);
+
+        ResponseEntity<StreamingResponseBody> response = controller.getCarts(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        JsonNode carts = jsonMapper.readTree(out.toByteArray());
+        assertEquals(3, carts.size());
+        assertEquals("c3", carts.get(2).get("cartId").asString());
+    }
+
+    @Test
+    @DisplayName("Bulk read should reject oversized requests before streaming")
+    @SuppressWarnings("unchecked")
+    void testRejectsBeforeStreaming() {
+        BulkCartRequest request = new BulkCartRequest();
+        doThrow(new IllegalArgumentException("too many")).when(cartBulkReader).validate(request);
+        InternalCartController controller = new InternalCartController(cartBulkReader, cartService, jsonMapper);
+
+        assertThrows(IllegalArgumentException.class, () -> controller.getCarts(request));
+        verify(cartBulkReader, never()).read(any(BulkCartRequest.class), any(Consumer.class));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.stormgate_cart_service.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.DispatcherHandler;
+
+/**
+ * Runs the /api/cart contract against the reactive WebFlux and R2DBC stack,
+ * on an in-memory database migrated by Flyway over JDBC.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.url=jdbc:h2:mem:reactivedb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="})
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Reactive Cart API Contract Tests")
+class ReactiveCartApiContractTest extends CartApiContract {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Override
+    protected WebTestClient createClient() {
+        return WebTestClient.bindToWebHandler(context.getBean(DispatcherHandler.class)).build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.json.CartDocumentCodec;
+import com.example.stormgate_cart_service.service.CartDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.DispatcherHandler;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the /api/cart contract against the reactive stack for a tenant in the
+ * document storage mode, and checks that the lines document stays the
+ * authority that the servlet stack reads.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.url=jdbc:h2:mem:reactivedocumentdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedocumentdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "cart.storage.default-mode=DOCUMENT",
+        "cart.storage.project-items=true"})
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Reactive Document Cart API Contract Tests")
+class ReactiveDocumentCartApiContractTest extends CartApiContract {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private CartDocumentCodec codec;
+
+    @Override
+    protected WebTestClient createClient() {
+        return WebTestClient.bindToWebHandler(context.getBean(DispatcherHandler.class)).build();
+    }
+
+    @Test
+    @DisplayName("Changes should be stored in the lines document and projected onto the item rows")
+    void testStoredInDocument() {
+        addItem("p1", 2);
+        addItem("p2", 1);
+        addItem("p1", 1);
+
+        CartDocument document = codec.decode(column("lines_document"));
+
+        assertEquals(List.of("p1x3", "p2x1"),
+                document.lines().stream().map(line -> line.productId() + "x" + line.quantity()).toList());
+        assertEquals("4", column("total_quantity"));
+        assertEquals(List.of("p1x3", "p2x1"), databaseClient.sql("SELECT i.product_id, i.quantity "
+                        + "FROM cart_items i JOIN carts c ON c.cart_id = i.cart_id "
+                        + "WHERE c.tenant_id = :tenantId AND i.is_deleted = FALSE ORDER BY i.product_id")
+                .bind("tenantId", tenantId())
+                .map(row -> row.get("product_id", String.class) + "x" + row.get("quantity", Integer.class))
+                .all()
+                .collectList()
+                .block());
+    }
+
+    @Test
+    @DisplayName("Lines only in the document, as written by another node, should be read and changed")
+    void testDocumentWrittenElsewhere() {
+        addItem("p1", 1);
+        String document = codec.encode(new CartDocument(List.of(
+                new CartDocument.Line("line-1", "p1", "Product p1", new BigDecimal("10.00"), 1, LocalDateTime.now()),
+                new CartDocument.Line("line-2", "p9", "Product p9", new BigDecimal("2.50"), 2, LocalDateTime.now()))));
+        databaseClient.sql("UPDATE carts SET lines_document = :document, line_count = 2, total_quantity = 3, "
+                        + "total_amount = 15.00 WHERE tenant_id = :tenantId")
+                .bind("document", document)
+                .bind("tenantId", tenantId())
+                .then()
+                .block();
+
+        request(createClient().delete().uri("/api/cart/items/p9")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].productId").isEqualTo("p1")
+                .jsonPath("$.itemCount").isEqualTo(1)
+                .jsonPath("$.totalAmount").isEqualTo(10.0);
+    }
+
+    private String column(final String name) {
+        return databaseClient.sql("SELECT " + name + " FROM carts WHERE tenant_id = :tenantId AND user_id = :userId")
+                .bind("tenantId", tenantId())
+                .bind("userId", userId())
+                .map(row -> String.valueOf(row.get(name)))
+                .one()
+                .block();
+    }
+}
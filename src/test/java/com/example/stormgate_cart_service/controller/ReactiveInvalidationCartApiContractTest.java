@@ -0,0 +1,110 @@
+package com.example.stormgate_cart_service.controller;
+
+import com.example.stormgate_cart_service.invalidation.CartInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.DispatcherHandler;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the /api/cart contract against the reactive stack with the cart
+ * invalidation bus enabled, and checks that reactive nodes publish their
+ * changes and apply those of other nodes. Kafka is replaced by a mocked
+ * template and the listener is not started.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.url=jdbc:h2:mem:reactiveinvalidationdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactiveinvalidationdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "cart.invalidation.enabled=true",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false"})
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Reactive Invalidation Cart API Contract Tests")
+class ReactiveInvalidationCartApiContractTest extends CartApiContract {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CartInvalidationBus cartInvalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Override
+    protected WebTestClient createClient() {
+        return WebTestClient.bindToWebHandler(context.getBean(DispatcherHandler.class)).build();
+    }
+
+    @BeforeEach
+    void setUpKafka() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("Committed reactive changes should be published to the invalidation topic")
+    void testPublishesChanges() {
+        addItem("p1", 2).expectStatus().isCreated();
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate, atLeastOnce())
+                .send(eq("cart-invalidations"), eq(tenantId() + ":" + userId()), payload.capture());
+        JsonNode message = jsonMapper.readTree(payload.getValue());
+        assertEquals(tenantId(), message.get("tenantId").asString());
+        assertEquals(1L, message.get("version").asLong());
+    }
+
+    @Test
+    @DisplayName("Changes of other nodes should be applied without the second-level cache")
+    void testAppliesRemoteChanges() {
+        double applied = appliedCount();
+
+        cartInvalidationBus.onMessage(jsonMapper.writeValueAsString(Map.of(
+                "nodeId", "other-node",
+                "tenantId", tenantId(),
+                "userId", userId(),
+                "cartId", "cart-elsewhere",
+                "version", 7L)));
+
+        assertEquals(applied + 1, appliedCount());
+    }
+
+    /**
+     * Reads how many changes of other nodes were applied.
+     *
+     * @return the applied count
+     */
+    private double appliedCount() {
+        return meterRegistry.get("cart.invalidation.remote").tag("outcome", "applied").counter().count();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.stormgate_cart_service.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Runs the /api/cart contract against the blocking Spring MVC and JPA stack.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Servlet Cart API Contract Tests")
+class ServletCartApiContractTest extends CartApiContract {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Override
+    protected WebTestClient createClient() {
+        return MockMvcWebTestClient.bindTo(MockMvcBuilders.webAppContextSetup(context).build()).build();
+    }
+}
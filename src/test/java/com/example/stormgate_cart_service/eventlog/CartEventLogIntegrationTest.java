@@ -0,0 +1,111 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.CartService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the cart event log, checking that carts rebuilt from
+ * snapshots and events match the cart rows.
+ */
+@SpringBootTest(properties = {"cart.event-log.enabled=true", "cart.event-log.snapshot-interval=4"})
+@ActiveProfiles("test")
+@DisplayName("Cart Event Log Integration Tests")
+class CartEventLogIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("A cart rebuilt from snapshots and events should match the cart rows")
+    void testRebuild() {
+        addItem("user-1", "product-1", "10.00", 2);
+        addItem("user-1", "product-2", "5.50", 1);
+        addItem("user-1", "product-1", "10.00", 1);
+        cartService.updateItemQuantity(tenantId, "user-1", "product-2",
+                UpdateQuantityRequest.builder().quantity(4).build());
+        cartService.removeItemFromCart(tenantId, "user-1", "product-1");
+        CartResponse cart = addItem("user-1", "product-3", "1.25", 3);
+
+        assertEquals(6, count("cart_events", cart.getCartId()));
+        assertEquals(1, count("cart_snapshots", cart.getCartId()));
+        assertRebuilt(cart);
+    }
+
+    @Test
+    @DisplayName("A cleared cart should rebuild empty")
+    void testClear() {
+        addItem("user-1", "product-1", "10.00", 2);
+        cartService.clearCart(tenantId, "user-1");
+
+        CartResponse rebuilt = cartService.rebuildCart(cartService.getCart(tenantId, "user-1").getCartId());
+
+        assertEquals(0, rebuilt.getItems().size());
+        assertEquals(0, rebuilt.getItemCount());
+    }
+
+    @Test
+    @DisplayName("A merged cart should rebuild from the snapshot written by the merge")
+    void testMerge() {
+        addItem("guest", "product-1", "10.00", 1);
+        addItem("guest", "product-2", "2.00", 2);
+        addItem("user-1", "product-1", "10.00", 3);
+
+        CartResponse merged = cartService.mergeCarts(tenantId, "user-1",
+                MergeCartRequest.builder().sourceUserId("guest").build());
+        CartResponse after = addItem("user-1", "product-3", "1.00", 1);
+
+        assertEquals(merged.getCartId(), after.getCartId());
+        assertRebuilt(after);
+    }
+
+    private CartResponse addItem(final String userId,
+                                 final String productId,
+                                 final String price,
+                                 final int quantity) {
+        return cartService.addItemToCart(tenantId, userId, AddItemRequest.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build());
+    }
+
+    private void assertRebuilt(final CartResponse cart) {
+        CartResponse rebuilt = cartService.rebuildCart(cart.getCartId());
+
+        assertEquals(cart.getItems(), rebuilt.getItems());
+        assertEquals(cart.getItemCount(), rebuilt.getItemCount());
+        assertEquals(0, cart.getTotalAmount().compareTo(rebuilt.getTotalAmount()));
+        assertEquals(cart.getVersion(), rebuilt.getVersion());
+        assertEquals(tenantId, rebuilt.getTenantId());
+    }
+
+    private int count(final String table, final String cartId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE cart_id = ?",
+                Integer.class, cartId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CartState.
+ */
+@DisplayName("CartState Tests")
+class CartStateTest {
+
+    private long nextEventId = 1;
+
+    @Test
+    @DisplayName("Events should fold to the lines and totals of the cart")
+    void testFold() {
+        CartState state = new CartState("cart-1", "tenant-1", "user-1", 0L, null, List.of());
+
+        state.apply(event(CartEventType.ITEM_ADDED, "p1", "10.00", 2));
+        state.apply(event(CartEventType.ITEM_ADDED, "p2", "5.00", 1));
+        state.apply(event(CartEventType.ITEM_ADDED, "p1", "99.00", 3));
+        state.apply(event(CartEventType.QUANTITY_SET, "p2", null, 4));
+
+        assertEquals(List.of(new CartState.Line("p1", "p1", new BigDecimal("10.00"), 5),
+                new CartState.Line("p2", "p2", new BigDecimal("5.00"), 4)), state.lines());
+        assertEquals(9, state.totalQuantity());
+        assertEquals(0, new BigDecimal("70.00").compareTo(state.totalAmount()));
+        assertEquals(4L, state.eventId());
+        assertEquals(4L, state.version());
+    }
+
+    @Test
+    @DisplayName("Removed and cleared lines should leave the state")
+    void testRemoveAndClear() {
+        CartState state = new CartState("cart-1", "tenant-1", "user-1", 7L, 3L,
+                List.of(new CartState.Line("p1", "p1", BigDecimal.ONE, 1),
+                        new CartState.Line("p2", "p2", BigDecimal.ONE, 1)));
+        nextEventId = 8;
+
+        state.apply(event(CartEventType.ITEM_REMOVED, "p1", null, null));
+        assertEquals(1, state.lines().size());
+        state.apply(event(CartEventType.ITEM_ADDED, "p1", "2.00", 1));
+        state.apply(event(CartEventType.CART_CLEARED, null, null, null));
+
+        assertTrue(state.lines().isEmpty());
+        assertEquals(10L, state.eventId());
+    }
+
+    @Test
+    @DisplayName("A merge event should not be folded without its snapshot")
+    void testMergeNeedsSnapshot() {
+        CartState state = new CartState("cart-1", "tenant-1", "user-1", 0L, null, List.of());
+
+        assertThrows(IllegalStateException.class,
+                () -> state.apply(event(CartEventType.CART_MERGED, null, null, null)));
+    }
+
+    private CartEvent event(final CartEventType type,
+                            final String productId,
+                            final String price,
+                            final Integer quantity) {
+        long eventId = nextEventId++;
+        return new CartEvent(eventId, "cart-1", "tenant-1", "user-1", type, productId, productId,
+                price == null ? null : new BigDecimal(price), quantity, eventId, Instant.now());
+    }
+}
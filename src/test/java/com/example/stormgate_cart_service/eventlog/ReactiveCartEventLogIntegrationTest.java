@@ -0,0 +1,109 @@
+package com.example.stormgate_cart_service.eventlog;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import com.example.stormgate_cart_service.service.ReactiveCartService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the reactive cart event log, checking that carts
+ * changed through the reactive stack rebuild to their cart rows.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.url=jdbc:h2:mem:reactiveeventdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactiveeventdb?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "cart.event-log.enabled=true",
+        "cart.event-log.snapshot-interval=4"})
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Reactive Cart Event Log Integration Tests")
+class ReactiveCartEventLogIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private ReactiveCartService cartService;
+
+    @Autowired
+    private ReactiveCartEventLog cartEventLog;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("A cart rebuilt from snapshots and events should match the cart rows")
+    void testRebuild() {
+        addItem("product-1", "10.00", 2);
+        addItem("product-2", "5.50", 1);
+        addItem("product-1", "10.00", 1);
+        cartService.updateItemQuantity(tenantId, USER_ID, "product-2",
+                UpdateQuantityRequest.builder().quantity(4).build()).block();
+        cartService.removeItemFromCart(tenantId, USER_ID, "product-1").block();
+        CartResponse cart = addItem("product-3", "1.25", 3);
+
+        assertEquals(6, count("cart_events", cart.getCartId()));
+        assertEquals(1, count("cart_snapshots", cart.getCartId()));
+        assertRebuilt(cart);
+    }
+
+    @Test
+    @DisplayName("A cleared cart should rebuild empty")
+    void testClear() {
+        CartResponse cart = addItem("product-1", "10.00", 2);
+        cartService.clearCart(tenantId, USER_ID).block();
+
+        CartState rebuilt = cartEventLog.rebuild(cart.getCartId()).block();
+
+        assertEquals(0, rebuilt.lines().size());
+        assertEquals(cart.getVersion() + 1, rebuilt.version());
+    }
+
+    private CartResponse addItem(final String productId, final String price, final int quantity) {
+        return cartService.addItemToCart(tenantId, USER_ID, AddItemRequest.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build()).block();
+    }
+
+    private void assertRebuilt(final CartResponse cart) {
+        CartState rebuilt = cartEventLog.rebuild(cart.getCartId()).block();
+
+        assertEquals(cart.getItems().stream().map(item -> item.getProductId() + "x" + item.getQuantity()).toList(),
+                rebuilt.lines().stream().map(line -> line.productId() + "x" + line.quantity()).toList());
+        assertEquals(cart.getItemCount(), rebuilt.totalQuantity());
+        assertEquals(0, cart.getTotalAmount().compareTo(rebuilt.totalAmount()));
+        assertEquals(cart.getVersion(), rebuilt.version());
+        assertEquals(tenantId, rebuilt.tenantId());
+    }
+
+    private long count(final String table, final String cartId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM " + table + " WHERE cart_id = :cartId")
+                .bind("cartId", cartId)
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.stormgate_cart_service.exception;
 
+import com.example.stormgate_cart_service.dto.ItemSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -122,4 +128,101 @@ class GlobalExceptionHandlerTest {
         // ValidationErrors should be null for non-validation exceptions
         // This is handled by @JsonInclude(JsonInclude.Include.NON_NULL)
     }
+
+    @Test
+    @DisplayName("Handle CartLimitExceededException should return 422 Unprocessable Content")
+    void testHandleCartLimitExceededException() {
+        CartLimitExceededException exception = new CartLimitExceededException("Too many lines");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleCartLimitExceededException(exception, mockRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, response.getStatusCode());
+        assertEquals(422, response.getBody().getStatus());
+        assertEquals("Too many lines", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle CapacityExceededException should return 503 Service Unavailable")
+    void testHandleCapacityExceededException() {
+        CapacityExceededException exception = new CapacityExceededException("Too many open cart streams");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleCapacityExceededException(exception, mockRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("Too many open cart streams", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle CannotCreateTransactionException caused by a full bulkhead should return 503")
+    void testHandleCannotCreateTransactionExceptionFromBulkhead() {
+        CannotCreateTransactionException exception = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction",
+                new CapacityExceededException("Too many concurrent database operations for tenant tenant-1"));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleCannotCreateTransactionException(exception, mockRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Too many concurrent database operations for tenant tenant-1", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle CannotCreateTransactionException with any other cause should return 500")
+    void testHandleCannotCreateTransactionException() {
+        CannotCreateTransactionException exception = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction", new IllegalStateException("pool closed"));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleCannotCreateTransactionException(exception, mockRequest);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("An unexpected error occurred", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle RateLimitExceededException should return 429 with Retry-After in whole seconds")
+    void testHandleRateLimitExceededException() {
+        RateLimitExceededException exception = new RateLimitExceededException(
+                "Rate limit exceeded for user: user-1", Duration.ofMillis(1200));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleRateLimitExceededException(exception, mockRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals(429, response.getBody().getStatus());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Rate limit exceeded for user: user-1", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Handle OptimisticLockingFailureException should return 409 Conflict")
+    void testHandleOptimisticLockingFailureException() {
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("stale");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleOptimisticLockingFailureException(exception, mockRequest);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("Handle MethodArgumentTypeMismatchException should return 400 Bad Request")
+    void testHandleMethodArgumentTypeMismatchException() {
+        MethodArgumentTypeMismatchException exception = new MethodArgumentTypeMismatchException(
+                "bogus", ItemSort.class, "sort", null, null);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler
+                .handleMethodArgumentTypeMismatchException(exception, mockRequest);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid value for parameter: sort", response.getBody().getMessage());
+    }
 }
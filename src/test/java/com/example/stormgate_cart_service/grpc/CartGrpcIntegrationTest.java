@@ -0,0 +1,134 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.grpc.v1.CartProtos;
+import com.example.stormgate_cart_service.grpc.v1.CartServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for the gRPC API against H2, served in-process.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart gRPC Integration Tests")
+class CartGrpcIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartGrpcService cartGrpcService;
+
+    private Server server;
+    private ManagedChannel channel;
+    private CartServiceGrpc.CartServiceBlockingStub stub;
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(cartGrpcService).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = CartServiceGrpc.newBlockingStub(channel).withDeadlineAfter(30, TimeUnit.SECONDS);
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Item calls should update the cart shared with the REST API")
+    void testItemLifecycle() {
+        stub.addItem(item("p1", "10.00", 2));
+        CartProtos.Cart added = stub.addItem(item("p1", "10.00", 1));
+        CartProtos.Cart updated = stub.updateQuantity(CartProtos.UpdateQuantityRequest.newBuilder()
+                .setTenantId(tenantId)
+                .setUserId(USER_ID)
+                .setProductId("p1")
+                .setQuantity(5)
+                .build());
+        CartProtos.Cart read = stub.getCart(cartRequest());
+
+        assertEquals(3, added.getItems(0).getQuantity());
+        assertEquals("50.00", updated.getTotalAmount());
+        assertEquals(updated.getVersion(), read.getVersion());
+        assertEquals(5, read.getItemCount());
+
+        stub.addItem(item("p2", "5.00", 1));
+        CartProtos.Cart removed = stub.removeItem(CartProtos.RemoveItemRequest.newBuilder()
+                .setTenantId(tenantId)
+                .setUserId(USER_ID)
+                .setProductId("p1")
+                .build());
+        stub.clearCart(cartRequest());
+        CartProtos.Cart cleared = stub.getCart(cartRequest());
+        StatusRuntimeException missing = assertThrows(StatusRuntimeException.class,
+                () -> stub.removeItem(CartProtos.RemoveItemRequest.newBuilder()
+                        .setTenantId(tenantId)
+                        .setUserId(USER_ID)
+                        .setProductId("p1")
+                        .build()));
+
+        assertEquals(1, removed.getItemsCount());
+        assertEquals(0, cleared.getItemsCount());
+        assertEquals(0, new BigDecimal(cleared.getTotalAmount()).compareTo(BigDecimal.ZERO));
+        assertEquals(Status.Code.NOT_FOUND, missing.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Watchers should receive committed changes of the cart")
+    void testWatchCart() {
+        CartProtos.Cart cart = stub.addItem(item("p1", "10.00", 1));
+
+        Iterator<CartProtos.CartChange> changes = stub.watchCart(cartRequest());
+        CartProtos.Cart changed = stub.addItem(item("p2", "5.00", 1));
+        CartProtos.CartChange change = changes.next();
+
+        assertEquals(cart.getCartId(), change.getCartId());
+        assertEquals(changed.getVersion(), change.getVersion());
+    }
+
+    @Test
+    @DisplayName("Cart limits should be reported as failed preconditions")
+    void testLimitExceeded() {
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.addItem(item("p1", "5000.00", 100)));
+
+        assertEquals(Status.Code.FAILED_PRECONDITION, error.getStatus().getCode());
+    }
+
+    private CartProtos.CartRequest cartRequest() {
+        return CartProtos.CartRequest.newBuilder().setTenantId(tenantId).setUserId(USER_ID).build();
+    }
+
+    private CartProtos.AddItemRequest item(final String productId, final String price, final int quantity) {
+        return CartProtos.AddItemRequest.newBuilder()
+                .setTenantId(tenantId)
+                .setUserId(USER_ID)
+                .setProductId(productId)
+                .setName("Product " + productId)
+                .setPrice(price)
+                .setQuantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.config.CartGrpcProperties;
+import com.example.stormgate_cart_service.service.CartReadCoalescer;
+import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CartGrpcServer.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartGrpcServer Tests")
+class CartGrpcServerTest {
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private CartReadCoalescer cartReadCoalescer;
+
+    @Mock
+    private CartChangeStream cartChangeStream;
+
+    @Test
+    @DisplayName("Server should start on the configured port and stop within the grace period")
+    void testLifecycle() {
+        CartGrpcProperties properties = new CartGrpcProperties();
+        properties.setPort(0);
+        properties.setShutdownGrace(Duration.ofSeconds(1));
+        CartGrpcServer server = new CartGrpcServer(new CartGrpcService(cartService, cartReadCoalescer,
+                cartChangeStream, Validation.buildDefaultValidatorFactory().getValidator()), properties);
+
+        server.start();
+        assertTrue(server.isRunning());
+        server.stop();
+
+        assertFalse(server.isRunning());
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.stormgate_cart_service.grpc;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import com.example.stormgate_cart_service.exception.CartLimitExceededException;
+import com.example.stormgate_cart_service.exception.ItemNotFoundException;
+import com.example.stormgate_cart_service.grpc.v1.CartProtos;
+import com.example.stormgate_cart_service.grpc.v1.CartServiceGrpc;
+import com.example.stormgate_cart_service.service.CartReadCoalescer;
+import com.example.stormgate_cart_service.service.CartService;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartGrpcService, called in-process without a network.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartGrpcService Tests")
+class CartGrpcServiceTest {
+
+    private static final String TENANT_ID = "tenant-123";
+    private static final String USER_ID = "user-456";
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private CartReadCoalescer cartReadCoalescer;
+
+    @Mock
+    private CartChangeStream cartChangeStream;
+
+    private Server server;
+    private ManagedChannel channel;
+    private CartServiceGrpc.CartServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CartGrpcService service = new CartGrpcService(cartService, cartReadCoalescer, cartChangeStream,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = CartServiceGrpc.newBlockingStub(channel).withDeadlineAfter(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("GetCart should map the cart with decimal strings")
+    void testGetCart() {
+        when(cartReadCoalescer.getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED)).thenReturn(
+                CartResponse.builder()
+                        .cartId("cart-789")
+                        .tenantId(TENANT_ID)
+                        .userId(USER_ID)
+                        .items(List.of(CartItemResponse.builder()
+                                .productId("product-1")
+                                .name("Product")
+                                .price(new BigDecimal("19.99"))
+                                .quantity(2)
+                                .subtotal(new BigDecimal("39.98"))
+                                .build()))
+                        .itemCount(2)
+                        .totalAmount(new BigDecimal("39.98"))
+                        .currency("USD")
+                        .version(4L)
+                        .build());
+
+        CartProtos.Cart cart = stub.getCart(cartRequest());
+
+        assertEquals("cart-789", cart.getCartId());
+        assertEquals("39.98", cart.getTotalAmount());
+        assertEquals("19.99", cart.getItems(0).getPrice());
+        assertEquals(2, cart.getItemCount());
+        assertEquals(4L, cart.getVersion());
+        assertEquals("", cart.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("AddItem should validate the request before calling the service")
+    void testAddItemValidation() {
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.addItem(CartProtos.AddItemRequest.newBuilder()
+                        .setTenantId(TENANT_ID)
+                        .setUserId(USER_ID)
+                        .setProductId("product-1")
+                        .setPrice("19.99")
+                        .build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+        assertEquals("name is required; quantity is required", error.getStatus().getDescription());
+        verify(cartService, never()).addItemToCart(anyString(), anyString(), any(AddItemRequest.class));
+    }
+
+    @Test
+    @DisplayName("AddItem should reject malformed prices and missing users")
+    void testAddItemMalformed() {
+        StatusRuntimeException price = assertThrows(StatusRuntimeException.class,
+                () -> stub.addItem(CartProtos.AddItemRequest.newBuilder()
+                        .setTenantId(TENANT_ID)
+                        .setUserId(USER_ID)
+                        .setProductId("product-1")
+                        .setName("Product")
+                        .setPrice("cheap")
+                        .setQuantity(1)
+                        .build()));
+        StatusRuntimeException user = assertThrows(StatusRuntimeException.class,
+                () -> stub.getCart(CartProtos.CartRequest.newBuilder().setTenantId(TENANT_ID).build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, price.getStatus().getCode());
+        assertEquals(Status.Code.INVALID_ARGUMENT, user.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Service errors should map to the matching status codes")
+    void testErrorStatuses() {
+        when(cartService.removeItemFromCart(TENANT_ID, USER_ID, "missing"))
+                .thenThrow(new ItemNotFoundException("Item not found"));
+        when(cartService.addItemToCart(eq(TENANT_ID), eq(USER_ID), any(AddItemRequest.class)))
+                .thenThrow(new CartLimitExceededException("Too many lines"));
+
+        StatusRuntimeException notFound = assertThrows(StatusRuntimeException.class,
+                () -> stub.removeItem(CartProtos.RemoveItemRequest.newBuilder()
+                        .setTenantId(TENANT_ID)
+                        .setUserId(USER_ID)
+                        .setProductId("missing")
+                        .build()));
+        StatusRuntimeException limit = assertThrows(StatusRuntimeException.class,
+                () -> stub.addItem(CartProtos.AddItemRequest.newBuilder()
+                        .setTenantId(TENANT_ID)
+                        .setUserId(USER_ID)
+                        .setProductId("product-1")
+                        .setName("Product")
+                        .setPrice("19.99")
+                        .setQuantity(1)
+                        .build()));
+
+        assertEquals(Status.Code.NOT_FOUND, notFound.getStatus().getCode());
+        assertEquals("Item not found", notFound.getStatus().getDescription());
+        assertEquals(Status.Code.FAILED_PRECONDITION, limit.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("ClearCart should clear the user's cart")
+    void testClearCart() {
+        assertEquals(CartProtos.ClearCartResponse.getDefaultInstance(), stub.clearCart(cartRequest()));
+
+        verify(cartService).clearCart(TENANT_ID, USER_ID);
+    }
+
+    @Test
+    @DisplayName("WatchCart should stream changes and keep only the latest while the client is behind")
+    @SuppressWarnings("unchecked")
+    void testWatchCart() {
+        when(cartChangeStream.watch(eq(TENANT_ID), eq(USER_ID), any(Consumer.class))).thenReturn(() -> { });
+
+        Iterator<CartProtos.CartChange> changes = stub.watchCart(cartRequest());
+        ArgumentCaptor<Consumer<CartChangeNotification>> watcher = ArgumentCaptor.forClass(Consumer.class);
+        verify(cartChangeStream).watch(eq(TENANT_ID), eq(USER_ID), watcher.capture());
+        watcher.getValue().accept(change(1L));
+        watcher.getValue().accept(change(2L));
+        watcher.getValue().accept(change(3L));
+
+        assertEquals(1L, changes.next().getVersion());
+        assertEquals(3L, changes.next().getVersion());
+    }
+
+    @Test
+    @DisplayName("WatchCart should be refused when the node has no streams left")
+    @SuppressWarnings("unchecked")
+    void testWatchCartCapacity() {
+        when(cartChangeStream.watch(eq(TENANT_ID), eq(USER_ID), any(Consumer.class)))
+                .thenThrow(new CapacityExceededException("Too many open cart streams"));
+
+        StatusRuntimeException error = assertThrows(StatusRuntimeException.class,
+                () -> stub.watchCart(cartRequest()).next());
+
+        assertEquals(Status.Code.UNAVAILABLE, error.getStatus().getCode());
+    }
+
+    private static CartProtos.CartRequest cartRequest() {
+        return CartProtos.CartRequest.newBuilder().setTenantId(TENANT_ID).setUserId(USER_ID).build();
+    }
+
+    private static CartChangeNotification change(final long version) {
+        return CartChangeNotification.builder().cartId("cart-789").version(version).build();
+    }
+}
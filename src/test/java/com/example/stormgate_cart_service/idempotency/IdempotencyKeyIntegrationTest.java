@@ -0,0 +1,126 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import com.example.stormgate_cart_service.config.CartIdempotencyProperties;
+import com.example.stormgate_cart_service.service.CartService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for idempotency keys on the cart API, with the database store enabled.
+ */
+@SpringBootTest(properties = "cart.idempotency.database.enabled=true")
+@ActiveProfiles("test")
+@DisplayName("Idempotency Key Integration Tests")
+class IdempotencyKeyIntegrationTest {
+
+    private static final String ITEM = "{\"productId\":\"product-1\",\"name\":\"Product 1\","
+            + "\"price\":10.00,\"quantity\":2}";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcIdempotencyRepository repository;
+
+    @Autowired
+    private CartIdempotencyProperties properties;
+
+    private MockMvc mockMvc;
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean(IdempotencyKeyFilter.class))
+                .build();
+        tenantId = "tenant-" + UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("A retried add with the same key should replay the response without adding again")
+    void testRetriedAdd() throws Exception {
+        MvcResult first = mockMvc.perform(addItem("key-1", ITEM))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyKeyFilter.REPLAYED_HEADER))
+                .andReturn();
+
+        MvcResult retry = mockMvc.perform(addItem("key-1", ITEM))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyKeyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(2, cartService.getCart(tenantId, "user-1").getItems().getFirst().getQuantity());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_idempotency_keys WHERE tenant_id = ?", Integer.class, tenantId));
+
+        // A node without the key in memory replays it from the database store
+        IdempotencyKey key = new IdempotencyKey(tenantId, "user-1", "key-1");
+        StoredResponse stored = repository.find(key, Instant.now()).orElseThrow();
+        IdempotencyStore restarted = new IdempotencyStore(properties, repository, new SimpleMeterRegistry(),
+                Clock.systemUTC());
+        assertTrue(restarted.claim(key, stored.fingerprint()).isReplay());
+        restarted.shutdown();
+    }
+
+    @Test
+    @DisplayName("A key reused for a different request should be rejected with 422")
+    void testReusedKey() throws Exception {
+        mockMvc.perform(addItem("key-2", ITEM)).andExpect(status().isCreated());
+
+        mockMvc.perform(addItem("key-2", ITEM.replace("\"quantity\":2", "\"quantity\":3")))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.status").value(422));
+        mockMvc.perform(addItem("key-3", ITEM.replace("\"quantity\":2", "\"quantity\":3")))
+                .andExpect(status().isCreated());
+
+        assertEquals(5, cartService.getCart(tenantId, "user-1").getItems().getFirst().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Requests failing validation should be replayed as well")
+    void testInvalidRequest() throws Exception {
+        mockMvc.perform(addItem("key-4", "{}")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(addItem("key-4", "{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(IdempotencyKeyFilter.REPLAYED_HEADER, "true"));
+    }
+
+    private MockHttpServletRequestBuilder addItem(final String key, final String body) {
+        return post("/api/cart/items")
+                .header("X-Tenant-ID", tenantId)
+                .header("X-User-ID", "user-1")
+                .header(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.stormgate_cart_service.idempotency;
+
+import com.example.stormgate_cart_service.config.CartIdempotencyProperties;
+import com.example.stormgate_cart_service.exception.IdempotencyKeyInUseException;
+import com.example.stormgate_cart_service.exception.IdempotencyKeyMismatchException;
+import com.example.stormgate_cart_service.idempotency.IdempotencyStore.Claim;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for IdempotencyStore.
+ */
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private static final IdempotencyKey KEY = new IdempotencyKey("tenant-1", "user-1", "key-1");
+    private static final String FINGERPRINT = "fingerprint-1";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private CartIdempotencyProperties properties;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartIdempotencyProperties();
+        properties.setInFlightWait(Duration.ofSeconds(10));
+        store = new IdempotencyStore(properties, null, new SimpleMeterRegistry(), Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("A completed key should be replayed for the same request")
+    void testReplay() {
+        Claim claim = store.claim(KEY, FINGERPRINT);
+        assertFalse(claim.isReplay());
+        StoredResponse response = response(201);
+
+        store.complete(claim, response);
+        Claim retry = store.claim(KEY, FINGERPRINT);
+
+        assertTrue(retry.isReplay());
+        assertSame(response, retry.replay());
+    }
+
+    @Test
+    @DisplayName("A key reused for a different request should be rejected")
+    void testMismatch() {
+        Claim claim = store.claim(KEY, FINGERPRINT);
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> store.claim(KEY, "other"));
+        store.complete(claim, response(200));
+        assertThrows(IdempotencyKeyMismatchException.class, () -> store.claim(KEY, "other"));
+    }
+
+    @Test
+    @DisplayName("A duplicate in flight should wait for the first request and replay its response")
+    void testInFlightDuplicate() throws Exception {
+        Claim claim = store.claim(KEY, FINGERPRINT);
+
+        CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(
+                () -> store.claim(KEY, FINGERPRINT), Executors.newVirtualThreadPerTaskExecutor());
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        StoredResponse response = response(201);
+        store.complete(claim, response);
+
+        assertSame(response, duplicate.get(10, TimeUnit.SECONDS).replay());
+    }
+
+    @Test
+    @DisplayName("A duplicate should execute itself when the first request gives no replayable response")
+    void testRetryableFailure() throws Exception {
+        Claim claim = store.claim(KEY, FINGERPRINT);
+        CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(
+                () -> store.claim(KEY, FINGERPRINT), Executors.newVirtualThreadPerTaskExecutor());
+        Thread.sleep(50);
+
+        store.complete(claim, response(503));
+
+        Claim second = duplicate.get(10, TimeUnit.SECONDS);
+        assertFalse(second.isReplay());
+        store.abandon(second);
+        assertFalse(store.claim(KEY, FINGERPRINT).isReplay());
+    }
+
+    @Test
+    @DisplayName("A duplicate should be rejected when the first request outlasts the wait")
+    void testInUse() {
+        properties.setInFlightWait(Duration.ofMillis(20));
+        store.claim(KEY, FINGERPRINT);
+
+        assertThrows(IdempotencyKeyInUseException.class, () -> store.claim(KEY, FINGERPRINT));
+    }
+
+    @Test
+    @DisplayName("Responses should be stored in and replayed from the database store")
+    void testDatabaseStore() {
+        JdbcIdempotencyRepository repository = mock(JdbcIdempotencyRepository.class);
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        store = new IdempotencyStore(properties, repository, new SimpleMeterRegistry(), clock);
+        StoredResponse response = response(200);
+
+        store.complete(store.claim(KEY, FINGERPRINT), response);
+        verify(repository).save(KEY, response, NOW, NOW.plus(properties.getTtl()));
+
+        IdempotencyKey other = new IdempotencyKey("tenant-1", "user-1", "key-2");
+        when(repository.find(other, NOW)).thenReturn(Optional.of(response));
+        IdempotencyStore restarted = new IdempotencyStore(properties, repository, new SimpleMeterRegistry(), clock);
+
+        assertSame(response, restarted.claim(other, FINGERPRINT).replay());
+        restarted.shutdown();
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Server errors should not be stored")
+    void testServerErrorNotStored() {
+        JdbcIdempotencyRepository repository = mock(JdbcIdempotencyRepository.class);
+        store = new IdempotencyStore(properties, repository, new SimpleMeterRegistry(), Clock.systemUTC());
+
+        store.complete(store.claim(KEY, FINGERPRINT), response(500));
+
+        verify(repository, never()).save(any(), any(), any(), any());
+        assertEquals(false, store.claim(KEY, FINGERPRINT).isReplay());
+        store.shutdown();
+    }
+
+    private static StoredResponse response(final int status) {
+        return new StoredResponse(FINGERPRINT, status, "application/json", new byte[] {'{', '}'});
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.stormgate_cart_service.invalidation;
+
+import com.example.stormgate_cart_service.config.CartInvalidationProperties;
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import com.example.stormgate_cart_service.service.CartService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests applying cart changes committed on another node to the
+ * caches of this node.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Cache Invalidator Integration Tests")
+class CartCacheInvalidatorIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartResponseCache cartResponseCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private CartCacheInvalidator invalidator;
+    private String tenantId;
+    private CartResponse cart;
+
+    @BeforeEach
+    void setUp() {
+        CartInvalidationProperties properties = new CartInvalidationProperties();
+        properties.setRepeatEvictionAfter(Duration.ZERO);
+        invalidator = new CartCacheInvalidator(cartRepository, cartResponseCache, properties,
+                new SimpleMeterRegistry());
+        tenantId = "tenant-" + UUID.randomUUID();
+        cart = cartService.addItemToCart(tenantId, USER_ID, AddItemRequest.builder()
+                .productId("p1")
+                .name("Product p1")
+                .price(new BigDecimal("10.00"))
+                .quantity(1)
+                .build());
+        read();
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidator.shutdown();
+    }
+
+    @Test
+    @DisplayName("A change of another node should be visible after it is applied")
+    void testRemoteChangeApplied() {
+        long version = changeOnOtherNode(5);
+
+        assertTrue(invalidator.apply(tenantId, USER_ID, cart.getCartId(), version));
+
+        assertEquals(5, read().getItemCount());
+        assertEquals(5, cartService.getCart(tenantId, USER_ID).getItemCount());
+    }
+
+    @Test
+    @DisplayName("A notice older than the cached cart should leave the caches alone")
+    void testOutdatedNoticeIgnored() {
+        long version = changeOnOtherNode(5);
+        invalidator.apply(tenantId, USER_ID, cart.getCartId(), version);
+
+        assertFalse(invalidator.apply(tenantId, USER_ID, cart.getCartId(), version - 1));
+        assertEquals(version, read().getVersion());
+    }
+
+    /**
+     * Changes the cart's only line directly in the database, bypassing this
+     * node's caches as a change committed on another node would.
+     *
+     * @param quantity the new quantity of the line
+     * @return the cart version written by the change
+     */
+    private long changeOnOtherNode(final int quantity) {
+        BigDecimal subtotal = new BigDecimal("10.00").multiply(BigDecimal.valueOf(quantity));
+        jdbcTemplate.update("UPDATE cart_items SET quantity = ?, subtotal = ? WHERE cart_id = ?",
+                quantity, subtotal, cart.getCartId());
+        jdbcTemplate.update("UPDATE carts SET total_quantity = ?, total_amount = ?, version = version + 1 "
+                + "WHERE cart_id = ?", quantity, subtotal, cart.getCartId());
+        return jdbcTemplate.queryForObject("SELECT version FROM carts WHERE cart_id = ?",
+                Long.class, cart.getCartId());
+    }
+
+    private CartResponse read() {
+        return jsonMapper.readValue(cartResponseCache.get(tenantId, USER_ID,
+                () -> cartService.getCart(tenantId, USER_ID)).identity(), CartResponse.class);
+    }
+}
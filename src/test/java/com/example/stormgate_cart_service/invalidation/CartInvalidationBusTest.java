@@ -0,0 +1,275 @@
+package com.example.stormgate_cart_service.invalidation;
+
+import com.example.stormgate_cart_service.config.CartInvalidationProperties;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.invalidation.CartInvalidationBus.CartInvalidation;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import com.example.stormgate_cart_service.service.CartResponseCache;
+import com.example.stormgate_cart_service.stream.CartChangeStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import tools.jackson.databind.json.JsonMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartInvalidationBus. Nodes are connected through an
+ * in-memory stand-in for the compacted Kafka topic.
+ */
+@DisplayName("CartInvalidationBus Tests")
+class CartInvalidationBusTest {
+
+    private static final String TENANT_ID = "tenant-123";
+    private static final String USER_ID = "user-456";
+    private static final String CART_ID = "cart-123";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<Node> nodes = new ArrayList<>();
+    private CompactedTopic topic;
+
+    @BeforeEach
+    void setUp() {
+        topic = new CompactedTopic();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.invalidator().shutdown());
+    }
+
+    @Test
+    @DisplayName("Committed changes should be published keyed by user")
+    void testPublishesChanges() {
+        Node node = node();
+
+        node.bus().onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, CART_ID, 5L));
+
+        CartInvalidation message = jsonMapper.readValue(
+                topic.latest(TENANT_ID + ":" + USER_ID), CartInvalidation.class);
+        assertEquals(CART_ID, message.cartId());
+        assertEquals(5L, message.version());
+    }
+
+    @Test
+    @DisplayName("Changes of one node should evict the cart on every other node")
+    void testOtherNodesEvict() {
+        Node writer = node();
+        Node first = node();
+        Node second = node();
+
+        writer.commit(1L);
+        topic.deliver();
+
+        verify(first.repository()).evictFromCache(CART_ID);
+        verify(second.repository()).evictFromCache(CART_ID);
+        verify(writer.repository(), never()).evictFromCache(anyString());
+    }
+
+    @Test
+    @DisplayName("Changes of one node should reach stream subscribers on every other node")
+    void testOtherNodesNotifySubscribers() {
+        Node writer = node();
+        Node first = node();
+        Node second = node();
+
+        writer.commit(7L);
+        topic.deliver();
+
+        CartChangeNotification notification = CartChangeNotification.builder().cartId(CART_ID).version(7L).build();
+        verify(first.stream()).publish(TENANT_ID, USER_ID, notification);
+        verify(second.stream()).publish(TENANT_ID, USER_ID, notification);
+        verify(writer.stream(), never()).publish(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Changes delivered out of order should only apply the newest")
+    void testOutOfOrderIgnored() {
+        Node writer = node();
+        Node reader = node();
+
+        writer.commit(1L);
+        writer.commit(2L);
+        writer.commit(3L);
+        topic.deliverReversed();
+
+        verify(reader.repository(), times(1)).evictFromCache(CART_ID);
+        verify(reader.stream(), times(1)).publish(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Duplicate deliveries should evict once")
+    void testDuplicatesIgnored() {
+        Node writer = node();
+        Node reader = node();
+
+        writer.commit(4L);
+        topic.deliver();
+        topic.redeliver();
+
+        verify(reader.repository(), times(1)).evictFromCache(CART_ID);
+        verify(reader.stream(), times(1)).publish(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Notices older than a change committed locally should be ignored")
+    void testOlderThanLocalChangeIgnored() {
+        Node writer = node();
+        Node reader = node();
+
+        writer.commit(1L);
+        reader.commit(2L);
+        topic.deliver();
+
+        verify(reader.repository(), never()).evictFromCache(anyString());
+        verify(reader.stream(), never()).publish(anyString(), anyString(), any());
+        verify(writer.repository()).evictFromCache(CART_ID);
+    }
+
+    @Test
+    @DisplayName("Compaction should keep only the latest version of each cart")
+    void testCompaction() {
+        Node writer = node();
+
+        writer.commit(1L);
+        writer.commit(2L);
+        topic.compact();
+
+        assertEquals(2L, jsonMapper.readValue(topic.latest(TENANT_ID + ":" + USER_ID),
+                CartInvalidation.class).version());
+        assertEquals(1, topic.size());
+    }
+
+    /**
+     * Starts a node connected to the topic.
+     *
+     * @return the node
+     */
+    @SuppressWarnings("unchecked")
+    private Node node() {
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            topic.append(invocation.getArgument(1), invocation.getArgument(2));
+            return new CompletableFuture<>();
+        });
+        CartInvalidationProperties properties = new CartInvalidationProperties();
+        properties.setRepeatEvictionAfter(Duration.ZERO);
+        CartRepository repository = mock(CartRepository.class);
+        CartCacheInvalidator invalidator = new CartCacheInvalidator(repository, mock(CartResponseCache.class),
+                properties, new SimpleMeterRegistry());
+        CartChangeStream stream = mock(CartChangeStream.class);
+        CartInvalidationBus bus = new CartInvalidationBus(kafkaTemplate, jsonMapper, invalidator, stream, properties);
+        Node node = new Node(bus, invalidator, repository, stream);
+        nodes.add(node);
+        topic.subscribe(bus);
+        return node;
+    }
+
+    /**
+     * A service node with its bus, invalidator, second-level cache and
+     * change stream.
+     *
+     * @param bus the node's bus
+     * @param invalidator the node's invalidator
+     * @param repository the node's repository evicting carts
+     * @param stream the node's stream of cart changes
+     */
+    private record Node(CartInvalidationBus bus,
+                        CartCacheInvalidator invalidator,
+                        CartRepository repository,
+                        CartChangeStream stream) {
+
+        /**
+         * Commits a change on this node, notifying the listeners as the
+         * transaction would.
+         *
+         * @param version the cart version written by the change
+         */
+        void commit(final long version) {
+            CartChangedEvent event = new CartChangedEvent(TENANT_ID, USER_ID, CART_ID, version);
+            invalidator.onCartChanged(event);
+            bus.onCartChanged(event);
+        }
+    }
+
+    /**
+     * In-memory stand-in for a compacted topic delivering every message to
+     * every subscribed node.
+     */
+    private static final class CompactedTopic {
+
+        private final List<Map.Entry<String, String>> log = new ArrayList<>();
+        private final List<CartInvalidationBus> subscribers = new ArrayList<>();
+        private int delivered;
+
+        void subscribe(final CartInvalidationBus bus) {
+            subscribers.add(bus);
+        }
+
+        void append(final String key, final String payload) {
+            log.add(Map.entry(key, payload));
+        }
+
+        String latest(final String key) {
+            String latest = null;
+            for (Map.Entry<String, String> record : log) {
+                if (record.getKey().equals(key)) {
+                    latest = record.getValue();
+                }
+            }
+            return latest;
+        }
+
+        int size() {
+            return log.size();
+        }
+
+        void compact() {
+            Map<String, String> latest = new LinkedHashMap<>();
+            log.forEach(record -> latest.put(record.getKey(), record.getValue()));
+            log.clear();
+            latest.forEach((key, payload) -> log.add(Map.entry(key, payload)));
+            delivered = 0;
+        }
+
+        void deliver() {
+            deliver(log.subList(delivered, log.size()));
+        }
+
+        void deliverReversed() {
+            List<Map.Entry<String, String>> pending = new ArrayList<>(log.subList(delivered, log.size()));
+            Collections.reverse(pending);
+            deliver(pending);
+        }
+
+        void redeliver() {
+            deliver(log);
+        }
+
+        private void deliver(final List<Map.Entry<String, String>> records) {
+            List<Map.Entry<String, String>> batch = List.copyOf(records);
+            for (Map.Entry<String, String> record : batch) {
+                subscribers.forEach(bus -> bus.onMessage(record.getValue()));
+            }
+            delivered = log.size();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.stormgate_cart_service.json;
+
+import com.example.stormgate_cart_service.service.CartDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for CartDocumentCodec.
+ */
+@DisplayName("CartDocumentCodec Tests")
+class CartDocumentCodecTest {
+
+    private final CartDocumentCodec codec = new CartDocumentCodec(JsonMapper.builder().build());
+
+    @Test
+    @DisplayName("A document should survive encoding and decoding unchanged")
+    void testRoundTrip() {
+        CartDocument document = new CartDocument(List.of(
+                new CartDocument.Line("id-1", "p1", "Product \"1\"", new BigDecimal("10.50"), 2,
+                        LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000_000)),
+                new CartDocument.Line("id-2", "p2", "Product 2", new BigDecimal("3"), 1,
+                        LocalDateTime.of(2026, 1, 2, 3, 4, 6))));
+
+        String encoded = codec.encode(document);
+
+        assertEquals(document.lines(), codec.decode(encoded).lines());
+        assertEquals('[', encoded.charAt(0));
+    }
+
+    @Test
+    @DisplayName("An empty document should round trip")
+    void testEmpty() {
+        assertEquals(List.of(), codec.decode(codec.encode(new CartDocument(List.of()))).lines());
+    }
+
+    @Test
+    @DisplayName("Unknown versions and malformed documents should be rejected")
+    void testRejectsInvalid() {
+        assertThrows(IllegalStateException.class, () -> codec.decode("[2]"));
+        assertThrows(IllegalStateException.class, () -> codec.decode("[1,[\"id\",\"p1\"]]"));
+        assertThrows(IllegalStateException.class, () -> codec.decode("{}"));
+    }
+}
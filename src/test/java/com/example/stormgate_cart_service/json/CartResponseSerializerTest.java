@@ -0,0 +1,117 @@
+package com.example.stormgate_cart_service.json;
+
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for CartResponseSerializer, comparing its output with reflective serialization.
+ */
+@DisplayName("CartResponseSerializer Tests")
+class CartResponseSerializerTest {
+
+    private static final JsonMapper REFLECTIVE = JsonMapper.builder().build();
+    private static final JsonMapper HAND_WRITTEN = JsonMapper.builder()
+            .addModule(new SimpleModule()
+                    .addSerializer(new CartResponseSerializer())
+                    .addSerializer(new CartItemResponseSerializer()))
+            .build();
+
+    @Test
+    @DisplayName("Output should match reflective serialization byte for byte")
+    void testByteCompatible() {
+        assertSameBytes(cart(LocalDateTime.of(2024, 1, 1, 10, 0), null));
+        assertSameBytes(cart(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 120_000_000), "cursor-1"));
+        assertSameBytes(cart(LocalDateTime.of(2024, 6, 15, 8, 30, 1, 1), null));
+    }
+
+    @Test
+    @DisplayName("Escaping and numeric formats should match reflective serialization")
+    void testEscapingAndNumbers() {
+        final CartResponse response = cart(LocalDateTime.of(2024, 1, 1, 0, 0), "a\"b\\c");
+        response.setCartId("cart\né \u0001");
+        response.setTotalAmount(new BigDecimal("1E+3"));
+        response.setItems(List.of(CartItemResponse.builder()
+                .productId("p<1>&")
+                .name("Café \"Deluxe\" 😀")
+                .price(new BigDecimal("0.10"))
+                .quantity(Integer.MAX_VALUE)
+                .subtotal(new BigDecimal("-12.345"))
+                .build()));
+
+        assertSameBytes(response);
+    }
+
+    @Test
+    @DisplayName("Null fields should match reflective serialization")
+    void testNullFields() {
+        assertSameBytes(new CartResponse());
+        assertSameBytes(CartResponse.builder().items(List.of(new CartItemResponse())).build());
+    }
+
+    @Test
+    @DisplayName("Numeric timestamp configuration should fall back to the default serializer")
+    void testNumericTimestamps() {
+        final JsonMapper reflective = REFLECTIVE.rebuild()
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        final JsonMapper handWritten = HAND_WRITTEN.rebuild()
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        final CartResponse response = cart(LocalDateTime.of(2024, 1, 1, 10, 0, 5), null);
+
+        assertEquals(reflective.writeValueAsString(response), handWritten.writeValueAsString(response));
+    }
+
+    @Test
+    @DisplayName("Items should be stored immutably and returned without copying")
+    void testImmutableItems() {
+        final List<CartItemResponse> source = new ArrayList<>(List.of(new CartItemResponse()));
+        final CartResponse response = CartResponse.builder().items(source).build();
+        source.clear();
+
+        assertEquals(1, response.getItems().size());
+        assertSame(response.getItems(), response.getItems());
+        assertThrows(UnsupportedOperationException.class, () -> response.getItems().clear());
+    }
+
+    private static void assertSameBytes(final CartResponse response) {
+        // Serialize twice so the second pass goes through the timestamp cache
+        for (int i = 0; i < 2; i++) {
+            assertEquals(REFLECTIVE.writeValueAsString(response), HAND_WRITTEN.writeValueAsString(response));
+        }
+    }
+
+    private static CartResponse cart(final LocalDateTime updatedAt, final String nextCursor) {
+        return CartResponse.builder()
+                .cartId("cart-123")
+                .tenantId("tenant-123")
+                .userId("user-456")
+                .items(List.of(
+                        CartItemResponse.builder().productId("product-1").name("Product 1")
+                                .price(new BigDecimal("9.99")).quantity(2)
+                                .subtotal(new BigDecimal("19.98")).build(),
+                        CartItemResponse.builder().productId("product-2").name("Product 2")
+                                .price(new BigDecimal("5.00")).quantity(1)
+                                .subtotal(new BigDecimal("5.00")).build()))
+                .nextCursor(nextCursor)
+                .itemCount(3)
+                .totalAmount(new BigDecimal("24.98"))
+                .currency("USD")
+                .updatedAt(updatedAt)
+                .version(7L)
+                .build();
+    }
+}
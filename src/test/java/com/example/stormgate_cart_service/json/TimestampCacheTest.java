@@ -0,0 +1,40 @@
+package com.example.stormgate_cart_service.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test class for TimestampCache.
+ */
+@DisplayName("TimestampCache Tests")
+class TimestampCacheTest {
+
+    @Test
+    @DisplayName("Should format like ISO_LOCAL_DATE_TIME and reuse cached values")
+    void testFormatAndReuse() {
+        final TimestampCache cache = new TimestampCache(16);
+        final LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        assertEquals("2024-01-01T10:00:00", cache.format(timestamp).getValue());
+        assertEquals("2024-01-01T10:00:05.12",
+                cache.format(LocalDateTime.of(2024, 1, 1, 10, 0, 5, 120_000_000)).getValue());
+        assertSame(cache.format(timestamp), cache.format(LocalDateTime.of(2024, 1, 1, 10, 0)));
+    }
+
+    @Test
+    @DisplayName("Colliding timestamps should replace the slot")
+    void testCollisionReplacesSlot() {
+        final TimestampCache cache = new TimestampCache(1);
+        final LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        final LocalDateTime second = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+        final var formatted = cache.format(first);
+        assertEquals("2024-01-02T10:00:00", cache.format(second).getValue());
+        assertNotSame(formatted, cache.format(first));
+    }
+}
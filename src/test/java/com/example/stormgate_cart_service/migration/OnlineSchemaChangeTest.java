@@ -0,0 +1,146 @@
+package com.example.stormgate_cart_service.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for OnlineSchemaChange, run against an in-memory H2 database.
+ */
+@DisplayName("OnlineSchemaChange Tests")
+class OnlineSchemaChangeTest {
+
+    private static final int ROWS = 25;
+
+    private Connection connection;
+    private OnlineSchemaChange schema;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:online-schema-change;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        execute("CREATE TABLE items (id VARCHAR(36) PRIMARY KEY, quantity INT NOT NULL)");
+        for (int i = 0; i < ROWS; i++) {
+            execute("INSERT INTO items VALUES ('item-" + String.format("%03d", i) + "', " + i + ")");
+        }
+        schema = new OnlineSchemaChange(connection,
+                new MigrationSettings(10, Duration.ZERO, Duration.ofSeconds(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP ALL OBJECTS");
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should detect H2 dialect and apply lock timeout guard")
+    void testDialectAndLockTimeout() throws SQLException {
+        assertEquals(OnlineSchemaChange.Dialect.H2, schema.getDialect());
+        schema.guardLockTimeout();
+    }
+
+    @Test
+    @DisplayName("Should add columns and indexes idempotently")
+    void testIdempotentDdl() throws SQLException {
+        schema.addColumn("items", "price", "DECIMAL(10, 2)");
+        schema.addColumn("items", "price", "DECIMAL(10, 2)");
+        schema.createIndex("items", "idx_items_quantity", false, "quantity");
+        schema.createIndex("items", "idx_items_quantity", false, "quantity");
+
+        assertTrue(schema.columnExists("items", "price"));
+        assertTrue(schema.indexExists("items", "idx_items_quantity"));
+
+        schema.dropIndex("items", "idx_items_quantity");
+        schema.dropIndex("items", "idx_items_quantity");
+
+        assertFalse(schema.indexExists("items", "idx_items_quantity"));
+    }
+
+    @Test
+    @DisplayName("Should backfill only pending rows in batches")
+    void testBackfill() throws Exception {
+        schema.addColumn("items", "doubled", "INT");
+        execute("UPDATE items SET doubled = -1 WHERE id = 'item-000'");
+
+        final long updated = schema.backfill("items", "id", "doubled = quantity * 2", "doubled IS NULL");
+
+        assertEquals(ROWS - 1, updated);
+        assertEquals(0, count("SELECT COUNT(*) FROM items WHERE doubled IS NULL"));
+        assertEquals(-1, count("SELECT doubled FROM items WHERE id = 'item-000'"));
+        assertEquals(0, schema.backfill("items", "id", "doubled = quantity * 2", "doubled IS NULL"));
+    }
+
+    @Test
+    @DisplayName("Should backfill and swap a shadow column")
+    void testShadowColumn() throws Exception {
+        final long filled = schema.addShadowColumn("items", "id", "quantity_big", "BIGINT", "quantity");
+        schema.swapShadowColumn("items", "quantity", "quantity_big", "quantity_old");
+        schema.swapShadowColumn("items", "quantity", "quantity_big", "quantity_old");
+
+        assertEquals(ROWS, filled);
+        assertTrue(schema.columnExists("items", "quantity_old"));
+        assertFalse(schema.columnExists("items", "quantity_big"));
+        assertEquals(ROWS - 1, count("SELECT quantity FROM items WHERE id = 'item-024'"));
+    }
+
+    @Test
+    @DisplayName("Should copy rows in batches and resume without duplicates")
+    void testCopyRows() throws Exception {
+        execute("CREATE TABLE items_copy (id VARCHAR(36) PRIMARY KEY, quantity INT NOT NULL)");
+        execute("INSERT INTO items_copy VALUES ('item-005', 5)");
+
+        final long copied = schema.copyRows("items", "items_copy", "id", "id", "quantity");
+
+        assertEquals(ROWS - 1, copied);
+        assertEquals(ROWS, count("SELECT COUNT(*) FROM items_copy"));
+        assertEquals(0, schema.copyRows("items", "items_copy", "id", "id", "quantity"));
+    }
+
+    @Test
+    @DisplayName("Should reject unsafe identifiers")
+    void testRejectsUnsafeIdentifiers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> schema.addColumn("items; DROP TABLE items", "price", "INT"));
+    }
+
+    @Test
+    @DisplayName("Settings should fall back to defaults for missing placeholders")
+    void testSettingsFromPlaceholders() {
+        final MigrationSettings settings = MigrationSettings.fromPlaceholders(
+                Map.of(MigrationSettings.BATCH_SIZE, "250"));
+
+        assertEquals(250, settings.batchSize());
+        assertEquals(MigrationSettings.DEFAULTS.batchPause(), settings.batchPause());
+        assertEquals(MigrationSettings.DEFAULTS.lockTimeout(), settings.lockTimeout());
+        assertThrows(IllegalArgumentException.class,
+                () -> new MigrationSettings(0, Duration.ZERO, Duration.ZERO));
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long count(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
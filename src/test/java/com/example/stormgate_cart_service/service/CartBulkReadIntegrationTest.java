@@ -0,0 +1,85 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.BulkCartRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartUserRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for bulk cart reads against H2.
+ */
+@SpringBootTest(properties = "cart.bulk.chunk-size=2")
+@ActiveProfiles("test")
+@DisplayName("Cart Bulk Read Integration Tests")
+class CartBulkReadIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartBulkReader cartBulkReader;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+        cartService.addItemToCart(tenantId, "user-1", item("p1", 1));
+        cartService.addItemToCart(tenantId, "user-1", item("p2", 2));
+        cartService.addItemToCart(tenantId, "user-2", item("p3", 3));
+        cartService.addItemToCart(tenantId, "user-3", item("p4", 4));
+        cartService.removeItemFromCart(tenantId, "user-3", "p4");
+    }
+
+    @Test
+    @DisplayName("Bulk reads should match single reads and keep the requested order")
+    void testBulkMatchesSingleReads() {
+        String cartId = cartService.getCart(tenantId, "user-2").getCartId();
+        List<CartResponse> carts = new ArrayList<>();
+
+        cartBulkReader.read(BulkCartRequest.builder()
+                .users(List.of(ref("user-3"), ref("missing"), ref("user-1")))
+                .cartIds(List.of(cartId, "unknown-cart"))
+                .build(), carts::addAll);
+
+        assertEquals(List.of("user-3", "user-1", "user-2"),
+                carts.stream().map(CartResponse::getUserId).toList());
+        assertEquals(0, carts.get(0).getItems().size());
+        assertEquals(0, carts.get(0).getItemCount());
+        for (CartResponse cart : carts.subList(1, 3)) {
+            CartResponse single = cartService.getCart(tenantId, cart.getUserId());
+            assertEquals(single.getCartId(), cart.getCartId());
+            assertEquals(single.getItemCount(), cart.getItemCount());
+            assertEquals(single.getVersion(), cart.getVersion());
+            assertEquals(0, single.getTotalAmount().compareTo(cart.getTotalAmount()));
+            assertEquals(single.getItems().size(), cart.getItems().size());
+        }
+        assertEquals(List.of("p1", "p2"),
+                carts.get(1).getItems().stream().map(item -> item.getProductId()).toList());
+    }
+
+    private CartUserRef ref(final String userId) {
+        return new CartUserRef(tenantId, userId);
+    }
+
+    private static AddItemRequest item(final String productId, final int quantity) {
+        return AddItemRequest.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal("10.00"))
+                .quantity(quantity)
+                .build();
+    }
+}
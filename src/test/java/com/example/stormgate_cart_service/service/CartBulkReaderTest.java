@@ -0,0 +1,85 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartBulkProperties;
+import com.example.stormgate_cart_service.dto.BulkCartRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartUserRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartBulkReader.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartBulkReader Tests")
+class CartBulkReaderTest {
+
+    @Mock
+    private CartService cartService;
+
+    private CartBulkReader reader;
+
+    @BeforeEach
+    void setUp() {
+        CartBulkProperties properties = new CartBulkProperties();
+        properties.setMaxKeys(5);
+        properties.setChunkSize(2);
+        reader = new CartBulkReader(cartService, properties);
+    }
+
+    @Test
+    @DisplayName("Should read distinct keys in chunks and pass on non-empty chunks")
+    void testReadsInChunks() {
+        CartResponse first = CartResponse.builder().cartId("c1").build();
+        CartResponse second = CartResponse.builder().cartId("c2").build();
+        when(cartService.getCartsByUsers(List.of(user("u1"), user("u2")))).thenReturn(List.of(first));
+        when(cartService.getCartsByUsers(List.of(user("u3")))).thenReturn(List.of());
+        when(cartService.getCartsByIds(List.of("c2"))).thenReturn(List.of(second));
+        List<List<CartResponse>> chunks = new ArrayList<>();
+
+        reader.read(BulkCartRequest.builder()
+                .users(List.of(user("u1"), user("u2"), user("u1"), user("u3")))
+                .cartIds(List.of("c2"))
+                .build(), chunks::add);
+
+        assertEquals(List.of(List.of(first), List.of(second)), chunks);
+    }
+
+    @Test
+    @DisplayName("Should reject requests for more carts than allowed")
+    void testRejectsTooManyKeys() {
+        BulkCartRequest request = BulkCartRequest.builder()
+                .users(List.of(user("u1"), user("u2"), user("u3")))
+                .cartIds(List.of("c1", "c2", "c3"))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> reader.read(request, chunk -> { }));
+        verifyNoInteractions(cartService);
+    }
+
+    @Test
+    @DisplayName("Should not query for an empty request")
+    void testEmptyRequest() {
+        List<List<CartResponse>> chunks = new ArrayList<>();
+
+        reader.read(new BulkCartRequest(), chunks::add);
+
+        assertEquals(0, chunks.size());
+        verifyNoInteractions(cartService);
+    }
+
+    private static CartUserRef user(final String userId) {
+        return new CartUserRef("tenant-1", userId);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.concurrency.CircuitBreaker.State;
+import com.example.stormgate_cart_service.config.CartDegradedModeProperties;
+import com.example.stormgate_cart_service.exception.CartNotFoundException;
+import com.example.stormgate_cart_service.exception.ServiceDegradedException;
+import com.example.stormgate_cart_service.service.CartDegradedMode.CartRead;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartDegradedMode.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartDegradedMode Tests")
+class CartDegradedModeTest {
+
+    private static final String TENANT_ID = "tenant-1";
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private CartResponseCache cartResponseCache;
+
+    private CartDegradedModeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CartDegradedMode degradedMode;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartDegradedModeProperties();
+        properties.setLatencyBudget(Duration.ofMillis(200));
+        properties.setWindowSize(2);
+        properties.setMinimumCalls(1);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        degradedMode = new CartDegradedMode(cartResponseCache, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        degradedMode.shutdown();
+    }
+
+    @Test
+    @DisplayName("A database failure should be answered with the last known cart, marked stale")
+    void testStaleOnFailure() {
+        SerializedCart known = cart(1L);
+        assertSame(known, degradedMode.read(TENANT_ID, USER_ID, () -> known).cart());
+
+        CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        });
+
+        assertTrue(read.isStale());
+        assertSame(known, read.cart());
+        assertEquals(1.0, meterRegistry.get("cart.degraded.stale.served").tag("reason", "failure").counter().count());
+    }
+
+    @Test
+    @DisplayName("Off-heap snapshots should be served the same way")
+    void testOffHeapSnapshots() {
+        degradedMode.shutdown();
+        properties.getSnapshotOffHeap().setEnabled(true);
+        degradedMode = new CartDegradedMode(cartResponseCache, properties, meterRegistry);
+        degradedMode.read(TENANT_ID, USER_ID, () -> cart(4L));
+
+        CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        });
+
+        assertTrue(read.isStale());
+        assertEquals(4L, read.cart().version());
+        assertArrayEquals(cart(4L).identity(), read.cart().identity());
+    }
+
+    @Test
+    @DisplayName("A slow load should be answered with the snapshot and refresh it in the background")
+    void testStaleWhileRevalidate() throws Exception {
+        degradedMode.read(TENANT_ID, USER_ID, () -> cart(1L));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> {
+            await(release);
+            refreshed.countDown();
+            return cart(2L);
+        });
+
+        assertTrue(read.isStale());
+        assertEquals(1L, read.cart().version());
+        assertEquals(State.OPEN, degradedMode.circuitState());
+
+        release.countDown();
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+        CartRead whileOpen = awaitVersion(2L);
+        assertTrue(whileOpen.isStale());
+        assertEquals(1.0, meterRegistry.get("cart.degraded.stale.served").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("With the circuit open and no snapshot, reads and writes should be rejected with a retry delay")
+    void testOpenWithoutSnapshot() {
+        degradedMode.read(TENANT_ID, USER_ID, () -> cart(1L));
+        assertThrows(DataAccessResourceFailureException.class, () -> degradedMode.read(TENANT_ID, "user-2", () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        }));
+
+        ServiceDegradedException read = assertThrows(ServiceDegradedException.class,
+                () -> degradedMode.read(TENANT_ID, "user-2", () -> fail("The database should not be called")));
+        ServiceDegradedException write = assertThrows(ServiceDegradedException.class, degradedMode::checkWritable);
+
+        assertTrue(read.getRetryAfter().toSeconds() > 0);
+        assertTrue(write.getRetryAfter().toSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("cart.degraded.writes.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("A slow load without a snapshot should still be waited for")
+    void testSlowLoadWithoutSnapshot() {
+        CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> {
+            sleep(400);
+            return cart(3L);
+        });
+
+        assertFalse(read.isStale());
+        assertEquals(3L, read.cart().version());
+    }
+
+    @Test
+    @DisplayName("Request errors should propagate without opening the circuit")
+    void testRequestErrors() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CartNotFoundException.class, () -> degradedMode.read(TENANT_ID, USER_ID, () -> {
+                throw new CartNotFoundException("Cart not found");
+            }));
+        }
+
+        assertEquals(State.CLOSED, degradedMode.circuitState());
+        degradedMode.checkWritable();
+    }
+
+    @Test
+    @DisplayName("A cached response should be served without loading")
+    void testCachedResponse() {
+        SerializedCart cached = cart(5L);
+        when(cartResponseCache.getIfPresent(TENANT_ID, USER_ID)).thenReturn(cached);
+
+        CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> fail("The cached response should be used"));
+
+        assertSame(cached, read.cart());
+        assertFalse(read.isStale());
+    }
+
+    /**
+     * Reads the cart until the snapshot of the given version is served.
+     *
+     * @param version the expected snapshot version
+     * @return the read serving that version
+     */
+    private CartRead awaitVersion(final long version) throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        for (int attempt = 0; attempt < 100; attempt++) {
+            CartRead read = degradedMode.read(TENANT_ID, USER_ID, () -> {
+                loads.incrementAndGet();
+                return cart(99L);
+            });
+            if (read.cart().version() == version) {
+                assertEquals(0, loads.get());
+                return read;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Snapshot was not refreshed to version " + version);
+    }
+
+    private static SerializedCart cart(final long version) {
+        return new SerializedCart(new byte[] {'{', '}'}, null, version);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
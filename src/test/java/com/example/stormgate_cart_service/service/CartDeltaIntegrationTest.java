@@ -0,0 +1,76 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartDeltaResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Integration tests for delta responses of cart mutations against H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Delta Integration Tests")
+class CartDeltaIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartService cartService;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+        cartService.addItemToCart(tenantId, USER_ID, item("p1", 2));
+    }
+
+    @Test
+    @DisplayName("Deltas should carry the committed aggregates and version")
+    void testDeltaMatchesCommittedCart() {
+        CartDeltaResponse added = cartService.addItemToCartDelta(tenantId, USER_ID, item("p2", 3));
+        CartResponse cart = cartService.getCart(tenantId, USER_ID);
+
+        assertEquals("p2", added.getProductId());
+        assertEquals(3, added.getItem().getQuantity());
+        assertEquals(cart.getItemCount(), added.getItemCount());
+        assertEquals(2, added.getLineCount());
+        assertEquals(0, cart.getTotalAmount().compareTo(added.getTotalAmount()));
+        assertEquals(cart.getVersion(), added.getVersion());
+    }
+
+    @Test
+    @DisplayName("Successive deltas should advance the version")
+    void testVersionsAdvance() {
+        CartDeltaResponse updated = cartService.updateItemQuantityDelta(tenantId, USER_ID, "p1",
+                UpdateQuantityRequest.builder().quantity(5).build());
+        CartDeltaResponse removed = cartService.removeItemFromCartDelta(tenantId, USER_ID, "p1");
+
+        assertEquals(5, updated.getItemCount());
+        assertEquals(updated.getVersion() + 1, removed.getVersion());
+        assertNull(removed.getItem());
+        assertEquals(0, removed.getLineCount());
+        assertEquals(cartService.getCartSummary(tenantId, USER_ID).getVersion(), removed.getVersion());
+    }
+
+    private static AddItemRequest item(final String productId, final int quantity) {
+        return AddItemRequest.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal("10.00"))
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartStorageProperties;
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartItemPageResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Integration tests for the document storage mode against H2.
+ */
+@SpringBootTest(properties = "cart.storage.tenants.documents=DOCUMENT")
+@ActiveProfiles("test")
+@DisplayName("Cart Document Storage Integration Tests")
+class CartDocumentStorageIntegrationTest {
+
+    private static final String DOCUMENT_TENANT = "documents";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartStorageProperties storageProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = "user-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageProperties.setTenants(Map.of(DOCUMENT_TENANT, CartStorageProperties.Mode.DOCUMENT));
+        storageProperties.setProjectItems(true);
+    }
+
+    @Test
+    @DisplayName("Document carts should be read from the document and project their rows")
+    void testDocumentCart() {
+        addItem(DOCUMENT_TENANT, "p1", "10.00", 2);
+        addItem(DOCUMENT_TENANT, "p2", "2.50", 1);
+        addItem(DOCUMENT_TENANT, "p1", "10.00", 1);
+        addItem(DOCUMENT_TENANT, "p3", "1.00", 1);
+        cartService.updateItemQuantity(DOCUMENT_TENANT, userId, "p2",
+                UpdateQuantityRequest.builder().quantity(4).build());
+        cartService.removeItemFromCart(DOCUMENT_TENANT, userId, "p3");
+
+        CartResponse cart = cartService.getCart(DOCUMENT_TENANT, userId);
+
+        assertEquals(List.of("p1:3", "p2:4"), lines(cart));
+        assertEquals(7, cart.getItemCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(cart.getTotalAmount()));
+        assertNotNull(document(DOCUMENT_TENANT));
+        assertEquals(List.of("p1:3", "p2:4"), rows(DOCUMENT_TENANT));
+    }
+
+    @Test
+    @DisplayName("Item pages of a document cart should follow the keyset order")
+    void testPaging() {
+        addItem(DOCUMENT_TENANT, "p1", "4.00", 1, "delta");
+        addItem(DOCUMENT_TENANT, "p2", "2.00", 1, "alpha");
+        addItem(DOCUMENT_TENANT, "p3", "2.00", 1, "echo");
+        addItem(DOCUMENT_TENANT, "p4", "9.00", 1, "charlie");
+        addItem(DOCUMENT_TENANT, "p5", "1.00", 1, "bravo");
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            CartItemPageResponse page = cartService.getCartItems(DOCUMENT_TENANT, userId, cursor, 2, ItemSort.NAME);
+            page.getItems().forEach(item -> names.add(item.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("alpha", "bravo", "charlie", "delta", "echo"), names);
+        assertEquals(2, cartService.getCart(DOCUMENT_TENANT, userId, 2, ItemSort.PRICE).getItems().size());
+    }
+
+    @Test
+    @DisplayName("Switching a tenant between modes should carry the lines over")
+    void testSwitchModes() {
+        String tenantId = "tenant-" + UUID.randomUUID();
+        addItem(tenantId, "p1", "10.00", 1);
+        addItem(tenantId, "p2", "5.00", 1);
+
+        storageProperties.setTenants(Map.of(tenantId, CartStorageProperties.Mode.DOCUMENT));
+        storageProperties.setProjectItems(false);
+        addItem(tenantId, "p3", "1.00", 2);
+        cartService.removeItemFromCart(tenantId, userId, "p1");
+
+        assertEquals(List.of("p2:1", "p3:2"), lines(cartService.getCart(tenantId, userId)));
+        assertNotNull(document(tenantId));
+
+        storageProperties.setTenants(Map.of());
+        cartService.updateItemQuantity(tenantId, userId, "p2", UpdateQuantityRequest.builder().quantity(3).build());
+
+        assertNull(document(tenantId));
+        assertEquals(List.of("p2:3", "p3:2"), rows(tenantId));
+        assertEquals(List.of("p2:3", "p3:2"), lines(cartService.getCart(tenantId, userId)));
+    }
+
+    @Test
+    @DisplayName("Merging into a document cart should store the merged lines as its document")
+    void testMerge() {
+        String guest = "guest-" + UUID.randomUUID();
+        addItem(DOCUMENT_TENANT, "p1", "10.00", 2);
+        cartService.addItemToCart(DOCUMENT_TENANT, guest, AddItemRequest.builder()
+                .productId("p1").name("Product p1").price(new BigDecimal("10.00")).quantity(1).build());
+        cartService.addItemToCart(DOCUMENT_TENANT, guest, AddItemRequest.builder()
+                .productId("p2").name("Product p2").price(new BigDecimal("3.00")).quantity(1).build());
+
+        CartResponse merged = cartService.mergeCarts(DOCUMENT_TENANT, userId,
+                MergeCartRequest.builder().sourceUserId(guest).build());
+
+        assertEquals(List.of("p1:3", "p2:1"), lines(merged));
+        assertNotNull(document(DOCUMENT_TENANT));
+        assertEquals(List.of("p1:3", "p2:1"), lines(cartService.getCart(DOCUMENT_TENANT, userId)));
+    }
+
+    private void addItem(final String tenantId, final String productId, final String price, final int quantity) {
+        addItem(tenantId, productId, price, quantity, "Product " + productId);
+    }
+
+    private void addItem(final String tenantId,
+                         final String productId,
+                         final String price,
+                         final int quantity,
+                         final String name) {
+        cartService.addItemToCart(tenantId, userId, AddItemRequest.builder()
+                .productId(productId)
+                .name(name)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build());
+    }
+
+    private static List<String> lines(final CartResponse cart) {
+        return cart.getItems().stream()
+                .map(item -> item.getProductId() + ":" + item.getQuantity())
+                .sorted()
+                .toList();
+    }
+
+    private String document(final String tenantId) {
+        return jdbcTemplate.queryForObject("SELECT lines_document FROM carts WHERE tenant_id = ? AND user_id = ?",
+                String.class, tenantId, userId);
+    }
+
+    private List<String> rows(final String tenantId) {
+        return jdbcTemplate.queryForList("SELECT ci.product_id, ci.quantity FROM cart_items ci "
+                        + "JOIN carts c ON c.cart_id = ci.cart_id "
+                        + "WHERE c.tenant_id = ? AND c.user_id = ? AND ci.is_deleted = FALSE "
+                        + "ORDER BY ci.product_id", tenantId, userId).stream()
+                .map(row -> row.get("product_id") + ":" + row.get("quantity"))
+                .toList();
+    }
+}
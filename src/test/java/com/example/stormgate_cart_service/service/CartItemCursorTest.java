@@ -0,0 +1,53 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.ItemSort;
+import com.example.stormgate_cart_service.entity.CartItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for CartItemCursor.
+ */
+@DisplayName("CartItemCursor Tests")
+class CartItemCursorTest {
+
+    private final CartItem item = CartItem.builder()
+            .itemId("item-1")
+            .name("Name\nwith separator")
+            .price(new BigDecimal("12.50"))
+            .createdAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000))
+            .build();
+
+    @Test
+    @DisplayName("Cursor should round-trip for every ordering")
+    void testRoundTrip() {
+        for (ItemSort sort : ItemSort.values()) {
+            CartItemCursor cursor = CartItemCursor.after(sort, item);
+
+            CartItemCursor decoded = CartItemCursor.decode(cursor.encode(), sort);
+
+            assertEquals(cursor, decoded);
+        }
+    }
+
+    @Test
+    @DisplayName("Cursor should be rejected for another ordering")
+    void testSortMismatch() {
+        String token = CartItemCursor.after(ItemSort.PRICE, item).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> CartItemCursor.decode(token, ItemSort.NAME));
+    }
+
+    @Test
+    @DisplayName("Malformed cursor should be rejected")
+    void testMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> CartItemCursor.decode("%%%", ItemSort.CREATED));
+        assertThrows(IllegalArgumentException.class, () -> CartItemCursor.decode("UFJJQ0UKaXRlbQpub3QtYS1udW1iZXI",
+                ItemSort.PRICE));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartItemPageResponse;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Integration tests for keyset-paginated cart item listings against H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Item Pagination Integration Tests")
+class CartItemPaginationIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartService cartService;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+        addItem("p1", "delta", "4.00");
+        addItem("p2", "alpha", "2.00");
+        addItem("p3", "echo", "2.00");
+        addItem("p4", "charlie", "9.00");
+        addItem("p5", "bravo", "1.00");
+    }
+
+    @Test
+    @DisplayName("Pages by name should cover every item once in order")
+    void testPageByName() {
+        assertEquals(List.of("alpha", "bravo", "charlie", "delta", "echo"),
+                readAll(ItemSort.NAME).stream().map(CartItemResponse::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Pages by price should break ties on item id")
+    void testPageByPrice() {
+        List<CartItemResponse> items = readAll(ItemSort.PRICE);
+
+        assertEquals(5, items.size());
+        assertEquals("p5", items.get(0).getProductId());
+        assertEquals("p4", items.get(4).getProductId());
+    }
+
+    @Test
+    @DisplayName("Pages by creation should cover every item once")
+    void testPageByCreation() {
+        assertEquals(5, readAll(ItemSort.CREATED).stream()
+                .map(CartItemResponse::getProductId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Get cart with a limit should return the first page and a cursor")
+    void testGetCartFirstPage() {
+        CartResponse cart = cartService.getCart(tenantId, USER_ID, 2, ItemSort.NAME);
+
+        assertEquals(2, cart.getItems().size());
+        assertEquals(5, cart.getItemCount());
+        assertNotNull(cart.getNextCursor());
+
+        CartItemPageResponse next = cartService.getCartItems(
+                tenantId, USER_ID, cart.getNextCursor(), 10, ItemSort.NAME);
+        assertEquals("charlie", next.getItems().get(0).getName());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Get cart without a limit should return every item")
+    void testGetCartWithoutLimit() {
+        CartResponse cart = cartService.getCart(tenantId, USER_ID, null, ItemSort.CREATED);
+
+        assertEquals(5, cart.getItems().size());
+        assertNull(cart.getNextCursor());
+    }
+
+    private List<CartItemResponse> readAll(final ItemSort sort) {
+        List<CartItemResponse> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            CartItemPageResponse page = cartService.getCartItems(tenantId, USER_ID, cursor, 2, sort);
+            items.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return items;
+    }
+
+    private void addItem(final String productId, final String name, final String price) {
+        cartService.addItemToCart(tenantId, USER_ID, AddItemRequest.builder()
+                .productId(productId)
+                .name(name)
+                .price(new BigDecimal(price))
+                .quantity(1)
+                .build());
+    }
+}
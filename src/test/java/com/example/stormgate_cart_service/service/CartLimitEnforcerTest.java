@@ -0,0 +1,75 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartLimitsProperties;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.exception.CartLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for CartLimitEnforcer.
+ */
+@DisplayName("CartLimitEnforcer Tests")
+class CartLimitEnforcerTest {
+
+    private static final String TENANT_ID = "tenant-123";
+
+    private CartLimitEnforcer enforcer;
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        CartLimitsProperties.Limits override = new CartLimitsProperties.Limits();
+        override.setMaxLines(2);
+
+        CartLimitsProperties properties = new CartLimitsProperties();
+        properties.setTenants(Map.of(TENANT_ID, override));
+        enforcer = new CartLimitEnforcer(properties);
+
+        cart = Cart.builder()
+                .lineCount(2)
+                .totalQuantity(4)
+                .totalAmount(new BigDecimal("40.00"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Tenant override should fall back to defaults for unset limits")
+    void testTenantOverrideFallsBackToDefaults() {
+        assertEquals(1000, enforcer.maxLineQuantity(TENANT_ID));
+        assertThrows(CartLimitExceededException.class, () ->
+                enforcer.checkChange(TENANT_ID, cart, 1, 1, BigDecimal.ONE));
+        assertDoesNotThrow(() ->
+                enforcer.checkChange("other-tenant", cart, 1, 1, BigDecimal.ONE));
+    }
+
+    @Test
+    @DisplayName("Changes to existing lines should not count against the line limit")
+    void testExistingLineChange() {
+        assertDoesNotThrow(() -> enforcer.checkChange(TENANT_ID, cart, 0, 10, BigDecimal.TEN));
+    }
+
+    @Test
+    @DisplayName("Line quantity and total value limits should be enforced")
+    void testQuantityAndTotalLimits() {
+        assertThrows(CartLimitExceededException.class, () ->
+                enforcer.checkChange(TENANT_ID, cart, 0, 1001, BigDecimal.ONE));
+        assertThrows(CartLimitExceededException.class, () ->
+                enforcer.checkChange(TENANT_ID, cart, 0, 1, new BigDecimal("99960.01")));
+    }
+
+    @Test
+    @DisplayName("Whole cart check should use persisted aggregates")
+    void testCheckCart() {
+        assertDoesNotThrow(() -> enforcer.checkCart(TENANT_ID, cart));
+        cart.setLineCount(3);
+        assertThrows(CartLimitExceededException.class, () -> enforcer.checkCart(TENANT_ID, cart));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartLoadSheddingProperties;
+import com.example.stormgate_cart_service.config.CartLoadSheddingProperties.Priority;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CartLoadShedder.
+ */
+@DisplayName("CartLoadShedder Tests")
+class CartLoadShedderTest {
+
+    private CartLoadSheddingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartLoadSheddingProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(1);
+        properties.setReservedShare(0.2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Writes should be shed first when reads are prioritized")
+    void testReadPriority() {
+        properties.setPriority(Priority.READ);
+        CartLoadShedder shedder = new CartLoadShedder(properties, meterRegistry);
+
+        for (int i = 0; i < 8; i++) {
+            shedder.acquire(false);
+        }
+
+        assertThrows(CapacityExceededException.class, () -> shedder.acquire(false));
+        shedder.acquire(true);
+        shedder.acquire(true);
+        assertThrows(CapacityExceededException.class, () -> shedder.acquire(true));
+        assertEquals(1.0, meterRegistry.get("cart.concurrency.shed").tag("class", "write").counter().count());
+        assertEquals(1.0, meterRegistry.get("cart.concurrency.shed").tag("class", "read").counter().count());
+        assertEquals(10.0, meterRegistry.get("cart.concurrency.in.flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Reads should be shed first when writes are prioritized")
+    void testWritePriority() {
+        properties.setPriority(Priority.WRITE);
+        CartLoadShedder shedder = new CartLoadShedder(properties, meterRegistry);
+
+        for (int i = 0; i < 8; i++) {
+            shedder.acquire(true);
+        }
+
+        assertThrows(CapacityExceededException.class, () -> shedder.acquire(true));
+        shedder.acquire(false);
+    }
+
+    @Test
+    @DisplayName("Released requests should free their permit and expose the limit")
+    void testRelease() {
+        properties.setPriority(Priority.NONE);
+        CartLoadShedder shedder = new CartLoadShedder(properties, meterRegistry);
+        long admittedAt = 0;
+        for (int i = 0; i < 10; i++) {
+            admittedAt = shedder.acquire(i % 2 == 0).getAsLong();
+        }
+
+        shedder.release(admittedAt);
+
+        shedder.acquire(false);
+        assertEquals(10, shedder.currentLimit());
+        assertEquals(10.0, meterRegistry.get("cart.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Requests admitted at a negative nanoTime should still free their permit")
+    void testNegativeAdmissionTime() {
+        properties.setPriority(Priority.NONE);
+        CartLoadShedder shedder = new CartLoadShedder(properties, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            shedder.acquire(false);
+        }
+        assertThrows(CapacityExceededException.class, () -> shedder.acquire(false));
+
+        shedder.release(-42L);
+
+        assertTrue(shedder.acquire(false).isPresent());
+    }
+
+    @Test
+    @DisplayName("Nothing should be shed when shedding is disabled")
+    void testDisabled() {
+        properties.setEnabled(false);
+        CartLoadShedder shedder = new CartLoadShedder(properties, meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(shedder.acquire(false).isEmpty());
+        }
+        assertEquals(0.0, meterRegistry.get("cart.concurrency.in.flight").gauge().value());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.dto.MergePolicy;
+import com.example.stormgate_cart_service.entity.Cart;
+import com.example.stormgate_cart_service.exception.CartNotFoundException;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for cart merge, running the set-based merge SQL against H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Merge Integration Tests")
+class CartMergeIntegrationTest {
+
+    private static final String GUEST_ID = "guest-1";
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+        addItem(GUEST_ID, "shared", "10.00", 2);
+        addItem(GUEST_ID, "guest-only", "5.00", 1);
+        addItem(USER_ID, "shared", "10.00", 3);
+        addItem(USER_ID, "user-only", "1.50", 2);
+    }
+
+    @Test
+    @DisplayName("SUM policy should add quantities and move new lines")
+    void testMergeSum() {
+        CartResponse merged = merge(MergePolicy.SUM);
+
+        Map<String, Integer> quantities = quantities(merged);
+        assertEquals(5, quantities.get("shared"));
+        assertEquals(1, quantities.get("guest-only"));
+        assertEquals(2, quantities.get("user-only"));
+        assertEquals(0, new BigDecimal("58.00").compareTo(merged.getTotalAmount()));
+        assertEquals(8, merged.getItemCount());
+
+        Cart target = cartRepository.findById(merged.getCartId()).orElseThrow();
+        assertEquals(3, target.getLineCount());
+        assertEquals(8, target.getTotalQuantity());
+    }
+
+    @Test
+    @DisplayName("MAX policy should keep the larger quantity")
+    void testMergeMax() {
+        CartResponse merged = merge(MergePolicy.MAX);
+
+        assertEquals(3, quantities(merged).get("shared"));
+        assertEquals(0, new BigDecimal("38.00").compareTo(merged.getTotalAmount()));
+    }
+
+    @Test
+    @DisplayName("KEEP_TARGET policy should keep target quantity")
+    void testMergeKeepTarget() {
+        CartResponse merged = merge(MergePolicy.KEEP_TARGET);
+
+        Map<String, Integer> quantities = quantities(merged);
+        assertEquals(3, quantities.get("shared"));
+        assertEquals(1, quantities.get("guest-only"));
+    }
+
+    @Test
+    @DisplayName("Merge should tombstone source cart and be safe to retry")
+    void testMergeTombstonesSource() {
+        CartResponse merged = merge(MergePolicy.SUM);
+
+        assertThrows(CartNotFoundException.class, () -> cartService.getCart(tenantId, GUEST_ID));
+        assertEquals(quantities(merged), quantities(merge(MergePolicy.SUM)));
+
+        CartResponse revived = addItem(GUEST_ID, "shared", "10.00", 1);
+        assertEquals(1, revived.getItemCount());
+    }
+
+    @Test
+    @DisplayName("Merge should create target cart when user has none")
+    void testMergeIntoNewCart() {
+        MergeCartRequest request = MergeCartRequest.builder().sourceUserId(GUEST_ID).build();
+
+        CartResponse merged = cartService.mergeCarts(tenantId, "new-user", request);
+
+        assertEquals("new-user", merged.getUserId());
+        assertEquals(3, merged.getItemCount());
+    }
+
+    private CartResponse merge(final MergePolicy policy) {
+        MergeCartRequest request = MergeCartRequest.builder()
+                .sourceUserId(GUEST_ID)
+                .policy(policy)
+                .build();
+        return cartService.mergeCarts(tenantId, USER_ID, request);
+    }
+
+    private CartResponse addItem(final String userId, final String productId,
+                                 final String price, final int quantity) {
+        return cartService.addItemToCart(tenantId, userId, AddItemRequest.builder()
+                .productId(productId)
+                .name(productId)
+                .price(new BigDecimal(price))
+                .quantity(quantity)
+                .build());
+    }
+
+    private static Map<String, Integer> quantities(final CartResponse cart) {
+        return cart.getItems().stream()
+                .collect(Collectors.toMap(CartItemResponse::getProductId, CartItemResponse::getQuantity));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartRateLimitProperties;
+import com.example.stormgate_cart_service.config.CartRateLimitProperties.Quota;
+import com.example.stormgate_cart_service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CartRateLimiter.
+ */
+@DisplayName("CartRateLimiter Tests")
+class CartRateLimiterTest {
+
+    private static final String TENANT_ID = "tenant-123";
+
+    private CartRateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CartRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartRateLimitProperties();
+        properties.setDefaults(new Quota(0.001, 3, 0.001, 2));
+        properties.setTenants(Map.of("big-tenant", new Quota(null, 5, null, null)));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new CartRateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("A user should be throttled at the user quota with a retry delay")
+    void testUserQuota() {
+        limiter.acquire(TENANT_ID, "user-1");
+        limiter.acquire(TENANT_ID, "user-1");
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire(TENANT_ID, "user-1"));
+
+        assertEquals("Rate limit exceeded for user: user-1", exception.getMessage());
+        assertTrue(exception.getRetryAfter().toSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("cart.rate.limit.throttled").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    @DisplayName("The tenant quota should be shared by all of its users")
+    void testTenantQuota() {
+        limiter.acquire(TENANT_ID, "user-1");
+        limiter.acquire(TENANT_ID, "user-2");
+        limiter.acquire(TENANT_ID, "user-3");
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(TENANT_ID, "user-4"));
+        assertDoesNotThrow(() -> limiter.acquire("other-tenant", "user-4"));
+        assertEquals(1.0, meterRegistry.get("cart.rate.limit.throttled").tag("scope", "tenant").counter().count());
+    }
+
+    @Test
+    @DisplayName("Requests rejected by the tenant quota should not use up the user quota")
+    void testTenantRejectionRefundsUser() {
+        limiter.acquire(TENANT_ID, "user-1");
+        limiter.acquire(TENANT_ID, "user-2");
+        limiter.acquire(TENANT_ID, "user-3");
+
+        for (int i = 0; i < 3; i++) {
+            RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                    () -> limiter.acquire(TENANT_ID, "user-4"));
+            assertEquals("Rate limit exceeded for tenant: " + TENANT_ID, exception.getMessage());
+        }
+        limiter.override(TENANT_ID, new Quota(null, 100, null, null));
+
+        assertDoesNotThrow(() -> limiter.acquire(TENANT_ID, "user-4"));
+        assertDoesNotThrow(() -> limiter.acquire(TENANT_ID, "user-4"));
+    }
+
+    @Test
+    @DisplayName("Configured tenant overrides should fall back to the defaults for unset values")
+    void testConfiguredOverride() {
+        Quota quota = limiter.quota("big-tenant");
+
+        assertEquals(5, quota.getTenantBurst());
+        assertEquals(2, quota.getUserBurst());
+    }
+
+    @Test
+    @DisplayName("Runtime overrides should apply to existing buckets until cleared")
+    void testRuntimeOverride() {
+        limiter.acquire(TENANT_ID, "user-1");
+        limiter.acquire(TENANT_ID, "user-1");
+
+        limiter.override(TENANT_ID, new Quota(null, null, null, 4));
+        limiter.acquire(TENANT_ID, "user-1");
+
+        assertEquals(Map.of(TENANT_ID, new Quota(null, null, null, 4)), limiter.overrides());
+        limiter.clearOverride(TENANT_ID);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(TENANT_ID, "user-1"));
+        assertEquals(2, limiter.quota(TENANT_ID).getUserBurst());
+    }
+
+    @Test
+    @DisplayName("Invalid runtime overrides should be rejected")
+    void testInvalidOverride() {
+        assertThrows(IllegalArgumentException.class,
+                () -> limiter.override(TENANT_ID, new Quota(-1.0, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> limiter.override(TENANT_ID, new Quota(null, null, null, 0)));
+        assertTrue(limiter.overrides().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Requests should not be limited when rate limiting is disabled")
+    void testDisabled() {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(TENANT_ID, "user-1");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartCoalescingProperties;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.ItemSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartReadCoalescer.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartReadCoalescer Tests")
+class CartReadCoalescerTest {
+
+    private static final String TENANT_ID = "tenant-123";
+    private static final String USER_ID = "user-456";
+
+    @Mock
+    private CartService cartService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CartCoalescingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CartCoalescingProperties();
+    }
+
+    @Test
+    @DisplayName("Reads should delegate to the service and record metrics")
+    void testReadRecordsMetrics() {
+        CartResponse response = CartResponse.builder().cartId("cart-123").build();
+        when(cartService.getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED)).thenReturn(response);
+        CartReadCoalescer coalescer = new CartReadCoalescer(cartService, properties, meterRegistry);
+
+        assertSame(response, coalescer.getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED));
+        assertSame(response, coalescer.getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED));
+
+        assertEquals(2.0, meterRegistry.get("cart.read.coalescing").tag("outcome", "loaded")
+                .functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("cart.read.coalescing.ratio").gauge().value());
+        assertNotNull(meterRegistry.get("cart.read.coalescing.in.flight").gauge());
+        verify(cartService, times(2)).getCart(TENANT_ID, USER_ID, null, ItemSort.CREATED);
+    }
+
+    @Test
+    @DisplayName("Disabled coalescing should read directly")
+    void testDisabled() {
+        properties.setEnabled(false);
+        CartReadCoalescer coalescer = new CartReadCoalescer(cartService, properties, meterRegistry);
+
+        coalescer.getCart(TENANT_ID, USER_ID, 10, ItemSort.NAME);
+
+        verify(cartService).getCart(TENANT_ID, USER_ID, 10, ItemSort.NAME);
+        assertEquals(0.0, meterRegistry.get("cart.read.coalescing").tag("outcome", "loaded")
+                .functionCounter().count());
+    }
+}
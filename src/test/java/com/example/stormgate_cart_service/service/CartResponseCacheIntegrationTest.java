@@ -0,0 +1,101 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.exception.CartNotFoundException;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for invalidation of the serialized response cache on committed changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cart Response Cache Integration Tests")
+class CartResponseCacheIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartResponseCache cartResponseCache;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private String tenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "tenant-" + UUID.randomUUID();
+        addItem(USER_ID, "p1", 1);
+    }
+
+    @Test
+    @DisplayName("Unchanged carts should be served from the cache")
+    void testUnchangedCartHits() {
+        SerializedCart first = read(USER_ID);
+
+        assertSame(first, read(USER_ID));
+        assertEquals(1, parse(first).getItemCount());
+    }
+
+    @Test
+    @DisplayName("Committed mutations should be visible on the next read")
+    void testMutationInvalidates() {
+        SerializedCart before = read(USER_ID);
+
+        addItem(USER_ID, "p2", 3);
+        CartResponse after = parse(read(USER_ID));
+
+        assertEquals(4, after.getItemCount());
+        assertEquals(before.version() + 1, after.getVersion());
+        cartService.clearCart(tenantId, USER_ID);
+        assertEquals(0, parse(read(USER_ID)).getItemCount());
+    }
+
+    @Test
+    @DisplayName("Merging should invalidate both the source and the target cart")
+    void testMergeInvalidatesBothCarts() {
+        addItem("guest-1", "p2", 2);
+        read(USER_ID);
+        read("guest-1");
+
+        cartService.mergeCarts(tenantId, USER_ID, MergeCartRequest.builder().sourceUserId("guest-1").build());
+
+        assertEquals(3, parse(read(USER_ID)).getItemCount());
+        assertThrows(CartNotFoundException.class, () -> read("guest-1"));
+    }
+
+    private SerializedCart read(final String userId) {
+        return cartResponseCache.get(tenantId, userId, () -> cartService.getCart(tenantId, userId));
+    }
+
+    private CartResponse parse(final SerializedCart cart) {
+        return jsonMapper.readValue(cart.identity(), CartResponse.class);
+    }
+
+    private void addItem(final String userId, final String productId, final int quantity) {
+        cartService.addItemToCart(tenantId, userId, AddItemRequest.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal("10.00"))
+                .quantity(quantity)
+                .build());
+    }
+}
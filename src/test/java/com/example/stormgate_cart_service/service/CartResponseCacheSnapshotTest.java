@@ -0,0 +1,193 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartResponseCacheProperties;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.repository.CartRepository;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CartResponseCacheSnapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartResponseCacheSnapshot Tests")
+class CartResponseCacheSnapshotTest {
+
+    private static final String TENANT_ID = "tenant-1";
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private CartResponseCacheProperties properties;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartResponseCacheProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(directory.resolve("carts.snapshot").toString());
+        properties.getSnapshot().setInterval(Duration.ofHours(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("A restored cart should be served without loading when its version is current")
+    void testRestoresCurrentCart() {
+        SerializedCart saved = saveCart(USER_ID, 3L, 20);
+        when(cartRepository.findVersionByTenantIdAndUserId(TENANT_ID, USER_ID)).thenReturn(Optional.of(3L));
+
+        CartResponseCache cache = newCache();
+        CartResponseCacheSnapshot snapshot = newSnapshot(cache);
+        assertEquals(1, snapshot.pendingCount());
+
+        SerializedCart restored = cache.get(TENANT_ID, USER_ID, () -> load(USER_ID, 3L, 20));
+        SerializedCart again = cache.get(TENANT_ID, USER_ID, () -> load(USER_ID, 3L, 20));
+
+        assertEquals(0, loads.get());
+        assertArrayEquals(saved.identity(), restored.identity());
+        assertArrayEquals(saved.gzip(), restored.gzip());
+        assertArrayEquals(saved.identity(), again.identity());
+        assertEquals(0, snapshot.pendingCount());
+    }
+
+    @Test
+    @DisplayName("A restored cart changed while the node was down should be loaded again")
+    void testOutdatedCartLoaded() {
+        saveCart(USER_ID, 3L, 1);
+        when(cartRepository.findVersionByTenantIdAndUserId(TENANT_ID, USER_ID)).thenReturn(Optional.of(4L));
+
+        CartResponseCache cache = newCache();
+        newSnapshot(cache);
+        SerializedCart cart = cache.get(TENANT_ID, USER_ID, () -> load(USER_ID, 4L, 2));
+
+        assertEquals(1, loads.get());
+        assertEquals(4L, cart.version());
+    }
+
+    @Test
+    @DisplayName("A change seen by the node should drop the restored cart")
+    void testChangeDiscardsRestoredCart() {
+        saveCart(USER_ID, 3L, 1);
+
+        CartResponseCache cache = newCache();
+        CartResponseCacheSnapshot snapshot = newSnapshot(cache);
+        cache.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-1", 4L));
+        cache.get(TENANT_ID, USER_ID, () -> load(USER_ID, 4L, 2));
+
+        assertEquals(1, loads.get());
+        assertEquals(0, snapshot.pendingCount());
+        verify(cartRepository, never()).findVersionByTenantIdAndUserId(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Carts spread over several regions should all be restored, pending ones saved again")
+    void testRegions() {
+        properties.getSnapshot().setRegionSize(DataSize.ofKilobytes(4));
+        CartResponseCache first = newCache();
+        for (int user = 0; user < 30; user++) {
+            final int current = user;
+            first.get(TENANT_ID, "user-" + user, () -> load("user-" + current, 1L, 5));
+        }
+        first.get(TENANT_ID, "too-large", () -> load("too-large", 1L, 200));
+        CartResponseCacheSnapshot saver = newSnapshot(first);
+        assertEquals(30, saver.save());
+        assertTrue(Files.exists(Path.of(properties.getSnapshot().getPath())));
+
+        CartResponseCacheSnapshot restored = newSnapshot(newCache());
+        assertEquals(30, restored.pendingCount());
+        assertEquals(30, restored.save());
+
+        when(cartRepository.findVersionByTenantIdAndUserId(TENANT_ID, "user-29")).thenReturn(Optional.of(1L));
+        CartResponseCache cache = newCache();
+        newSnapshot(cache);
+        cache.get(TENANT_ID, "user-29", () -> load("user-29", 1L, 5));
+        assertEquals(31, loads.get());
+    }
+
+    @Test
+    @DisplayName("Old or unreadable snapshots should leave the cache cold")
+    void testIgnoresOldAndCorruptSnapshots() throws IOException, InterruptedException {
+        saveCart(USER_ID, 3L, 1);
+        Thread.sleep(5);
+        properties.getSnapshot().setMaxAge(Duration.ZERO);
+        assertEquals(0, newSnapshot(newCache()).pendingCount());
+
+        properties.getSnapshot().setMaxAge(Duration.ofHours(1));
+        Files.write(Path.of(properties.getSnapshot().getPath()), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertEquals(0, newSnapshot(newCache()).pendingCount());
+
+        Files.delete(Path.of(properties.getSnapshot().getPath()));
+        assertEquals(0, newSnapshot(newCache()).pendingCount());
+    }
+
+    /**
+     * Caches a cart and saves the cache.
+     */
+    private SerializedCart saveCart(final String userId, final long version, final int itemCount) {
+        CartResponseCache cache = newCache();
+        SerializedCart cart = cache.get(TENANT_ID, userId, () -> load(userId, version, itemCount));
+        newSnapshot(cache).shutdown();
+        loads.set(0);
+        return cart;
+    }
+
+    private CartResponseCache newCache() {
+        return new CartResponseCache(jsonMapper, properties, new SimpleMeterRegistry());
+    }
+
+    private CartResponseCacheSnapshot newSnapshot(final CartResponseCache cache) {
+        return new CartResponseCacheSnapshot(cache, cartRepository, properties, new SimpleMeterRegistry());
+    }
+
+    private CartResponse load(final String userId, final long version, final int itemCount) {
+        loads.incrementAndGet();
+        List<CartItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(CartItemResponse.builder().productId("product-" + i).name("Product " + i)
+                    .price(new BigDecimal("9.99")).quantity(1).subtotal(new BigDecimal("9.99")).build());
+        }
+        return CartResponse.builder()
+                .cartId("cart-" + userId)
+                .tenantId(TENANT_ID)
+                .userId(userId)
+                .items(items)
+                .itemCount(itemCount)
+                .totalAmount(BigDecimal.ZERO)
+                .currency("USD")
+                .version(version)
+                .build();
+    }
+}
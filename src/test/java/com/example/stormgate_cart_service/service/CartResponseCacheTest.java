@@ -0,0 +1,190 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartResponseCacheProperties;
+import com.example.stormgate_cart_service.dto.CartItemResponse;
+import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CartResponseCache.
+ */
+@DisplayName("CartResponseCache Tests")
+class CartResponseCacheTest {
+
+    private static final String TENANT_ID = "tenant-123";
+    private static final String USER_ID = "user-456";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private CartResponseCacheProperties properties;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartResponseCacheProperties();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Repeat reads should be served from the cache")
+    void testRepeatReadsHit() {
+        CartResponseCache cache = newCache();
+
+        SerializedCart first = cache.get(TENANT_ID, USER_ID, () -> load(1L, 1));
+        SerializedCart second = cache.get(TENANT_ID, USER_ID, () -> load(1L, 1));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertArrayEquals(jsonMapper.writeValueAsBytes(load(1L, 1)), first.identity());
+    }
+
+    @Test
+    @DisplayName("Large responses should also be stored gzip-compressed")
+    void testGzipVariant() throws IOException {
+        CartResponseCache cache = newCache();
+
+        SerializedCart small = cache.get(TENANT_ID, "small", () -> load(1L, 0));
+        SerializedCart large = cache.get(TENANT_ID, "large", () -> load(1L, 20));
+
+        assertNull(small.gzip());
+        assertNotNull(large.gzip());
+        assertTrue(large.gzip().length < large.identity().length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.identity(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("A committed change should force the next read to reload")
+    void testChangeInvalidates() {
+        CartResponseCache cache = newCache();
+        cache.get(TENANT_ID, USER_ID, () -> load(1L, 1));
+
+        cache.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 2L));
+        SerializedCart reloaded = cache.get(TENANT_ID, USER_ID, () -> load(2L, 2));
+
+        assertEquals(2, loads.get());
+        assertEquals(2L, reloaded.version());
+        assertSame(reloaded, cache.get(TENANT_ID, USER_ID, () -> load(2L, 2)));
+    }
+
+    @Test
+    @DisplayName("A read loaded before a committed change should not be stored")
+    void testStaleLoadNotStored() {
+        CartResponseCache cache = newCache();
+
+        SerializedCart stale = cache.get(TENANT_ID, USER_ID, () -> {
+            cache.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 2L));
+            return load(1L, 1);
+        });
+        SerializedCart fresh = cache.get(TENANT_ID, USER_ID, () -> load(2L, 1));
+
+        assertEquals(1L, stale.version());
+        assertEquals(2L, fresh.version());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("A late notice of an older change should keep the newer entry")
+    void testOlderInvalidationIgnored() {
+        CartResponseCache cache = newCache();
+        SerializedCart current = cache.get(TENANT_ID, USER_ID, () -> load(3L, 1));
+
+        cache.invalidate(TENANT_ID, USER_ID, 2L);
+
+        assertSame(current, cache.getIfPresent(TENANT_ID, USER_ID));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Off-heap cache should serve repeat reads and honour invalidations")
+    void testOffHeap() {
+        properties.getOffHeap().setEnabled(true);
+        CartResponseCache cache = newCache();
+        try {
+            SerializedCart first = cache.get(TENANT_ID, USER_ID, () -> load(1L, 20));
+            SerializedCart repeat = cache.get(TENANT_ID, USER_ID, () -> load(1L, 20));
+
+            assertEquals(1, loads.get());
+            assertArrayEquals(first.identity(), repeat.identity());
+            assertArrayEquals(first.gzip(), repeat.gzip());
+
+            cache.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 2L));
+            assertNull(cache.getIfPresent(TENANT_ID, USER_ID));
+            assertEquals(2L, cache.get(TENANT_ID, USER_ID, () -> load(2L, 20)).version());
+            assertEquals(2, loads.get());
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Disabled cache should load on every read")
+    void testDisabled() {
+        properties.setEnabled(false);
+        CartResponseCache cache = newCache();
+
+        cache.get(TENANT_ID, USER_ID, () -> load(1L, 20));
+        SerializedCart second = cache.get(TENANT_ID, USER_ID, () -> load(1L, 20));
+
+        assertEquals(2, loads.get());
+        assertNull(second.gzip());
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding negotiation should honour quality values")
+    void testAcceptsGzip() {
+        assertTrue(CartResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CartResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(CartResponseCache.acceptsGzip("*"));
+        assertFalse(CartResponseCache.acceptsGzip(null));
+        assertFalse(CartResponseCache.acceptsGzip("identity"));
+        assertFalse(CartResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(CartResponseCache.acceptsGzip("*, gzip;q=0"));
+        assertFalse(CartResponseCache.acceptsGzip("gzip;q=abc"));
+    }
+
+    private CartResponseCache newCache() {
+        return new CartResponseCache(jsonMapper, properties, new SimpleMeterRegistry());
+    }
+
+    private CartResponse load(final long version, final int itemCount) {
+        loads.incrementAndGet();
+        List<CartItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(CartItemResponse.builder().productId("product-" + i).name("Product " + i)
+                    .price(new BigDecimal("9.99")).quantity(1).subtotal(new BigDecimal("9.99")).build());
+        }
+        return CartResponse.builder()
+                .cartId("cart-123")
+                .tenantId(TENANT_ID)
+                .userId(USER_ID)
+                .items(items)
+                .itemCount(itemCount)
+                .totalAmount(BigDecimal.ZERO)
+                .currency("USD")
+                .version(version)
+                .build();
+    }
+}
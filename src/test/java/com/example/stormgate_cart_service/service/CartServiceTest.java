@@ -1,13 +1,22 @@
 package com.example.stormgate_cart_service.service;
 
 import com.example.stormgate_cart_service.dto.AddItemRequest;
+import com.example.stormgate_cart_service.dto.CartDeltaResponse;
 import com.example.stormgate_cart_service.dto.CartResponse;
+import com.example.stormgate_cart_service.dto.CartSummaryResponse;
+import com.example.stormgate_cart_service.dto.CartUserRef;
+import com.example.stormgate_cart_service.dto.MergeCartRequest;
+import com.example.stormgate_cart_service.dto.MergePolicy;
 import com.example.stormgate_cart_service.dto.UpdateQuantityRequest;
 import com.example.stormgate_cart_service.entity.Cart;
 import com.example.stormgate_cart_service.entity.CartItem;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.eventlog.CartEventLog;
 import com.example.stormgate_cart_service.exception.CartNotFoundException;
 import com.example.stormgate_cart_service.exception.ItemNotFoundException;
 import com.example.stormgate_cart_service.repository.CartItemRepository;
+import com.example.stormgate_cart_service.config.CartLimitsProperties;
+import com.example.stormgate_cart_service.exception.CartLimitExceededException;
 import com.example.stormgate_cart_service.repository.CartRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,16 +24,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +59,18 @@ class CartServiceTest {
     @Mock
     private CartItemRepository cartItemRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CartEventLog cartEventLog;
+
+    @Mock
+    private CartDocumentStore cartDocumentStore;
+
+    @Spy
+    private CartLimitEnforcer cartLimitEnforcer = new CartLimitEnforcer(new CartLimitsProperties());
+
     @InjectMocks
     private CartService cartService;
 
@@ -159,6 +188,31 @@ class CartServiceTest {
         verify(cartItemRepository).save(any(CartItem.class));
     }
 
+    @Test
+    @DisplayName("Mutations should be appended to the cart event log")
+    void testMutationsAppendEvents() {
+        AddItemRequest request = AddItemRequest.builder()
+                .productId(PRODUCT_ID)
+                .name("Test Product")
+                .price(new BigDecimal("99.99"))
+                .quantity(1)
+                .build();
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(cartItem));
+
+        cartService.addItemToCart(TENANT_ID, USER_ID, request);
+        cartService.updateItemQuantity(TENANT_ID, USER_ID, PRODUCT_ID, UpdateQuantityRequest.builder().quantity(5).build());
+        cartService.removeItemFromCart(TENANT_ID, USER_ID, PRODUCT_ID);
+        cartService.clearCart(TENANT_ID, USER_ID);
+
+        verify(cartEventLog).itemAdded(cart, PRODUCT_ID, "Test Product", new BigDecimal("99.99"), 1);
+        verify(cartEventLog).quantitySet(cart, PRODUCT_ID, 5);
+        verify(cartEventLog).itemRemoved(cart, PRODUCT_ID);
+        verify(cartEventLog).cleared(cart);
+    }
+
     @Test
     @DisplayName("AddItemToCart should restore deleted item")
     void testAddItemToCartRestoredItem() {
@@ -252,6 +306,8 @@ class CartServiceTest {
         assertNotNull(response);
         assertEquals(true, cartItem.getIsDeleted());
         verify(cartItemRepository).save(any(CartItem.class));
+        verify(cartRepository).flush();
+        verify(eventPublisher).publishEvent(new CartChangedEvent(TENANT_ID, USER_ID, CART_ID, cart.getVersion()));
     }
 
     @Test
@@ -320,4 +376,300 @@ class CartServiceTest {
         assertNotNull(response);
         verify(cartRepository, times(2)).save(any(Cart.class));
     }
+
+    @Test
+    @DisplayName("MergeCarts should merge source cart into target cart")
+    void testMergeCartsSuccess() {
+        Cart guestCart = Cart.builder().cartId("guest-cart").tenantId(TENANT_ID)
+                .userId("guest-1").isDeleted(false).build();
+        MergeCartRequest request = MergeCartRequest.builder()
+                .sourceUserId("guest-1")
+                .policy(MergePolicy.MAX)
+                .build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, "guest-1"))
+                .thenReturn(Optional.of(guestCart));
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartRepository.mergeCarts("guest-cart", CART_ID, MergePolicy.MAX, 1000)).thenReturn(true);
+        when(cartRepository.findById(CART_ID)).thenReturn(Optional.of(cart));
+
+        CartResponse response = cartService.mergeCarts(TENANT_ID, USER_ID, request);
+
+        assertEquals(CART_ID, response.getCartId());
+        verify(cartRepository).mergeCarts("guest-cart", CART_ID, MergePolicy.MAX, 1000);
+        verify(eventPublisher).publishEvent(new CartChangedEvent(TENANT_ID, "guest-1", "guest-cart", 1L));
+        verify(eventPublisher).publishEvent(new CartChangedEvent(TENANT_ID, USER_ID, CART_ID, cart.getVersion()));
+    }
+
+    @Test
+    @DisplayName("MergeCarts should revive tombstoned target cart")
+    void testMergeCartsRevivesTargetCart() {
+        Cart guestCart = Cart.builder().cartId("guest-cart").tenantId(TENANT_ID)
+                .userId("guest-1").isDeleted(false).build();
+        cart.setIsDeleted(true);
+        MergeCartRequest request = MergeCartRequest.builder().sourceUserId("guest-1").build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, "guest-1"))
+                .thenReturn(Optional.of(guestCart));
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.empty());
+        when(cartRepository.findAnyByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartRepository.save(cart)).thenReturn(cart);
+        when(cartRepository.findById(CART_ID)).thenReturn(Optional.of(cart));
+
+        cartService.mergeCarts(TENANT_ID, USER_ID, request);
+
+        assertEquals(false, cart.getIsDeleted());
+        verify(cartRepository).mergeCarts("guest-cart", CART_ID, MergePolicy.SUM, 1000);
+    }
+
+    @Test
+    @DisplayName("MergeCarts should return target cart when source cart is gone")
+    void testMergeCartsSourceMissing() {
+        MergeCartRequest request = MergeCartRequest.builder().sourceUserId("guest-1").build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, "guest-1"))
+                .thenReturn(Optional.empty());
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+
+        CartResponse response = cartService.mergeCarts(TENANT_ID, USER_ID, request);
+
+        assertEquals(CART_ID, response.getCartId());
+        verify(cartRepository, never()).mergeCarts(anyString(), anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("MergeCarts should reject merging a cart into itself")
+    void testMergeCartsSameCart() {
+        MergeCartRequest request = MergeCartRequest.builder().sourceUserId(USER_ID).build();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                cartService.mergeCarts(TENANT_ID, USER_ID, request));
+    }
+
+    @Test
+    @DisplayName("AddItemToCart should update persisted aggregates")
+    void testAddItemToCartUpdatesAggregates() {
+        AddItemRequest request = AddItemRequest.builder()
+                .productId("product-new")
+                .name("New Product")
+                .price(new BigDecimal("10.00"))
+                .quantity(3)
+                .build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, "product-new"))
+                .thenReturn(Optional.empty());
+
+        cartService.addItemToCart(TENANT_ID, USER_ID, request);
+
+        assertEquals(1, cart.getLineCount());
+        assertEquals(3, cart.getTotalQuantity());
+        assertEquals(0, new BigDecimal("30.00").compareTo(cart.getTotalAmount()));
+    }
+
+    @Test
+    @DisplayName("AddItemToCart should reject a line beyond the line limit")
+    void testAddItemToCartLineLimit() {
+        cart.setLineCount(100);
+        AddItemRequest request = AddItemRequest.builder()
+                .productId("product-new")
+                .name("New Product")
+                .price(new BigDecimal("1.00"))
+                .quantity(1)
+                .build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, "product-new"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(CartLimitExceededException.class, () ->
+                cartService.addItemToCart(TENANT_ID, USER_ID, request));
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    @DisplayName("AddItemToCart should reject a line quantity beyond the limit")
+    void testAddItemToCartLineQuantityLimit() {
+        AddItemRequest request = AddItemRequest.builder()
+                .productId(PRODUCT_ID)
+                .name("Test Product")
+                .price(new BigDecimal("0.01"))
+                .quantity(999)
+                .build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(cartItem));
+
+        assertThrows(CartLimitExceededException.class, () ->
+                cartService.addItemToCart(TENANT_ID, USER_ID, request));
+    }
+
+    @Test
+    @DisplayName("UpdateItemQuantity should reject a total beyond the value limit")
+    void testUpdateItemQuantityTotalLimit() {
+        cart.setTotalAmount(new BigDecimal("99990.00"));
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(cartItem));
+
+        assertThrows(CartLimitExceededException.class, () ->
+                cartService.updateItemQuantity(TENANT_ID, USER_ID, PRODUCT_ID,
+                        UpdateQuantityRequest.builder().quantity(5).build()));
+    }
+
+    @Test
+    @DisplayName("GetCartSummary should answer from aggregates without reading items")
+    void testGetCartSummary() {
+        cart.setLineCount(1);
+        cart.setTotalQuantity(2);
+        cart.setTotalAmount(new BigDecimal("199.98"));
+        cart.setVersion(7L);
+        cart.setItems(null);
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+
+        CartSummaryResponse summary = cartService.getCartSummary(TENANT_ID, USER_ID);
+
+        assertEquals(2, summary.getItemCount());
+        assertEquals(1, summary.getLineCount());
+        assertEquals(new BigDecimal("199.98"), summary.getTotalAmount());
+        assertEquals("USD", summary.getCurrency());
+        assertEquals(7L, summary.getVersion());
+        verify(cartItemRepository, never()).findByCartIdAndProductId(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GetCartSummary should return an empty summary when cart not found")
+    void testGetCartSummaryNoCart() {
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.empty());
+
+        CartSummaryResponse summary = cartService.getCartSummary(TENANT_ID, USER_ID);
+
+        assertEquals(0, summary.getItemCount());
+        assertEquals(0, summary.getLineCount());
+        assertEquals(BigDecimal.ZERO, summary.getTotalAmount());
+        assertEquals(0L, summary.getVersion());
+    }
+
+    @Test
+    @DisplayName("AddItemToCartDelta should return the new line and aggregates")
+    void testAddItemToCartDelta() {
+        cart.setLineCount(1);
+        cart.setTotalQuantity(2);
+        cart.setTotalAmount(new BigDecimal("199.98"));
+        AddItemRequest request = AddItemRequest.builder()
+                .productId("product-new")
+                .name("New Product")
+                .price(new BigDecimal("5.00"))
+                .quantity(3)
+                .build();
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, "product-new"))
+                .thenReturn(Optional.empty());
+
+        CartDeltaResponse delta = cartService.addItemToCartDelta(TENANT_ID, USER_ID, request);
+
+        assertEquals(CART_ID, delta.getCartId());
+        assertEquals("product-new", delta.getProductId());
+        assertEquals(3, delta.getItem().getQuantity());
+        assertEquals(new BigDecimal("15.00"), delta.getItem().getSubtotal());
+        assertEquals(5, delta.getItemCount());
+        assertEquals(2, delta.getLineCount());
+        assertEquals(new BigDecimal("214.98"), delta.getTotalAmount());
+        assertEquals(cart.getVersion(), delta.getVersion());
+    }
+
+    @Test
+    @DisplayName("UpdateItemQuantityDelta should return the updated line")
+    void testUpdateItemQuantityDelta() {
+        cart.setLineCount(1);
+        cart.setTotalQuantity(2);
+        cart.setTotalAmount(new BigDecimal("199.98"));
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(cartItem));
+
+        CartDeltaResponse delta = cartService.updateItemQuantityDelta(TENANT_ID, USER_ID, PRODUCT_ID,
+                UpdateQuantityRequest.builder().quantity(1).build());
+
+        assertEquals(1, delta.getItem().getQuantity());
+        assertEquals(1, delta.getItemCount());
+        assertEquals(1, delta.getLineCount());
+        assertEquals(new BigDecimal("99.99"), delta.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("RemoveItemFromCartDelta should omit the removed line")
+    void testRemoveItemFromCartDelta() {
+        cart.setLineCount(1);
+        cart.setTotalQuantity(2);
+        cart.setTotalAmount(new BigDecimal("199.98"));
+
+        when(cartRepository.findByTenantIdAndUserId(TENANT_ID, USER_ID))
+                .thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(CART_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(cartItem));
+
+        CartDeltaResponse delta = cartService.removeItemFromCartDelta(TENANT_ID, USER_ID, PRODUCT_ID);
+
+        assertEquals(PRODUCT_ID, delta.getProductId());
+        assertNull(delta.getItem());
+        assertEquals(0, delta.getItemCount());
+        assertEquals(0, delta.getLineCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(delta.getTotalAmount()));
+    }
+
+    @Test
+    @DisplayName("GetCartsByUsers should return found carts in request order with one items query")
+    void testGetCartsByUsers() {
+        Cart other = Cart.builder()
+                .cartId("cart-2")
+                .tenantId(TENANT_ID)
+                .userId("user-2")
+                .items(new ArrayList<>())
+                .totalAmount(BigDecimal.ZERO)
+                .totalQuantity(0)
+                .currency("USD")
+                .isDeleted(false)
+                .build();
+        cart.setTotalQuantity(2);
+        when(cartRepository.findActiveByTenantIdAndUserIdIn(TENANT_ID, List.of("user-2", "missing", USER_ID)))
+                .thenReturn(List.of(cart, other));
+        when(cartItemRepository.findActiveByCartIdIn(List.of("cart-2", CART_ID)))
+                .thenReturn(List.of(cartItem));
+
+        List<CartResponse> responses = cartService.getCartsByUsers(List.of(
+                new CartUserRef(TENANT_ID, "user-2"),
+                new CartUserRef(TENANT_ID, "missing"),
+                new CartUserRef(TENANT_ID, USER_ID)));
+
+        assertEquals(2, responses.size());
+        assertEquals("cart-2", responses.get(0).getCartId());
+        assertEquals(0, responses.get(0).getItems().size());
+        assertEquals(CART_ID, responses.get(1).getCartId());
+        assertEquals(PRODUCT_ID, responses.get(1).getItems().get(0).getProductId());
+        assertEquals(2, responses.get(1).getItemCount());
+    }
+
+    @Test
+    @DisplayName("GetCartsByIds should not query for an empty request")
+    void testGetCartsByIdsEmpty() {
+        assertEquals(0, cartService.getCartsByIds(List.of()).size());
+
+        verifyNoInteractions(cartRepository, cartItemRepository);
+    }
 }
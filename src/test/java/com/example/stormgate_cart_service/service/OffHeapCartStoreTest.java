@@ -0,0 +1,159 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.OffHeapProperties;
+import com.example.stormgate_cart_service.service.CartResponseCache.CachedCart;
+import com.example.stormgate_cart_service.service.CartResponseCache.SerializedCart;
+import com.example.stormgate_cart_service.service.OffHeapCartStore.Stored;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for OffHeapCartStore.
+ */
+@DisplayName("OffHeapCartStore Tests")
+class OffHeapCartStoreTest {
+
+    private static final String TENANT_ID = "tenant-1";
+    private static final int PAGE_SIZE = 1024;
+    private static final int PAGES = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OffHeapCartStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore(Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Stored carts should be read back with both encodings")
+    void testRoundTrip() {
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(300, 'a'), bytes(120, 'z'), 3L));
+
+        SerializedCart cart = store.get(TENANT_ID, "user-1").cart();
+
+        assertArrayEquals(bytes(300, 'a'), cart.identity());
+        assertArrayEquals(bytes(120, 'z'), cart.gzip());
+        assertEquals(3L, cart.version());
+        assertNull(store.get(TENANT_ID, "user-2"));
+    }
+
+    @Test
+    @DisplayName("An older version should not replace a newer one")
+    void testNewerVersionKept() {
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'b'), null, 5L));
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'a'), null, 4L));
+        assertArrayEquals(bytes(100, 'b'), store.get(TENANT_ID, "user-1").cart().identity());
+
+        store.merge(TENANT_ID, "user-1", new SerializedCart(null, null, 6L));
+        assertTrue(store.get(TENANT_ID, "user-1").cart().isInvalidated());
+
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'c'), null, 5L));
+        assertTrue(store.get(TENANT_ID, "user-1").cart().isInvalidated());
+
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'c'), null, 6L));
+        assertArrayEquals(bytes(100, 'c'), store.get(TENANT_ID, "user-1").cart().identity());
+    }
+
+    @Test
+    @DisplayName("A full store should evict carts that were not read recently")
+    void testEvictsWithinCapacity() {
+        store.merge(TENANT_ID, "hot", new SerializedCart(bytes(200, 'h'), null, 1L));
+        for (int user = 0; user < 50; user++) {
+            assertNotNull(store.get(TENANT_ID, "hot"));
+            store.merge(TENANT_ID, "user-" + user, new SerializedCart(bytes(200, 'x'), null, 1L));
+        }
+
+        assertArrayEquals(bytes(200, 'h'), store.get(TENANT_ID, "hot").cart().identity());
+        assertNotNull(store.get(TENANT_ID, "user-49"));
+        assertTrue(store.usedBytes() <= PAGES * PAGE_SIZE);
+        assertTrue(meterRegistry.get("cart.off-heap.evictions").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("A size without pages should take over a page of another size")
+    void testReassignsPages() {
+        for (int user = 0; user < 80; user++) {
+            store.merge(TENANT_ID, "small-" + user, new SerializedCart(bytes(60, 's'), null, 1L));
+        }
+
+        store.merge(TENANT_ID, "large", new SerializedCart(bytes(900, 'l'), null, 1L));
+
+        assertArrayEquals(bytes(900, 'l'), store.get(TENANT_ID, "large").cart().identity());
+        assertTrue(store.usedBytes() <= PAGES * PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("A cart larger than a page should be kept as a miss")
+    void testRejectsOversizedCarts() {
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(PAGE_SIZE + 1, 'x'), null, 2L));
+
+        Stored stored = store.get(TENANT_ID, "user-1");
+
+        assertTrue(stored.cart().isInvalidated());
+        assertEquals(2L, stored.cart().version());
+        assertEquals(1.0, meterRegistry.get("cart.off-heap.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Expired carts should not be served")
+    void testExpiry() throws InterruptedException {
+        store.close();
+        store = newStore(Duration.ofMillis(200));
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'a'), null, 1L));
+
+        Thread.sleep(300);
+
+        assertNull(store.get(TENANT_ID, "user-1"));
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'b'), null, 0L));
+        assertNotNull(store.get(TENANT_ID, "user-1"));
+    }
+
+    @Test
+    @DisplayName("Visiting the store should skip markers and leave reference bits alone")
+    void testForEach() {
+        store.merge(TENANT_ID, "user-1", new SerializedCart(bytes(100, 'a'), null, 1L));
+        store.merge(TENANT_ID, "user-2", new SerializedCart(null, null, 2L));
+        List<CachedCart> visited = new ArrayList<>();
+
+        store.forEach(visited::add);
+
+        assertEquals(1, visited.size());
+        assertEquals("user-1", visited.getFirst().userId());
+        assertArrayEquals(bytes(100, 'a'), visited.getFirst().cart().identity());
+    }
+
+    private OffHeapCartStore newStore(final Duration ttl) {
+        OffHeapProperties properties = new OffHeapProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(DataSize.ofBytes((long) PAGES * PAGE_SIZE));
+        properties.setPageSize(DataSize.ofBytes(PAGE_SIZE));
+        return new OffHeapCartStore("test", properties, ttl, meterRegistry);
+    }
+
+    private static byte[] bytes(final int length, final char fill) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) fill);
+        return bytes;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.stormgate_cart_service.service;
+
+import com.example.stormgate_cart_service.config.CartBulkheadProperties;
+import com.example.stormgate_cart_service.config.CartBulkheadProperties.Tier;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for TenantBulkheads.
+ */
+@DisplayName("TenantBulkheads Tests")
+class TenantBulkheadsTest {
+
+    private CartBulkheadProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CartBulkheadProperties();
+        properties.setTiers(Map.of("standard", new Tier(2, true), "shared", new Tier(2, false)));
+        properties.setTenantTiers(Map.of("tenant-s1", "shared", "tenant-s2", "shared"));
+        properties.setOverflowConnections(1);
+        properties.setQueueTimeout(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("A tenant over its budget should borrow from the overflow, then be rejected")
+    void testOverflowThenReject() {
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+
+        bulkheads.acquire("tenant-1");
+        bulkheads.acquire("tenant-1");
+        bulkheads.acquire("tenant-1");
+
+        assertThrows(CapacityExceededException.class, () -> bulkheads.acquire("tenant-1"));
+        assertEquals(2, bulkheads.inUse("standard"));
+        assertEquals(1, bulkheads.overflowInUse());
+        assertEquals(1.0, meterRegistry.get("cart.bulkhead.rejected").tag("tier", "standard").counter().count());
+        assertEquals(1.0, meterRegistry.get("cart.bulkhead.overflow.saturation").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Tenants of a per-tenant tier should not use up each other's budget")
+    void testPerTenantBudgets() {
+        properties.setOverflowConnections(0);
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+
+        bulkheads.acquire("tenant-1");
+        bulkheads.acquire("tenant-1");
+        assertThrows(CapacityExceededException.class, () -> bulkheads.acquire("tenant-1"));
+
+        bulkheads.acquire("tenant-2");
+        bulkheads.acquire("tenant-2");
+        assertEquals(4, bulkheads.inUse("standard"));
+    }
+
+    @Test
+    @DisplayName("Tenants of a shared tier should share its budget")
+    void testSharedTierBudget() {
+        properties.setOverflowConnections(0);
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+
+        bulkheads.acquire("tenant-s1");
+        bulkheads.acquire("tenant-s2");
+
+        assertThrows(CapacityExceededException.class, () -> bulkheads.acquire("tenant-s1"));
+        assertEquals("shared", bulkheads.tierName("tenant-s2"));
+        assertEquals(1.0, meterRegistry.get("cart.bulkhead.saturation").tag("tier", "shared").gauge().value());
+        bulkheads.acquire("tenant-1");
+    }
+
+    @Test
+    @DisplayName("A queued tenant should get a permit released within the queue timeout, released once")
+    void testQueuedAcquire() throws Exception {
+        properties.setOverflowConnections(0);
+        properties.setQueueTimeout(Duration.ofSeconds(10));
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+        Runnable first = bulkheads.acquire("tenant-1");
+        bulkheads.acquire("tenant-1");
+
+        CompletableFuture<Runnable> queued = CompletableFuture.supplyAsync(
+                () -> bulkheads.acquire("tenant-1"), Executors.newVirtualThreadPerTaskExecutor());
+        Thread.sleep(50);
+        first.run();
+        first.run();
+
+        queued.get(10, TimeUnit.SECONDS);
+        assertEquals(2, bulkheads.inUse("standard"));
+        assertEquals(1, meterRegistry.get("cart.bulkhead.queued").tag("tier", "standard").timer().count());
+        assertThrows(CapacityExceededException.class, () -> bulkheads.acquire("tenant-1"));
+    }
+
+    @Test
+    @DisplayName("A tenant's budget should never be exceeded while its requests come and go")
+    void testBudgetKeptWhileHeld() {
+        properties.setOverflowConnections(0);
+        properties.setQueueTimeout(Duration.ofMillis(1));
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+        AtomicInteger holding = new AtomicInteger();
+        AtomicInteger mostHeld = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        Runnable release;
+                        try {
+                            release = bulkheads.acquire("tenant-1");
+                        } catch (CapacityExceededException e) {
+                            continue;
+                        }
+                        mostHeld.accumulateAndGet(holding.incrementAndGet(), Math::max);
+                        holding.decrementAndGet();
+                        release.run();
+                    }
+                }, executor));
+            }
+            workers.forEach(CompletableFuture::join);
+        }
+
+        assertTrue(mostHeld.get() <= 2, "held " + mostHeld.get());
+        assertEquals(0, bulkheads.inUse("standard"));
+        bulkheads.acquire("tenant-1");
+        bulkheads.acquire("tenant-1");
+        assertThrows(CapacityExceededException.class, () -> bulkheads.acquire("tenant-1"));
+    }
+
+    @Test
+    @DisplayName("Disabled bulkheads should hand out no permits")
+    void testDisabled() {
+        properties.setEnabled(false);
+        TenantBulkheads bulkheads = new TenantBulkheads(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(TenantBulkheads.NO_PERMIT, bulkheads.acquire("tenant-1"));
+        }
+        assertEquals(0, bulkheads.inUse("standard"));
+    }
+
+    @Test
+    @DisplayName("A tenant assigned to an unknown tier should fail at startup")
+    void testUnknownTier() {
+        properties.setTenantTiers(Map.of("tenant-1", "gold"));
+
+        assertThrows(IllegalArgumentException.class, () -> new TenantBulkheads(properties, meterRegistry));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.stormgate_cart_service.stream;
+
+import com.example.stormgate_cart_service.config.CartStreamProperties;
+import com.example.stormgate_cart_service.dto.CartChangeNotification;
+import com.example.stormgate_cart_service.event.CartChangedEvent;
+import com.example.stormgate_cart_service.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for CartChangeStream.
+ */
+@DisplayName("CartChangeStream Tests")
+class CartChangeStreamTest {
+
+    private static final String TENANT_ID = "tenant-123";
+    private static final String USER_ID = "user-456";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CartChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        CartStreamProperties properties = new CartStreamProperties();
+        properties.setMaxConnections(2);
+        meterRegistry = new SimpleMeterRegistry();
+        stream = new CartChangeStream(JsonMapper.builder().build(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Subscriptions should be counted and capped per node")
+    void testConnectionLimit() {
+        assertNotNull(stream.subscribe(TENANT_ID, USER_ID));
+        assertNotNull(stream.subscribe(TENANT_ID, "other-user"));
+
+        assertThrows(CapacityExceededException.class, () -> stream.subscribe(TENANT_ID, USER_ID));
+        assertEquals(2, stream.connectionCount());
+        assertEquals(2.0, meterRegistry.get("cart.stream.connections").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Shutdown should close every connection")
+    void testShutdownClosesConnections() {
+        stream.subscribe(TENANT_ID, USER_ID);
+        stream.subscribe(TENANT_ID, USER_ID);
+
+        stream.shutdown();
+
+        assertEquals(0, stream.connectionCount());
+    }
+
+    @Test
+    @DisplayName("Watchers should receive the user's changes and share the connection limit")
+    void testWatchers() {
+        List<CartChangeNotification> received = new ArrayList<>();
+        Runnable unwatch = stream.watch(TENANT_ID, USER_ID, received::add);
+        stream.subscribe(TENANT_ID, "other-user");
+
+        assertThrows(CapacityExceededException.class, () -> stream.watch(TENANT_ID, USER_ID, received::add));
+        stream.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 3L));
+        stream.onCartChanged(new CartChangedEvent(TENANT_ID, "other-user", "cart-456", 1L));
+        unwatch.run();
+        unwatch.run();
+        stream.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 4L));
+
+        assertEquals(1, received.size());
+        assertEquals(3L, received.get(0).getVersion());
+        assertEquals(1, stream.connectionCount());
+    }
+
+    @Test
+    @DisplayName("Watchers registered while the user's last watcher leaves should stay registered")
+    void testConcurrentWatchers() {
+        CartStreamProperties properties = new CartStreamProperties();
+        properties.setMaxConnections(64);
+        CartChangeStream concurrent = new CartChangeStream(JsonMapper.builder().build(), properties, meterRegistry);
+        AtomicInteger missed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        List<CartChangeNotification> received = new ArrayList<>();
+                        Runnable unwatch = concurrent.watch(TENANT_ID, USER_ID, received::add);
+                        concurrent.publish(TENANT_ID, USER_ID,
+                                CartChangeNotification.builder().cartId("cart-123").build());
+                        if (received.isEmpty()) {
+                            missed.incrementAndGet();
+                        }
+                        unwatch.run();
+                    }
+                }, executor));
+            }
+            workers.forEach(CompletableFuture::join);
+        } finally {
+            concurrent.shutdown();
+        }
+
+        assertEquals(0, missed.get());
+        assertEquals(0, concurrent.connectionCount());
+    }
+
+    @Test
+    @DisplayName("Changes for users without connections should be ignored")
+    void testPublishWithoutSubscribers() {
+        stream.onCartChanged(new CartChangedEvent(TENANT_ID, USER_ID, "cart-123", 3L));
+        stream.publish(TENANT_ID, USER_ID, CartChangeNotification.builder().cartId("cart-123").build());
+
+        assertEquals(0.0, meterRegistry.get("cart.stream.overflows").counter().count());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.stormgate_cart_service.stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for StreamSubscription.
+ */
+@DisplayName("StreamSubscription Tests")
+class StreamSubscriptionTest {
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").build();
+
+    private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final AtomicInteger closes = new AtomicInteger();
+    private boolean failSends;
+
+    private final SseEmitter emitter = new SseEmitter() {
+        @Override
+        public void send(final Set<DataWithMediaType> items) throws IOException {
+            if (failSends) {
+                throw new IOException("client gone");
+            }
+            sent.add(items);
+        }
+    };
+
+    @Test
+    @DisplayName("Events should be written in order by one drain task")
+    void testDeliversInOrder() {
+        StreamSubscription subscription = newSubscription(4);
+        Set<DataWithMediaType> first = event("1");
+        Set<DataWithMediaType> second = event("2");
+
+        assertTrue(subscription.offer(first));
+        assertTrue(subscription.offer(second));
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        assertEquals(List.of(first, second), sent);
+    }
+
+    @Test
+    @DisplayName("A full buffer should collapse into a single resync event")
+    void testOverflowCollapsesToResync() {
+        StreamSubscription subscription = newSubscription(2);
+
+        subscription.offer(event("1"));
+        subscription.offer(event("2"));
+        assertFalse(subscription.offer(event("3")));
+        runTasks();
+
+        assertEquals(1, sent.size());
+        assertSame(RESYNC, sent.get(0));
+    }
+
+    @Test
+    @DisplayName("Heartbeats should only be queued on idle connections")
+    void testHeartbeatOnlyWhenIdle() {
+        StreamSubscription subscription = newSubscription(4);
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+        subscription.offer(event("1"));
+        subscription.offerIfIdle(heartbeat);
+        runTasks();
+        subscription.offerIfIdle(heartbeat);
+        runTasks();
+
+        assertEquals(2, sent.size());
+        assertSame(heartbeat, sent.get(1));
+    }
+
+    @Test
+    @DisplayName("A failed write should close the subscription once")
+    void testFailedWriteCloses() {
+        StreamSubscription subscription = newSubscription(4);
+        failSends = true;
+
+        subscription.offer(event("1"));
+        runTasks();
+        subscription.offer(event("2"));
+        subscription.close();
+
+        assertEquals(1, closes.get());
+        assertTrue(tasks.isEmpty());
+        assertFalse(subscription.release());
+    }
+
+    private StreamSubscription newSubscription(final int capacity) {
+        return new StreamSubscription(emitter, capacity, tasks::add, RESYNC, closed -> closes.incrementAndGet());
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private static Set<DataWithMediaType> event(final String id) {
+        return SseEmitter.event().id(id).data(id).build();
+    }
+}